@@ -44,18 +44,36 @@ CREATE TABLE `xxl_job_log` (
   `executor_param` varchar(512) DEFAULT NULL COMMENT '执行器任务参数',
   `executor_sharding_param` varchar(20) DEFAULT NULL COMMENT '执行器任务分片参数，格式如 1/2',
   `executor_fail_retry_count` int(11) NOT NULL DEFAULT '0' COMMENT '失败重试次数',
+  `executor_route_strategy` varchar(50) DEFAULT NULL COMMENT '执行器路由策略',
+  `executor_block_strategy` varchar(50) DEFAULT NULL COMMENT '阻塞处理策略',
+  `executor_timeout` int(11) NOT NULL DEFAULT '0' COMMENT '任务执行超时时间，单位秒',
+  `trigger_type` varchar(20) DEFAULT NULL COMMENT '调度-类型',
+  `trigger_admin` varchar(64) DEFAULT NULL COMMENT '调度-调度中心地址',
   `trigger_time` datetime DEFAULT NULL COMMENT '调度-时间',
   `trigger_code` int(11) NOT NULL COMMENT '调度-结果',
-  `trigger_msg` text COMMENT '调度-日志',
   `handle_time` datetime DEFAULT NULL COMMENT '执行-时间',
   `handle_code` int(11) NOT NULL COMMENT '执行-状态',
-  `handle_msg` text COMMENT '执行-日志',
   `alarm_status` tinyint(4) NOT NULL DEFAULT '0' COMMENT '告警状态：0-默认、1-无需告警、2-告警成功、3-告警失败',
   PRIMARY KEY (`id`),
   KEY `I_trigger_time` (`trigger_time`),
   KEY `I_handle_code` (`handle_code`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
+## optional, day-partitioned "xxl_job_log" (partition created and dropped by admin automatically):
+# ALTER TABLE xxl_job_log MODIFY `trigger_time` datetime NOT NULL COMMENT '调度-时间', DROP PRIMARY KEY, ADD PRIMARY KEY (`id`, `trigger_time`);
+# ALTER TABLE xxl_job_log PARTITION BY RANGE (TO_DAYS(`trigger_time`)) (PARTITION p_init VALUES LESS THAN (TO_DAYS('2026-10-18')), PARTITION p_max VALUES LESS THAN MAXVALUE);
+
+CREATE TABLE `xxl_job_log_detail` (
+  `log_id` bigint(20) NOT NULL COMMENT '调度日志ID',
+  `trigger_time` datetime DEFAULT NULL COMMENT '调度-时间',
+  `registry_type` tinyint(4) NOT NULL DEFAULT '0' COMMENT '执行器地址类型：0=自动注册、1=手动录入',
+  `registry_list` text COMMENT '执行器地址列表',
+  `trigger_msg` text COMMENT '调度-日志',
+  `handle_msg` text COMMENT '执行-日志',
+  PRIMARY KEY (`log_id`),
+  KEY `I_trigger_time` (`trigger_time`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
 CREATE TABLE `xxl_job_log_report` (
   `id` int(11) NOT NULL AUTO_INCREMENT,
   `trigger_day` datetime DEFAULT NULL COMMENT '调度-时间',
@@ -85,7 +103,8 @@ CREATE TABLE `xxl_job_registry` (
   `registry_value` varchar(255) NOT NULL,
   `update_time` datetime DEFAULT NULL,
   PRIMARY KEY (`id`),
-  KEY `i_g_k_v` (`registry_group`,`registry_key`,`registry_value`)
+  KEY `i_g_k_v` (`registry_group`,`registry_key`,`registry_value`),
+  KEY `i_u` (`update_time`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
 CREATE TABLE `xxl_job_group` (
@@ -93,7 +112,7 @@ CREATE TABLE `xxl_job_group` (
   `app_name` varchar(64) NOT NULL COMMENT '执行器AppName',
   `title` varchar(12) NOT NULL COMMENT '执行器名称',
   `address_type` tinyint(4) NOT NULL DEFAULT '0' COMMENT '执行器地址类型：0=自动注册、1=手动录入',
-  `address_list` text COMMENT '执行器地址列表，多地址逗号分隔',
+  `address_list` mediumtext COMMENT '执行器地址列表，多地址逗号分隔',
   `update_time` datetime DEFAULT NULL,
   PRIMARY KEY (`id`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
@@ -113,10 +132,65 @@ CREATE TABLE `xxl_job_lock` (
   PRIMARY KEY (`lock_name`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
+CREATE TABLE `xxl_job_cluster_node` (
+  `node_id` varchar(100) NOT NULL COMMENT '调度中心节点ID',
+  `heartbeat_time` bigint(13) NOT NULL DEFAULT '0' COMMENT '心跳时间',
+  PRIMARY KEY (`node_id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+CREATE TABLE `xxl_job_cache_version` (
+  `cache_name` varchar(50) NOT NULL COMMENT '缓存名称',
+  `version` bigint(20) NOT NULL DEFAULT '0' COMMENT '缓存版本，数据变更时递增',
+  PRIMARY KEY (`cache_name`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+CREATE TABLE `xxl_job_id_segment` (
+  `seq_name` varchar(50) NOT NULL COMMENT '序列名称',
+  `max_id` bigint(20) NOT NULL DEFAULT '0' COMMENT '已分配最大ID，调度中心按号段批量分配',
+  PRIMARY KEY (`seq_name`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+CREATE TABLE `xxl_job_running` (
+  `log_id` bigint(20) NOT NULL COMMENT '调度日志ID',
+  `job_group` int(11) NOT NULL COMMENT '执行器主键ID',
+  `job_id` int(11) NOT NULL COMMENT '任务，主键ID',
+  `executor_address` varchar(255) NOT NULL COMMENT '执行器地址，本次执行的地址',
+  `trigger_time` datetime NOT NULL COMMENT '调度-时间',
+  PRIMARY KEY (`log_id`),
+  KEY `i_executor_address` (`executor_address`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+CREATE TABLE `xxl_job_alarm_queue` (
+  `log_id` bigint(20) NOT NULL COMMENT '调度日志ID',
+  `job_id` int(11) NOT NULL COMMENT '任务，主键ID',
+  `trigger_time` datetime DEFAULT NULL COMMENT '调度-时间',
+  `lock_time` datetime DEFAULT NULL COMMENT '处理锁定-时间，告警发送后删除；锁定超时由Leader节点重新处理',
+  PRIMARY KEY (`log_id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+CREATE TABLE `xxl_job_log_report_hour` (
+  `id` bigint(20) NOT NULL AUTO_INCREMENT,
+  `job_id` int(11) NOT NULL COMMENT '任务，主键ID',
+  `trigger_hour` datetime NOT NULL COMMENT '调度-时间（小时）',
+  `suc_count` int(11) NOT NULL DEFAULT '0' COMMENT '执行成功-日志数量',
+  `fail_count` int(11) NOT NULL DEFAULT '0' COMMENT '执行失败-日志数量',
+  `duration_p50` bigint(20) NOT NULL DEFAULT '0' COMMENT '执行耗时P50，单位毫秒',
+  `duration_p95` bigint(20) NOT NULL DEFAULT '0' COMMENT '执行耗时P95，单位毫秒',
+  `duration_p99` bigint(20) NOT NULL DEFAULT '0' COMMENT '执行耗时P99，单位毫秒',
+  `duration_histogram` text COMMENT '执行耗时分布，可合并直方图',
+  `version` int(11) NOT NULL DEFAULT '0' COMMENT '版本号，乐观锁',
+  `update_time` datetime DEFAULT NULL,
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `i_job_hour` (`job_id`,`trigger_hour`),
+  KEY `i_trigger_hour` (`trigger_hour`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
 INSERT INTO `xxl_job_group`(`id`, `app_name`, `title`, `address_type`, `address_list`, `update_time`) VALUES (1, 'xxl-job-executor-sample', '示例执行器', 0, NULL, '2018-11-03 22:21:31' );
 INSERT INTO `xxl_job_info`(`id`, `job_group`, `job_desc`, `add_time`, `update_time`, `author`, `alarm_email`, `schedule_type`, `schedule_conf`, `misfire_strategy`, `executor_route_strategy`, `executor_handler`, `executor_param`, `executor_block_strategy`, `executor_timeout`, `executor_fail_retry_count`, `glue_type`, `glue_source`, `glue_remark`, `glue_updatetime`, `child_jobid`) VALUES (1, 1, '测试任务1', '2018-11-03 22:21:31', '2018-11-03 22:21:31', 'XXL', '', 'CRON', '0 0 0 * * ? *', 'DO_NOTHING', 'FIRST', 'demoJobHandler', '', 'SERIAL_EXECUTION', 0, 0, 'BEAN', '', 'GLUE代码初始化', '2018-11-03 22:21:31', '');
 INSERT INTO `xxl_job_user`(`id`, `username`, `password`, `role`, `permission`) VALUES (1, 'admin', 'e10adc3949ba59abbe56e057f20f883e', 1, NULL);
 INSERT INTO `xxl_job_lock` ( `lock_name`) VALUES ( 'schedule_lock');
+INSERT INTO `xxl_job_cache_version` ( `cache_name`, `version`) VALUES ( 'job_info', 0), ( 'job_group', 0), ( 'job_registry', 0);
+INSERT INTO `xxl_job_id_segment` ( `seq_name`, `max_id`) VALUES ( 'job_log', 0);
 
 commit;
 
@@ -0,0 +1,42 @@
+#
+# XXL-JOB v2.4.0-SNAPSHOT
+# Copyright (c) 2015-present, xuxueli.
+#
+# upgrade "xxl_job_log" to slim log row: trigger/handle msg moved into "xxl_job_log_detail";
+# run once, in order, with admin stopped; msg copied before the columns dropped.
+
+use `xxl_job`;
+
+SET NAMES utf8mb4;
+
+# 1、log detail table
+CREATE TABLE IF NOT EXISTS `xxl_job_log_detail` (
+  `log_id` bigint(20) NOT NULL COMMENT '调度日志ID',
+  `trigger_time` datetime DEFAULT NULL COMMENT '调度-时间',
+  `registry_type` tinyint(4) NOT NULL DEFAULT '0' COMMENT '执行器地址类型：0=自动注册、1=手动录入',
+  `registry_list` text COMMENT '执行器地址列表',
+  `trigger_msg` text COMMENT '调度-日志',
+  `handle_msg` text COMMENT '执行-日志',
+  PRIMARY KEY (`log_id`),
+  KEY `I_trigger_time` (`trigger_time`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+# 2、structured trigger columns; empty for history log, whose trigger msg is shown as saved
+ALTER TABLE `xxl_job_log`
+  ADD COLUMN `executor_route_strategy` varchar(50) DEFAULT NULL COMMENT '执行器路由策略' AFTER `executor_fail_retry_count`,
+  ADD COLUMN `executor_block_strategy` varchar(50) DEFAULT NULL COMMENT '阻塞处理策略' AFTER `executor_route_strategy`,
+  ADD COLUMN `executor_timeout` int(11) NOT NULL DEFAULT '0' COMMENT '任务执行超时时间，单位秒' AFTER `executor_block_strategy`,
+  ADD COLUMN `trigger_type` varchar(20) DEFAULT NULL COMMENT '调度-类型' AFTER `executor_timeout`,
+  ADD COLUMN `trigger_admin` varchar(64) DEFAULT NULL COMMENT '调度-调度中心地址' AFTER `trigger_type`;
+
+# 3、copy msg of history log into detail (ignore if copied already); for large log table, may run by id range, such as "AND id > 0 AND id <= 1000000"
+INSERT IGNORE INTO `xxl_job_log_detail` (`log_id`, `trigger_time`, `registry_type`, `registry_list`, `trigger_msg`, `handle_msg`)
+SELECT t.id, t.trigger_time, 0, NULL, t.trigger_msg, t.handle_msg
+FROM `xxl_job_log` AS t
+WHERE t.trigger_msg IS NOT NULL
+   OR t.handle_msg IS NOT NULL;
+
+# 4、drop msg columns, after copied
+ALTER TABLE `xxl_job_log`
+  DROP COLUMN `trigger_msg`,
+  DROP COLUMN `handle_msg`;
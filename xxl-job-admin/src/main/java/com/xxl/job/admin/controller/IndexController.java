@@ -1,6 +1,9 @@
 package com.xxl.job.admin.controller;
 
 import com.xxl.job.admin.controller.annotation.PermissionLimit;
+import com.xxl.job.admin.core.model.XxlJobInfo;
+import com.xxl.job.admin.core.util.I18nUtil;
+import com.xxl.job.admin.dao.XxlJobInfoDao;
 import com.xxl.job.admin.service.LoginService;
 import com.xxl.job.admin.service.XxlJobService;
 import com.xxl.job.core.biz.model.ReturnT;
@@ -33,6 +36,8 @@ public class IndexController {
 	private XxlJobService xxlJobService;
 	@Resource
 	private LoginService loginService;
+	@Resource
+	private XxlJobInfoDao xxlJobInfoDao;
 
 
 	@RequestMapping("/")
@@ -50,6 +55,20 @@ public class IndexController {
         ReturnT<Map<String, Object>> chartInfo = xxlJobService.chartInfo(startDate, endDate);
         return chartInfo;
     }
+
+	@RequestMapping("/jobChartInfo")
+	@ResponseBody
+	public ReturnT<Map<String, Object>> jobChartInfo(HttpServletRequest request, int jobId, Date startDate, Date endDate) {
+		XxlJobInfo jobInfo = xxlJobInfoDao.loadById(jobId);
+		if (jobInfo == null) {
+			return new ReturnT<Map<String, Object>>(ReturnT.FAIL_CODE, I18nUtil.getString("jobinfo_field_id") + I18nUtil.getString("system_unvalid"));
+		}
+
+		// valid permission
+		JobInfoController.validPermission(request, jobInfo.getJobGroup());
+
+		return xxlJobService.jobChartInfo(jobId, startDate, endDate);
+	}
 	
 	@RequestMapping("/toLogin")
 	@PermissionLimit(limit=false)
@@ -6,8 +6,11 @@ import com.xxl.job.core.biz.AdminBiz;
 import com.xxl.job.core.biz.model.HandleCallbackParam;
 import com.xxl.job.core.biz.model.RegistryParam;
 import com.xxl.job.core.biz.model.ReturnT;
+import com.xxl.job.core.serializer.SerializerEnum;
 import com.xxl.job.core.util.GsonTool;
 import com.xxl.job.core.util.XxlJobRemotingUtil;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -16,6 +19,7 @@ import org.springframework.web.bind.annotation.ResponseBody;
 
 import javax.annotation.Resource;
 import javax.servlet.http.HttpServletRequest;
+import java.lang.reflect.Type;
 import java.util.List;
 
 /**
@@ -33,12 +37,37 @@ public class JobApiController {
      *
      * @param uri
      * @param data
-     * @return
+     * @return  json by spring default, or binary bytes if request negotiated by header "XXL-JOB-SERIALIZER"
      */
     @RequestMapping("/{uri}")
     @ResponseBody
     @PermissionLimit(limit=false)
-    public ReturnT<String> api(HttpServletRequest request, @PathVariable("uri") String uri, @RequestBody(required = false) String data) {
+    public ResponseEntity<Object> api(HttpServletRequest request, @PathVariable("uri") String uri, @RequestBody(required = false) byte[] data) {
+
+        // serializer, json default (header absent, old version); response use the same one
+        String serializerReq = request.getHeader(XxlJobRemotingUtil.XXL_JOB_SERIALIZER);
+        SerializerEnum serializer = SerializerEnum.match(serializerReq, SerializerEnum.JSON);
+
+        ReturnT<String> result;
+        if (serializerReq != null && SerializerEnum.match(serializerReq, null) == null) {
+            result = new ReturnT<String>(ReturnT.FAIL_CODE, "invalid request, serializer("+ serializerReq +") not support.");
+        } else {
+            result = process(request, uri, data, serializer);
+        }
+
+        // response
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.ok()
+                .header(XxlJobRemotingUtil.XXL_JOB_SERIALIZER, serializer.name())
+                .header(XxlJobRemotingUtil.XXL_JOB_FEATURES, XxlJobRemotingUtil.getFeatures());
+        if (serializer == SerializerEnum.JSON) {
+            return responseBuilder.body(result);
+        }
+        return responseBuilder
+                .contentType(MediaType.parseMediaType(serializer.getContentType()))
+                .body(serializer.getSerializer().serialize(result));
+    }
+
+    private ReturnT<String> process(HttpServletRequest request, String uri, byte[] data, SerializerEnum serializer) {
 
         // valid
         if (!"POST".equalsIgnoreCase(request.getMethod())) {
@@ -55,18 +84,19 @@ public class JobApiController {
 
         // services mapping
         if ("callback".equals(uri)) {
-            List<HandleCallbackParam> callbackParamList = GsonTool.fromJson(data, List.class, HandleCallbackParam.class);
+            List<HandleCallbackParam> callbackParamList = serializer.getSerializer().deserialize(data, CALLBACK_PARAM_LIST_TYPE);
             return adminBiz.callback(callbackParamList);
         } else if ("registry".equals(uri)) {
-            RegistryParam registryParam = GsonTool.fromJson(data, RegistryParam.class);
+            RegistryParam registryParam = serializer.getSerializer().deserialize(data, RegistryParam.class);
             return adminBiz.registry(registryParam);
         } else if ("registryRemove".equals(uri)) {
-            RegistryParam registryParam = GsonTool.fromJson(data, RegistryParam.class);
+            RegistryParam registryParam = serializer.getSerializer().deserialize(data, RegistryParam.class);
             return adminBiz.registryRemove(registryParam);
         } else {
-            return new ReturnT<String>(ReturnT.FAIL_CODE, "invalid request, uri-mapping("+ uri +") not found.");
+            return new ReturnT<String>(ReturnT.NOT_FOUND_CODE, "invalid request, uri-mapping("+ uri +") not found.");
         }
 
     }
+    private static final Type CALLBACK_PARAM_LIST_TYPE = new GsonTool.ParameterizedType4ReturnT(List.class, new Type[]{HandleCallbackParam.class});
 
 }
@@ -1,7 +1,8 @@
 package com.xxl.job.admin.controller;
 
 import com.xxl.job.admin.core.model.XxlJobGroup;
-import com.xxl.job.admin.core.model.XxlJobRegistry;
+import com.xxl.job.admin.core.route.ExecutorCircuitBreaker;
+import com.xxl.job.admin.core.thread.JobInfoCacheHelper;
 import com.xxl.job.admin.core.util.I18nUtil;
 import com.xxl.job.admin.dao.XxlJobGroupDao;
 import com.xxl.job.admin.dao.XxlJobInfoDao;
@@ -118,12 +119,7 @@ public class JobGroupController {
 			List<String> registryList = findRegistryByAppName(xxlJobGroup.getAppname());
 			String addressListStr = null;
 			if (registryList!=null && !registryList.isEmpty()) {
-				Collections.sort(registryList);
-				addressListStr = "";
-				for (String item:registryList) {
-					addressListStr += item + ",";
-				}
-				addressListStr = addressListStr.substring(0, addressListStr.length()-1);
+				addressListStr = String.join(",", registryList);		// sorted, by "findAddressByKey"
 			}
 			xxlJobGroup.setAddressList(addressListStr);
 		} else {
@@ -143,29 +139,12 @@ public class JobGroupController {
 		xxlJobGroup.setUpdateTime(new Date());
 
 		int ret = xxlJobGroupDao.update(xxlJobGroup);
+		JobInfoCacheHelper.getInstance().invalidateJobGroup(xxlJobGroup.getId());
 		return (ret>0)?ReturnT.SUCCESS:ReturnT.FAIL;
 	}
 
 	private List<String> findRegistryByAppName(String appnameParam){
-		HashMap<String, List<String>> appAddressMap = new HashMap<String, List<String>>();
-		List<XxlJobRegistry> list = xxlJobRegistryDao.findAll(RegistryConfig.DEAD_TIMEOUT, new Date());
-		if (list != null) {
-			for (XxlJobRegistry item: list) {
-				if (RegistryConfig.RegistType.EXECUTOR.name().equals(item.getRegistryGroup())) {
-					String appname = item.getRegistryKey();
-					List<String> registryList = appAddressMap.get(appname);
-					if (registryList == null) {
-						registryList = new ArrayList<String>();
-					}
-
-					if (!registryList.contains(item.getRegistryValue())) {
-						registryList.add(item.getRegistryValue());
-					}
-					appAddressMap.put(appname, registryList);
-				}
-			}
-		}
-		return appAddressMap.get(appnameParam);
+		return xxlJobRegistryDao.findAddressByKey(RegistryConfig.RegistType.EXECUTOR.name(), appnameParam, RegistryConfig.DEAD_TIMEOUT, new Date());
 	}
 
 	@RequestMapping("/remove")
@@ -184,9 +163,21 @@ public class JobGroupController {
 		}
 
 		int ret = xxlJobGroupDao.remove(id);
+		JobInfoCacheHelper.getInstance().invalidateJobGroup(id);
 		return (ret>0)?ReturnT.SUCCESS:ReturnT.FAIL;
 	}
 
+	@RequestMapping("/breakerState")
+	@ResponseBody
+	public ReturnT<List<Map<String, Object>>> breakerState(int id){
+		XxlJobGroup jobGroup = xxlJobGroupDao.load(id);
+		if (jobGroup == null) {
+			return new ReturnT<List<Map<String, Object>>>(ReturnT.FAIL_CODE, I18nUtil.getString("jobgroup_empty"));
+		}
+		// breaker state of this admin node
+		return new ReturnT<List<Map<String, Object>>>(ExecutorCircuitBreaker.getInstance().stateList(jobGroup.getRegistryList()));
+	}
+
 	@RequestMapping("/loadById")
 	@ResponseBody
 	public ReturnT<XxlJobGroup> loadById(int id){
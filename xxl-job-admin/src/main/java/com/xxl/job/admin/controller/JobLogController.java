@@ -2,14 +2,19 @@ package com.xxl.job.admin.controller;
 
 import com.xxl.job.admin.core.exception.XxlJobException;
 import com.xxl.job.admin.core.complete.XxlJobCompleter;
+import com.xxl.job.admin.core.conf.XxlJobAdminConfig;
 import com.xxl.job.admin.core.model.XxlJobGroup;
 import com.xxl.job.admin.core.model.XxlJobInfo;
 import com.xxl.job.admin.core.model.XxlJobLog;
 import com.xxl.job.admin.core.scheduler.XxlJobScheduler;
+import com.xxl.job.admin.core.thread.JobLogArchiveHelper;
+import com.xxl.job.admin.core.thread.JobLogPartitionHelper;
+import com.xxl.job.admin.core.trigger.XxlJobTrigger;
 import com.xxl.job.admin.core.util.I18nUtil;
 import com.xxl.job.admin.dao.XxlJobGroupDao;
 import com.xxl.job.admin.dao.XxlJobInfoDao;
 import com.xxl.job.admin.dao.XxlJobLogDao;
+import com.xxl.job.admin.dao.XxlJobLogDetailDao;
 import com.xxl.job.core.biz.ExecutorBiz;
 import com.xxl.job.core.biz.model.KillParam;
 import com.xxl.job.core.biz.model.LogParam;
@@ -26,6 +31,7 @@ import org.springframework.web.bind.annotation.ResponseBody;
 
 import javax.annotation.Resource;
 import javax.servlet.http.HttpServletRequest;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -46,6 +52,8 @@ public class JobLogController {
 	public XxlJobInfoDao xxlJobInfoDao;
 	@Resource
 	public XxlJobLogDao xxlJobLogDao;
+	@Resource
+	public XxlJobLogDetailDao xxlJobLogDetailDao;
 
 	@RequestMapping
 	public String index(HttpServletRequest request, Model model, @RequestParam(required = false, defaultValue = "0") Integer jobId) {
@@ -108,6 +116,10 @@ public class JobLogController {
 		// page query
 		List<XxlJobLog> list = xxlJobLogDao.pageList(start, length, jobGroup, jobId, triggerTimeStart, triggerTimeEnd, logStatus);
 		int list_count = xxlJobLogDao.pageListCount(start, length, jobGroup, jobId, triggerTimeStart, triggerTimeEnd, logStatus);
+
+		// archived log, older than db log, follow it
+		list_count += JobLogArchiveHelper.getInstance().pageList(Math.max(start - list_count, 0), length - list.size(),
+				jobGroup, jobId, triggerTimeStart, triggerTimeEnd, logStatus, list);
 		
 		// package result
 		Map<String, Object> maps = new HashMap<String, Object>();
@@ -123,6 +135,9 @@ public class JobLogController {
 		// base check
 		ReturnT<String> logStatue = ReturnT.SUCCESS;
 		XxlJobLog jobLog = xxlJobLogDao.load(id);
+		if (jobLog == null) {
+			jobLog = JobLogArchiveHelper.getInstance().load(id);
+		}
 		if (jobLog == null) {
             throw new RuntimeException(I18nUtil.getString("joblog_logid_unvalid"));
 		}
@@ -135,17 +150,33 @@ public class JobLogController {
 		return "joblog/joblog.detail";
 	}
 
+	@RequestMapping("/logDetailMsg")
+	@ResponseBody
+	public ReturnT<XxlJobLog> logDetailMsg(long id){
+		XxlJobLog jobLog = xxlJobLogDao.load(id);
+		if (jobLog != null) {
+			XxlJobTrigger.fillLogMsg(Collections.singletonList(jobLog));	// render on demand, out of log row
+		} else {
+			jobLog = JobLogArchiveHelper.getInstance().load(id);
+		}
+		if (jobLog == null) {
+			return new ReturnT<XxlJobLog>(ReturnT.FAIL_CODE, I18nUtil.getString("joblog_logid_unvalid"));
+		}
+		return new ReturnT<XxlJobLog>(jobLog);
+	}
+
 	@RequestMapping("/logDetailCat")
 	@ResponseBody
-	public ReturnT<LogResult> logDetailCat(String executorAddress, long triggerTime, long logId, int fromLineNum){
+	public ReturnT<LogResult> logDetailCat(String executorAddress, long triggerTime, long logId, int fromLineNum,
+										   @RequestParam(required = false, defaultValue = "0") long fromOffset){
 		try {
 			ExecutorBiz executorBiz = XxlJobScheduler.getExecutorBiz(executorAddress);
-			ReturnT<LogResult> logResult = executorBiz.log(new LogParam(triggerTime, logId, fromLineNum));
+			ReturnT<LogResult> logResult = executorBiz.log(new LogParam(triggerTime, logId, fromLineNum, fromOffset, XxlJobAdminConfig.getAdminConfig().getLogReadMaxBytes()));
 
-			// is end
-            if (logResult.getContent()!=null && logResult.getContent().getFromLineNum() > logResult.getContent().getToLineNum()) {
+			// is end, no more log
+            if (logResult.getContent()!=null && !hasMoreLog(logResult.getContent())) {
                 XxlJobLog jobLog = xxlJobLogDao.load(logId);
-                if (jobLog.getHandleCode() > 0) {
+                if (jobLog == null || jobLog.getHandleCode() > 0) {		// null if archived, finished already
                     logResult.getContent().setEnd(true);
                 }
             }
@@ -157,6 +188,14 @@ public class JobLogController {
 		}
 	}
 
+	private boolean hasMoreLog(LogResult logResult) {
+		if (logResult.getToOffset() > 0) {
+			return logResult.getToOffset() > logResult.getFromOffset();
+		}
+		// old version executor, read by line
+		return logResult.getFromLineNum() <= logResult.getToLineNum();
+	}
+
 	@RequestMapping("/logKill")
 	@ResponseBody
 	public ReturnT<String> logKill(int id){
@@ -219,11 +258,32 @@ public class JobLogController {
 			return new ReturnT<String>(ReturnT.FAIL_CODE, I18nUtil.getString("joblog_clean_type_unvalid"));
 		}
 
+		// drop expired partition, if partitioned and clean all job by time
+		if (jobGroup==0 && jobId==0 && clearBeforeTime!=null && JobLogPartitionHelper.getInstance().isPartitioned()) {
+			try {
+				JobLogPartitionHelper.getInstance().dropPartitions(clearBeforeTime);
+			} catch (Exception e) {
+				logger.error(">>>>>>>>>>> xxl-job, job log partition drop error:{}", e);
+			}
+
+			// detail of dropped partition, by the same trigger time
+			int clearCount = 0;
+			do {
+				clearCount = xxlJobLogDetailDao.clearBefore(clearBeforeTime, 1000);
+			} while (clearCount > 0);
+		}
+
+		// clean archived log, if clean all job by time
+		if (jobGroup==0 && jobId==0 && clearBeforeTime!=null) {
+			JobLogArchiveHelper.getInstance().clearBefore(clearBeforeTime);
+		}
+
 		List<Long> logIds = null;
 		do {
 			logIds = xxlJobLogDao.findClearLogIds(jobGroup, jobId, clearBeforeTime, clearBeforeNum, 1000);
 			if (logIds!=null && logIds.size()>0) {
 				xxlJobLogDao.clearLog(logIds);
+				xxlJobLogDetailDao.clearLog(logIds);
 			}
 		} while (logIds!=null && logIds.size()>0);
 
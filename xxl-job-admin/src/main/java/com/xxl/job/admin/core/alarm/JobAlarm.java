@@ -3,6 +3,8 @@ package com.xxl.job.admin.core.alarm;
 import com.xxl.job.admin.core.model.XxlJobInfo;
 import com.xxl.job.admin.core.model.XxlJobLog;
 
+import java.util.List;
+
 /**
  * @author xuxueli 2020-01-19
  */
@@ -17,4 +19,15 @@ public interface JobAlarm {
      */
     public boolean doAlarm(XxlJobInfo info, XxlJobLog jobLog);
 
+    /**
+     * job alarm, fail logs of one job aggregated in alarm window
+     *
+     * @param info
+     * @param jobLogList    ordered by log id, the latest one with msg filled
+     * @return
+     */
+    public default boolean doAlarm(XxlJobInfo info, List<XxlJobLog> jobLogList) {
+        return doAlarm(info, jobLogList.get(jobLogList.size() - 1));
+    }
+
 }
@@ -11,6 +11,7 @@ import org.springframework.context.ApplicationContextAware;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -42,6 +43,17 @@ public class JobAlarmer implements ApplicationContextAware, InitializingBean {
      * @return
      */
     public boolean alarm(XxlJobInfo info, XxlJobLog jobLog) {
+        return alarm(info, Collections.singletonList(jobLog));
+    }
+
+    /**
+     * job alarm, fail logs of one job aggregated
+     *
+     * @param info
+     * @param jobLogList
+     * @return
+     */
+    public boolean alarm(XxlJobInfo info, List<XxlJobLog> jobLogList) {
 
         boolean result = false;
         if (jobAlarmList!=null && jobAlarmList.size()>0) {
@@ -49,7 +61,9 @@ public class JobAlarmer implements ApplicationContextAware, InitializingBean {
             for (JobAlarm alarm: jobAlarmList) {
                 boolean resultItem = false;
                 try {
-                    resultItem = alarm.doAlarm(info, jobLog);
+                    resultItem = jobLogList.size()==1
+                            ?alarm.doAlarm(info, jobLogList.get(0))
+                            :alarm.doAlarm(info, jobLogList);
                 } catch (Exception e) {
                     logger.error(e.getMessage(), e);
                 }
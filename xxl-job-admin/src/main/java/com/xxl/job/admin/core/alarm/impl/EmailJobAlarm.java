@@ -16,6 +16,7 @@ import javax.mail.internet.MimeMessage;
 import java.text.MessageFormat;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -34,20 +35,56 @@ public class EmailJobAlarm implements JobAlarm {
      */
     @Override
     public boolean doAlarm(XxlJobInfo info, XxlJobLog jobLog){
+
+        // alarmContent
+        String alarmContent = "Alarm Job LogId=" + jobLog.getId();
+        alarmContent += makeLogContent(jobLog);
+
+        return sendAlarm(info, alarmContent, jobLog.getId());
+    }
+
+    /**
+     * fail alarm, aggregated
+     *
+     * @param jobLogList
+     */
+    @Override
+    public boolean doAlarm(XxlJobInfo info, List<XxlJobLog> jobLogList){
+        XxlJobLog lastLog = jobLogList.get(jobLogList.size() - 1);
+
+        // alarmContent
+        StringBuilder logIds = new StringBuilder();
+        for (XxlJobLog jobLog: jobLogList) {
+            if (logIds.length() > 0) {
+                logIds.append(",");
+            }
+            logIds.append(jobLog.getId());
+        }
+        String alarmContent = "Alarm Job Count=" + jobLogList.size()
+                + "<br>Alarm Job LogIds=" + logIds
+                + "<br>Last Alarm Job LogId=" + lastLog.getId();
+        alarmContent += makeLogContent(lastLog);
+
+        return sendAlarm(info, alarmContent, lastLog.getId());
+    }
+
+    private String makeLogContent(XxlJobLog jobLog){
+        String logContent = "";
+        if (jobLog.getTriggerCode() != ReturnT.SUCCESS_CODE) {
+            logContent += "<br>TriggerMsg=<br>" + jobLog.getTriggerMsg();
+        }
+        if (jobLog.getHandleCode()>0 && jobLog.getHandleCode() != ReturnT.SUCCESS_CODE) {
+            logContent += "<br>HandleCode=" + jobLog.getHandleMsg();
+        }
+        return logContent;
+    }
+
+    private boolean sendAlarm(XxlJobInfo info, String alarmContent, long jobLogId){
         boolean alarmResult = true;
 
         // send monitor email
         if (info!=null && info.getAlarmEmail()!=null && info.getAlarmEmail().trim().length()>0) {
 
-            // alarmContent
-            String alarmContent = "Alarm Job LogId=" + jobLog.getId();
-            if (jobLog.getTriggerCode() != ReturnT.SUCCESS_CODE) {
-                alarmContent += "<br>TriggerMsg=<br>" + jobLog.getTriggerMsg();
-            }
-            if (jobLog.getHandleCode()>0 && jobLog.getHandleCode() != ReturnT.SUCCESS_CODE) {
-                alarmContent += "<br>HandleCode=" + jobLog.getHandleMsg();
-            }
-
             // email info
             XxlJobGroup group = XxlJobAdminConfig.getAdminConfig().getXxlJobGroupDao().load(Integer.valueOf(info.getJobGroup()));
             String personal = I18nUtil.getString("admin_name_full");
@@ -73,7 +110,7 @@ public class EmailJobAlarm implements JobAlarm {
 
                     XxlJobAdminConfig.getAdminConfig().getMailSender().send(mimeMessage);
                 } catch (Exception e) {
-                    logger.error(">>>>>>>>>>> xxl-job, job fail alarm email send error, JobLogId:{}", jobLog.getId(), e);
+                    logger.error(">>>>>>>>>>> xxl-job, job fail alarm email send error, JobLogId:{}", jobLogId, e);
 
                     alarmResult = false;
                 }
@@ -0,0 +1,399 @@
+package com.xxl.job.admin.core.archive;
+
+import com.xxl.job.admin.core.model.XxlJobLog;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * archived job log segment, write once and read only
+ *
+ *      a、file："{id}.seg" data, and "{id}.idx" sparse index; index written last, segment is visible only if index exists;
+ *      b、block：rows sorted by (jobId, triggerTime), each block of BLOCK_ROWS rows has two gzip parts, column-wise:
+ *              "meta" (id, jobGroup, jobId, triggerTime, codes, executor ...) and "msg" (triggerMsg, handleMsg);
+ *      c、index：min/max of jobId, triggerTime and id, of each block; query skip block by index, read "msg" only for page rows;
+ *
+ * @author xuxueli 2026-10-18
+ */
+public class JobLogSegment {
+
+    private static final int MAGIC = 0x584A4C31;         // "XJL1"
+    private static final int BLOCK_ROWS = 256;
+
+    /**
+     * block index
+     */
+    public static class BlockIndex {
+        private int minJobId;
+        private int maxJobId;
+        private long minTriggerTime;
+        private long maxTriggerTime;
+        private long minId;
+        private long maxId;
+        private int rowCount;
+        private long metaOffset;
+        private int metaLength;
+        private long msgOffset;
+        private int msgLength;
+
+        public boolean matchJob(int jobId) {
+            return jobId <= 0 || (minJobId <= jobId && jobId <= maxJobId);
+        }
+
+        public boolean matchTime(Date triggerTimeStart, Date triggerTimeEnd) {
+            return (triggerTimeStart == null || maxTriggerTime >= triggerTimeStart.getTime())
+                    && (triggerTimeEnd == null || minTriggerTime <= triggerTimeEnd.getTime());
+        }
+
+        public boolean matchId(long id) {
+            return minId <= id && id <= maxId;
+        }
+
+        public boolean matchRange(long fromId, long toId) {
+            return minId <= toId && fromId <= maxId;
+        }
+    }
+
+    /**
+     * segment index
+     */
+    public static class SegmentIndex {
+        private long minId;
+        private long maxId;
+        private List<BlockIndex> blockList = new ArrayList<>();
+
+        public boolean matchId(long id) {
+            return minId <= id && id <= maxId;
+        }
+
+        public List<BlockIndex> getBlockList() {
+            return blockList;
+        }
+    }
+
+
+    // ---------------------- write ----------------------
+
+    /**
+     * write segment, by temp-file + rename; data first, then index
+     *
+     * @param segFile
+     * @param idxFile
+     * @param logList   full log, with msg
+     */
+    public static void write(File segFile, File idxFile, List<XxlJobLog> logList) throws IOException {
+        List<XxlJobLog> sortedList = new ArrayList<>(logList);
+        Collections.sort(sortedList, new Comparator<XxlJobLog>() {
+            @Override
+            public int compare(XxlJobLog o1, XxlJobLog o2) {
+                if (o1.getJobId() != o2.getJobId()) {
+                    return Integer.compare(o1.getJobId(), o2.getJobId());
+                }
+                return Long.compare(time(o1.getTriggerTime()), time(o2.getTriggerTime()));
+            }
+        });
+
+        // data
+        SegmentIndex segmentIndex = new SegmentIndex();
+        segmentIndex.minId = Long.MAX_VALUE;
+        segmentIndex.maxId = Long.MIN_VALUE;
+        File segTempFile = new File(segFile.getPath() + ".tmp");
+        try (FileOutputStream out = new FileOutputStream(segTempFile)) {
+            long offset = 0;
+            for (int from = 0; from < sortedList.size(); from += BLOCK_ROWS) {
+                List<XxlJobLog> blockList = sortedList.subList(from, Math.min(from + BLOCK_ROWS, sortedList.size()));
+
+                BlockIndex blockIndex = new BlockIndex();
+                blockIndex.minJobId = blockList.get(0).getJobId();
+                blockIndex.maxJobId = blockList.get(blockList.size() - 1).getJobId();
+                blockIndex.minTriggerTime = Long.MAX_VALUE;
+                blockIndex.maxTriggerTime = Long.MIN_VALUE;
+                blockIndex.minId = Long.MAX_VALUE;
+                blockIndex.maxId = Long.MIN_VALUE;
+                for (XxlJobLog log: blockList) {
+                    blockIndex.minTriggerTime = Math.min(blockIndex.minTriggerTime, time(log.getTriggerTime()));
+                    blockIndex.maxTriggerTime = Math.max(blockIndex.maxTriggerTime, time(log.getTriggerTime()));
+                    blockIndex.minId = Math.min(blockIndex.minId, log.getId());
+                    blockIndex.maxId = Math.max(blockIndex.maxId, log.getId());
+                }
+                blockIndex.rowCount = blockList.size();
+
+                byte[] meta = writeMeta(blockList);
+                byte[] msg = writeMsg(blockList);
+                out.write(meta);
+                out.write(msg);
+                blockIndex.metaOffset = offset;
+                blockIndex.metaLength = meta.length;
+                blockIndex.msgOffset = offset + meta.length;
+                blockIndex.msgLength = msg.length;
+                offset += meta.length + msg.length;
+
+                segmentIndex.blockList.add(blockIndex);
+                segmentIndex.minId = Math.min(segmentIndex.minId, blockIndex.minId);
+                segmentIndex.maxId = Math.max(segmentIndex.maxId, blockIndex.maxId);
+            }
+            out.getFD().sync();
+        }
+        rename(segTempFile, segFile);
+
+        // index
+        File idxTempFile = new File(idxFile.getPath() + ".tmp");
+        try (FileOutputStream fileOut = new FileOutputStream(idxTempFile)) {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fileOut));
+            out.writeInt(MAGIC);
+            out.writeLong(segmentIndex.minId);
+            out.writeLong(segmentIndex.maxId);
+            out.writeInt(segmentIndex.blockList.size());
+            for (BlockIndex blockIndex: segmentIndex.blockList) {
+                out.writeInt(blockIndex.minJobId);
+                out.writeInt(blockIndex.maxJobId);
+                out.writeLong(blockIndex.minTriggerTime);
+                out.writeLong(blockIndex.maxTriggerTime);
+                out.writeLong(blockIndex.minId);
+                out.writeLong(blockIndex.maxId);
+                out.writeInt(blockIndex.rowCount);
+                out.writeLong(blockIndex.metaOffset);
+                out.writeInt(blockIndex.metaLength);
+                out.writeLong(blockIndex.msgOffset);
+                out.writeInt(blockIndex.msgLength);
+            }
+            out.flush();
+            fileOut.getFD().sync();
+        }
+        rename(idxTempFile, idxFile);
+    }
+
+    private static byte[] writeMeta(List<XxlJobLog> blockList) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(bytes))) {
+            for (XxlJobLog log: blockList) {
+                out.writeLong(log.getId());
+            }
+            for (XxlJobLog log: blockList) {
+                out.writeInt(log.getJobGroup());
+            }
+            for (XxlJobLog log: blockList) {
+                out.writeInt(log.getJobId());
+            }
+            for (XxlJobLog log: blockList) {
+                out.writeLong(time(log.getTriggerTime()));
+            }
+            for (XxlJobLog log: blockList) {
+                out.writeInt(log.getTriggerCode());
+            }
+            for (XxlJobLog log: blockList) {
+                out.writeLong(time(log.getHandleTime()));
+            }
+            for (XxlJobLog log: blockList) {
+                out.writeInt(log.getHandleCode());
+            }
+            for (XxlJobLog log: blockList) {
+                out.writeInt(log.getAlarmStatus());
+            }
+            for (XxlJobLog log: blockList) {
+                out.writeInt(log.getExecutorFailRetryCount());
+            }
+            for (XxlJobLog log: blockList) {
+                writeString(out, log.getExecutorAddress());
+            }
+            for (XxlJobLog log: blockList) {
+                writeString(out, log.getExecutorHandler());
+            }
+            for (XxlJobLog log: blockList) {
+                writeString(out, log.getExecutorParam());
+            }
+            for (XxlJobLog log: blockList) {
+                writeString(out, log.getExecutorShardingParam());
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] writeMsg(List<XxlJobLog> blockList) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(bytes))) {
+            for (XxlJobLog log: blockList) {
+                writeString(out, log.getTriggerMsg());
+            }
+            for (XxlJobLog log: blockList) {
+                writeString(out, log.getHandleMsg());
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+
+    // ---------------------- read ----------------------
+
+    public static SegmentIndex readIndex(File idxFile) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(idxFile)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("invalid log segment index, file:" + idxFile.getPath());
+            }
+            SegmentIndex segmentIndex = new SegmentIndex();
+            segmentIndex.minId = in.readLong();
+            segmentIndex.maxId = in.readLong();
+            int blockCount = in.readInt();
+            for (int i = 0; i < blockCount; i++) {
+                BlockIndex blockIndex = new BlockIndex();
+                blockIndex.minJobId = in.readInt();
+                blockIndex.maxJobId = in.readInt();
+                blockIndex.minTriggerTime = in.readLong();
+                blockIndex.maxTriggerTime = in.readLong();
+                blockIndex.minId = in.readLong();
+                blockIndex.maxId = in.readLong();
+                blockIndex.rowCount = in.readInt();
+                blockIndex.metaOffset = in.readLong();
+                blockIndex.metaLength = in.readInt();
+                blockIndex.msgOffset = in.readLong();
+                blockIndex.msgLength = in.readInt();
+                segmentIndex.blockList.add(blockIndex);
+            }
+            return segmentIndex;
+        }
+    }
+
+    /**
+     * read meta of block, without msg
+     */
+    public static List<XxlJobLog> readMeta(File segFile, BlockIndex blockIndex) throws IOException {
+        int rowCount = blockIndex.rowCount;
+        List<XxlJobLog> logList = new ArrayList<>(rowCount);
+        try (DataInputStream in = openBlock(segFile, blockIndex.metaOffset, blockIndex.metaLength)) {
+            for (int i = 0; i < rowCount; i++) {
+                XxlJobLog log = new XxlJobLog();
+                log.setId(in.readLong());
+                logList.add(log);
+            }
+            for (XxlJobLog log: logList) {
+                log.setJobGroup(in.readInt());
+            }
+            for (XxlJobLog log: logList) {
+                log.setJobId(in.readInt());
+            }
+            for (XxlJobLog log: logList) {
+                log.setTriggerTime(date(in.readLong()));
+            }
+            for (XxlJobLog log: logList) {
+                log.setTriggerCode(in.readInt());
+            }
+            for (XxlJobLog log: logList) {
+                log.setHandleTime(date(in.readLong()));
+            }
+            for (XxlJobLog log: logList) {
+                log.setHandleCode(in.readInt());
+            }
+            for (XxlJobLog log: logList) {
+                log.setAlarmStatus(in.readInt());
+            }
+            for (XxlJobLog log: logList) {
+                log.setExecutorFailRetryCount(in.readInt());
+            }
+            for (XxlJobLog log: logList) {
+                log.setExecutorAddress(readString(in));
+            }
+            for (XxlJobLog log: logList) {
+                log.setExecutorHandler(readString(in));
+            }
+            for (XxlJobLog log: logList) {
+                log.setExecutorParam(readString(in));
+            }
+            for (XxlJobLog log: logList) {
+                log.setExecutorShardingParam(readString(in));
+            }
+        }
+        return logList;
+    }
+
+    /**
+     * fill msg of rows in block
+     *
+     * @param rowMap    row index in block (same order as "readMeta") -> log to fill
+     */
+    public static void readMsg(File segFile, BlockIndex blockIndex, Map<Integer, XxlJobLog> rowMap) throws IOException {
+        try (DataInputStream in = openBlock(segFile, blockIndex.msgOffset, blockIndex.msgLength)) {
+            for (int i = 0; i < blockIndex.rowCount; i++) {
+                String triggerMsg = readString(in);
+                XxlJobLog log = rowMap.get(i);
+                if (log != null) {
+                    log.setTriggerMsg(triggerMsg);
+                }
+            }
+            for (int i = 0; i < blockIndex.rowCount; i++) {
+                String handleMsg = readString(in);
+                XxlJobLog log = rowMap.get(i);
+                if (log != null) {
+                    log.setHandleMsg(handleMsg);
+                }
+            }
+        }
+    }
+
+    private static DataInputStream openBlock(File segFile, long offset, int length) throws IOException {
+        byte[] data = new byte[length];
+        try (RandomAccessFile raf = new RandomAccessFile(segFile, "r")) {
+            raf.seek(offset);
+            raf.readFully(data);
+        }
+        return new DataInputStream(new BufferedInputStream(new GZIPInputStream(new ByteArrayInputStream(data))));
+    }
+
+
+    // ---------------------- util ----------------------
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static long time(Date date) {
+        return date!=null?date.getTime():-1;
+    }
+
+    private static Date date(long time) {
+        return time>=0?new Date(time):null;
+    }
+
+    private static void rename(File from, File to) throws IOException {
+        if (to.exists() && !to.delete()) {
+            throw new IOException("delete file fail, file:" + to.getPath());
+        }
+        if (!from.renameTo(to)) {
+            throw new IOException("rename file fail, file:" + from.getPath());
+        }
+    }
+
+}
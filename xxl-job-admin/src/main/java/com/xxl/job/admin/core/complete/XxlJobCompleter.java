@@ -3,15 +3,29 @@ package com.xxl.job.admin.core.complete;
 import com.xxl.job.admin.core.conf.XxlJobAdminConfig;
 import com.xxl.job.admin.core.model.XxlJobInfo;
 import com.xxl.job.admin.core.model.XxlJobLog;
+import com.xxl.job.admin.core.model.XxlJobLogDetail;
+import com.xxl.job.admin.core.thread.JobLogReportHelper;
 import com.xxl.job.admin.core.thread.JobTriggerPoolHelper;
 import com.xxl.job.admin.core.trigger.TriggerTypeEnum;
 import com.xxl.job.admin.core.util.I18nUtil;
+import com.xxl.job.admin.dao.XxlJobLogDao;
 import com.xxl.job.core.biz.model.ReturnT;
 import com.xxl.job.core.context.XxlJobContext;
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.sql.Statement;
 import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * @author xuxueli 2020-10-30 20:43:10
@@ -36,7 +50,142 @@ public class XxlJobCompleter {
         }
 
         // fresh handle
-        return XxlJobAdminConfig.getAdminConfig().getXxlJobLogDao().updateHandleInfo(xxlJobLog);
+        int ret = XxlJobAdminConfig.getAdminConfig().getXxlJobLogDao().updateHandleInfo(xxlJobLog);
+        if (ret > 0) {
+            JobLogReportHelper.getInstance().countHandle(xxlJobLog);
+            saveHandleMsg(Collections.singletonList(xxlJobLog));
+            saveFailAlarm(Collections.singletonList(xxlJobLog));
+        }
+
+        // not running any more
+        XxlJobAdminConfig.getAdminConfig().getXxlJobRunningDao().deleteByLogIds(Collections.singletonList(xxlJobLog.getId()));
+        return ret;
+    }
+
+
+    /**
+     * batch fresh handle entrance (limit only once, by "handle_code = 0" in update)
+     *
+     *      a、one bulk lookup of job info, for child job;
+     *      b、conditional update in one jdbc batch, replace "read-check-write";
+     *      c、child job triggered only for log actually updated;
+     *
+     * @param xxlJobLogList     id, jobId, triggerTime, triggerCode, handleTime, handleCode, handleMsg required; handleMsg saved in log detail
+     * @return  count of log actually updated
+     */
+    public static int updateHandleInfoAndFinish(List<XxlJobLog> xxlJobLogList) {
+        if (xxlJobLogList==null || xxlJobLogList.size()==0) {
+            return 0;
+        }
+
+        // job info, of success log
+        Set<Integer> jobIds = new HashSet<>();
+        for (XxlJobLog xxlJobLog: xxlJobLogList) {
+            if (XxlJobContext.HANDLE_CODE_SUCCESS == xxlJobLog.getHandleCode()) {
+                jobIds.add(xxlJobLog.getJobId());
+            }
+        }
+        Map<Integer, XxlJobInfo> jobInfoMap = new HashMap<>();
+        if (jobIds.size() > 0) {
+            List<XxlJobInfo> jobInfoList = XxlJobAdminConfig.getAdminConfig().getXxlJobInfoDao().loadByIds(new ArrayList<>(jobIds));
+            if (jobInfoList != null) {
+                for (XxlJobInfo jobInfo: jobInfoList) {
+                    jobInfoMap.put(jobInfo.getId(), jobInfo);
+                }
+            }
+        }
+
+        // handle msg, with child msg
+        for (XxlJobLog xxlJobLog: xxlJobLogList) {
+            if (XxlJobContext.HANDLE_CODE_SUCCESS == xxlJobLog.getHandleCode()) {
+                String triggerChildMsg = triggerChildMsg(jobInfoMap.get(xxlJobLog.getJobId()));
+                if (triggerChildMsg != null) {
+                    xxlJobLog.setHandleMsg( xxlJobLog.getHandleMsg() + triggerChildMsg );
+                }
+            }
+            // text最大64kb 避免长度过长
+            if (xxlJobLog.getHandleMsg()!=null && xxlJobLog.getHandleMsg().length() > 15000) {
+                xxlJobLog.setHandleMsg( xxlJobLog.getHandleMsg().substring(0, 15000) );
+            }
+        }
+
+        // fresh handle, conditional update in batch
+        int[] updateCounts = new int[xxlJobLogList.size()];
+        SqlSession sqlSession = XxlJobAdminConfig.getAdminConfig().getSqlSessionFactory().openSession(ExecutorType.BATCH, false);
+        try {
+            XxlJobLogDao xxlJobLogDao = sqlSession.getMapper(XxlJobLogDao.class);
+            for (XxlJobLog xxlJobLog: xxlJobLogList) {
+                xxlJobLogDao.updateHandleInfoIfUnhandled(xxlJobLog);
+            }
+            int index = 0;
+            for (BatchResult batchResult: sqlSession.flushStatements()) {
+                for (int updateCount: batchResult.getUpdateCounts()) {
+                    updateCounts[index++] = updateCount;
+                }
+            }
+            sqlSession.commit();
+        } finally {
+            sqlSession.close();
+        }
+
+        // not running any more
+        List<Long> logIds = new ArrayList<>();
+        for (XxlJobLog xxlJobLog: xxlJobLogList) {
+            logIds.add(xxlJobLog.getId());
+        }
+        XxlJobAdminConfig.getAdminConfig().getXxlJobRunningDao().deleteByLogIds(logIds);
+
+        // finish, trigger child job of log actually updated
+        List<XxlJobLog> updatedLogList = new ArrayList<>();
+        for (int i = 0; i < xxlJobLogList.size(); i++) {
+            // SUCCESS_NO_INFO, driver can not tell (such as rewrite batch), take as updated
+            if (updateCounts[i] > 0 || updateCounts[i] == Statement.SUCCESS_NO_INFO) {
+                XxlJobLog xxlJobLog = xxlJobLogList.get(i);
+                updatedLogList.add(xxlJobLog);
+                JobLogReportHelper.getInstance().countHandle(xxlJobLog);
+                if (XxlJobContext.HANDLE_CODE_SUCCESS == xxlJobLog.getHandleCode()) {
+                    triggerChild(jobInfoMap.get(xxlJobLog.getJobId()));
+                }
+            }
+        }
+        saveHandleMsg(updatedLogList);
+        saveFailAlarm(updatedLogList);
+        return updatedLogList.size();
+    }
+
+    /**
+     * save handle msg into log detail, out of log row
+     */
+    private static void saveHandleMsg(List<XxlJobLog> xxlJobLogList) {
+        List<XxlJobLogDetail> detailList = new ArrayList<>();
+        for (XxlJobLog xxlJobLog: xxlJobLogList) {
+            if (xxlJobLog.getHandleMsg() == null) {
+                continue;
+            }
+            XxlJobLogDetail detail = new XxlJobLogDetail();
+            detail.setLogId(xxlJobLog.getId());
+            detail.setTriggerTime(xxlJobLog.getTriggerTime());
+            detail.setHandleMsg(xxlJobLog.getHandleMsg());
+            detailList.add(detail);
+        }
+        if (detailList.size() > 0) {
+            XxlJobAdminConfig.getAdminConfig().getXxlJobLogDetailDao().saveHandleMsg(detailList);
+        }
+    }
+
+    /**
+     * handle fail, push into alarm queue
+     */
+    private static void saveFailAlarm(List<XxlJobLog> xxlJobLogList) {
+        List<XxlJobLog> failList = new ArrayList<>();
+        for (XxlJobLog xxlJobLog: xxlJobLogList) {
+            if (XxlJobContext.HANDLE_CODE_SUCCESS != xxlJobLog.getHandleCode()) {
+                failList.add(xxlJobLog);
+            }
+        }
+        if (failList.size() > 0) {
+            XxlJobAdminConfig.getAdminConfig().getXxlJobAlarmQueueDao().saveBatch(failList);
+        }
     }
 
 
@@ -49,33 +198,8 @@ public class XxlJobCompleter {
         String triggerChildMsg = null;
         if (XxlJobContext.HANDLE_CODE_SUCCESS == xxlJobLog.getHandleCode()) {
             XxlJobInfo xxlJobInfo = XxlJobAdminConfig.getAdminConfig().getXxlJobInfoDao().loadById(xxlJobLog.getJobId());
-            if (xxlJobInfo!=null && xxlJobInfo.getChildJobId()!=null && xxlJobInfo.getChildJobId().trim().length()>0) {
-                triggerChildMsg = "<br><br><span style=\"color:#00c0ef;\" > >>>>>>>>>>>"+ I18nUtil.getString("jobconf_trigger_child_run") +"<<<<<<<<<<< </span><br>";
-
-                String[] childJobIds = xxlJobInfo.getChildJobId().split(",");
-                for (int i = 0; i < childJobIds.length; i++) {
-                    int childJobId = (childJobIds[i]!=null && childJobIds[i].trim().length()>0 && isNumeric(childJobIds[i]))?Integer.valueOf(childJobIds[i]):-1;
-                    if (childJobId > 0) {
-
-                        JobTriggerPoolHelper.trigger(childJobId, TriggerTypeEnum.PARENT, -1, null, null, null);
-                        ReturnT<String> triggerChildResult = ReturnT.SUCCESS;
-
-                        // add msg
-                        triggerChildMsg += MessageFormat.format(I18nUtil.getString("jobconf_callback_child_msg1"),
-                                (i+1),
-                                childJobIds.length,
-                                childJobIds[i],
-                                (triggerChildResult.getCode()==ReturnT.SUCCESS_CODE?I18nUtil.getString("system_success"):I18nUtil.getString("system_fail")),
-                                triggerChildResult.getMsg());
-                    } else {
-                        triggerChildMsg += MessageFormat.format(I18nUtil.getString("jobconf_callback_child_msg2"),
-                                (i+1),
-                                childJobIds.length,
-                                childJobIds[i]);
-                    }
-                }
-
-            }
+            triggerChild(xxlJobInfo);
+            triggerChildMsg = triggerChildMsg(xxlJobInfo);
         }
 
         if (triggerChildMsg != null) {
@@ -87,6 +211,48 @@ public class XxlJobCompleter {
 
     }
 
+    private static void triggerChild(XxlJobInfo xxlJobInfo){
+        if (xxlJobInfo!=null && xxlJobInfo.getChildJobId()!=null && xxlJobInfo.getChildJobId().trim().length()>0) {
+            String[] childJobIds = xxlJobInfo.getChildJobId().split(",");
+            for (int i = 0; i < childJobIds.length; i++) {
+                int childJobId = (childJobIds[i]!=null && childJobIds[i].trim().length()>0 && isNumeric(childJobIds[i]))?Integer.valueOf(childJobIds[i]):-1;
+                if (childJobId > 0) {
+                    JobTriggerPoolHelper.trigger(childJobId, TriggerTypeEnum.PARENT, -1, null, null, null);
+                }
+            }
+        }
+    }
+
+    private static String triggerChildMsg(XxlJobInfo xxlJobInfo){
+        String triggerChildMsg = null;
+        if (xxlJobInfo!=null && xxlJobInfo.getChildJobId()!=null && xxlJobInfo.getChildJobId().trim().length()>0) {
+            triggerChildMsg = "<br><br><span style=\"color:#00c0ef;\" > >>>>>>>>>>>"+ I18nUtil.getString("jobconf_trigger_child_run") +"<<<<<<<<<<< </span><br>";
+
+            String[] childJobIds = xxlJobInfo.getChildJobId().split(",");
+            for (int i = 0; i < childJobIds.length; i++) {
+                int childJobId = (childJobIds[i]!=null && childJobIds[i].trim().length()>0 && isNumeric(childJobIds[i]))?Integer.valueOf(childJobIds[i]):-1;
+                if (childJobId > 0) {
+
+                    ReturnT<String> triggerChildResult = ReturnT.SUCCESS;
+
+                    // add msg
+                    triggerChildMsg += MessageFormat.format(I18nUtil.getString("jobconf_callback_child_msg1"),
+                            (i+1),
+                            childJobIds.length,
+                            childJobIds[i],
+                            (triggerChildResult.getCode()==ReturnT.SUCCESS_CODE?I18nUtil.getString("system_success"):I18nUtil.getString("system_fail")),
+                            triggerChildResult.getMsg());
+                } else {
+                    triggerChildMsg += MessageFormat.format(I18nUtil.getString("jobconf_callback_child_msg2"),
+                            (i+1),
+                            childJobIds.length,
+                            childJobIds[i]);
+                }
+            }
+        }
+        return triggerChildMsg;
+    }
+
     private static boolean isNumeric(String str){
         try {
             int result = Integer.valueOf(str);
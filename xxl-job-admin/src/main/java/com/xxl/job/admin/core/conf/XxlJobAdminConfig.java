@@ -3,6 +3,8 @@ package com.xxl.job.admin.core.conf;
 import com.xxl.job.admin.core.alarm.JobAlarmer;
 import com.xxl.job.admin.core.scheduler.XxlJobScheduler;
 import com.xxl.job.admin.dao.*;
+import com.xxl.job.core.serializer.SerializerEnum;
+import org.apache.ibatis.session.SqlSessionFactory;
 import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Value;
@@ -55,6 +57,9 @@ public class XxlJobAdminConfig implements InitializingBean, DisposableBean {
     @Value("${xxl.job.accessToken}")
     private String accessToken;
 
+    @Value("${xxl.job.serializer:JSON}")
+    private String serializer;
+
     @Value("${spring.mail.from}")
     private String emailFrom;
 
@@ -64,9 +69,48 @@ public class XxlJobAdminConfig implements InitializingBean, DisposableBean {
     @Value("${xxl.job.triggerpool.slow.max}")
     private int triggerPoolSlowMax;
 
+    @Value("${xxl.job.triggerpool.batch.window:5}")
+    private int triggerBatchWindow;
+
+    @Value("${xxl.job.glue.hash.enabled:true}")
+    private boolean glueHashEnabled;
+
+    @Value("${xxl.job.logread.maxbytes:1048576}")
+    private int logReadMaxBytes;
+
+    @Value("${xxl.job.callback.queue.capacity:20000}")
+    private int callbackQueueCapacity;
+
+    @Value("${xxl.job.executor.inflight.max:200}")
+    private int executorInFlightMax;
+
+    @Value("${xxl.job.executor.breaker.failures:5}")
+    private int executorBreakerFailures;
+
+    @Value("${xxl.job.alarm.window:60}")
+    private int alarmWindow;
+
     @Value("${xxl.job.logretentiondays}")
     private int logretentiondays;
 
+    @Value("${xxl.job.logarchive.days:-1}")
+    private int logArchiveDays;
+
+    @Value("${xxl.job.logarchive.path:/data/applogs/xxl-job/logarchive}")
+    private String logArchivePath;
+
+    @Value("${server.port:8080}")
+    private int serverPort;
+
+    @Value("${xxl.job.schedule.partition.enabled:false}")
+    private boolean schedulePartitionEnabled;
+
+    @Value("${xxl.job.schedule.partition.slots:16}")
+    private int schedulePartitionSlots;
+
+    @Value("${xxl.job.schedule.batchsize:500}")
+    private int scheduleBatchSize;
+
     // dao, service
 
     @Resource
@@ -74,16 +118,30 @@ public class XxlJobAdminConfig implements InitializingBean, DisposableBean {
     @Resource
     private XxlJobInfoDao xxlJobInfoDao;
     @Resource
+    private XxlJobLogDetailDao xxlJobLogDetailDao;
+    @Resource
     private XxlJobRegistryDao xxlJobRegistryDao;
     @Resource
     private XxlJobGroupDao xxlJobGroupDao;
     @Resource
     private XxlJobLogReportDao xxlJobLogReportDao;
     @Resource
+    private XxlJobLogReportHourDao xxlJobLogReportHourDao;
+    @Resource
+    private XxlJobClusterNodeDao xxlJobClusterNodeDao;
+    @Resource
+    private XxlJobCacheVersionDao xxlJobCacheVersionDao;
+    @Resource
+    private XxlJobRunningDao xxlJobRunningDao;
+    @Resource
+    private XxlJobAlarmQueueDao xxlJobAlarmQueueDao;
+    @Resource
     private JavaMailSender mailSender;
     @Resource
     private DataSource dataSource;
     @Resource
+    private SqlSessionFactory sqlSessionFactory;
+    @Resource
     private JobAlarmer jobAlarmer;
 
 
@@ -98,6 +156,10 @@ public class XxlJobAdminConfig implements InitializingBean, DisposableBean {
         return accessToken;
     }
 
+    public SerializerEnum getSerializer() {
+        return SerializerEnum.match(serializer, SerializerEnum.JSON);
+    }
+
     public String getEmailFrom() {
         return emailFrom;
     }
@@ -116,6 +178,61 @@ public class XxlJobAdminConfig implements InitializingBean, DisposableBean {
         return triggerPoolSlowMax;
     }
 
+    public int getTriggerBatchWindow() {
+        if (triggerBatchWindow < 0) {
+            return 0;       // close batch
+        }
+        if (triggerBatchWindow > 100) {
+            return 100;     // limit trigger delay
+        }
+        return triggerBatchWindow;
+    }
+
+    public boolean isGlueHashEnabled() {
+        return glueHashEnabled;
+    }
+
+    public int getLogReadMaxBytes() {
+        if (logReadMaxBytes < 1024) {
+            return 1024;
+        }
+        if (logReadMaxBytes > 16 * 1024 * 1024) {
+            return 16 * 1024 * 1024;
+        }
+        return logReadMaxBytes;
+    }
+
+    public int getCallbackQueueCapacity() {
+        if (callbackQueueCapacity < 1000) {
+            return 1000;
+        }
+        return callbackQueueCapacity;
+    }
+
+    public int getExecutorInFlightMax() {
+        if (executorInFlightMax < 0) {
+            return 0;       // close limit
+        }
+        return executorInFlightMax;
+    }
+
+    public int getExecutorBreakerFailures() {
+        if (executorBreakerFailures < 0) {
+            return 0;       // close breaker
+        }
+        return executorBreakerFailures;
+    }
+
+    public int getAlarmWindow() {
+        if (alarmWindow < 0) {
+            return 0;       // close aggregate, alarm each fail
+        }
+        if (alarmWindow > 3600) {
+            return 3600;    // limit alarm delay
+        }
+        return alarmWindow;
+    }
+
     public int getLogretentiondays() {
         if (logretentiondays < 7) {
             return -1;  // Limit greater than or equal to 7, otherwise close
@@ -123,10 +240,47 @@ public class XxlJobAdminConfig implements InitializingBean, DisposableBean {
         return logretentiondays;
     }
 
+    public int getLogArchiveDays() {
+        if (logArchiveDays < 3) {
+            return -1;  // Limit greater than or equal to 3, otherwise close
+        }
+        return logArchiveDays;
+    }
+
+    public String getLogArchivePath() {
+        return logArchivePath;
+    }
+
+    public int getServerPort() {
+        return serverPort;
+    }
+
+    public boolean isSchedulePartitionEnabled() {
+        return schedulePartitionEnabled;
+    }
+
+    public int getSchedulePartitionSlots() {
+        if (schedulePartitionSlots < 1) {
+            return 1;
+        }
+        return schedulePartitionSlots;
+    }
+
+    public int getScheduleBatchSize() {
+        if (scheduleBatchSize < 1) {
+            return 1;
+        }
+        return scheduleBatchSize;
+    }
+
     public XxlJobLogDao getXxlJobLogDao() {
         return xxlJobLogDao;
     }
 
+    public XxlJobLogDetailDao getXxlJobLogDetailDao() {
+        return xxlJobLogDetailDao;
+    }
+
     public XxlJobInfoDao getXxlJobInfoDao() {
         return xxlJobInfoDao;
     }
@@ -143,6 +297,26 @@ public class XxlJobAdminConfig implements InitializingBean, DisposableBean {
         return xxlJobLogReportDao;
     }
 
+    public XxlJobLogReportHourDao getXxlJobLogReportHourDao() {
+        return xxlJobLogReportHourDao;
+    }
+
+    public XxlJobClusterNodeDao getXxlJobClusterNodeDao() {
+        return xxlJobClusterNodeDao;
+    }
+
+    public XxlJobCacheVersionDao getXxlJobCacheVersionDao() {
+        return xxlJobCacheVersionDao;
+    }
+
+    public XxlJobRunningDao getXxlJobRunningDao() {
+        return xxlJobRunningDao;
+    }
+
+    public XxlJobAlarmQueueDao getXxlJobAlarmQueueDao() {
+        return xxlJobAlarmQueueDao;
+    }
+
     public JavaMailSender getMailSender() {
         return mailSender;
     }
@@ -151,6 +325,10 @@ public class XxlJobAdminConfig implements InitializingBean, DisposableBean {
         return dataSource;
     }
 
+    public SqlSessionFactory getSqlSessionFactory() {
+        return sqlSessionFactory;
+    }
+
     public JobAlarmer getJobAlarmer() {
         return jobAlarmer;
     }
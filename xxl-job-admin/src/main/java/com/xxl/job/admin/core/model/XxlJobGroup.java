@@ -1,7 +1,7 @@
 package com.xxl.job.admin.core.model;
 
-import java.util.ArrayList;
-import java.util.Arrays;
+import com.xxl.job.admin.core.route.ExecutorAddressSnapshot;
+
 import java.util.Date;
 import java.util.List;
 
@@ -18,11 +18,8 @@ public class XxlJobGroup {
     private Date updateTime;
 
     // registry list
-    private List<String> registryList;  // 执行器地址列表(系统注册)
+    private List<String> registryList;  // 执行器地址列表(系统注册)，不可变快照，设置 addressList 时解析
     public List<String> getRegistryList() {
-        if (addressList!=null && addressList.trim().length()>0) {
-            registryList = new ArrayList<String>(Arrays.asList(addressList.split(",")));
-        }
         return registryList;
     }
 
@@ -71,7 +68,15 @@ public class XxlJobGroup {
     }
 
     public void setAddressList(String addressList) {
+        setAddressList(addressList, ExecutorAddressSnapshot.of(addressList));
+    }
+
+    /**
+     * address list with snapshot parsed from it, shared by copies of cached group
+     */
+    public void setAddressList(String addressList, List<String> registryList) {
         this.addressList = addressList;
+        this.registryList = registryList;
     }
 
 }
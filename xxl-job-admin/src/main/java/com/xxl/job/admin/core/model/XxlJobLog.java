@@ -20,16 +20,21 @@ public class XxlJobLog {
 	private String executorParam;
 	private String executorShardingParam;
 	private int executorFailRetryCount;
+	private String executorRouteStrategy;
+	private String executorBlockStrategy;
+	private int executorTimeout;
 	
 	// trigger info
+	private String triggerType;
+	private String triggerAdmin;
 	private Date triggerTime;
 	private int triggerCode;
-	private String triggerMsg;
+	private String triggerMsg;		// not in log row, rendered from "xxl_job_log_detail" on demand
 	
 	// handle info
 	private Date handleTime;
 	private int handleCode;
-	private String handleMsg;
+	private String handleMsg;		// not in log row, saved in "xxl_job_log_detail"
 
 	// alarm info
 	private int alarmStatus;
@@ -98,6 +103,46 @@ public class XxlJobLog {
 		this.executorFailRetryCount = executorFailRetryCount;
 	}
 
+	public String getExecutorRouteStrategy() {
+		return executorRouteStrategy;
+	}
+
+	public void setExecutorRouteStrategy(String executorRouteStrategy) {
+		this.executorRouteStrategy = executorRouteStrategy;
+	}
+
+	public String getExecutorBlockStrategy() {
+		return executorBlockStrategy;
+	}
+
+	public void setExecutorBlockStrategy(String executorBlockStrategy) {
+		this.executorBlockStrategy = executorBlockStrategy;
+	}
+
+	public int getExecutorTimeout() {
+		return executorTimeout;
+	}
+
+	public void setExecutorTimeout(int executorTimeout) {
+		this.executorTimeout = executorTimeout;
+	}
+
+	public String getTriggerType() {
+		return triggerType;
+	}
+
+	public void setTriggerType(String triggerType) {
+		this.triggerType = triggerType;
+	}
+
+	public String getTriggerAdmin() {
+		return triggerAdmin;
+	}
+
+	public void setTriggerAdmin(String triggerAdmin) {
+		this.triggerAdmin = triggerAdmin;
+	}
+
 	public Date getTriggerTime() {
 		return triggerTime;
 	}
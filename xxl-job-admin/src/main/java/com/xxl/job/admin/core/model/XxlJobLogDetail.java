@@ -0,0 +1,71 @@
+package com.xxl.job.admin.core.model;
+
+import java.util.Date;
+
+/**
+ * verbose part of job log, loaded only for log detail
+ *
+ * @author xuxueli 2026-10-18
+ */
+public class XxlJobLogDetail {
+
+    private long logId;
+    private Date triggerTime;
+
+    // trigger info
+    private int registryType;           // executor address type, 0=auto, 1=manual
+    private String registryList;        // executor address list, at trigger
+    private String triggerMsg;          // route and remote run result
+
+    // handle info
+    private String handleMsg;
+
+    public long getLogId() {
+        return logId;
+    }
+
+    public void setLogId(long logId) {
+        this.logId = logId;
+    }
+
+    public Date getTriggerTime() {
+        return triggerTime;
+    }
+
+    public void setTriggerTime(Date triggerTime) {
+        this.triggerTime = triggerTime;
+    }
+
+    public int getRegistryType() {
+        return registryType;
+    }
+
+    public void setRegistryType(int registryType) {
+        this.registryType = registryType;
+    }
+
+    public String getRegistryList() {
+        return registryList;
+    }
+
+    public void setRegistryList(String registryList) {
+        this.registryList = registryList;
+    }
+
+    public String getTriggerMsg() {
+        return triggerMsg;
+    }
+
+    public void setTriggerMsg(String triggerMsg) {
+        this.triggerMsg = triggerMsg;
+    }
+
+    public String getHandleMsg() {
+        return handleMsg;
+    }
+
+    public void setHandleMsg(String handleMsg) {
+        this.handleMsg = handleMsg;
+    }
+
+}
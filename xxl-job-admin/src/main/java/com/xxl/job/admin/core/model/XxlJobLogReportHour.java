@@ -0,0 +1,107 @@
+package com.xxl.job.admin.core.model;
+
+import java.util.Date;
+
+/**
+ * per-job hourly rollup of job log, with duration percentile
+ *
+ * @author xuxueli 2026-10-18
+ */
+public class XxlJobLogReportHour {
+
+    private long id;
+
+    private int jobId;
+    private Date triggerHour;
+
+    private int sucCount;
+    private int failCount;
+
+    private long durationP50;
+    private long durationP95;
+    private long durationP99;
+    private String durationHistogram;       // see "DurationHistogram.encode"
+
+    private int version;
+
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public int getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(int jobId) {
+        this.jobId = jobId;
+    }
+
+    public Date getTriggerHour() {
+        return triggerHour;
+    }
+
+    public void setTriggerHour(Date triggerHour) {
+        this.triggerHour = triggerHour;
+    }
+
+    public int getSucCount() {
+        return sucCount;
+    }
+
+    public void setSucCount(int sucCount) {
+        this.sucCount = sucCount;
+    }
+
+    public int getFailCount() {
+        return failCount;
+    }
+
+    public void setFailCount(int failCount) {
+        this.failCount = failCount;
+    }
+
+    public long getDurationP50() {
+        return durationP50;
+    }
+
+    public void setDurationP50(long durationP50) {
+        this.durationP50 = durationP50;
+    }
+
+    public long getDurationP95() {
+        return durationP95;
+    }
+
+    public void setDurationP95(long durationP95) {
+        this.durationP95 = durationP95;
+    }
+
+    public long getDurationP99() {
+        return durationP99;
+    }
+
+    public void setDurationP99(long durationP99) {
+        this.durationP99 = durationP99;
+    }
+
+    public String getDurationHistogram() {
+        return durationHistogram;
+    }
+
+    public void setDurationHistogram(String durationHistogram) {
+        this.durationHistogram = durationHistogram;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public void setVersion(int version) {
+        this.version = version;
+    }
+
+}
@@ -0,0 +1,66 @@
+package com.xxl.job.admin.core.route;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * executor address snapshot of job group, parsed once from "address_list", immutable, shared by all triggers
+ *
+ *      a、parse：parsed when group "address_list" set, copies of cached group share it (see JobInfoCacheHelper);
+ *      b、intern：address string interned, shared across groups and snapshots;
+ *
+ * @author xuxueli 2026-10-18
+ */
+public final class ExecutorAddressSnapshot extends AbstractList<String> implements RandomAccess {
+
+    /**
+     * snapshot of group address
+     *
+     * @param addressList   comma joined address
+     * @return  null if empty
+     */
+    public static ExecutorAddressSnapshot of(String addressList) {
+        if (addressList==null || addressList.trim().length()==0) {
+            return null;
+        }
+        return new ExecutorAddressSnapshot(addressList);
+    }
+
+
+    private final String[] addresses;
+    private String toString;
+
+    private ExecutorAddressSnapshot(String source) {
+        List<String> addressList = new ArrayList<>();
+        for (String address: source.split(",")) {
+            address = address.trim();
+            if (address.length() > 0) {
+                addressList.add(address.intern());
+            }
+        }
+        this.addresses = addressList.toArray(new String[addressList.size()]);
+    }
+
+    @Override
+    public String get(int index) {
+        return addresses[index];
+    }
+
+    @Override
+    public int size() {
+        return addresses.length;
+    }
+
+    @Override
+    public String toString() {
+        // log detail of each trigger, build once
+        if (toString == null) {
+            toString = Arrays.toString(addresses);
+        }
+        return toString;
+    }
+
+}
@@ -0,0 +1,268 @@
+package com.xxl.job.admin.core.route;
+
+import com.xxl.job.admin.core.conf.XxlJobAdminConfig;
+import com.xxl.job.core.biz.model.ReturnT;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * executor bulkhead and circuit breaker, per address, in trigger path
+ *
+ *      a、bulkhead：in-flight run of address limited by "xxl.job.executor.inflight.max", rejected at once when full;
+ *      b、breaker：open after "xxl.job.executor.breaker.failures" consecutive remoting error, rejected at once; half-open after "OPEN_TIME", one probe;
+ *      c、route：open address skipped by strategy allow skip (see ExecutorRouteStrategyEnum), unless all open;
+ *
+ * @author xuxueli 2026-10-18
+ */
+public class ExecutorCircuitBreaker {
+
+    private static ExecutorCircuitBreaker instance = new ExecutorCircuitBreaker();
+    public static ExecutorCircuitBreaker getInstance(){
+        return instance;
+    }
+
+    public static final long OPEN_TIME = 30 * 1000;
+    private static final long IDLE_TIME = 10 * 60 * 1000;
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    /**
+     * state of address
+     */
+    private static class Breaker {
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicLong successCount = new AtomicLong();
+        private final AtomicLong failCount = new AtomicLong();
+        private final AtomicLong rejectCount = new AtomicLong();
+        private volatile State state = State.CLOSED;
+        private int consecutiveFailures;
+        private long openTime;
+        private boolean probing;
+        private volatile long lastUseTime;
+
+        private synchronized boolean allowRequest(long now) {
+            switch (state) {
+                case OPEN:
+                    if (now - openTime < OPEN_TIME) {
+                        return false;
+                    }
+                    state = State.HALF_OPEN;
+                    probing = true;
+                    return true;
+                case HALF_OPEN:
+                    if (probing) {
+                        return false;
+                    }
+                    probing = true;
+                    return true;
+                default:
+                    return true;
+            }
+        }
+
+        private synchronized void onSuccess() {
+            consecutiveFailures = 0;
+            probing = false;
+            state = State.CLOSED;
+        }
+
+        private synchronized void onFailure(long now, int failureThreshold) {
+            consecutiveFailures++;
+            probing = false;
+            if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+                state = State.OPEN;
+                openTime = now;
+            }
+        }
+
+        private synchronized void onUnknown() {
+            // no result of probe, such as local limit, probe again
+            probing = false;
+        }
+
+        private boolean isOpen(long now) {
+            if (state != State.OPEN) {
+                return false;
+            }
+            synchronized (this) {
+                return state == State.OPEN && now - openTime < OPEN_TIME;
+            }
+        }
+    }
+
+    private final ConcurrentMap<String, Breaker> breakerMap = new ConcurrentHashMap<>();
+
+
+    // ---------------------- run ----------------------
+
+    /**
+     * acquire before run, must "release" after run if acquired
+     *
+     * @param address
+     * @return  null if acquired, otherwise fail result
+     */
+    public ReturnT<String> tryAcquire(String address) {
+        return tryAcquire(address,
+                XxlJobAdminConfig.getAdminConfig().getExecutorInFlightMax(),
+                XxlJobAdminConfig.getAdminConfig().getExecutorBreakerFailures(),
+                System.currentTimeMillis());
+    }
+
+    ReturnT<String> tryAcquire(String address, int inFlightMax, int failureThreshold, long now) {
+        Breaker breaker = getOrCreate(address);
+        breaker.lastUseTime = now;
+
+        if (breaker.inFlight.incrementAndGet() > inFlightMax && inFlightMax > 0) {
+            breaker.inFlight.decrementAndGet();
+            breaker.rejectCount.incrementAndGet();
+            return new ReturnT<String>(ReturnT.FAIL_CODE, "executor in-flight limit reached("+ inFlightMax +"), for address : " + address);
+        }
+        if (failureThreshold > 0 && !breaker.allowRequest(now)) {
+            breaker.inFlight.decrementAndGet();
+            breaker.rejectCount.incrementAndGet();
+            return new ReturnT<String>(ReturnT.FAIL_CODE, "executor circuit breaker open, for address : " + address);
+        }
+        return null;
+    }
+
+    /**
+     * release after run, with run result
+     */
+    public void release(String address, ReturnT<String> runResult) {
+        release(address, runResult,
+                XxlJobAdminConfig.getAdminConfig().getExecutorBreakerFailures(),
+                System.currentTimeMillis());
+    }
+
+    void release(String address, ReturnT<String> runResult, int failureThreshold, long now) {
+        Breaker breaker = breakerMap.get(address);
+        if (breaker == null) {
+            return;
+        }
+        breaker.inFlight.decrementAndGet();
+
+        boolean remotingError = ExecutorLivenessDetector.isRemotingError(runResult);
+        boolean reachable = !remotingError && ExecutorLivenessDetector.isReachable(runResult);
+        if (remotingError) {
+            breaker.failCount.incrementAndGet();
+        } else if (reachable) {
+            breaker.successCount.incrementAndGet();
+        }
+
+        // breaker closed by config, count only
+        if (failureThreshold <= 0) {
+            return;
+        }
+        if (remotingError) {
+            breaker.onFailure(now, failureThreshold);
+        } else if (reachable) {
+            breaker.onSuccess();
+        } else {
+            breaker.onUnknown();
+        }
+    }
+
+    /**
+     * remove state of address, idle for long
+     */
+    public void cleanIdle() {
+        long idleTime = System.currentTimeMillis() - IDLE_TIME;
+        Iterator<Breaker> iterator = breakerMap.values().iterator();
+        while (iterator.hasNext()) {
+            Breaker breaker = iterator.next();
+            if (breaker.lastUseTime < idleTime && breaker.inFlight.get() <= 0) {
+                iterator.remove();
+            }
+        }
+    }
+
+
+    // ---------------------- route ----------------------
+
+    /**
+     * address for route, open breaker skipped
+     *
+     * @param registryList
+     * @return  the same list if none open or all open, otherwise a filtered copy
+     */
+    public List<String> filter(List<String> registryList) {
+        return filter(registryList,
+                XxlJobAdminConfig.getAdminConfig().getExecutorBreakerFailures(),
+                System.currentTimeMillis());
+    }
+
+    List<String> filter(List<String> registryList, int failureThreshold, long now) {
+        if (registryList==null || registryList.isEmpty() || breakerMap.isEmpty() || failureThreshold <= 0) {
+            return registryList;
+        }
+
+        List<String> closedList = null;
+        for (int i = 0; i < registryList.size(); i++) {
+            String address = registryList.get(i);
+            Breaker breaker = breakerMap.get(address);
+            boolean open = breaker != null && breaker.isOpen(now);
+            if (open && closedList == null) {
+                closedList = new ArrayList<>(registryList.subList(0, i));
+            } else if (!open && closedList != null) {
+                closedList.add(address);
+            }
+        }
+        if (closedList == null || closedList.isEmpty()) {
+            return registryList;
+        }
+        return closedList;
+    }
+
+
+    // ---------------------- state ----------------------
+
+    /**
+     * breaker state and count of address, for admin
+     */
+    public List<Map<String, Object>> stateList(List<String> addressList) {
+        List<Map<String, Object>> stateList = new ArrayList<>();
+        if (addressList == null) {
+            return stateList;
+        }
+        for (String address: addressList) {
+            Breaker breaker = breakerMap.get(address);
+
+            Map<String, Object> state = new HashMap<String, Object>();
+            state.put("address", address);
+            state.put("state", breaker!=null?breaker.state.name():State.CLOSED.name());
+            state.put("inFlight", breaker!=null?breaker.inFlight.get():0);
+            state.put("successCount", breaker!=null?breaker.successCount.get():0);
+            state.put("failCount", breaker!=null?breaker.failCount.get():0);
+            state.put("rejectCount", breaker!=null?breaker.rejectCount.get():0);
+            state.put("suspected", ExecutorLivenessDetector.getInstance().isSuspected(address));
+            stateList.add(state);
+        }
+        return stateList;
+    }
+
+
+    // ---------------------- tool ----------------------
+
+    private Breaker getOrCreate(String address) {
+        Breaker breaker = breakerMap.get(address);
+        if (breaker == null) {
+            Breaker newBreaker = new Breaker();
+            breaker = breakerMap.putIfAbsent(address, newBreaker);
+            if (breaker == null) {
+                breaker = newBreaker;
+            }
+        }
+        return breaker;
+    }
+
+}
@@ -0,0 +1,295 @@
+package com.xxl.job.admin.core.route;
+
+import com.xxl.job.core.biz.model.ReturnT;
+import com.xxl.job.core.enums.RegistryConfig;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * executor liveness, suspect dead executor before "DEAD_TIMEOUT", excluded from routing
+ *
+ *      a、heartbeat：phi-accrual on beat inter-arrival time of address, beat received by this admin node only;
+ *          suspected only after confirmed by registry (see "confirm"), beat may move to other admin node (restart, failover);
+ *      b、rpc：remoting error of run suspect address for "FAIL_SUSPECT_TIME", reachable response clear it;
+ *      c、route：suspected address excluded, unless all suspected;
+ *
+ * @author xuxueli 2026-10-18
+ */
+public class ExecutorLivenessDetector {
+
+    private static ExecutorLivenessDetector instance = new ExecutorLivenessDetector();
+    public static ExecutorLivenessDetector getInstance(){
+        return instance;
+    }
+
+    public static final double PHI_THRESHOLD = 8.0;
+    private static final int MAX_SAMPLE_SIZE = 20;                                   // beat interval window
+    private static final long FIRST_INTERVAL = RegistryConfig.BEAT_TIMEOUT * 1000L;     // estimate, before second beat
+    private static final long MIN_STD_DEVIATION = 3000;                              // beat jitter, from registry call
+    private static final long ACCEPTABLE_PAUSE = 3000;                               // such as gc pause
+    private static final long FAIL_SUSPECT_TIME = RegistryConfig.BEAT_TIMEOUT * 1000L;
+    private static final long REGISTRY_TIME_TOLERANCE = 1000;                           // registry "update_time" in second
+
+    /**
+     * heartbeat and rpc state of address
+     */
+    private static class Liveness {
+        private final long[] intervals = new long[MAX_SAMPLE_SIZE];
+        private int intervalCount;
+        private int intervalIndex;
+        private double intervalSum;
+        private double intervalSquaredSum;
+        private long lastBeatTime;
+        private long confirmTime;           // registry checked, no beat elsewhere since last beat
+        private volatile long failSuspectUntil;
+
+        private synchronized void beat(long now) {
+            if (lastBeatTime == 0) {
+                // first beat, estimate
+                addInterval(FIRST_INTERVAL - FIRST_INTERVAL / 4);
+                addInterval(FIRST_INTERVAL + FIRST_INTERVAL / 4);
+            } else {
+                addInterval(now - lastBeatTime);
+            }
+            lastBeatTime = now;
+        }
+
+        private synchronized void reset() {
+            intervalCount = 0;
+            intervalIndex = 0;
+            intervalSum = 0;
+            intervalSquaredSum = 0;
+            lastBeatTime = 0;
+            confirmTime = 0;
+        }
+
+        private void addInterval(long interval) {
+            if (intervalCount == MAX_SAMPLE_SIZE) {
+                long dropped = intervals[intervalIndex];
+                intervalSum -= dropped;
+                intervalSquaredSum -= (double) dropped * dropped;
+            } else {
+                intervalCount++;
+            }
+            intervals[intervalIndex] = interval;
+            intervalIndex = (intervalIndex + 1) % MAX_SAMPLE_SIZE;
+            intervalSum += interval;
+            intervalSquaredSum += (double) interval * interval;
+        }
+
+        private synchronized double phi(long now) {
+            if (lastBeatTime == 0) {
+                return 0;
+            }
+            double mean = intervalSum / intervalCount;
+            double variance = Math.max(intervalSquaredSum / intervalCount - mean * mean, 0);
+            double stdDeviation = Math.max(Math.sqrt(variance), MIN_STD_DEVIATION);
+            return ExecutorLivenessDetector.phi(now - lastBeatTime, mean + ACCEPTABLE_PAUSE, stdDeviation);
+        }
+
+        private synchronized boolean isPhiSuspected(long now) {
+            return confirmTime > lastBeatTime && phi(now) >= PHI_THRESHOLD;
+        }
+    }
+
+    private final ConcurrentMap<String, Liveness> livenessMap = new ConcurrentHashMap<>();
+
+
+    // ---------------------- report ----------------------
+
+    /**
+     * executor beat received by this admin node
+     */
+    public void heartbeat(String address) {
+        heartbeat(address, System.currentTimeMillis());
+    }
+
+    void heartbeat(String address, long now) {
+        getOrCreate(address).beat(now);
+    }
+
+    /**
+     * run result of address, remoting error suspect address, reachable response (even fail) clear it
+     */
+    public void reportRun(String address, ReturnT<String> runResult) {
+        reportRun(address, runResult, System.currentTimeMillis());
+    }
+
+    void reportRun(String address, ReturnT<String> runResult, long now) {
+        if (isRemotingError(runResult)) {
+            getOrCreate(address).failSuspectUntil = now + FAIL_SUSPECT_TIME;
+        } else if (isReachable(runResult)) {
+            Liveness liveness = livenessMap.get(address);
+            if (liveness != null) {
+                liveness.failSuspectUntil = 0;
+            }
+        }
+    }
+
+    /**
+     * address overdue by phi, to confirm by registry
+     */
+    public List<String> overdueList() {
+        return overdueList(System.currentTimeMillis());
+    }
+
+    List<String> overdueList(long now) {
+        List<String> overdueList = new ArrayList<>();
+        for (Map.Entry<String, Liveness> entry: livenessMap.entrySet()) {
+            if (entry.getValue().phi(now) >= PHI_THRESHOLD) {
+                overdueList.add(entry.getKey());
+            }
+        }
+        return overdueList;
+    }
+
+    /**
+     * confirm overdue address by registry; beat elsewhere since last beat (newer "update_time"), phi state dropped
+     *
+     * @param address
+     * @param registryUpdateTime    latest "update_time" of address in registry, null if none
+     */
+    public void confirm(String address, Date registryUpdateTime) {
+        confirm(address, registryUpdateTime, System.currentTimeMillis());
+    }
+
+    void confirm(String address, Date registryUpdateTime, long now) {
+        Liveness liveness = livenessMap.get(address);
+        if (liveness == null) {
+            return;
+        }
+        synchronized (liveness) {
+            if (liveness.lastBeatTime == 0) {
+                return;
+            }
+            if (registryUpdateTime != null && registryUpdateTime.getTime() > liveness.lastBeatTime + REGISTRY_TIME_TOLERANCE) {
+                liveness.reset();     // unknown, as beat received by other admin node
+            } else {
+                liveness.confirmTime = now;
+            }
+        }
+    }
+
+    /**
+     * address removed
+     */
+    public void remove(String address) {
+        livenessMap.remove(address);
+    }
+
+    /**
+     * remove state of address, no beat and no rpc fail for long
+     */
+    public void cleanDead() {
+        long now = System.currentTimeMillis();
+        long deadTime = now - RegistryConfig.DEAD_TIMEOUT * 1000L;
+        Iterator<Liveness> iterator = livenessMap.values().iterator();
+        while (iterator.hasNext()) {
+            Liveness liveness = iterator.next();
+            synchronized (liveness) {
+                if (liveness.lastBeatTime < deadTime && liveness.failSuspectUntil < now) {
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+
+    // ---------------------- route ----------------------
+
+    public boolean isSuspected(String address) {
+        return isSuspected(address, System.currentTimeMillis());
+    }
+
+    boolean isSuspected(String address, long now) {
+        Liveness liveness = livenessMap.get(address);
+        if (liveness == null) {
+            return false;   // unknown, such as beat received by other admin node
+        }
+        return now < liveness.failSuspectUntil || liveness.isPhiSuspected(now);
+    }
+
+    /**
+     * address for route, suspected excluded
+     *
+     * @param registryList  immutable snapshot
+     * @return  the same list if none suspected or all suspected, otherwise a filtered copy
+     */
+    public List<String> filter(List<String> registryList) {
+        if (registryList==null || registryList.isEmpty() || livenessMap.isEmpty()) {
+            return registryList;
+        }
+
+        long now = System.currentTimeMillis();
+        List<String> aliveList = null;
+        for (int i = 0; i < registryList.size(); i++) {
+            String address = registryList.get(i);
+            boolean suspected = isSuspected(address, now);
+            if (suspected && aliveList == null) {
+                aliveList = new ArrayList<>(registryList.subList(0, i));
+            } else if (!suspected && aliveList != null) {
+                aliveList.add(address);
+            }
+        }
+        if (aliveList == null || aliveList.isEmpty()) {
+            return registryList;
+        }
+        return aliveList;
+    }
+
+
+    // ---------------------- tool ----------------------
+
+    private Liveness getOrCreate(String address) {
+        Liveness liveness = livenessMap.get(address);
+        if (liveness == null) {
+            Liveness newLiveness = new Liveness();
+            liveness = livenessMap.putIfAbsent(address, newLiveness);
+            if (liveness == null) {
+                liveness = newLiveness;
+            }
+        }
+        return liveness;
+    }
+
+    /**
+     * phi of elapsed time since last beat, by logistic approximation of normal cdf
+     */
+    static double phi(long elapsed, double mean, double stdDeviation) {
+        double y = (elapsed - mean) / stdDeviation;
+        double e = Math.exp(-y * (1.5976 + 0.070566 * y * y));
+        if (elapsed > mean) {
+            return -Math.log10(e / (1.0 + e));
+        } else {
+            return -Math.log10(1.0 - 1.0 / (1.0 + e));
+        }
+    }
+
+    /**
+     * executor unreachable, see "XxlJobHttpClient"; local limit (pending full, client stopped) excluded
+     */
+    static boolean isRemotingError(ReturnT<String> runResult) {
+        if (runResult == null || runResult.getCode() == ReturnT.SUCCESS_CODE || runResult.getMsg() == null) {
+            return false;
+        }
+        String msg = runResult.getMsg();
+        return msg.startsWith("xxl-job remoting error(")
+                && !msg.contains("too many pending request")
+                && !msg.contains("client stopped");
+    }
+
+    /**
+     * executor responded, success or not
+     */
+    static boolean isReachable(ReturnT<String> runResult) {
+        return runResult != null
+                && (runResult.getCode() == ReturnT.SUCCESS_CODE || runResult.getMsg() == null || !runResult.getMsg().startsWith("xxl-job remoting"));
+    }
+
+}
@@ -8,24 +8,26 @@ import com.xxl.job.admin.core.util.I18nUtil;
  */
 public enum ExecutorRouteStrategyEnum {
 
-    FIRST(I18nUtil.getString("jobconf_route_first"), new ExecutorRouteFirst()),
-    LAST(I18nUtil.getString("jobconf_route_last"), new ExecutorRouteLast()),
-    ROUND(I18nUtil.getString("jobconf_route_round"), new ExecutorRouteRound()),
-    RANDOM(I18nUtil.getString("jobconf_route_random"), new ExecutorRouteRandom()),
-    CONSISTENT_HASH(I18nUtil.getString("jobconf_route_consistenthash"), new ExecutorRouteConsistentHash()),
-    LEAST_FREQUENTLY_USED(I18nUtil.getString("jobconf_route_lfu"), new ExecutorRouteLFU()),
-    LEAST_RECENTLY_USED(I18nUtil.getString("jobconf_route_lru"), new ExecutorRouteLRU()),
-    FAILOVER(I18nUtil.getString("jobconf_route_failover"), new ExecutorRouteFailover()),
-    BUSYOVER(I18nUtil.getString("jobconf_route_busyover"), new ExecutorRouteBusyover()),
-    SHARDING_BROADCAST(I18nUtil.getString("jobconf_route_shard"), null);
-
-    ExecutorRouteStrategyEnum(String title, ExecutorRouter router) {
+    FIRST(I18nUtil.getString("jobconf_route_first"), new ExecutorRouteFirst(), false),
+    LAST(I18nUtil.getString("jobconf_route_last"), new ExecutorRouteLast(), false),
+    ROUND(I18nUtil.getString("jobconf_route_round"), new ExecutorRouteRound(), true),
+    RANDOM(I18nUtil.getString("jobconf_route_random"), new ExecutorRouteRandom(), true),
+    CONSISTENT_HASH(I18nUtil.getString("jobconf_route_consistenthash"), new ExecutorRouteConsistentHash(), true),
+    LEAST_FREQUENTLY_USED(I18nUtil.getString("jobconf_route_lfu"), new ExecutorRouteLFU(), true),
+    LEAST_RECENTLY_USED(I18nUtil.getString("jobconf_route_lru"), new ExecutorRouteLRU(), true),
+    FAILOVER(I18nUtil.getString("jobconf_route_failover"), new ExecutorRouteFailover(), false),
+    BUSYOVER(I18nUtil.getString("jobconf_route_busyover"), new ExecutorRouteBusyover(), false),
+    SHARDING_BROADCAST(I18nUtil.getString("jobconf_route_shard"), null, false);
+
+    ExecutorRouteStrategyEnum(String title, ExecutorRouter router, boolean allowSkip) {
         this.title = title;
         this.router = router;
+        this.allowSkip = allowSkip;
     }
 
     private String title;
     private ExecutorRouter router;
+    private boolean allowSkip;      // address of open circuit breaker can be skipped, see ExecutorCircuitBreaker
 
     public String getTitle() {
         return title;
@@ -33,6 +35,9 @@ public enum ExecutorRouteStrategyEnum {
     public ExecutorRouter getRouter() {
         return router;
     }
+    public boolean isAllowSkip() {
+        return allowSkip;
+    }
 
     public static ExecutorRouteStrategyEnum match(String name, ExecutorRouteStrategyEnum defaultItem){
         if (name != null) {
@@ -0,0 +1,194 @@
+package com.xxl.job.admin.core.scheduler;
+
+/**
+ * hierarchical timing wheel, holds job id (primitive int) by expiration time (ms)
+ *
+ *      a、level-0 wheel："wheelSize" buckets, each cover "tickMs";
+ *      b、overflow wheel：tick = interval of lower wheel, created lazily when expiration out of range;
+ *      c、advance：each tick drains the due bucket of level-0, and when a higher wheel crosses its tick, its bucket is re-inserted (cascade down);
+ *      d、precision：entry fires at the start of the tick it belongs to (error < tickMs);
+ *
+ * thread-safe, all operations guarded by one lock.
+ *
+ * @author xuxueli 2026-10-18
+ */
+public class TimingWheel {
+
+    private static final int[] EMPTY = new int[0];
+
+    private final Level root;
+    private int size = 0;
+
+    public TimingWheel(long tickMs, int wheelSize, long startMs) {
+        if (tickMs < 1 || wheelSize < 2) {
+            throw new IllegalArgumentException("tickMs must >= 1 and wheelSize must >= 2.");
+        }
+        this.root = new Level(tickMs, wheelSize, startMs);
+    }
+
+    /**
+     * add job
+     *
+     * @param jobId
+     * @param expirationMs
+     * @return false if already due (expiration within current tick), caller should trigger it directly
+     */
+    public synchronized boolean add(int jobId, long expirationMs) {
+        if (!root.add(jobId, expirationMs)) {
+            return false;
+        }
+        size++;
+        return true;
+    }
+
+    /**
+     * advance clock to "nowMs", and take all due jobs
+     *
+     * @param nowMs
+     * @return due job ids, fire order
+     */
+    public synchronized int[] advanceClock(long nowMs) {
+        if (nowMs < root.currentTime + root.tickMs) {
+            return EMPTY;
+        }
+
+        // empty wheel, jump directly
+        if (size == 0) {
+            jumpClock(nowMs);
+            return EMPTY;
+        }
+
+        Bucket fired = new Bucket();
+        while (root.currentTime + root.tickMs <= nowMs) {
+            long tickTime = root.currentTime + root.tickMs;
+            root.currentTime = tickTime;
+
+            // higher wheel cross tick, cascade down
+            for (Level level = root.overflow; level != null; level = level.overflow) {
+                long levelTime = tickTime - tickTime % level.tickMs;
+                if (levelTime == level.currentTime) {
+                    break;      // higher wheel can not cross, while this one not
+                }
+                level.currentTime = levelTime;
+
+                Bucket bucket = level.bucket(levelTime);
+                for (int i = 0; i < bucket.size; i++) {
+                    if (!root.add(bucket.jobIds[i], bucket.expirations[i])) {
+                        fired.add(bucket.jobIds[i], bucket.expirations[i]);
+                    }
+                }
+                bucket.clear();
+            }
+
+            // level-0 due bucket
+            Bucket bucket = root.bucket(tickTime);
+            for (int i = 0; i < bucket.size; i++) {
+                fired.add(bucket.jobIds[i], bucket.expirations[i]);
+            }
+            bucket.clear();
+
+            if (size == fired.size) {
+                jumpClock(nowMs);     // all fired, rest ticks are empty
+                break;
+            }
+        }
+
+        size -= fired.size;
+        if (fired.size == 0) {
+            return EMPTY;
+        }
+        int[] jobIds = new int[fired.size];
+        System.arraycopy(fired.jobIds, 0, jobIds, 0, fired.size);
+        return jobIds;
+    }
+
+    private void jumpClock(long nowMs) {
+        long tickTime = nowMs - nowMs % root.tickMs;
+        for (Level level = root; level != null; level = level.overflow) {
+            level.currentTime = tickTime - tickTime % level.tickMs;
+        }
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized boolean isEmpty() {
+        return size == 0;
+    }
+
+
+    // ---------------------- level ----------------------
+
+    private static class Level {
+        private final long tickMs;
+        private final int wheelSize;
+        private final long interval;
+        private final Bucket[] buckets;
+        private long currentTime;           // start of current tick
+        private Level overflow;
+
+        private Level(long tickMs, int wheelSize, long startMs) {
+            this.tickMs = tickMs;
+            this.wheelSize = wheelSize;
+            this.interval = tickMs * wheelSize;
+            this.buckets = new Bucket[wheelSize];
+            for (int i = 0; i < wheelSize; i++) {
+                buckets[i] = new Bucket();
+            }
+            this.currentTime = startMs - startMs % tickMs;
+        }
+
+        private Bucket bucket(long timeMs) {
+            return buckets[(int) ((timeMs / tickMs) % wheelSize)];
+        }
+
+        private boolean add(int jobId, long expirationMs) {
+            if (expirationMs < currentTime + tickMs) {
+                // already due
+                return false;
+            } else if (expirationMs < currentTime + interval) {
+                bucket(expirationMs).add(jobId, expirationMs);
+                return true;
+            } else {
+                if (overflow == null) {
+                    overflow = new Level(interval, wheelSize, currentTime);
+                }
+                return overflow.add(jobId, expirationMs);
+            }
+        }
+    }
+
+    private static class Bucket {
+        private static final int INIT_CAPACITY = 8;
+
+        private int[] jobIds = new int[INIT_CAPACITY];
+        private long[] expirations = new long[INIT_CAPACITY];
+        private int size = 0;
+
+        private void add(int jobId, long expirationMs) {
+            if (size == jobIds.length) {
+                int newCapacity = jobIds.length << 1;
+                int[] newJobIds = new int[newCapacity];
+                long[] newExpirations = new long[newCapacity];
+                System.arraycopy(jobIds, 0, newJobIds, 0, size);
+                System.arraycopy(expirations, 0, newExpirations, 0, size);
+                jobIds = newJobIds;
+                expirations = newExpirations;
+            }
+            jobIds[size] = jobId;
+            expirations[size] = expirationMs;
+            size++;
+        }
+
+        private void clear() {
+            // release memory of burst bucket
+            if (jobIds.length > 1024) {
+                jobIds = new int[INIT_CAPACITY];
+                expirations = new long[INIT_CAPACITY];
+            }
+            size = 0;
+        }
+    }
+
+}
@@ -6,6 +6,7 @@ import com.xxl.job.admin.core.util.I18nUtil;
 import com.xxl.job.core.biz.ExecutorBiz;
 import com.xxl.job.core.biz.client.ExecutorBizClient;
 import com.xxl.job.core.enums.ExecutorBlockStrategyEnum;
+import com.xxl.job.core.remoting.XxlJobHttpClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -24,13 +25,25 @@ public class XxlJobScheduler  {
         // init i18n
         initI18n();
 
+        // admin cluster node start (heartbeat, slot rebalance)
+        JobClusterHelper.getInstance().start();
+
+        // admin job/group cache start (version poll)
+        JobInfoCacheHelper.getInstance().start();
+
+        // admin log write start
+        JobLogWriteHelper.getInstance().start();
+
         // admin trigger pool start
         JobTriggerPoolHelper.toStart();
 
         // admin registry monitor run
         JobRegistryHelper.getInstance().start();
 
-        // admin fail-monitor run
+        // admin alarm start
+        JobAlarmHelper.getInstance().start();
+
+        // admin fail-monitor run ( depend on JobAlarmHelper )
         JobFailMonitorHelper.getInstance().start();
 
         // admin lose-monitor run ( depend on JobTriggerPoolHelper )
@@ -39,6 +52,9 @@ public class XxlJobScheduler  {
         // admin log report start
         JobLogReportHelper.getInstance().start();
 
+        // admin log archive start
+        JobLogArchiveHelper.getInstance().start();
+
         // start-schedule  ( depend on JobTriggerPoolHelper )
         JobScheduleHelper.getInstance().start();
 
@@ -51,21 +67,39 @@ public class XxlJobScheduler  {
         // stop-schedule
         JobScheduleHelper.getInstance().toStop();
 
-        // admin log report stop
-        JobLogReportHelper.getInstance().toStop();
-
         // admin lose-monitor stop
         JobCompleteHelper.getInstance().toStop();
 
         // admin fail-monitor stop
         JobFailMonitorHelper.getInstance().toStop();
 
+        // admin alarm stop ( send remaining, after fail-monitor stopped )
+        JobAlarmHelper.getInstance().toStop();
+
         // admin registry stop
         JobRegistryHelper.getInstance().toStop();
 
         // admin trigger pool stop
         JobTriggerPoolHelper.toStop();
 
+        // admin log write stop ( write remaining, after trigger stopped )
+        JobLogWriteHelper.getInstance().toStop();
+
+        // admin log report stop ( flush count, after trigger and callback stopped )
+        JobLogReportHelper.getInstance().toStop();
+
+        // admin log archive stop
+        JobLogArchiveHelper.getInstance().toStop();
+
+        // executor-client stop
+        XxlJobHttpClient.destroy();
+
+        // admin job/group cache stop
+        JobInfoCacheHelper.getInstance().toStop();
+
+        // admin cluster node stop
+        JobClusterHelper.getInstance().toStop();
+
     }
 
     // ---------------------- I18n ----------------------
@@ -92,7 +126,7 @@ public class XxlJobScheduler  {
         }
 
         // set-cache
-        executorBiz = new ExecutorBizClient(address, XxlJobAdminConfig.getAdminConfig().getAccessToken());
+        executorBiz = new ExecutorBizClient(address, XxlJobAdminConfig.getAdminConfig().getAccessToken(), XxlJobAdminConfig.getAdminConfig().getSerializer());
 
         executorBizRepository.put(address, executorBiz);
         return executorBiz;
@@ -0,0 +1,226 @@
+package com.xxl.job.admin.core.thread;
+
+import com.xxl.job.admin.core.conf.XxlJobAdminConfig;
+import com.xxl.job.admin.core.model.XxlJobInfo;
+import com.xxl.job.admin.core.model.XxlJobLog;
+import com.xxl.job.admin.core.trigger.XxlJobTrigger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * job alarm helper, send alarm async, aggregated by job in alarm window
+ *
+ *      a、window：first fail of job alarmed at once, and open window; later fail in window aggregated, alarmed once at window end;
+ *      b、status：alarm status of all aggregated log, from -1 (locked) to 2/3, and alarm queue row deleted, after send;
+ *
+ * @author xuxueli 2026-10-18
+ */
+public class JobAlarmHelper {
+    private static Logger logger = LoggerFactory.getLogger(JobAlarmHelper.class);
+
+    private static JobAlarmHelper instance = new JobAlarmHelper();
+    public static JobAlarmHelper getInstance(){
+        return instance;
+    }
+
+    /**
+     * alarm window of job
+     */
+    private static class AlarmWindow {
+        private XxlJobInfo info;
+        private final long windowEnd;
+        private List<XxlJobLog> pendingLogList = new ArrayList<>();
+
+        private AlarmWindow(XxlJobInfo info, long windowEnd) {
+            this.info = info;
+            this.windowEnd = windowEnd;
+        }
+    }
+
+    private Map<Integer, AlarmWindow> alarmWindowMap = new HashMap<>();
+    private ThreadPoolExecutor alarmThreadPool = null;
+    private Thread windowThread;
+    private volatile boolean toStop = false;
+
+    public void start(){
+
+        // for alarm send
+        alarmThreadPool = new ThreadPoolExecutor(
+                2,
+                10,
+                30L,
+                TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(2000),
+                new ThreadFactory() {
+                    @Override
+                    public Thread newThread(Runnable r) {
+                        return new Thread(r, "xxl-job, admin JobAlarmHelper-alarmThreadPool-" + r.hashCode());
+                    }
+                },
+                new RejectedExecutionHandler() {
+                    @Override
+                    public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
+                        r.run();
+                        logger.warn(">>>>>>>>>>> xxl-job, alarm too fast, match threadpool rejected handler(run now).");
+                    }
+                });
+
+        // for window end
+        windowThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                while (!toStop) {
+                    try {
+                        flushWindow(false);
+                    } catch (Exception e) {
+                        if (!toStop) {
+                            logger.error(">>>>>>>>>>> xxl-job, job alarm window thread error:{}", e);
+                        }
+                    }
+
+                    try {
+                        TimeUnit.SECONDS.sleep(1);
+                    } catch (Exception e) {
+                        if (!toStop) {
+                            logger.error(e.getMessage(), e);
+                        }
+                    }
+                }
+
+                // send remaining
+                flushWindow(true);
+                logger.info(">>>>>>>>>>> xxl-job, job alarm window thread stop");
+            }
+        });
+        windowThread.setDaemon(true);
+        windowThread.setName("xxl-job, admin JobAlarmHelper");
+        windowThread.start();
+    }
+
+    public void toStop(){
+        toStop = true;
+
+        // interrupt and wait, send remaining
+        windowThread.interrupt();
+        try {
+            windowThread.join();
+        } catch (InterruptedException e) {
+            logger.error(e.getMessage(), e);
+        }
+
+        alarmThreadPool.shutdown();
+        try {
+            if (!alarmThreadPool.awaitTermination(30, TimeUnit.SECONDS)) {
+                logger.warn(">>>>>>>>>>> xxl-job, job alarm thread pool not terminated in 30s.");
+            }
+        } catch (InterruptedException e) {
+            logger.error(e.getMessage(), e);
+        }
+    }
+
+
+    // ---------------------- alarm ----------------------
+
+    /**
+     * alarm fail log, log alarm status locked (-1)
+     *
+     * @param info
+     * @param jobLog
+     */
+    public void alarm(XxlJobInfo info, XxlJobLog jobLog) {
+        int alarmWindow = XxlJobAdminConfig.getAdminConfig().getAlarmWindow();
+        if (alarmWindow <= 0 || toStop) {
+            send(info, Collections.singletonList(jobLog));
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        AlarmWindow endWindow = null;
+        boolean sendNow = false;
+        synchronized (alarmWindowMap) {
+            AlarmWindow window = alarmWindowMap.get(info.getId());
+            if (window != null && now < window.windowEnd) {
+                // in window, aggregate
+                window.info = info;
+                window.pendingLogList.add(jobLog);
+            } else {
+                // window end (not flushed yet), send pending first
+                if (window != null && window.pendingLogList.size() > 0) {
+                    endWindow = window;
+                }
+                alarmWindowMap.put(info.getId(), new AlarmWindow(info, now + alarmWindow * 1000L));
+                sendNow = true;
+            }
+        }
+
+        // send out of lock, may run in caller (rejected)
+        if (endWindow != null) {
+            send(endWindow.info, endWindow.pendingLogList);
+        }
+        if (sendNow) {
+            send(info, Collections.singletonList(jobLog));
+        }
+    }
+
+    private void flushWindow(boolean all) {
+        long now = System.currentTimeMillis();
+        List<AlarmWindow> endWindowList = new ArrayList<>();
+        synchronized (alarmWindowMap) {
+            Iterator<AlarmWindow> iterator = alarmWindowMap.values().iterator();
+            while (iterator.hasNext()) {
+                AlarmWindow window = iterator.next();
+                if (all || now >= window.windowEnd) {
+                    iterator.remove();
+                    if (window.pendingLogList.size() > 0) {
+                        endWindowList.add(window);
+                    }
+                }
+            }
+        }
+        for (AlarmWindow window: endWindowList) {
+            send(window.info, window.pendingLogList);
+        }
+    }
+
+    private void send(final XxlJobInfo info, final List<XxlJobLog> jobLogList) {
+        alarmThreadPool.execute(new Runnable() {
+            @Override
+            public void run() {
+                List<Long> logIds = new ArrayList<>();
+                for (XxlJobLog jobLog: jobLogList) {
+                    logIds.add(jobLog.getId());
+                }
+
+                // msg of the latest log only, in alarm content
+                boolean alarmResult = false;
+                try {
+                    XxlJobTrigger.fillLogMsg(Collections.singletonList(jobLogList.get(jobLogList.size() - 1)));
+                    alarmResult = XxlJobAdminConfig.getAdminConfig().getJobAlarmer().alarm(info, jobLogList);
+                } catch (Exception e) {
+                    logger.error(">>>>>>>>>>> xxl-job, job alarm error, jobId:{}, logIds:{}", info.getId(), logIds, e);
+                }
+
+                // 告警状态：-1=锁定状态、2-告警成功、3-告警失败
+                try {
+                    XxlJobAdminConfig.getAdminConfig().getXxlJobLogDao().updateAlarmStatus(logIds, -1, alarmResult?2:3);
+                    XxlJobAdminConfig.getAdminConfig().getXxlJobAlarmQueueDao().delete(logIds);
+                } catch (Exception e) {
+                    logger.error(">>>>>>>>>>> xxl-job, job alarm status update error, jobId:{}, logIds:{}", info.getId(), logIds, e);
+                }
+            }
+        });
+    }
+
+}
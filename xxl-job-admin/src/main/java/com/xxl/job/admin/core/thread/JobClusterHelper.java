@@ -0,0 +1,171 @@
+package com.xxl.job.admin.core.thread;
+
+import com.xxl.job.admin.core.conf.XxlJobAdminConfig;
+import com.xxl.job.core.util.IpUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * admin cluster helper
+ *
+ *      a、heartbeat：each admin node keeps a lease row in "xxl_job_cluster_node", renewed every BEAT_INTERVAL;
+ *      b、slot：job id space is split into N slots (job_id % N), alive nodes (sorted by node id) own slots by "slot % nodeCount == nodeIndex";
+ *      c、rebalance：node join / leave / lease-expire changes the alive list, all nodes recompute their slots on next beat;
+ *      d、leader：the first alive node, for cluster-wide single-node work;
+ *
+ * @author xuxueli 2026-10-18
+ */
+public class JobClusterHelper {
+    private static Logger logger = LoggerFactory.getLogger(JobClusterHelper.class);
+
+    private static JobClusterHelper instance = new JobClusterHelper();
+    public static JobClusterHelper getInstance(){
+        return instance;
+    }
+
+    public static final int BEAT_INTERVAL = 3;                      // second
+    public static final int DEAD_TIMEOUT = BEAT_INTERVAL * 3 + 1;   // second
+
+    private String nodeId;
+    private volatile int[] ownSlots = new int[0];
+    private volatile List<String> aliveNodes = Collections.emptyList();
+
+    private Thread beatThread;
+    private volatile boolean toStop = false;
+
+    public void start(){
+
+        nodeId = IpUtil.getIpPort(XxlJobAdminConfig.getAdminConfig().getServerPort());
+
+        // first beat, sync (slots ready before schedule start)
+        beat();
+
+        beatThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                while (!toStop) {
+                    try {
+                        TimeUnit.SECONDS.sleep(BEAT_INTERVAL);
+                    } catch (InterruptedException e) {
+                        if (!toStop) {
+                            logger.error(e.getMessage(), e);
+                        }
+                    }
+                    if (!toStop) {
+                        beat();
+                    }
+                }
+                logger.info(">>>>>>>>>>> xxl-job, JobClusterHelper#beatThread stop");
+            }
+        });
+        beatThread.setDaemon(true);
+        beatThread.setName("xxl-job, admin JobClusterHelper#beatThread");
+        beatThread.start();
+    }
+
+    public void toStop(){
+        toStop = true;
+
+        // interrupt and wait
+        beatThread.interrupt();
+        try {
+            beatThread.join();
+        } catch (InterruptedException e) {
+            logger.error(e.getMessage(), e);
+        }
+
+        // leave cluster, other nodes take over slots on their next beat
+        ownSlots = new int[0];
+        try {
+            XxlJobAdminConfig.getAdminConfig().getXxlJobClusterNodeDao().remove(nodeId);
+        } catch (Exception e) {
+            logger.error(e.getMessage(), e);
+        }
+    }
+
+    private void beat(){
+        try {
+            long nowTime = System.currentTimeMillis();
+            long minHeartbeatTime = nowTime - DEAD_TIMEOUT * 1000L;
+
+            // renew lease
+            int ret = XxlJobAdminConfig.getAdminConfig().getXxlJobClusterNodeDao().heartbeatUpdate(nodeId, nowTime);
+            if (ret < 1) {
+                XxlJobAdminConfig.getAdminConfig().getXxlJobClusterNodeDao().heartbeatSave(nodeId, nowTime);
+            }
+
+            // remove expired lease
+            XxlJobAdminConfig.getAdminConfig().getXxlJobClusterNodeDao().removeDead(minHeartbeatTime);
+
+            // rebalance
+            List<String> nodeList = XxlJobAdminConfig.getAdminConfig().getXxlJobClusterNodeDao().findAlive(minHeartbeatTime);
+            if (nodeList == null) {
+                nodeList = Collections.emptyList();
+            }
+            int[] newSlots = assignSlots(nodeList, nodeId, XxlJobAdminConfig.getAdminConfig().getSchedulePartitionSlots());
+            if (!Arrays.equals(newSlots, ownSlots) || !nodeList.equals(aliveNodes)) {
+                logger.info(">>>>>>>>>>> xxl-job, cluster rebalance, nodeId:{}, aliveNodes:{}, ownSlots:{}", nodeId, nodeList, Arrays.toString(newSlots));
+            }
+            aliveNodes = Collections.unmodifiableList(new ArrayList<>(nodeList));
+            ownSlots = newSlots;
+        } catch (Exception e) {
+            if (!toStop) {
+                logger.error(">>>>>>>>>>> xxl-job, JobClusterHelper#beatThread error:{}", e);
+            }
+        }
+    }
+
+    /**
+     * slot assign, "slot % nodeCount == nodeIndex"
+     */
+    static int[] assignSlots(List<String> nodeList, String nodeId, int slotTotal) {
+        int nodeIndex = nodeList.indexOf(nodeId);
+        if (nodeIndex < 0) {
+            return new int[0];      // lease lost, give up all slots
+        }
+        List<Integer> slotList = new ArrayList<>();
+        for (int slot = 0; slot < slotTotal; slot++) {
+            if (slot % nodeList.size() == nodeIndex) {
+                slotList.add(slot);
+            }
+        }
+        int[] slots = new int[slotList.size()];
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = slotList.get(i);
+        }
+        return slots;
+    }
+
+
+    // ---------------------- tools ----------------------
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * slots owned by this node, empty if lease lost
+     */
+    public int[] getOwnSlots() {
+        return ownSlots;
+    }
+
+    public List<String> getAliveNodes() {
+        return aliveNodes;
+    }
+
+    /**
+     * leader: first alive node
+     */
+    public boolean isLeader() {
+        List<String> nodeList = aliveNodes;
+        return !nodeList.isEmpty() && nodeList.get(0).equals(nodeId);
+    }
+
+}
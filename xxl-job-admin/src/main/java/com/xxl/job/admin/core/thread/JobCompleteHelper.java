@@ -10,9 +10,19 @@ import com.xxl.job.core.util.DateUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.concurrent.*;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * job lose-monitor instance
@@ -29,31 +39,82 @@ public class JobCompleteHelper {
 
 	// ---------------------- monitor ----------------------
 
-	private ThreadPoolExecutor callbackThreadPool = null;
+	/**
+	 * callback ingest queue, bounded by "callbackQueueCapacity" (all-or-none for each callback list), drained by flusher thread
+	 */
+	private LinkedBlockingQueue<HandleCallbackParam> callbackQueue = new LinkedBlockingQueue<HandleCallbackParam>();
+	/**
+	 * callback before log written (log saved after trigger, by write-behind), retry after delay; still counted in "callbackPending"
+	 */
+	private DelayQueue<DelayedCallback> callbackDelayQueue = new DelayQueue<DelayedCallback>();
+	private AtomicInteger callbackPending = new AtomicInteger(0);
+	private int callbackQueueCapacity;
+	private Thread[] callbackFlushThreads;
 	private Thread monitorThread;
 	private volatile boolean toStop = false;
 	public void start(){
 
 		// for callback
-		callbackThreadPool = new ThreadPoolExecutor(
-				2,
-				20,
-				30L,
-				TimeUnit.SECONDS,
-				new LinkedBlockingQueue<Runnable>(3000),
-				new ThreadFactory() {
-					@Override
-					public Thread newThread(Runnable r) {
-						return new Thread(r, "xxl-job, admin JobLosedMonitorHelper-callbackThreadPool-" + r.hashCode());
+		callbackQueueCapacity = XxlJobAdminConfig.getAdminConfig().getCallbackQueueCapacity();
+		callbackFlushThreads = new Thread[CALLBACK_FLUSH_THREAD_NUM];
+		for (int i = 0; i < callbackFlushThreads.length; i++) {
+			callbackFlushThreads[i] = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					while (!toStop) {
+						try {
+							HandleCallbackParam callbackParam = callbackQueue.poll(1, TimeUnit.SECONDS);
+							if (callbackParam != null) {
+								List<HandleCallbackParam> batchList = new ArrayList<>();
+								batchList.add(callbackParam);
+								callbackQueue.drainTo(batchList, CALLBACK_BATCH_SIZE - 1);
+								flushCallback(batchList);
+							}
+
+							// delayed callback, log not written yet at last try
+							List<HandleCallbackParam> delayedList = new ArrayList<>();
+							while (delayedList.size() < CALLBACK_BATCH_SIZE) {
+								DelayedCallback delayedCallback = callbackDelayQueue.poll();
+								if (delayedCallback == null) {
+									break;
+								}
+								delayedList.add(delayedCallback.callbackParam);
+							}
+							if (delayedList.size() > 0) {
+								flushCallback(delayedList);
+							}
+						} catch (InterruptedException e) {
+							if (!toStop) {
+								logger.error(e.getMessage(), e);
+							}
+						}
 					}
-				},
-				new RejectedExecutionHandler() {
-					@Override
-					public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
-						r.run();
-						logger.warn(">>>>>>>>>>> xxl-job, callback too fast, match threadpool rejected handler(run now).");
+
+					// flush remaining
+					List<HandleCallbackParam> batchList = new ArrayList<>();
+					while (callbackQueue.drainTo(batchList, CALLBACK_BATCH_SIZE) > 0) {
+						flushCallback(batchList);
+						batchList = new ArrayList<>();
 					}
-				});
+
+					// delayed callback acked already, wait log written (log writer stopped later), until "CALLBACK_DELAY_MAX"
+					while (callbackDelayQueue.size() > 0) {
+						try {
+							DelayedCallback delayedCallback = callbackDelayQueue.poll(1, TimeUnit.SECONDS);
+							if (delayedCallback != null) {
+								flushCallback(new ArrayList<>(Collections.singletonList(delayedCallback.callbackParam)));
+							}
+						} catch (InterruptedException e) {
+							logger.error(e.getMessage(), e);
+						}
+					}
+					logger.info(">>>>>>>>>>> xxl-job, JobCompleteHelper callback flush thread stop");
+				}
+			});
+			callbackFlushThreads[i].setDaemon(true);
+			callbackFlushThreads[i].setName("xxl-job, admin JobCompleteHelper-callbackFlushThread-" + i);
+			callbackFlushThreads[i].start();
+		}
 
 
 		// for monitor
@@ -74,24 +135,17 @@ public class JobCompleteHelper {
 				// monitor
 				while (!toStop) {
 					try {
-						// 任务结果丢失处理：调度记录停留在 "运行中" 状态超过10min，且对应执行器心跳注册失败不在线，则将本地调度主动标记失败；
+						// 任务结果丢失处理：运行中任务（xxl_job_running）停留超过10min，且对应执行器心跳注册失败不在线（如手动录入地址），则将本地调度主动标记失败；
+						// 自动注册执行器离线时，由 JobRegistryHelper 及时处理，见 "failRunningOfDeadExecutor"；
 						Date losedTime = DateUtil.addMinutes(new Date(), -10);
-						List<Long> losedJobIds  = XxlJobAdminConfig.getAdminConfig().getXxlJobLogDao().findLostJobIds(losedTime);
-
-						if (losedJobIds!=null && losedJobIds.size()>0) {
-							for (Long logId: losedJobIds) {
-
-								XxlJobLog jobLog = new XxlJobLog();
-								jobLog.setId(logId);
-
-								jobLog.setHandleTime(new Date());
-								jobLog.setHandleCode(ReturnT.FAIL_CODE);
-								jobLog.setHandleMsg( I18nUtil.getString("joblog_lost_fail") );
-
-								XxlJobCompleter.updateHandleInfoAndFinish(jobLog);
-							}
-
-						}
+						List<Long> losedJobIds = null;
+						do {
+							losedJobIds = XxlJobAdminConfig.getAdminConfig().getXxlJobRunningDao().findLostLogIds(losedTime, CALLBACK_BATCH_SIZE);
+							failRunning(losedJobIds, I18nUtil.getString("joblog_lost_fail"));
+						} while (!toStop && losedJobIds!=null && losedJobIds.size()==CALLBACK_BATCH_SIZE);
+
+						// clean running, finished but not deleted (callback before running saved)
+						XxlJobAdminConfig.getAdminConfig().getXxlJobRunningDao().deleteFinished();
 					} catch (Exception e) {
 						if (!toStop) {
 							logger.error(">>>>>>>>>>> xxl-job, job fail monitor thread error:{}", e);
@@ -120,8 +174,17 @@ public class JobCompleteHelper {
 	public void toStop(){
 		toStop = true;
 
-		// stop registryOrRemoveThreadPool
-		callbackThreadPool.shutdownNow();
+		// stop callbackFlushThreads (interrupt and wait), flush remaining
+		for (Thread callbackFlushThread: callbackFlushThreads) {
+			callbackFlushThread.interrupt();
+		}
+		for (Thread callbackFlushThread: callbackFlushThreads) {
+			try {
+				callbackFlushThread.join();
+			} catch (InterruptedException e) {
+				logger.error(e.getMessage(), e);
+			}
+		}
 
 		// stop monitorThread (interrupt and wait)
 		monitorThread.interrupt();
@@ -135,50 +198,230 @@ public class JobCompleteHelper {
 
 	// ---------------------- helper ----------------------
 
+	/**
+	 * max callback of each batch, limit "IN (...)" and jdbc batch size
+	 */
+	private static final int CALLBACK_BATCH_SIZE = 500;
+	private static final int CALLBACK_FLUSH_THREAD_NUM = 2;
+	/**
+	 * retry after (ms), answered with "RETRY_AFTER_CODE" when ingest queue full
+	 */
+	private static final long CALLBACK_RETRY_AFTER = 1000;
+	/**
+	 * delay (ms) of callback before log written, and max wait from trigger time
+	 */
+	private static final long CALLBACK_DELAY = 1000;
+	private static final long CALLBACK_DELAY_MAX = 60 * 1000;
+
+	private static class DelayedCallback implements Delayed {
+		private final HandleCallbackParam callbackParam;
+		private final long retryTime;
+
+		private DelayedCallback(HandleCallbackParam callbackParam, long retryTime) {
+			this.callbackParam = callbackParam;
+			this.retryTime = retryTime;
+		}
+
+		@Override
+		public long getDelay(TimeUnit unit) {
+			return unit.convert(retryTime - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+		}
+
+		@Override
+		public int compareTo(Delayed o) {
+			return Long.compare(retryTime, ((DelayedCallback) o).retryTime);
+		}
+	}
+
+	/**
+	 * delay callback of log not found, if triggered recently; log may not be written yet
+	 *
+	 * @return false if not delayed
+	 */
+	private boolean delayCallback(HandleCallbackParam callbackParam) {
+		if (callbackParam.getLogDateTim() <= 0
+				|| System.currentTimeMillis() - callbackParam.getLogDateTim() > CALLBACK_DELAY_MAX) {
+			return false;
+		}
+		// keep reserved, released when retried (see "flushCallback")
+		callbackPending.incrementAndGet();
+		callbackDelayQueue.offer(new DelayedCallback(callbackParam, System.currentTimeMillis() + CALLBACK_DELAY));
+		return true;
+	}
+
 	public ReturnT<String> callback(List<HandleCallbackParam> callbackParamList) {
+		if (callbackParamList==null || callbackParamList.size()==0) {
+			return ReturnT.SUCCESS;
+		}
 
-		callbackThreadPool.execute(new Runnable() {
-			@Override
-			public void run() {
-				for (HandleCallbackParam handleCallbackParam: callbackParamList) {
-					ReturnT<String> callbackResult = callback(handleCallbackParam);
-					logger.debug(">>>>>>>>> JobApiController.callback {}, handleCallbackParam={}, callbackResult={}",
-							(callbackResult.getCode()== ReturnT.SUCCESS_CODE?"success":"fail"), handleCallbackParam, callbackResult);
-				}
-			}
-		});
+		// queue full, push back; all-or-none, avoid partial callback retry
+		if (toStop || !reserveCallback(callbackParamList.size())) {
+			logger.warn(">>>>>>>>>>> xxl-job, callback too fast, ingest queue full, retry after {}ms, callback size={}",
+					CALLBACK_RETRY_AFTER, callbackParamList.size());
+			ReturnT<String> retryResult = new ReturnT<String>(ReturnT.RETRY_AFTER_CODE, "callback queue full, retry after " + CALLBACK_RETRY_AFTER + "ms");
+			retryResult.setContent(String.valueOf(CALLBACK_RETRY_AFTER));
+			return retryResult;
+		}
+		callbackQueue.addAll(callbackParamList);
 
 		return ReturnT.SUCCESS;
 	}
 
-	private ReturnT<String> callback(HandleCallbackParam handleCallbackParam) {
-		// valid log item
-		XxlJobLog log = XxlJobAdminConfig.getAdminConfig().getXxlJobLogDao().load(handleCallbackParam.getLogId());
-		if (log == null) {
-			return new ReturnT<String>(ReturnT.FAIL_CODE, "log item not found.");
+	/**
+	 * reserve queue space, list larger than capacity is accepted only when queue is empty
+	 */
+	private boolean reserveCallback(int size) {
+		while (true) {
+			int pending = callbackPending.get();
+			if (pending > 0 && pending + size > callbackQueueCapacity) {
+				return false;
+			}
+			if (callbackPending.compareAndSet(pending, pending + size)) {
+				return true;
+			}
 		}
-		if (log.getHandleCode() > 0) {
-			return new ReturnT<String>(ReturnT.FAIL_CODE, "log repeate callback.");     // avoid repeat callback, trigger child job etc
+	}
+
+	private void flushCallback(List<HandleCallbackParam> batchList) {
+		try {
+			int updated = callbackBatch(batchList);
+			logger.debug(">>>>>>>>> JobApiController.callback, callback size={}, updated={}", batchList.size(), updated);
+		} catch (Exception e) {
+			logger.error(">>>>>>>>>>> xxl-job, job callback error, callback size={}", batchList.size(), e);
+		} finally {
+			callbackPending.addAndGet(-batchList.size());
 		}
+	}
 
-		// handle msg
-		StringBuffer handleMsg = new StringBuffer();
-		if (log.getHandleMsg()!=null) {
-			handleMsg.append(log.getHandleMsg()).append("<br>");
+	/**
+	 * fail running job of dead executor, called when registry monitor fresh online address
+	 *
+	 * @param jobGroups			auto registry group
+	 * @param onlineAddresses	online executor address
+	 */
+	public void failRunningOfDeadExecutor(List<Integer> jobGroups, Set<String> onlineAddresses) {
+		if (jobGroups==null || jobGroups.size()==0) {
+			return;
 		}
-		if (handleCallbackParam.getHandleMsg() != null) {
-			handleMsg.append(handleCallbackParam.getHandleMsg());
+
+		// dead address, with running job
+		List<String> runningAddresses = XxlJobAdminConfig.getAdminConfig().getXxlJobRunningDao().findExecutorAddress(jobGroups);
+		List<String> deadAddresses = new ArrayList<>();
+		if (runningAddresses != null) {
+			for (String address: runningAddresses) {
+				if (!onlineAddresses.contains(address)) {
+					deadAddresses.add(address);
+				}
+			}
+		}
+		if (deadAddresses.size() == 0) {
+			return;
 		}
 
-		// success, save log
-		log.setHandleTime(new Date());
-		log.setHandleCode(handleCallbackParam.getHandleCode());
-		log.setHandleMsg(handleMsg.toString());
-		XxlJobCompleter.updateHandleInfoAndFinish(log);
+		// fail running job
+		logger.warn(">>>>>>>>>>> xxl-job, executor dead, fail running job, address:{}", deadAddresses);
+		List<Long> logIds = null;
+		do {
+			logIds = XxlJobAdminConfig.getAdminConfig().getXxlJobRunningDao().findLogIdsByExecutorAddress(jobGroups, deadAddresses, CALLBACK_BATCH_SIZE);
+			failRunning(logIds, I18nUtil.getString("joblog_executor_dead_fail"));
+		} while (!toStop && logIds!=null && logIds.size()==CALLBACK_BATCH_SIZE);
+	}
 
-		return ReturnT.SUCCESS;
+	private void failRunning(List<Long> logIds, String handleMsg) {
+		if (logIds==null || logIds.size()==0) {
+			return;
+		}
+		// load log, trigger time and code required for report count
+		List<XxlJobLog> failLogList = new ArrayList<>();
+		List<Long> finishedLogIds = new ArrayList<>(logIds);
+		List<XxlJobLog> logList = XxlJobAdminConfig.getAdminConfig().getXxlJobLogDao().loadByIds(logIds, null, null);
+		if (logList != null) {
+			for (XxlJobLog jobLog: logList) {
+				if (jobLog.getHandleCode() > 0) {
+					continue;
+				}
+				jobLog.setHandleTime(new Date());
+				jobLog.setHandleCode(ReturnT.FAIL_CODE);
+				jobLog.setHandleMsg(handleMsg);
+				failLogList.add(jobLog);
+				finishedLogIds.remove(jobLog.getId());
+			}
+		}
+
+		// limit only once, and delete running
+		XxlJobCompleter.updateHandleInfoAndFinish(failLogList);
+
+		// delete running, log handled or not found
+		if (finishedLogIds.size() > 0) {
+			XxlJobAdminConfig.getAdminConfig().getXxlJobRunningDao().deleteByLogIds(finishedLogIds);
+		}
 	}
 
+	/**
+	 * callback as one unit: load log by "IN (...)", conditional update in batch (limit only once)
+	 *
+	 * @return count of log actually updated
+	 */
+	private int callbackBatch(List<HandleCallbackParam> callbackParamList) {
+		// valid log item
+		List<Long> logIds = new ArrayList<>();
+		long minLogDateTim = Long.MAX_VALUE;
+		long maxLogDateTim = 0;
+		for (HandleCallbackParam handleCallbackParam: callbackParamList) {
+			logIds.add(handleCallbackParam.getLogId());
+			minLogDateTim = Math.min(minLogDateTim, handleCallbackParam.getLogDateTim());
+			maxLogDateTim = Math.max(maxLogDateTim, handleCallbackParam.getLogDateTim());
+		}
+
+		// trigger time range, partition-friendly; skip if any unknown (trigger_time saved in second, so widen 1s)
+		Date triggerTimeFrom = minLogDateTim>0?new Date(minLogDateTim - 1000):null;
+		Date triggerTimeTo = minLogDateTim>0?new Date(maxLogDateTim + 1000):null;
 
+		Map<Long, XxlJobLog> logMap = new HashMap<>();
+		List<XxlJobLog> logList = XxlJobAdminConfig.getAdminConfig().getXxlJobLogDao().loadByIds(logIds, triggerTimeFrom, triggerTimeTo);
+		if (logList != null) {
+			for (XxlJobLog log: logList) {
+				logMap.put(log.getId(), log);
+			}
+		}
+		Set<Long> foundLogIds = new HashSet<>(logMap.keySet());
+
+		List<XxlJobLog> handleLogList = new ArrayList<>();
+		for (HandleCallbackParam handleCallbackParam: callbackParamList) {
+			XxlJobLog log = logMap.remove(handleCallbackParam.getLogId());		// remove, avoid repeat callback in same batch
+			if (log == null) {
+				if (!foundLogIds.contains(handleCallbackParam.getLogId()) && delayCallback(handleCallbackParam)) {
+					continue;		// log not written yet, retry later
+				}
+				if (!foundLogIds.contains(handleCallbackParam.getLogId())) {
+					logger.warn(">>>>>>>>>>> xxl-job, job callback fail, log item not found, handleCallbackParam={}", handleCallbackParam);
+				} else {
+					logger.debug(">>>>>>>>> JobApiController.callback fail, log repeate callback, handleCallbackParam={}", handleCallbackParam);
+				}
+				continue;
+			}
+			if (log.getHandleCode() > 0) {
+				logger.debug(">>>>>>>>> JobApiController.callback fail, log repeate callback, handleCallbackParam={}", handleCallbackParam);
+				continue;		// avoid repeat callback, trigger child job etc
+			}
+
+			// handle msg
+			StringBuffer handleMsg = new StringBuffer();
+			if (log.getHandleMsg()!=null) {
+				handleMsg.append(log.getHandleMsg()).append("<br>");
+			}
+			if (handleCallbackParam.getHandleMsg() != null) {
+				handleMsg.append(handleCallbackParam.getHandleMsg());
+			}
+
+			// success, save log
+			log.setHandleTime(new Date());
+			log.setHandleCode(handleCallbackParam.getHandleCode());
+			log.setHandleMsg(handleMsg.toString());
+			handleLogList.add(log);
+		}
+
+		return XxlJobCompleter.updateHandleInfoAndFinish(handleLogList);
+	}
 
 }
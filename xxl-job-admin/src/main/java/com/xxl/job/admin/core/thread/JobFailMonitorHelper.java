@@ -8,12 +8,24 @@ import com.xxl.job.admin.core.util.I18nUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 /**
  * job monitor instance
  *
+ *      a、queue：fail log pushed into "xxl_job_alarm_queue" at trigger or handle fail, drained here in batch by leader, instead of scanning log table;
+ *      b、lock：queue row locked when drained, deleted after alarm sent; lock expired (leader crash in alarm window) drained again, alarm only;
+ *      c、alarm：async and aggregated by job, see JobAlarmHelper;
+ *
  * @author xuxueli 2015-9-1 18:05:56
  */
 public class JobFailMonitorHelper {
@@ -24,6 +36,8 @@ public class JobFailMonitorHelper {
 		return instance;
 	}
 
+	private static final int ALARM_LOCK_TIMEOUT = 10 * 60;		// second, over alarm window
+
 	// ---------------------- monitor ----------------------
 
 	private Thread monitorThread;
@@ -38,36 +52,20 @@ public class JobFailMonitorHelper {
 				while (!toStop) {
 					try {
 
-						List<Long> failLogIds = XxlJobAdminConfig.getAdminConfig().getXxlJobLogDao().findFailJobLogIds(1000);
-						if (failLogIds!=null && !failLogIds.isEmpty()) {
-							for (long failLogId: failLogIds) {
-
-								// lock log
-								int lockRet = XxlJobAdminConfig.getAdminConfig().getXxlJobLogDao().updateAlarmStatus(failLogId, 0, -1);
-								if (lockRet < 1) {
-									continue;
-								}
-								XxlJobLog log = XxlJobAdminConfig.getAdminConfig().getXxlJobLogDao().load(failLogId);
-								XxlJobInfo info = XxlJobAdminConfig.getAdminConfig().getXxlJobInfoDao().loadById(log.getJobId());
-
-								// 1、fail retry monitor
-								if (log.getExecutorFailRetryCount() > 0) {
-									JobTriggerPoolHelper.trigger(log.getJobId(), TriggerTypeEnum.RETRY, (log.getExecutorFailRetryCount()-1), log.getExecutorShardingParam(), log.getExecutorParam(), null);
-									String retryMsg = "<br><br><span style=\"color:#F39C12;\" > >>>>>>>>>>>"+ I18nUtil.getString("jobconf_trigger_type_retry") +"<<<<<<<<<<< </span><br>";
-									log.setTriggerMsg(log.getTriggerMsg() + retryMsg);
-									XxlJobAdminConfig.getAdminConfig().getXxlJobLogDao().updateTriggerInfo(log);
+						// alarm queue, drained by leader only
+						if (JobClusterHelper.getInstance().isLeader()) {
+							long lockTimeout = (XxlJobAdminConfig.getAdminConfig().getAlarmWindow() + ALARM_LOCK_TIMEOUT) * 1000L;
+							while (!toStop) {
+								Date lockExpireTime = new Date(System.currentTimeMillis() - lockTimeout);
+								List<Long> failLogIds = XxlJobAdminConfig.getAdminConfig().getXxlJobAlarmQueueDao().findLogIds(lockExpireTime, 1000);
+								if (failLogIds==null || failLogIds.isEmpty()) {
+									break;
 								}
-
-								// 2、fail alarm monitor
-								int newAlarmStatus = 0;		// 告警状态：0-默认、-1=锁定状态、1-无需告警、2-告警成功、3-告警失败
-								if (info != null) {
-									boolean alarmResult = XxlJobAdminConfig.getAdminConfig().getJobAlarmer().alarm(info, log);
-									newAlarmStatus = alarmResult?2:3;
-								} else {
-									newAlarmStatus = 1;
+								XxlJobAdminConfig.getAdminConfig().getXxlJobAlarmQueueDao().lock(failLogIds, new Date());
+								handleFailLogs(failLogIds);
+								if (failLogIds.size() < 1000) {
+									break;
 								}
-
-								XxlJobAdminConfig.getAdminConfig().getXxlJobLogDao().updateAlarmStatus(failLogId, -1, newAlarmStatus);
 							}
 						}
 
@@ -96,6 +94,86 @@ public class JobFailMonitorHelper {
 		monitorThread.start();
 	}
 
+	/**
+	 * handle fail logs in batch: retry, and alarm (async, aggregated by JobAlarmHelper)
+	 */
+	private void handleFailLogs(List<Long> failLogIds){
+
+		// fail log, not alarmed yet (0), or alarm not sent before lock expired (-1)
+		List<XxlJobLog> logList = XxlJobAdminConfig.getAdminConfig().getXxlJobLogDao().loadByIds(failLogIds, null, null);
+		List<XxlJobLog> failLogList = new ArrayList<>();
+		Set<Integer> jobIds = new HashSet<>();
+		Set<Long> doneLogIds = new HashSet<>(failLogIds);
+		if (logList != null) {
+			for (XxlJobLog log: logList) {
+				if (log.getAlarmStatus() == 0 || log.getAlarmStatus() == -1) {
+					failLogList.add(log);
+					jobIds.add(log.getJobId());
+					doneLogIds.remove(log.getId());
+				}
+			}
+		}
+		if (failLogList.isEmpty()) {
+			XxlJobAdminConfig.getAdminConfig().getXxlJobAlarmQueueDao().delete(failLogIds);
+			return;
+		}
+		Collections.sort(failLogList, new Comparator<XxlJobLog>() {
+			@Override
+			public int compare(XxlJobLog o1, XxlJobLog o2) {
+				return Long.compare(o1.getId(), o2.getId());
+			}
+		});
+
+		// job info
+		Map<Integer, XxlJobInfo> jobInfoMap = new HashMap<>();
+		List<XxlJobInfo> jobInfoList = XxlJobAdminConfig.getAdminConfig().getXxlJobInfoDao().loadByIds(new ArrayList<>(jobIds));
+		if (jobInfoList != null) {
+			for (XxlJobInfo jobInfo: jobInfoList) {
+				jobInfoMap.put(jobInfo.getId(), jobInfo);
+			}
+		}
+
+		// 告警状态：0-默认、-1=锁定状态、1-无需告警、2-告警成功、3-告警失败
+		List<Long> noAlarmLogIds = new ArrayList<>();
+		List<Long> alarmLogIds = new ArrayList<>();
+		for (XxlJobLog log: failLogList) {
+			if (jobInfoMap.containsKey(log.getJobId())) {
+				if (log.getAlarmStatus() == 0) {
+					alarmLogIds.add(log.getId());
+				}
+			} else {
+				noAlarmLogIds.add(log.getId());
+			}
+		}
+		if (noAlarmLogIds.size() > 0) {
+			XxlJobAdminConfig.getAdminConfig().getXxlJobLogDao().updateAlarmStatus(noAlarmLogIds, 0, 1);
+			XxlJobAdminConfig.getAdminConfig().getXxlJobLogDao().updateAlarmStatus(noAlarmLogIds, -1, 1);
+			doneLogIds.addAll(noAlarmLogIds);
+		}
+		if (alarmLogIds.size() > 0) {
+			XxlJobAdminConfig.getAdminConfig().getXxlJobLogDao().updateAlarmStatus(alarmLogIds, 0, -1);
+		}
+		if (doneLogIds.size() > 0) {
+			XxlJobAdminConfig.getAdminConfig().getXxlJobAlarmQueueDao().delete(new ArrayList<>(doneLogIds));
+		}
+
+		for (XxlJobLog log: failLogList) {
+
+			// 1、fail retry monitor, once (not again for lock expired)
+			if (log.getAlarmStatus() == 0 && log.getExecutorFailRetryCount() > 0) {
+				JobTriggerPoolHelper.trigger(log.getJobId(), TriggerTypeEnum.RETRY, (log.getExecutorFailRetryCount()-1), log.getExecutorShardingParam(), log.getExecutorParam(), null);
+				String retryMsg = "<br><br><span style=\"color:#F39C12;\" > >>>>>>>>>>>"+ I18nUtil.getString("jobconf_trigger_type_retry") +"<<<<<<<<<<< </span><br>";
+				XxlJobAdminConfig.getAdminConfig().getXxlJobLogDetailDao().appendTriggerMsg(log.getId(), retryMsg);
+			}
+
+			// 2、fail alarm monitor, queue row deleted after sent
+			XxlJobInfo info = jobInfoMap.get(log.getJobId());
+			if (info != null) {
+				JobAlarmHelper.getInstance().alarm(info, log);
+			}
+		}
+	}
+
 	public void toStop(){
 		toStop = true;
 		// interrupt and wait
@@ -0,0 +1,275 @@
+package com.xxl.job.admin.core.thread;
+
+import com.xxl.job.admin.core.conf.XxlJobAdminConfig;
+import com.xxl.job.admin.core.model.XxlJobGroup;
+import com.xxl.job.admin.core.model.XxlJobInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeanUtils;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * job info / job group cache, for trigger
+ *
+ *      a、fill：schedule pre-read and trigger load (cache miss);
+ *      b、invalidate：job/group change on this node, evict local and bump version in "xxl_job_cache_version";
+ *      c、version poll：other nodes poll version each second, clear local cache when changed;
+ *      d、registry：group address refreshed by leader, publish "job_registry" version; other nodes clear group cache when changed;
+ *      e、epoch：each evict/clear increase epoch, load started before it can not put stale data;
+ *
+ * @author xuxueli 2026-10-18
+ */
+public class JobInfoCacheHelper {
+    private static Logger logger = LoggerFactory.getLogger(JobInfoCacheHelper.class);
+
+    private static JobInfoCacheHelper instance = new JobInfoCacheHelper();
+    public static JobInfoCacheHelper getInstance(){
+        return instance;
+    }
+
+    public static final String CACHE_JOB_INFO = "job_info";
+    public static final String CACHE_JOB_GROUP = "job_group";
+    public static final String CACHE_JOB_REGISTRY = "job_registry";
+    public static final int POLL_INTERVAL = 1;      // second
+
+    private final ConcurrentMap<Integer, XxlJobInfo> jobInfoCache = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Integer, XxlJobGroup> jobGroupCache = new ConcurrentHashMap<>();
+    private final AtomicLong jobInfoEpoch = new AtomicLong();
+    private final AtomicLong jobGroupEpoch = new AtomicLong();
+    private volatile Long jobInfoVersion;
+    private volatile Long jobGroupVersion;
+    private volatile Long jobRegistryVersion;
+
+    private Thread pollThread;
+    private volatile boolean toStop = false;
+
+    public void start(){
+
+        // first poll, sync
+        poll();
+
+        pollThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                while (!toStop) {
+                    try {
+                        TimeUnit.SECONDS.sleep(POLL_INTERVAL);
+                    } catch (InterruptedException e) {
+                        if (!toStop) {
+                            logger.error(e.getMessage(), e);
+                        }
+                    }
+                    if (!toStop) {
+                        poll();
+                    }
+                }
+                logger.info(">>>>>>>>>>> xxl-job, JobInfoCacheHelper#pollThread stop");
+            }
+        });
+        pollThread.setDaemon(true);
+        pollThread.setName("xxl-job, admin JobInfoCacheHelper#pollThread");
+        pollThread.start();
+    }
+
+    public void toStop(){
+        toStop = true;
+
+        // interrupt and wait
+        pollThread.interrupt();
+        try {
+            pollThread.join();
+        } catch (InterruptedException e) {
+            logger.error(e.getMessage(), e);
+        }
+
+        clearJobInfo();
+        clearJobGroup();
+    }
+
+    private void poll(){
+        try {
+            Long newJobInfoVersion = XxlJobAdminConfig.getAdminConfig().getXxlJobCacheVersionDao().findVersion(CACHE_JOB_INFO);
+            if (jobInfoVersion != null && !jobInfoVersion.equals(newJobInfoVersion)) {
+                clearJobInfo();
+            }
+            jobInfoVersion = newJobInfoVersion;
+
+            Long newJobGroupVersion = XxlJobAdminConfig.getAdminConfig().getXxlJobCacheVersionDao().findVersion(CACHE_JOB_GROUP);
+            if (jobGroupVersion != null && !jobGroupVersion.equals(newJobGroupVersion)) {
+                clearJobGroup();
+            }
+            jobGroupVersion = newJobGroupVersion;
+
+            Long newJobRegistryVersion = XxlJobAdminConfig.getAdminConfig().getXxlJobCacheVersionDao().findVersion(CACHE_JOB_REGISTRY);
+            if (jobRegistryVersion != null && !jobRegistryVersion.equals(newJobRegistryVersion)) {
+                clearJobGroup();
+            }
+            jobRegistryVersion = newJobRegistryVersion;
+        } catch (Exception e) {
+            // version unknown, cache can not be trusted
+            clearJobInfo();
+            clearJobGroup();
+            if (!toStop) {
+                logger.error(">>>>>>>>>>> xxl-job, JobInfoCacheHelper#pollThread error:{}", e);
+            }
+        }
+    }
+
+
+    // ---------------------- job info ----------------------
+
+    /**
+     * load job info, cache first
+     *
+     * @param jobId
+     * @return copy of cached data, caller can modify it
+     */
+    public XxlJobInfo loadJobInfo(int jobId){
+        XxlJobInfo cached = jobInfoCache.get(jobId);
+        if (cached != null) {
+            return copyOf(cached);
+        }
+
+        long epoch = jobInfoEpoch.get();
+        XxlJobInfo jobInfo = XxlJobAdminConfig.getAdminConfig().getXxlJobInfoDao().loadById(jobId);
+        if (jobInfo != null) {
+            putJobInfo(jobInfo, epoch);
+        }
+        return jobInfo;
+    }
+
+    public long getJobInfoEpoch(){
+        return jobInfoEpoch.get();
+    }
+
+    /**
+     * put job info
+     *
+     * @param jobInfo
+     * @param epoch     epoch before data load, put is dropped if evicted after that
+     */
+    public void putJobInfo(XxlJobInfo jobInfo, long epoch){
+        if (jobInfoEpoch.get() != epoch) {
+            return;
+        }
+        jobInfoCache.put(jobInfo.getId(), copyOf(jobInfo));
+        if (jobInfoEpoch.get() != epoch) {
+            // evict during put
+            jobInfoCache.remove(jobInfo.getId());
+        }
+    }
+
+    /**
+     * invalidate job info, this node and other nodes
+     */
+    public void invalidateJobInfo(int jobId){
+        jobInfoEpoch.incrementAndGet();
+        jobInfoCache.remove(jobId);
+
+        increaseVersion(CACHE_JOB_INFO);
+    }
+
+    private void clearJobInfo(){
+        jobInfoEpoch.incrementAndGet();
+        jobInfoCache.clear();
+    }
+
+
+    // ---------------------- job group ----------------------
+
+    /**
+     * load job group, cache first
+     *
+     * @param jobGroup
+     * @return copy of cached data, caller can modify it
+     */
+    public XxlJobGroup loadJobGroup(int jobGroup){
+        XxlJobGroup cached = jobGroupCache.get(jobGroup);
+        if (cached != null) {
+            return copyOf(cached);
+        }
+
+        long epoch = jobGroupEpoch.get();
+        XxlJobGroup group = XxlJobAdminConfig.getAdminConfig().getXxlJobGroupDao().load(jobGroup);
+        if (group != null && jobGroupEpoch.get() == epoch) {
+            jobGroupCache.put(group.getId(), copyOf(group));
+            if (jobGroupEpoch.get() != epoch) {
+                // evict during put
+                jobGroupCache.remove(group.getId());
+            }
+        }
+        return group;
+    }
+
+    /**
+     * invalidate job group, this node and other nodes
+     */
+    public void invalidateJobGroup(int jobGroup){
+        evictJobGroup(jobGroup);
+
+        increaseVersion(CACHE_JOB_GROUP);
+    }
+
+    /**
+     * evict job group, only this node
+     */
+    private void evictJobGroup(int jobGroup){
+        jobGroupEpoch.incrementAndGet();
+        jobGroupCache.remove(jobGroup);
+    }
+
+    /**
+     * invalidate registry address of job group, this node and other nodes
+     */
+    public void invalidateJobRegistry(List<Integer> jobGroups){
+        for (int jobGroup: jobGroups) {
+            evictJobGroup(jobGroup);
+        }
+
+        increaseVersion(CACHE_JOB_REGISTRY);
+    }
+
+    /**
+     * registry version last polled, changed when any group address changed; cheap check for address derived cache
+     */
+    public long getJobRegistryVersion(){
+        Long version = jobRegistryVersion;
+        return version!=null?version:0;
+    }
+
+    private void clearJobGroup(){
+        jobGroupEpoch.incrementAndGet();
+        jobGroupCache.clear();
+    }
+
+
+    // ---------------------- tools ----------------------
+
+    private void increaseVersion(String cacheName){
+        try {
+            XxlJobAdminConfig.getAdminConfig().getXxlJobCacheVersionDao().increase(cacheName);
+        } catch (Exception e) {
+            logger.error(">>>>>>>>>>> xxl-job, JobInfoCacheHelper increase version error, cacheName:{}", cacheName, e);
+        }
+    }
+
+    private static XxlJobInfo copyOf(XxlJobInfo jobInfo){
+        XxlJobInfo copy = new XxlJobInfo();
+        BeanUtils.copyProperties(jobInfo, copy);
+        return copy;
+    }
+
+    private static XxlJobGroup copyOf(XxlJobGroup group){
+        XxlJobGroup copy = new XxlJobGroup();
+        BeanUtils.copyProperties(group, copy, "addressList");
+        // address snapshot parsed once when loaded, shared by copies
+        copy.setAddressList(group.getAddressList(), group.getRegistryList());
+        return copy;
+    }
+
+}
@@ -0,0 +1,588 @@
+package com.xxl.job.admin.core.thread;
+
+import com.xxl.job.admin.core.archive.JobLogSegment;
+import com.xxl.job.admin.core.conf.XxlJobAdminConfig;
+import com.xxl.job.admin.core.model.XxlJobLog;
+import com.xxl.job.admin.core.trigger.XxlJobTrigger;
+import com.xxl.job.core.util.DateUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * job log archive helper
+ *
+ *      a、archive：leader move finished log older than "xxl.job.logarchive.days" into segment files (see JobLogSegment), then delete from db;
+ *      b、layout："{logarchive.path}/{yyyy-MM-dd}/{minId}-{maxId}.seg|.idx", by trigger day; row already in segment of day skipped if archive again after crash (db delete not done);
+ *      c、query：pageList and load read archived log, as older than db log; archive path should be shared if multi admin node;
+ *      d、clean：archived day expired by "xxl.job.logretentiondays" deleted as whole directory;
+ *
+ * @author xuxueli 2026-10-18
+ */
+public class JobLogArchiveHelper {
+    private static Logger logger = LoggerFactory.getLogger(JobLogArchiveHelper.class);
+
+    private static JobLogArchiveHelper instance = new JobLogArchiveHelper();
+    public static JobLogArchiveHelper getInstance(){
+        return instance;
+    }
+
+    private static final int ARCHIVE_BATCH_SIZE = 5000;
+    private static final long ARCHIVE_INTERVAL = 10 * 60 * 1000;
+    private static final int INDEX_CACHE_SIZE = 1024;
+    private static final int COUNT_CACHE_SIZE = 1024;
+
+    private Thread archiveThread;
+    private volatile boolean toStop = false;
+    public void start(){
+        archiveThread = new Thread(new Runnable() {
+
+            @Override
+            public void run() {
+
+                // last clean time
+                long lastCleanTime = 0;
+
+                while (!toStop) {
+
+                    // 1、archive, leader only
+                    try {
+                        if (XxlJobAdminConfig.getAdminConfig().getLogArchiveDays() > 0
+                                && JobClusterHelper.getInstance().isLeader()) {
+                            archive();
+                        }
+                    } catch (Exception e) {
+                        if (!toStop) {
+                            logger.error(">>>>>>>>>>> xxl-job, job log archive thread error:{}", e);
+                        }
+                    }
+
+                    // 2、clean expired archive, once each day
+                    try {
+                        if (XxlJobAdminConfig.getAdminConfig().getLogretentiondays() > 0
+                                && JobClusterHelper.getInstance().isLeader()
+                                && System.currentTimeMillis() - lastCleanTime > 24*60*60*1000) {
+
+                            Calendar expiredDay = Calendar.getInstance();
+                            expiredDay.add(Calendar.DAY_OF_MONTH, -1 * XxlJobAdminConfig.getAdminConfig().getLogretentiondays());
+                            clearBefore(expiredDay.getTime());
+
+                            lastCleanTime = System.currentTimeMillis();
+                        }
+                    } catch (Exception e) {
+                        if (!toStop) {
+                            logger.error(">>>>>>>>>>> xxl-job, job log archive clean error:{}", e);
+                        }
+                    }
+
+                    try {
+                        TimeUnit.MILLISECONDS.sleep(ARCHIVE_INTERVAL);
+                    } catch (Exception e) {
+                        if (!toStop) {
+                            logger.error(e.getMessage(), e);
+                        }
+                    }
+                }
+
+                logger.info(">>>>>>>>>>> xxl-job, job log archive thread stop");
+            }
+        });
+        archiveThread.setDaemon(true);
+        archiveThread.setName("xxl-job, admin JobLogArchiveHelper");
+        archiveThread.start();
+    }
+
+    public void toStop(){
+        toStop = true;
+        // interrupt and wait
+        archiveThread.interrupt();
+        try {
+            archiveThread.join();
+        } catch (InterruptedException e) {
+            logger.error(e.getMessage(), e);
+        }
+    }
+
+
+    // ---------------------- archive ----------------------
+
+    private void archive() throws IOException {
+        Calendar archiveDay = Calendar.getInstance();
+        archiveDay.add(Calendar.DAY_OF_MONTH, -1 * XxlJobAdminConfig.getAdminConfig().getLogArchiveDays());
+        Date archiveBefore = dayStart(archiveDay.getTime());
+
+        Long maxId = XxlJobAdminConfig.getAdminConfig().getXxlJobLogDao().findArchiveMaxId(archiveBefore);
+        if (maxId == null) {
+            return;
+        }
+
+        long lastId = 0;
+        int archiveCount = 0;
+        List<XxlJobLog> logList = null;
+        do {
+            logList = XxlJobAdminConfig.getAdminConfig().getXxlJobLogDao().findArchiveLogs(lastId, maxId, archiveBefore, ARCHIVE_BATCH_SIZE);
+            if (logList==null || logList.isEmpty()) {
+                break;
+            }
+
+            // group by trigger day, order by id
+            Map<String, List<XxlJobLog>> dayLogMap = new TreeMap<>();
+            for (XxlJobLog log: logList) {
+                String day = DateUtil.formatDate(log.getTriggerTime());
+                List<XxlJobLog> dayLogList = dayLogMap.get(day);
+                if (dayLogList == null) {
+                    dayLogList = new ArrayList<>();
+                    dayLogMap.put(day, dayLogList);
+                }
+                dayLogList.add(log);
+            }
+
+            // trigger and handle msg, from log detail
+            XxlJobTrigger.fillLogMsg(logList);
+
+            // write segment, then delete from db
+            for (Map.Entry<String, List<XxlJobLog>> entry: dayLogMap.entrySet()) {
+                List<XxlJobLog> dayLogList = excludeArchived(entry.getKey(), entry.getValue());
+                if (dayLogList.isEmpty()) {
+                    continue;
+                }
+                File dayDir = new File(XxlJobAdminConfig.getAdminConfig().getLogArchivePath(), entry.getKey());
+                if (!dayDir.exists()) {
+                    dayDir.mkdirs();
+                }
+                String name = dayLogList.get(0).getId() + "-" + dayLogList.get(dayLogList.size() - 1).getId();
+                JobLogSegment.write(new File(dayDir, name + ".seg"), new File(dayDir, name + ".idx"), dayLogList);
+            }
+            archiveChanged();
+
+            List<Long> logIds = new ArrayList<>();
+            for (XxlJobLog log: logList) {
+                logIds.add(log.getId());
+                if (logIds.size() == 1000) {
+                    XxlJobAdminConfig.getAdminConfig().getXxlJobLogDao().clearLog(logIds);
+                    XxlJobAdminConfig.getAdminConfig().getXxlJobLogDetailDao().clearLog(logIds);
+                    logIds.clear();
+                }
+            }
+            if (logIds.size() > 0) {
+                XxlJobAdminConfig.getAdminConfig().getXxlJobLogDao().clearLog(logIds);
+                XxlJobAdminConfig.getAdminConfig().getXxlJobLogDetailDao().clearLog(logIds);
+            }
+
+            lastId = logList.get(logList.size() - 1).getId();
+            archiveCount += logList.size();
+        } while (!toStop && logList.size() == ARCHIVE_BATCH_SIZE);
+
+        if (archiveCount > 0) {
+            logger.info(">>>>>>>>>>> xxl-job, job log archived, archiveBefore:{}, count:{}", DateUtil.formatDate(archiveBefore), archiveCount);
+        }
+    }
+
+    /**
+     * exclude log already in segment of day, archived before crash but not deleted from db
+     *
+     * @param logList   order by id
+     */
+    private List<XxlJobLog> excludeArchived(String day, List<XxlJobLog> logList) throws IOException {
+        long minId = logList.get(0).getId();
+        long maxId = logList.get(logList.size() - 1).getId();
+
+        Set<Long> archivedIds = new HashSet<>();
+        for (File idxFile: segmentIndexFiles(day)) {
+            if (segmentMinId(idxFile) > maxId) {
+                continue;
+            }
+            JobLogSegment.SegmentIndex segmentIndex = readIndex(idxFile);
+            if (segmentIndex == null) {
+                throw new IOException("job log archive index invalid, file:" + idxFile.getPath());
+            }
+            for (JobLogSegment.BlockIndex blockIndex: segmentIndex.getBlockList()) {
+                if (!blockIndex.matchRange(minId, maxId)) {
+                    continue;
+                }
+                for (XxlJobLog log: JobLogSegment.readMeta(segmentFile(idxFile), blockIndex)) {
+                    archivedIds.add(log.getId());
+                }
+            }
+        }
+        if (archivedIds.isEmpty()) {
+            return logList;
+        }
+
+        List<XxlJobLog> result = new ArrayList<>();
+        for (XxlJobLog log: logList) {
+            if (!archivedIds.contains(log.getId())) {
+                result.add(log);
+            }
+        }
+        logger.info(">>>>>>>>>>> xxl-job, job log archive skip archived, day:{}, count:{}", day, logList.size() - result.size());
+        return result;
+    }
+
+    /**
+     * delete archived day before time, as whole directory
+     */
+    public void clearBefore(Date clearBeforeTime) {
+        String clearBeforeDay = DateUtil.formatDate(clearBeforeTime);
+        boolean changed = false;
+        for (String day: archiveDays()) {
+            if (day.compareTo(clearBeforeDay) >= 0) {
+                continue;
+            }
+            File dayDir = new File(XxlJobAdminConfig.getAdminConfig().getLogArchivePath(), day);
+            File[] files = dayDir.listFiles();
+            if (files != null) {
+                for (File file: files) {
+                    file.delete();
+                }
+            }
+            dayDir.delete();
+            changed = true;
+            logger.info(">>>>>>>>>>> xxl-job, job log archive cleaned, day:{}", day);
+        }
+        if (changed) {
+            archiveChanged();
+        }
+    }
+
+
+    // ---------------------- query ----------------------
+
+    /**
+     * archived row matched, with location to read msg
+     */
+    private static class ArchiveRow {
+        private final XxlJobLog log;
+        private final File segFile;
+        private final JobLogSegment.BlockIndex blockIndex;
+        private final int rowIndex;
+
+        private ArchiveRow(XxlJobLog log, File segFile, JobLogSegment.BlockIndex blockIndex, int rowIndex) {
+            this.log = log;
+            this.segFile = segFile;
+            this.blockIndex = blockIndex;
+            this.rowIndex = rowIndex;
+        }
+    }
+
+    /**
+     * order by trigger_time desc, same as db
+     */
+    private static final Comparator<ArchiveRow> ROW_DESC = new Comparator<ArchiveRow>() {
+        @Override
+        public int compare(ArchiveRow o1, ArchiveRow o2) {
+            int ret = Long.compare(time(o2.log.getTriggerTime()), time(o1.log.getTriggerTime()));
+            return ret!=0?ret:Long.compare(o2.log.getId(), o1.log.getId());
+        }
+    };
+
+    private final Map<String, JobLogSegment.SegmentIndex> indexCache = new LinkedHashMap<String, JobLogSegment.SegmentIndex>(16, 0.75f, true){
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, JobLogSegment.SegmentIndex> eldest) {
+            return size() > INDEX_CACHE_SIZE;
+        }
+    };
+    private final ConcurrentHashMap<String, Integer> countCache = new ConcurrentHashMap<>();
+
+    /**
+     * page query of archived log, filter same as "XxlJobLogDao.pageList"
+     *
+     * @param pageList  page rows, with msg, added to it
+     * @return  total count
+     */
+    public int pageList(int offset, int pagesize, int jobGroup, int jobId, Date triggerTimeStart, Date triggerTimeEnd, int logStatus,
+                        List<XxlJobLog> pageList) {
+        int totalCount = 0;
+        List<String> days = archiveDays();
+        Collections.reverse(days);
+        for (String day: days) {
+            Date dayStart = DateUtil.parseDate(day);
+            if (dayStart == null
+                    || (triggerTimeEnd!=null && dayStart.getTime() > triggerTimeEnd.getTime())
+                    || (triggerTimeStart!=null && DateUtil.addDays(dayStart, 1).getTime() <= triggerTimeStart.getTime())) {
+                continue;
+            }
+
+            // count of day, cached by segment version (written by leader, may be other node)
+            String countKey = day + "_" + segmentVersion(day) + "_" + jobGroup + "_" + jobId + "_" + time(triggerTimeStart) + "_" + time(triggerTimeEnd) + "_" + logStatus;
+            Integer dayCount = countCache.get(countKey);
+            if (dayCount == null) {
+                dayCount = scanDay(day, jobGroup, jobId, triggerTimeStart, triggerTimeEnd, logStatus, 0, null);
+                if (countCache.size() > COUNT_CACHE_SIZE) {
+                    countCache.clear();
+                }
+                countCache.put(countKey, dayCount);
+            }
+
+            // page rows in this day
+            int from = Math.max(offset - totalCount, 0);
+            int to = Math.min(offset + pagesize - totalCount, dayCount);
+            if (from < to) {
+                List<ArchiveRow> topRows = new ArrayList<>();
+                scanDay(day, jobGroup, jobId, triggerTimeStart, triggerTimeEnd, logStatus, to, topRows);
+                List<ArchiveRow> rows = topRows.subList(Math.min(from, topRows.size()), topRows.size());
+                fillMsg(rows);
+                for (ArchiveRow row: rows) {
+                    pageList.add(row.log);
+                }
+            }
+            totalCount += dayCount;
+        }
+        return totalCount;
+    }
+
+    /**
+     * load archived log, with msg
+     *
+     * @return null if not found
+     */
+    public XxlJobLog load(long id) {
+        List<String> days = archiveDays();
+        Collections.reverse(days);
+        for (String day: days) {
+            for (File idxFile: segmentIndexFiles(day)) {
+                if (segmentMinId(idxFile) > id) {
+                    continue;
+                }
+                JobLogSegment.SegmentIndex segmentIndex = readIndex(idxFile);
+                if (segmentIndex==null || !segmentIndex.matchId(id)) {
+                    continue;
+                }
+                File segFile = segmentFile(idxFile);
+                try {
+                    for (JobLogSegment.BlockIndex blockIndex: segmentIndex.getBlockList()) {
+                        if (!blockIndex.matchId(id)) {
+                            continue;
+                        }
+                        List<XxlJobLog> blockLogList = JobLogSegment.readMeta(segFile, blockIndex);
+                        for (int i = 0; i < blockLogList.size(); i++) {
+                            if (blockLogList.get(i).getId() == id) {
+                                XxlJobLog log = blockLogList.get(i);
+                                JobLogSegment.readMsg(segFile, blockIndex, Collections.singletonMap(i, log));
+                                return log;
+                            }
+                        }
+                    }
+                } catch (IOException e) {
+                    logger.error(">>>>>>>>>>> xxl-job, job log archive read error, file:{}", segFile.getPath(), e);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * scan archived day
+     *
+     * @param limit     keep top "limit" rows by trigger_time desc, into topRows
+     * @param topRows   null if count only
+     * @return  count of rows matched
+     */
+    private int scanDay(String day, int jobGroup, int jobId, Date triggerTimeStart, Date triggerTimeEnd, int logStatus, int limit,
+                        List<ArchiveRow> topRows) {
+        int count = 0;
+        PriorityQueue<ArchiveRow> topQueue = new PriorityQueue<>(Math.max(limit, 1), Collections.reverseOrder(ROW_DESC));
+        for (File idxFile: segmentIndexFiles(day)) {
+            JobLogSegment.SegmentIndex segmentIndex = readIndex(idxFile);
+            if (segmentIndex == null) {
+                continue;
+            }
+            File segFile = segmentFile(idxFile);
+            try {
+                for (JobLogSegment.BlockIndex blockIndex: segmentIndex.getBlockList()) {
+                    if (!blockIndex.matchJob(jobId) || !blockIndex.matchTime(triggerTimeStart, triggerTimeEnd)) {
+                        continue;
+                    }
+                    List<XxlJobLog> blockLogList = JobLogSegment.readMeta(segFile, blockIndex);
+                    for (int i = 0; i < blockLogList.size(); i++) {
+                        XxlJobLog log = blockLogList.get(i);
+                        if (!match(log, jobGroup, jobId, triggerTimeStart, triggerTimeEnd, logStatus)) {
+                            continue;
+                        }
+                        count++;
+                        if (topRows != null && limit > 0) {
+                            topQueue.offer(new ArchiveRow(log, segFile, blockIndex, i));
+                            if (topQueue.size() > limit) {
+                                topQueue.poll();
+                            }
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                logger.error(">>>>>>>>>>> xxl-job, job log archive read error, file:{}", segFile.getPath(), e);
+            }
+        }
+        if (topRows != null) {
+            topRows.addAll(topQueue);
+            Collections.sort(topRows, ROW_DESC);
+        }
+        return count;
+    }
+
+    private void fillMsg(List<ArchiveRow> rows) {
+        // group by block, read each block once
+        Map<JobLogSegment.BlockIndex, Map<Integer, XxlJobLog>> blockRowMap = new LinkedHashMap<>();
+        Map<JobLogSegment.BlockIndex, File> blockFileMap = new HashMap<>();
+        for (ArchiveRow row: rows) {
+            Map<Integer, XxlJobLog> rowMap = blockRowMap.get(row.blockIndex);
+            if (rowMap == null) {
+                rowMap = new HashMap<>();
+                blockRowMap.put(row.blockIndex, rowMap);
+                blockFileMap.put(row.blockIndex, row.segFile);
+            }
+            rowMap.put(row.rowIndex, row.log);
+        }
+        for (Map.Entry<JobLogSegment.BlockIndex, Map<Integer, XxlJobLog>> entry: blockRowMap.entrySet()) {
+            File segFile = blockFileMap.get(entry.getKey());
+            try {
+                JobLogSegment.readMsg(segFile, entry.getKey(), entry.getValue());
+            } catch (IOException e) {
+                logger.error(">>>>>>>>>>> xxl-job, job log archive read error, file:{}", segFile.getPath(), e);
+            }
+        }
+    }
+
+    /**
+     * same as "pageList" in XxlJobLogMapper.xml
+     */
+    private static boolean match(XxlJobLog log, int jobGroup, int jobId, Date triggerTimeStart, Date triggerTimeEnd, int logStatus) {
+        if (jobId==0 && jobGroup>0 && log.getJobGroup()!=jobGroup) {
+            return false;
+        }
+        if (jobId>0 && log.getJobId()!=jobId) {
+            return false;
+        }
+        long triggerTime = time(log.getTriggerTime());
+        if (triggerTimeStart!=null && triggerTime < triggerTimeStart.getTime()) {
+            return false;
+        }
+        if (triggerTimeEnd!=null && triggerTime > triggerTimeEnd.getTime()) {
+            return false;
+        }
+        if (logStatus == 1) {
+            return log.getHandleCode() == 200;
+        } else if (logStatus == 2) {
+            return !(log.getTriggerCode()==0 || log.getTriggerCode()==200) || !(log.getHandleCode()==0 || log.getHandleCode()==200);
+        } else if (logStatus == 3) {
+            return log.getTriggerCode()==200 && log.getHandleCode()==0;
+        }
+        return true;
+    }
+
+
+    // ---------------------- file ----------------------
+
+    /**
+     * archived day, "yyyy-MM-dd", asc
+     */
+    private List<String> archiveDays() {
+        File[] dayDirs = new File(XxlJobAdminConfig.getAdminConfig().getLogArchivePath()).listFiles();
+        List<String> days = new ArrayList<>();
+        if (dayDirs != null) {
+            for (File dayDir: dayDirs) {
+                if (dayDir.isDirectory() && dayDir.getName().matches("\\d{4}-\\d{2}-\\d{2}")) {
+                    days.add(dayDir.getName());
+                }
+            }
+        }
+        Collections.sort(days);
+        return days;
+    }
+
+    /**
+     * index file of day, visible segment only
+     */
+    private List<File> segmentIndexFiles(String day) {
+        File[] files = new File(XxlJobAdminConfig.getAdminConfig().getLogArchivePath(), day).listFiles();
+        List<File> idxFiles = new ArrayList<>();
+        if (files != null) {
+            for (File file: files) {
+                if (file.getName().matches("\\d+(-\\d+)?\\.idx")) {
+                    idxFiles.add(file);
+                }
+            }
+        }
+        return idxFiles;
+    }
+
+    private static File segmentFile(File idxFile) {
+        return new File(idxFile.getParentFile(), idxFile.getName().replace(".idx", ".seg"));
+    }
+
+    /**
+     * min id from name, "{minId}-{maxId}.idx" or "{minId}.idx" (old)
+     */
+    private static long segmentMinId(File idxFile) {
+        String name = idxFile.getName();
+        int end = name.indexOf('-');
+        return Long.parseLong(name.substring(0, end>-1?end:name.indexOf('.')));
+    }
+
+    /**
+     * version of day, changed if any segment added, rewritten or deleted
+     */
+    private String segmentVersion(String day) {
+        List<File> idxFiles = segmentIndexFiles(day);
+        long hash = 0;
+        for (File idxFile: idxFiles) {
+            hash += (idxFile.getName().hashCode() * 31L + idxFile.lastModified()) * 31L + idxFile.length();
+        }
+        return idxFiles.size() + "_" + hash;
+    }
+
+    private JobLogSegment.SegmentIndex readIndex(File idxFile) {
+        String cacheKey = idxFile.getPath() + "_" + idxFile.lastModified();
+        synchronized (indexCache) {
+            JobLogSegment.SegmentIndex segmentIndex = indexCache.get(cacheKey);
+            if (segmentIndex != null) {
+                return segmentIndex;
+            }
+        }
+        try {
+            JobLogSegment.SegmentIndex segmentIndex = JobLogSegment.readIndex(idxFile);
+            synchronized (indexCache) {
+                indexCache.put(cacheKey, segmentIndex);
+            }
+            return segmentIndex;
+        } catch (IOException e) {
+            logger.error(">>>>>>>>>>> xxl-job, job log archive index read error, file:{}", idxFile.getPath(), e);
+            return null;
+        }
+    }
+
+    private void archiveChanged() {
+        countCache.clear();
+    }
+
+    private static long time(Date date) {
+        return date!=null?date.getTime():-1;
+    }
+
+    private static Date dayStart(Date time) {
+        Calendar day = Calendar.getInstance();
+        day.setTime(time);
+        day.set(Calendar.HOUR_OF_DAY, 0);
+        day.set(Calendar.MINUTE, 0);
+        day.set(Calendar.SECOND, 0);
+        day.set(Calendar.MILLISECOND, 0);
+        return day.getTime();
+    }
+
+}
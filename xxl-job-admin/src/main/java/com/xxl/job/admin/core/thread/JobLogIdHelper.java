@@ -0,0 +1,67 @@
+package com.xxl.job.admin.core.thread;
+
+import com.xxl.job.admin.core.conf.XxlJobAdminConfig;
+import com.xxl.job.admin.dao.XxlJobIdSegmentDao;
+import org.apache.ibatis.session.SqlSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * job log id helper, pre-allocate log id by segment (see "xxl_job_id_segment"), so trigger param is ready without log insert
+ *
+ *      a、segment：each admin node take "ID_STEP" ids in one update, allocate in memory;
+ *      b、upgrade：sequence aligned to max log id once, before first segment;
+ *
+ * @author xuxueli 2026-10-18
+ */
+public class JobLogIdHelper {
+    private static Logger logger = LoggerFactory.getLogger(JobLogIdHelper.class);
+
+    private static JobLogIdHelper instance = new JobLogIdHelper();
+    public static JobLogIdHelper getInstance(){
+        return instance;
+    }
+
+    private static final String SEQ_NAME = "job_log";
+    private static final int ID_STEP = 1000;
+
+    private boolean aligned = false;
+    private long currentId = 0;     // last allocated id
+    private long maxId = 0;         // max id of current segment
+
+    /**
+     * next log id
+     */
+    public synchronized long nextId() {
+        if (currentId >= maxId) {
+            allocateSegment();
+        }
+        return ++currentId;
+    }
+
+    private void allocateSegment() {
+        // LAST_INSERT_ID is connection scoped, update and read in one session
+        SqlSession sqlSession = XxlJobAdminConfig.getAdminConfig().getSqlSessionFactory().openSession(true);
+        try {
+            XxlJobIdSegmentDao xxlJobIdSegmentDao = sqlSession.getMapper(XxlJobIdSegmentDao.class);
+            if (!aligned) {
+                xxlJobIdSegmentDao.initJobLogSeq(SEQ_NAME);
+                xxlJobIdSegmentDao.alignJobLogSeq(SEQ_NAME);
+                aligned = true;
+            }
+
+            int ret = xxlJobIdSegmentDao.allocate(SEQ_NAME, ID_STEP);
+            if (ret < 1) {
+                throw new IllegalStateException("job log id segment allocate fail, seqName=" + SEQ_NAME);
+            }
+            long allocatedMaxId = xxlJobIdSegmentDao.findAllocatedMaxId();
+
+            maxId = allocatedMaxId;
+            currentId = allocatedMaxId - ID_STEP;
+            logger.debug(">>>>>>>>>>> xxl-job, job log id segment allocated, ({}, {}]", currentId, maxId);
+        } finally {
+            sqlSession.close();
+        }
+    }
+
+}
@@ -0,0 +1,134 @@
+package com.xxl.job.admin.core.thread;
+
+import com.xxl.job.admin.core.conf.XxlJobAdminConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * job log partition helper, for optional day-partitioned "xxl_job_log" (RANGE on TO_DAYS(trigger_time), see doc)
+ *
+ *      a、detect：partitioned if "xxl_job_log" has range partition, otherwise do nothing;
+ *      b、create：day partition "pyyyyMMdd" created ahead, split from max partition if exists;
+ *      c、retention：drop whole partition before clean time, remaining log cleaned by id-batch as before;
+ *
+ * @author xuxueli 2026-10-18
+ */
+public class JobLogPartitionHelper {
+    private static Logger logger = LoggerFactory.getLogger(JobLogPartitionHelper.class);
+
+    private static JobLogPartitionHelper instance = new JobLogPartitionHelper();
+    public static JobLogPartitionHelper getInstance(){
+        return instance;
+    }
+
+    private static final int PARTITION_AHEAD_DAYS = 3;
+    private static final long TO_DAYS_OF_EPOCH = 719528;        // TO_DAYS('1970-01-01')
+    private static final String MAX_VALUE = "MAXVALUE";
+    private static final DateTimeFormatter PARTITION_NAME_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    private volatile Boolean partitioned = null;
+
+    /**
+     * whether "xxl_job_log" is partitioned, detect once and refresh by "ensurePartitions"
+     */
+    public boolean isPartitioned() {
+        if (partitioned == null) {
+            try {
+                partitioned = !findPartitions().isEmpty();
+            } catch (Exception e) {
+                logger.error(">>>>>>>>>>> xxl-job, job log partition detect error:{}", e);
+                return false;
+            }
+        }
+        return partitioned;
+    }
+
+    /**
+     * range partition of "xxl_job_log"
+     */
+    private static class LogPartition {
+        private String name;
+        private long lessThanDays;      // TO_DAYS value, -1 if MAXVALUE
+    }
+
+    private List<LogPartition> findPartitions() {
+        List<LogPartition> partitionList = new ArrayList<>();
+        List<Map<String, Object>> itemList = XxlJobAdminConfig.getAdminConfig().getXxlJobLogDao().findPartitions();
+        if (itemList == null) {
+            return partitionList;
+        }
+        for (Map<String, Object> item: itemList) {
+            LogPartition partition = new LogPartition();
+            partition.name = String.valueOf(item.get("partitionName"));
+            String description = String.valueOf(item.get("partitionDescription")).trim();
+            partition.lessThanDays = MAX_VALUE.equalsIgnoreCase(description)?-1:Long.parseLong(description);
+            partitionList.add(partition);
+        }
+        return partitionList;
+    }
+
+    /**
+     * create day partition ahead, until "today + PARTITION_AHEAD_DAYS"
+     *
+     * @return false if not partitioned
+     */
+    public boolean ensurePartitions() {
+        List<LogPartition> partitionList = findPartitions();
+        partitioned = !partitionList.isEmpty();
+        if (!partitioned) {
+            return false;
+        }
+
+        // max partition, and last bound
+        String maxPartitionName = null;
+        long lastLessThanDays = 0;
+        for (LogPartition partition: partitionList) {
+            if (partition.lessThanDays < 0) {
+                maxPartitionName = partition.name;
+            } else {
+                lastLessThanDays = Math.max(lastLessThanDays, partition.lessThanDays);
+            }
+        }
+
+        // create, one day each; missed days (such as leader down) merged into first partition
+        long todayDays = LocalDate.now().toEpochDay() + TO_DAYS_OF_EPOCH;
+        long lessThanDays = Math.max(lastLessThanDays, todayDays) + 1;
+        for (; lessThanDays <= todayDays + PARTITION_AHEAD_DAYS + 1; lessThanDays++) {
+            String partitionName = "p" + LocalDate.ofEpochDay(lessThanDays - 1 - TO_DAYS_OF_EPOCH).format(PARTITION_NAME_FORMAT);
+            XxlJobAdminConfig.getAdminConfig().getXxlJobLogDao().addPartition(maxPartitionName, partitionName, lessThanDays);
+            logger.info(">>>>>>>>>>> xxl-job, job log partition created, partition:{}", partitionName);
+        }
+        return true;
+    }
+
+    /**
+     * drop partition, all log in it is before clean time
+     *
+     * @param clearBeforeTime   log "trigger_time <= clearBeforeTime" to clean
+     * @return count of dropped partition
+     */
+    public int dropPartitions(Date clearBeforeTime) {
+        LocalDate clearBeforeDay = clearBeforeTime.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+        long clearBeforeDays = clearBeforeDay.toEpochDay() + TO_DAYS_OF_EPOCH;
+
+        int dropCount = 0;
+        for (LogPartition partition: findPartitions()) {
+            if (partition.lessThanDays < 0 || partition.lessThanDays > clearBeforeDays) {
+                continue;
+            }
+            XxlJobAdminConfig.getAdminConfig().getXxlJobLogDao().dropPartition(partition.name);
+            dropCount++;
+            logger.info(">>>>>>>>>>> xxl-job, job log partition dropped, partition:{}", partition.name);
+        }
+        return dropCount;
+    }
+
+}
@@ -1,19 +1,32 @@
 package com.xxl.job.admin.core.thread;
 
 import com.xxl.job.admin.core.conf.XxlJobAdminConfig;
+import com.xxl.job.admin.core.model.XxlJobLog;
 import com.xxl.job.admin.core.model.XxlJobLogReport;
+import com.xxl.job.admin.core.model.XxlJobLogReportHour;
+import com.xxl.job.admin.core.util.DurationHistogram;
+import com.xxl.job.core.biz.model.ReturnT;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
 
 import java.util.Calendar;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
 
 /**
  * job log report helper
  *
+ *      a、count：log state change counted in memory, at trigger and handle time, flushed as delta into "xxl_job_log_report";
+ *      b、reconcile：full count over "xxl_job_log" of closed day in 3 days (settled, all delta flushed and log written), by leader only and once each hour, fix drift of incremental count; open day kept by delta only;
+ *      c、dashboard read "xxl_job_log_report" only;
+ *      d、hour rollup：per-job and per-hour count and duration histogram, merged into "xxl_job_log_report_hour" by version, at handle time;
+ *
  * @author xuxueli 2019-11-22
  */
 public class JobLogReportHelper {
@@ -24,6 +37,11 @@ public class JobLogReportHelper {
         return instance;
     }
 
+    private static final long COUNT_FLUSH_INTERVAL = 10 * 1000;
+    private static final long REPORT_RECONCILE_INTERVAL = 60 * 60 * 1000;
+    private static final long REPORT_RECONCILE_SETTLE = 10 * 60 * 1000;     // after day end, far more than count flush and log write-behind lag
+    private static final long LOG_PARTITION_INTERVAL = 60 * 60 * 1000;
+    private static final int REPORT_DAYS = 3;
 
     private Thread logrThread;
     private volatile boolean toStop = false;
@@ -35,67 +53,54 @@ public class JobLogReportHelper {
 
                 // last clean log time
                 long lastCleanLogTime = 0;
+                // last reconcile time
+                long lastReconcileTime = 0;
+                // last log partition time
+                long lastPartitionTime = 0;
 
 
                 while (!toStop) {
 
-                    // 1、log-report refresh: refresh log report in 3 days
+                    // 1、log-report count: flush incremental count as delta, and hour rollup
                     try {
-
-                        for (int i = 0; i < 3; i++) {
-
-                            // today
-                            Calendar itemDay = Calendar.getInstance();
-                            itemDay.add(Calendar.DAY_OF_MONTH, -i);
-                            itemDay.set(Calendar.HOUR_OF_DAY, 0);
-                            itemDay.set(Calendar.MINUTE, 0);
-                            itemDay.set(Calendar.SECOND, 0);
-                            itemDay.set(Calendar.MILLISECOND, 0);
-
-                            Date todayFrom = itemDay.getTime();
-
-                            itemDay.set(Calendar.HOUR_OF_DAY, 23);
-                            itemDay.set(Calendar.MINUTE, 59);
-                            itemDay.set(Calendar.SECOND, 59);
-                            itemDay.set(Calendar.MILLISECOND, 999);
-
-                            Date todayTo = itemDay.getTime();
-
-                            // refresh log-report every minute
-                            XxlJobLogReport xxlJobLogReport = new XxlJobLogReport();
-                            xxlJobLogReport.setTriggerDay(todayFrom);
-                            xxlJobLogReport.setRunningCount(0);
-                            xxlJobLogReport.setSucCount(0);
-                            xxlJobLogReport.setFailCount(0);
-
-                            Map<String, Object> triggerCountMap = XxlJobAdminConfig.getAdminConfig().getXxlJobLogDao().findLogReport(todayFrom, todayTo);
-                            if (triggerCountMap!=null && triggerCountMap.size()>0) {
-                                int triggerDayCount = triggerCountMap.containsKey("triggerDayCount")?Integer.valueOf(String.valueOf(triggerCountMap.get("triggerDayCount"))):0;
-                                int triggerDayCountRunning = triggerCountMap.containsKey("triggerDayCountRunning")?Integer.valueOf(String.valueOf(triggerCountMap.get("triggerDayCountRunning"))):0;
-                                int triggerDayCountSuc = triggerCountMap.containsKey("triggerDayCountSuc")?Integer.valueOf(String.valueOf(triggerCountMap.get("triggerDayCountSuc"))):0;
-                                int triggerDayCountFail = triggerDayCount - triggerDayCountRunning - triggerDayCountSuc;
-
-                                xxlJobLogReport.setRunningCount(triggerDayCountRunning);
-                                xxlJobLogReport.setSucCount(triggerDayCountSuc);
-                                xxlJobLogReport.setFailCount(triggerDayCountFail);
-                            }
-
-                            // do refresh
-                            int ret = XxlJobAdminConfig.getAdminConfig().getXxlJobLogReportDao().update(xxlJobLogReport);
-                            if (ret < 1) {
-                                XxlJobAdminConfig.getAdminConfig().getXxlJobLogReportDao().save(xxlJobLogReport);
-                            }
+                        flushCount();
+                        flushHourCount();
+                    } catch (Exception e) {
+                        if (!toStop) {
+                            logger.error(">>>>>>>>>>> xxl-job, job log report count flush error:{}", e);
                         }
+                    }
 
+                    // 2、log-report reconcile: full count in 3 days, rarely and by leader only, safety net of incremental count
+                    try {
+                        if (JobClusterHelper.getInstance().isLeader()
+                                && System.currentTimeMillis() - lastReconcileTime > REPORT_RECONCILE_INTERVAL) {
+                            reconcile();
+                            lastReconcileTime = System.currentTimeMillis();
+                        }
                     } catch (Exception e) {
                         if (!toStop) {
                             logger.error(">>>>>>>>>>> xxl-job, job log report thread error:{}", e);
                         }
                     }
 
-                    // 2、log-clean: switch open & once each day
+                    // 3、log-partition: create day partition ahead, if partitioned; leader only, once each hour
+                    if (JobClusterHelper.getInstance().isLeader()
+                            && System.currentTimeMillis() - lastPartitionTime > LOG_PARTITION_INTERVAL) {
+                        try {
+                            JobLogPartitionHelper.getInstance().ensurePartitions();
+                        } catch (Exception e) {
+                            if (!toStop) {
+                                logger.error(">>>>>>>>>>> xxl-job, job log partition create error:{}", e);
+                            }
+                        }
+                        lastPartitionTime = System.currentTimeMillis();
+                    }
+
+                    // 4、log-clean: switch open & once each day; leader only if partitioned
                     if (XxlJobAdminConfig.getAdminConfig().getLogretentiondays()>0
-                            && System.currentTimeMillis() - lastCleanLogTime > 24*60*60*1000) {
+                            && System.currentTimeMillis() - lastCleanLogTime > 24*60*60*1000
+                            && (!JobLogPartitionHelper.getInstance().isPartitioned() || JobClusterHelper.getInstance().isLeader())) {
 
                         // expire-time
                         Calendar expiredDay = Calendar.getInstance();
@@ -106,7 +111,18 @@ public class JobLogReportHelper {
                         expiredDay.set(Calendar.MILLISECOND, 0);
                         Date clearBeforeTime = expiredDay.getTime();
 
-                        // clean expired log
+                        // drop expired partition, if partitioned
+                        if (JobLogPartitionHelper.getInstance().isPartitioned()) {
+                            try {
+                                JobLogPartitionHelper.getInstance().dropPartitions(clearBeforeTime);
+                            } catch (Exception e) {
+                                if (!toStop) {
+                                    logger.error(">>>>>>>>>>> xxl-job, job log partition drop error:{}", e);
+                                }
+                            }
+                        }
+
+                        // clean expired log, by id-batch (remaining log of partition, or not partitioned)
                         List<Long> logIds = null;
                         do {
                             logIds = XxlJobAdminConfig.getAdminConfig().getXxlJobLogDao().findClearLogIds(0, 0, clearBeforeTime, 0, 1000);
@@ -115,12 +131,23 @@ public class JobLogReportHelper {
                             }
                         } while (logIds!=null && logIds.size()>0);
 
+                        // clean expired log detail, by trigger time (also detail of dropped partition)
+                        int clearCount = 0;
+                        do {
+                            clearCount = XxlJobAdminConfig.getAdminConfig().getXxlJobLogDetailDao().clearBefore(clearBeforeTime, 1000);
+                        } while (clearCount > 0);
+
+                        // clean expired hour rollup
+                        do {
+                            clearCount = XxlJobAdminConfig.getAdminConfig().getXxlJobLogReportHourDao().clearBefore(clearBeforeTime, 1000);
+                        } while (clearCount > 0);
+
                         // update clean time
                         lastCleanLogTime = System.currentTimeMillis();
                     }
 
                     try {
-                        TimeUnit.MINUTES.sleep(1);
+                        TimeUnit.MILLISECONDS.sleep(COUNT_FLUSH_INTERVAL);
                     } catch (Exception e) {
                         if (!toStop) {
                             logger.error(e.getMessage(), e);
@@ -129,6 +156,14 @@ public class JobLogReportHelper {
 
                 }
 
+                // flush count, last time
+                try {
+                    flushCount();
+                    flushHourCount();
+                } catch (Exception e) {
+                    logger.error(">>>>>>>>>>> xxl-job, job log report count flush error:{}", e);
+                }
+
                 logger.info(">>>>>>>>>>> xxl-job, job log report thread stop");
 
             }
@@ -149,4 +184,312 @@ public class JobLogReportHelper {
         }
     }
 
+    // ---------------------- count ----------------------
+
+    /**
+     * count of one trigger-day, striped by LongAdder; "flushed" only accessed by flushCount
+     */
+    private static class DayCount {
+        private final LongAdder runningCount = new LongAdder();
+        private final LongAdder sucCount = new LongAdder();
+        private final LongAdder failCount = new LongAdder();
+
+        private long flushedRunningCount = 0;
+        private long flushedSucCount = 0;
+        private long flushedFailCount = 0;
+    }
+
+    private final ConcurrentHashMap<Long, DayCount> dayCountMap = new ConcurrentHashMap<>();
+
+    /**
+     * log saved, running
+     */
+    public void countTrigger(Date triggerTime) {
+        dayCount(triggerTime).runningCount.increment();
+    }
+
+    /**
+     * trigger fail, running to fail
+     */
+    public void countTriggerFail(Date triggerTime) {
+        DayCount dayCount = dayCount(triggerTime);
+        dayCount.runningCount.decrement();
+        dayCount.failCount.increment();
+    }
+
+    /**
+     * handle finished, running (or trigger fail) to success/fail; call only if log actually updated
+     *
+     * @param xxlJobLog     jobId, triggerTime, triggerCode, handleTime, handleCode required
+     */
+    public void countHandle(XxlJobLog xxlJobLog) {
+        DayCount dayCount = dayCount(xxlJobLog.getTriggerTime());
+        if (xxlJobLog.getTriggerCode() == 0 || xxlJobLog.getTriggerCode() == ReturnT.SUCCESS_CODE) {
+            dayCount.runningCount.decrement();
+        } else {
+            dayCount.failCount.decrement();
+        }
+        if (xxlJobLog.getHandleCode() == ReturnT.SUCCESS_CODE) {
+            dayCount.sucCount.increment();
+        } else {
+            dayCount.failCount.increment();
+        }
+
+        // hour rollup
+        countHour(xxlJobLog);
+    }
+
+    private DayCount dayCount(Date triggerTime) {
+        Long triggerDay = dayStart(triggerTime!=null?triggerTime:new Date()).getTime();
+        DayCount dayCount = dayCountMap.get(triggerDay);
+        if (dayCount == null) {
+            DayCount newDayCount = new DayCount();
+            dayCount = dayCountMap.putIfAbsent(triggerDay, newDayCount);
+            if (dayCount == null) {
+                dayCount = newDayCount;
+            }
+        }
+        return dayCount;
+    }
+
+    /**
+     * flush count as delta, "insert ... on duplicate key update"; keep delta if fail, retry next time
+     */
+    private synchronized void flushCount() {
+        long expireDay = dayStart(new Date()).getTime() - REPORT_DAYS * 24 * 60 * 60 * 1000L;
+        for (Map.Entry<Long, DayCount> entry: dayCountMap.entrySet()) {
+            DayCount dayCount = entry.getValue();
+            long runningCount = dayCount.runningCount.sum();
+            long sucCount = dayCount.sucCount.sum();
+            long failCount = dayCount.failCount.sum();
+
+            long runningDelta = runningCount - dayCount.flushedRunningCount;
+            long sucDelta = sucCount - dayCount.flushedSucCount;
+            long failDelta = failCount - dayCount.flushedFailCount;
+            if (runningDelta==0 && sucDelta==0 && failDelta==0) {
+                // expired day, no change any more
+                if (entry.getKey() < expireDay) {
+                    dayCountMap.remove(entry.getKey(), dayCount);
+                }
+                continue;
+            }
+
+            XxlJobAdminConfig.getAdminConfig().getXxlJobLogReportDao().saveOrIncrease(new Date(entry.getKey()), (int) runningDelta, (int) sucDelta, (int) failDelta);
+            dayCount.flushedRunningCount = runningCount;
+            dayCount.flushedSucCount = sucCount;
+            dayCount.flushedFailCount = failCount;
+        }
+    }
+
+    /**
+     * full count over "xxl_job_log", closed day in 3 days;
+     * open day not overwritten, delta of other admin node (not flushed yet) or log not written yet (write-behind) would be counted twice or wiped out
+     */
+    private void reconcile() {
+        // flush first, local count included in full count
+        flushCount();
+
+        long now = System.currentTimeMillis();
+        for (int i = 1; i < REPORT_DAYS; i++) {
+
+            // closed day
+            Calendar itemDay = Calendar.getInstance();
+            itemDay.add(Calendar.DAY_OF_MONTH, -i);
+            itemDay.set(Calendar.HOUR_OF_DAY, 0);
+            itemDay.set(Calendar.MINUTE, 0);
+            itemDay.set(Calendar.SECOND, 0);
+            itemDay.set(Calendar.MILLISECOND, 0);
+
+            Date todayFrom = itemDay.getTime();
+
+            itemDay.set(Calendar.HOUR_OF_DAY, 23);
+            itemDay.set(Calendar.MINUTE, 59);
+            itemDay.set(Calendar.SECOND, 59);
+            itemDay.set(Calendar.MILLISECOND, 999);
+
+            Date todayTo = itemDay.getTime();
+            if (todayTo.getTime() + REPORT_RECONCILE_SETTLE > now) {
+                continue;       // not settled yet
+            }
+
+            // full count
+            XxlJobLogReport xxlJobLogReport = new XxlJobLogReport();
+            xxlJobLogReport.setTriggerDay(todayFrom);
+            xxlJobLogReport.setRunningCount(0);
+            xxlJobLogReport.setSucCount(0);
+            xxlJobLogReport.setFailCount(0);
+
+            Map<String, Object> triggerCountMap = XxlJobAdminConfig.getAdminConfig().getXxlJobLogDao().findLogReport(todayFrom, todayTo);
+            if (triggerCountMap!=null && triggerCountMap.size()>0) {
+                int triggerDayCount = triggerCountMap.containsKey("triggerDayCount")?Integer.valueOf(String.valueOf(triggerCountMap.get("triggerDayCount"))):0;
+                int triggerDayCountRunning = triggerCountMap.containsKey("triggerDayCountRunning")?Integer.valueOf(String.valueOf(triggerCountMap.get("triggerDayCountRunning"))):0;
+                int triggerDayCountSuc = triggerCountMap.containsKey("triggerDayCountSuc")?Integer.valueOf(String.valueOf(triggerCountMap.get("triggerDayCountSuc"))):0;
+                int triggerDayCountFail = triggerDayCount - triggerDayCountRunning - triggerDayCountSuc;
+
+                xxlJobLogReport.setRunningCount(triggerDayCountRunning);
+                xxlJobLogReport.setSucCount(triggerDayCountSuc);
+                xxlJobLogReport.setFailCount(triggerDayCountFail);
+            }
+
+            // do refresh
+            int ret = XxlJobAdminConfig.getAdminConfig().getXxlJobLogReportDao().update(xxlJobLogReport);
+            if (ret < 1) {
+                XxlJobAdminConfig.getAdminConfig().getXxlJobLogReportDao().save(xxlJobLogReport);
+            }
+        }
+    }
+
+
+    // ---------------------- hour rollup ----------------------
+
+    private static final int HOUR_COUNT_VERSION_RETRY = 5;
+
+    /**
+     * count of one job and trigger-hour, guard by "hourCountMap.compute"
+     */
+    private static class HourCount {
+        private final int jobId;
+        private final Date triggerHour;
+        private int sucCount = 0;
+        private int failCount = 0;
+        private final DurationHistogram durationHistogram = new DurationHistogram();
+
+        private HourCount(int jobId, Date triggerHour) {
+            this.jobId = jobId;
+            this.triggerHour = triggerHour;
+        }
+
+        private void merge(HourCount other) {
+            sucCount += other.sucCount;
+            failCount += other.failCount;
+            durationHistogram.merge(other.durationHistogram);
+        }
+    }
+
+    private final ConcurrentHashMap<String, HourCount> hourCountMap = new ConcurrentHashMap<>();
+
+    private void countHour(final XxlJobLog xxlJobLog) {
+        if (xxlJobLog.getTriggerTime() == null) {
+            return;
+        }
+        final Date triggerHour = hourStart(xxlJobLog.getTriggerTime());
+        final long duration = (xxlJobLog.getHandleTime()!=null?xxlJobLog.getHandleTime().getTime():System.currentTimeMillis())
+                - xxlJobLog.getTriggerTime().getTime();
+
+        hourCountMap.compute(hourKey(xxlJobLog.getJobId(), triggerHour), new BiFunction<String, HourCount, HourCount>() {
+            @Override
+            public HourCount apply(String key, HourCount hourCount) {
+                if (hourCount == null) {
+                    hourCount = new HourCount(xxlJobLog.getJobId(), triggerHour);
+                }
+                if (xxlJobLog.getHandleCode() == ReturnT.SUCCESS_CODE) {
+                    hourCount.sucCount++;
+                } else {
+                    hourCount.failCount++;
+                }
+                hourCount.durationHistogram.record(duration);
+                return hourCount;
+            }
+        });
+    }
+
+    /**
+     * take and merge hour count into db; put back if fail, retry next time
+     */
+    private synchronized void flushHourCount() {
+        Exception lastException = null;
+        int failCount = 0;
+        for (String key: hourCountMap.keySet()) {
+            final HourCount hourCount = hourCountMap.remove(key);
+            if (hourCount == null) {
+                continue;
+            }
+            try {
+                saveHourCount(hourCount);
+            } catch (Exception e) {
+                lastException = e;
+                failCount++;
+
+                // put back
+                hourCountMap.compute(key, new BiFunction<String, HourCount, HourCount>() {
+                    @Override
+                    public HourCount apply(String key, HourCount current) {
+                        if (current != null) {
+                            current.merge(hourCount);
+                            return current;
+                        }
+                        return hourCount;
+                    }
+                });
+            }
+        }
+        if (lastException != null) {
+            logger.error(">>>>>>>>>>> xxl-job, job log report hour rollup flush error, fail count:{}", failCount, lastException);
+        }
+    }
+
+    /**
+     * merge by version (optimistic lock), rollup row may be written by all admin node
+     */
+    private void saveHourCount(HourCount hourCount) {
+        for (int i = 0; i < HOUR_COUNT_VERSION_RETRY; i++) {
+            XxlJobLogReportHour reportHour = XxlJobAdminConfig.getAdminConfig().getXxlJobLogReportHourDao().load(hourCount.jobId, hourCount.triggerHour);
+            if (reportHour == null) {
+                reportHour = new XxlJobLogReportHour();
+                reportHour.setJobId(hourCount.jobId);
+                reportHour.setTriggerHour(hourCount.triggerHour);
+                fillHourCount(reportHour, hourCount.sucCount, hourCount.failCount, hourCount.durationHistogram);
+                try {
+                    XxlJobAdminConfig.getAdminConfig().getXxlJobLogReportHourDao().save(reportHour);
+                    return;
+                } catch (DuplicateKeyException e) {
+                    continue;       // saved by other node, merge
+                }
+            }
+
+            DurationHistogram durationHistogram = DurationHistogram.decode(reportHour.getDurationHistogram());
+            durationHistogram.merge(hourCount.durationHistogram);
+            fillHourCount(reportHour,
+                    reportHour.getSucCount() + hourCount.sucCount,
+                    reportHour.getFailCount() + hourCount.failCount,
+                    durationHistogram);
+            if (XxlJobAdminConfig.getAdminConfig().getXxlJobLogReportHourDao().updateByVersion(reportHour) > 0) {
+                return;
+            }
+        }
+        throw new IllegalStateException("hour rollup version conflict, jobId:" + hourCount.jobId + ", triggerHour:" + hourCount.triggerHour);
+    }
+
+    private static void fillHourCount(XxlJobLogReportHour reportHour, int sucCount, int failCount, DurationHistogram durationHistogram) {
+        reportHour.setSucCount(sucCount);
+        reportHour.setFailCount(failCount);
+        reportHour.setDurationP50(durationHistogram.percentile(50));
+        reportHour.setDurationP95(durationHistogram.percentile(95));
+        reportHour.setDurationP99(durationHistogram.percentile(99));
+        reportHour.setDurationHistogram(durationHistogram.encode());
+    }
+
+    private static String hourKey(int jobId, Date triggerHour) {
+        return jobId + "_" + triggerHour.getTime();
+    }
+
+    private static Date hourStart(Date time) {
+        Calendar hour = Calendar.getInstance();
+        hour.setTime(time);
+        hour.set(Calendar.MINUTE, 0);
+        hour.set(Calendar.SECOND, 0);
+        hour.set(Calendar.MILLISECOND, 0);
+        return hour.getTime();
+    }
+
+    private static Date dayStart(Date time) {
+        Calendar day = Calendar.getInstance();
+        day.setTime(time);
+        day.set(Calendar.HOUR_OF_DAY, 0);
+        day.set(Calendar.MINUTE, 0);
+        day.set(Calendar.SECOND, 0);
+        day.set(Calendar.MILLISECOND, 0);
+        return day.getTime();
+    }
+
 }
@@ -0,0 +1,259 @@
+package com.xxl.job.admin.core.thread;
+
+import com.xxl.job.admin.core.conf.XxlJobAdminConfig;
+import com.xxl.job.admin.core.model.XxlJobLog;
+import com.xxl.job.admin.core.model.XxlJobLogDetail;
+import com.xxl.job.core.biz.model.ReturnT;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * job log write-behind helper, log written once after trigger, batched across concurrent triggers
+ *
+ *      a、write：log row, log detail, running and alarm queue, each by one multi-row insert of the batch; log first, running after (see "deleteFinished");
+ *      b、queue：bounded, written by caller directly if full;
+ *      c、fail：batch failed (such as one bad row) written one by one; row still failed kept in retry queue, retried later, never dropped;
+ *      d、callback：may come before log written, delay and retry by JobCompleteHelper;
+ *
+ * @author xuxueli 2026-10-18
+ */
+public class JobLogWriteHelper {
+    private static Logger logger = LoggerFactory.getLogger(JobLogWriteHelper.class);
+
+    private static JobLogWriteHelper instance = new JobLogWriteHelper();
+    public static JobLogWriteHelper getInstance(){
+        return instance;
+    }
+
+    private static final int WRITE_QUEUE_CAPACITY = 20000;
+    private static final int WRITE_BATCH_SIZE = 500;
+    private static final int WRITE_THREAD_NUM = 2;
+    private static final long WRITE_RETRY_INTERVAL = 10 * 1000;
+    private static final int WRITE_RETRY_TIMES_ON_STOP = 3;
+
+    // written step of log, each step saved at most once
+    private static final int STEP_LOG = 1;
+    private static final int STEP_DETAIL = 2;
+    private static final int STEP_RUNNING = 3;
+    private static final int STEP_ALARM_QUEUE = 4;
+
+    /**
+     * log to write, with detail
+     */
+    static class LogWrite {
+        private final XxlJobLog jobLog;
+        private final XxlJobLogDetail jobLogDetail;
+        private int step;
+
+        LogWrite(XxlJobLog jobLog, XxlJobLogDetail jobLogDetail) {
+            this.jobLog = jobLog;
+            this.jobLogDetail = jobLogDetail;
+        }
+    }
+
+    private LinkedBlockingQueue<LogWrite> writeQueue = new LinkedBlockingQueue<LogWrite>(WRITE_QUEUE_CAPACITY);
+    private LinkedBlockingQueue<LogWrite> retryQueue = new LinkedBlockingQueue<LogWrite>();
+    private AtomicLong nextRetryTime = new AtomicLong(0);
+    private Thread[] writeThreads;
+    private volatile boolean toStop = false;
+    public void start(){
+        writeThreads = new Thread[WRITE_THREAD_NUM];
+        for (int i = 0; i < writeThreads.length; i++) {
+            writeThreads[i] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    while (!toStop) {
+                        try {
+                            LogWrite logWrite = writeQueue.poll(1, TimeUnit.SECONDS);
+                            if (logWrite != null) {
+                                List<LogWrite> batchList = new ArrayList<>();
+                                batchList.add(logWrite);
+                                writeQueue.drainTo(batchList, WRITE_BATCH_SIZE - 1);
+                                writeBatch(batchList);
+                            }
+                            retryFailed(false);
+                        } catch (InterruptedException e) {
+                            if (!toStop) {
+                                logger.error(e.getMessage(), e);
+                            }
+                        }
+                    }
+
+                    // write remaining
+                    List<LogWrite> batchList = new ArrayList<>();
+                    while (writeQueue.drainTo(batchList, WRITE_BATCH_SIZE) > 0) {
+                        writeBatch(batchList);
+                        batchList = new ArrayList<>();
+                    }
+                    logger.info(">>>>>>>>>>> xxl-job, JobLogWriteHelper write thread stop");
+                }
+            });
+            writeThreads[i].setDaemon(true);
+            writeThreads[i].setName("xxl-job, admin JobLogWriteHelper-writeThread-" + i);
+            writeThreads[i].start();
+        }
+    }
+
+    public void toStop(){
+        toStop = true;
+
+        // interrupt and wait, write remaining
+        for (Thread writeThread: writeThreads) {
+            writeThread.interrupt();
+        }
+        for (Thread writeThread: writeThreads) {
+            try {
+                writeThread.join();
+            } catch (InterruptedException e) {
+                logger.error(e.getMessage(), e);
+            }
+        }
+
+        // retry failed, last chance
+        for (int i = 0; i < WRITE_RETRY_TIMES_ON_STOP && retryQueue.size() > 0; i++) {
+            if (i > 0) {
+                try {
+                    TimeUnit.SECONDS.sleep(1);
+                } catch (InterruptedException e) {
+                    logger.error(e.getMessage(), e);
+                }
+            }
+            retryFailed(true);
+        }
+        for (LogWrite logWrite: retryQueue) {
+            logger.error(">>>>>>>>>>> xxl-job, JobLogWriteHelper stop, job log write fail, logId:{}, jobId:{}, triggerTime:{}, triggerCode:{}, executorAddress:{}",
+                    logWrite.jobLog.getId(), logWrite.jobLog.getJobId(), logWrite.jobLog.getTriggerTime(), logWrite.jobLog.getTriggerCode(), logWrite.jobLog.getExecutorAddress());
+        }
+    }
+
+
+    // ---------------------- write ----------------------
+
+    /**
+     * write log after trigger, async
+     *
+     * @param jobLog        pre-allocated id, with trigger info
+     * @param jobLogDetail
+     */
+    public void write(XxlJobLog jobLog, XxlJobLogDetail jobLogDetail) {
+        LogWrite logWrite = new LogWrite(jobLog, jobLogDetail);
+        if (toStop || !writeQueue.offer(logWrite)) {
+            // queue full or stopped, write by caller
+            writeBatch(Collections.singletonList(logWrite));
+        }
+    }
+
+    void writeBatch(List<LogWrite> batchList) {
+        try {
+            save(batchList);
+            return;
+        } catch (Exception e) {
+            logger.error(">>>>>>>>>>> xxl-job, job log batch write error, write one by one, log size:{}", batchList.size(), e);
+        }
+
+        // one bad row fails whole multi-row insert, write one by one
+        for (LogWrite logWrite: batchList) {
+            try {
+                save(Collections.singletonList(logWrite));
+            } catch (Exception e) {
+                logger.error(">>>>>>>>>>> xxl-job, job log write error, retry later, logId:{}", logWrite.jobLog.getId(), e);
+                retryQueue.offer(logWrite);
+            }
+        }
+    }
+
+    /**
+     * retry failed log one by one, each "WRITE_RETRY_INTERVAL"; still failed kept for next round
+     */
+    void retryFailed(boolean force) {
+        long now = System.currentTimeMillis();
+        long retryTime = nextRetryTime.get();
+        if (retryQueue.isEmpty()
+                || (!force && (now < retryTime || !nextRetryTime.compareAndSet(retryTime, now + WRITE_RETRY_INTERVAL)))) {
+            return;
+        }
+
+        List<LogWrite> retryList = new ArrayList<>();
+        retryQueue.drainTo(retryList);
+        for (LogWrite logWrite: retryList) {
+            try {
+                save(Collections.singletonList(logWrite));
+            } catch (Exception e) {
+                logger.error(">>>>>>>>>>> xxl-job, job log write retry error, logId:{}, error:{}", logWrite.jobLog.getId(), e.getMessage());
+                retryQueue.offer(logWrite);
+            }
+        }
+    }
+
+    /**
+     * log row, then detail, running and alarm queue; step written kept, not written again on retry
+     */
+    private void save(List<LogWrite> batchList) {
+
+        // log row
+        List<XxlJobLog> logList = new ArrayList<>();
+        for (LogWrite logWrite: batchList) {
+            if (logWrite.step < STEP_LOG) {
+                logList.add(logWrite.jobLog);
+            }
+        }
+        if (logList.size() > 0) {
+            XxlJobAdminConfig.getAdminConfig().getXxlJobLogDao().saveBatch(logList);
+        }
+        markStep(batchList, STEP_LOG);
+
+        // detail
+        List<XxlJobLogDetail> detailList = new ArrayList<>();
+        for (LogWrite logWrite: batchList) {
+            if (logWrite.step < STEP_DETAIL && logWrite.jobLogDetail != null) {
+                detailList.add(logWrite.jobLogDetail);
+            }
+        }
+        if (detailList.size() > 0) {
+            XxlJobAdminConfig.getAdminConfig().getXxlJobLogDetailDao().saveTriggerInfo(detailList);
+        }
+        markStep(batchList, STEP_DETAIL);
+
+        // running, until callback; for lost monitor
+        List<XxlJobLog> runningList = new ArrayList<>();
+        for (LogWrite logWrite: batchList) {
+            if (logWrite.step < STEP_RUNNING
+                    && logWrite.jobLog.getTriggerCode() == ReturnT.SUCCESS_CODE && logWrite.jobLog.getExecutorAddress() != null) {
+                runningList.add(logWrite.jobLog);
+            }
+        }
+        if (runningList.size() > 0) {
+            XxlJobAdminConfig.getAdminConfig().getXxlJobRunningDao().saveBatch(runningList);
+        }
+        markStep(batchList, STEP_RUNNING);
+
+        // trigger fail, to alarm
+        List<XxlJobLog> failList = new ArrayList<>();
+        for (LogWrite logWrite: batchList) {
+            if (logWrite.step < STEP_ALARM_QUEUE
+                    && logWrite.jobLog.getTriggerCode() != ReturnT.SUCCESS_CODE) {
+                failList.add(logWrite.jobLog);
+            }
+        }
+        if (failList.size() > 0) {
+            XxlJobAdminConfig.getAdminConfig().getXxlJobAlarmQueueDao().saveBatch(failList);
+        }
+        markStep(batchList, STEP_ALARM_QUEUE);
+    }
+
+    private static void markStep(List<LogWrite> batchList, int step) {
+        for (LogWrite logWrite: batchList) {
+            if (logWrite.step < step) {
+                logWrite.step = step;
+            }
+        }
+    }
+
+}
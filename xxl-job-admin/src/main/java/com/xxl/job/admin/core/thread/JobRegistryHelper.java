@@ -3,6 +3,8 @@ package com.xxl.job.admin.core.thread;
 import com.xxl.job.admin.core.conf.XxlJobAdminConfig;
 import com.xxl.job.admin.core.model.XxlJobGroup;
 import com.xxl.job.admin.core.model.XxlJobRegistry;
+import com.xxl.job.admin.core.route.ExecutorCircuitBreaker;
+import com.xxl.job.admin.core.route.ExecutorLivenessDetector;
 import com.xxl.job.core.biz.model.RegistryParam;
 import com.xxl.job.core.biz.model.ReturnT;
 import com.xxl.job.core.enums.RegistryConfig;
@@ -15,6 +17,11 @@ import java.util.concurrent.*;
 
 /**
  * job registry instance
+ *
+ *      a、registry：address last-seen kept in memory; first-seen and removed address written to db at once, heartbeat written behind in batch;
+ *      b、converge：other admin node see address through db (findAll), lag no more than "REGISTRY_FLUSH_INTERVAL";
+ *      c、refresh：leader remove dead address and write changed group address only, then publish registry version (see JobInfoCacheHelper);
+ *
  * @author xuxueli 2016-10-02 19:10:24
  */
 public class JobRegistryHelper {
@@ -25,32 +32,59 @@ public class JobRegistryHelper {
 		return instance;
 	}
 
-	private ThreadPoolExecutor registryOrRemoveThreadPool = null;
+	private static final int REGISTRY_FLUSH_INTERVAL = 10;		// second, far less than "DEAD_TIMEOUT"
+	private static final int REGISTRY_FLUSH_BATCH_SIZE = 500;
+
+	/**
+	 * registry address in memory
+	 */
+	private static class RegistryEntry {
+		private final String registryGroup;
+		private final String registryKey;
+		private final String registryValue;
+		private volatile long lastSeen;
+		private volatile boolean dirty;		// heartbeat not written yet
+
+		private RegistryEntry(String registryGroup, String registryKey, String registryValue, long lastSeen) {
+			this.registryGroup = registryGroup;
+			this.registryKey = registryKey;
+			this.registryValue = registryValue;
+			this.lastSeen = lastSeen;
+		}
+	}
+
+	private ConcurrentMap<String, RegistryEntry> registryMap = new ConcurrentHashMap<String, RegistryEntry>();
+	private Thread registryFlushThread;
 	private Thread registryMonitorThread;
 	private volatile boolean toStop = false;
 
 	public void start(){
 
-		// for registry or remove
-		registryOrRemoveThreadPool = new ThreadPoolExecutor(
-				2,
-				10,
-				30L,
-				TimeUnit.SECONDS,
-				new LinkedBlockingQueue<Runnable>(2000),
-				new ThreadFactory() {
-					@Override
-					public Thread newThread(Runnable r) {
-						return new Thread(r, "xxl-job, admin JobRegistryMonitorHelper-registryOrRemoveThreadPool-" + r.hashCode());
+		// for heartbeat write-behind
+		registryFlushThread = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				while (!toStop) {
+					try {
+						TimeUnit.SECONDS.sleep(REGISTRY_FLUSH_INTERVAL);
+					} catch (InterruptedException e) {
+						if (!toStop) {
+							logger.error(">>>>>>>>>>> xxl-job, job registry flush thread error:{}", e);
+						}
 					}
-				},
-				new RejectedExecutionHandler() {
-					@Override
-					public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
-						r.run();
-						logger.warn(">>>>>>>>>>> xxl-job, registry or remove too fast, match threadpool rejected handler(run now).");
+					try {
+						flushRegistry();
+						confirmOverdue();
+					} catch (Exception e) {
+						logger.error(">>>>>>>>>>> xxl-job, job registry flush thread error:{}", e);
 					}
-				});
+				}
+				logger.info(">>>>>>>>>>> xxl-job, job registry flush thread stop");
+			}
+		});
+		registryFlushThread.setDaemon(true);
+		registryFlushThread.setName("xxl-job, admin JobRegistryMonitorHelper-registryFlushThread");
+		registryFlushThread.start();
 
 		// for monitor
 		registryMonitorThread = new Thread(new Runnable() {
@@ -58,54 +92,20 @@ public class JobRegistryHelper {
 			public void run() {
 				while (!toStop) {
 					try {
-						// auto registry group
-						List<XxlJobGroup> groupList = XxlJobAdminConfig.getAdminConfig().getXxlJobGroupDao().findByAddressType(0);
-						if (groupList!=null && !groupList.isEmpty()) {
-
-							// remove dead address (admin/executor)
-							List<Integer> ids = XxlJobAdminConfig.getAdminConfig().getXxlJobRegistryDao().findDead(RegistryConfig.DEAD_TIMEOUT, new Date());
-							if (ids!=null && ids.size()>0) {
-								XxlJobAdminConfig.getAdminConfig().getXxlJobRegistryDao().removeDead(ids);
-							}
-
-							// fresh online address (admin/executor)
-							HashMap<String, List<String>> appAddressMap = new HashMap<String, List<String>>();
-							List<XxlJobRegistry> list = XxlJobAdminConfig.getAdminConfig().getXxlJobRegistryDao().findAll(RegistryConfig.DEAD_TIMEOUT, new Date());
-							if (list != null) {
-								for (XxlJobRegistry item: list) {
-									if (RegistryConfig.RegistType.EXECUTOR.name().equals(item.getRegistryGroup())) {
-										String appname = item.getRegistryKey();
-										List<String> registryList = appAddressMap.get(appname);
-										if (registryList == null) {
-											registryList = new ArrayList<String>();
-										}
-
-										if (!registryList.contains(item.getRegistryValue())) {
-											registryList.add(item.getRegistryValue());
-										}
-										appAddressMap.put(appname, registryList);
-									}
-								}
+						// remove dead address in memory
+						long deadTime = System.currentTimeMillis() - RegistryConfig.DEAD_TIMEOUT * 1000L;
+						Iterator<RegistryEntry> entryIterator = registryMap.values().iterator();
+						while (entryIterator.hasNext()) {
+							if (entryIterator.next().lastSeen < deadTime) {
+								entryIterator.remove();
 							}
+						}
+						ExecutorLivenessDetector.getInstance().cleanDead();
+						ExecutorCircuitBreaker.getInstance().cleanIdle();
 
-							// fresh group address
-							for (XxlJobGroup group: groupList) {
-								List<String> registryList = appAddressMap.get(group.getAppname());
-								String addressListStr = null;
-								if (registryList!=null && !registryList.isEmpty()) {
-									Collections.sort(registryList);
-									StringBuilder addressListSB = new StringBuilder();
-									for (String item:registryList) {
-										addressListSB.append(item).append(",");
-									}
-									addressListStr = addressListSB.toString();
-									addressListStr = addressListStr.substring(0, addressListStr.length()-1);
-								}
-								group.setAddressList(addressListStr);
-								group.setUpdateTime(new Date());
-
-								XxlJobAdminConfig.getAdminConfig().getXxlJobGroupDao().update(group);
-							}
+						// clean and refresh group address, leader only
+						if (JobClusterHelper.getInstance().isLeader()) {
+							refreshGroupRegistry();
 						}
 					} catch (Exception e) {
 						if (!toStop) {
@@ -131,8 +131,13 @@ public class JobRegistryHelper {
 	public void toStop(){
 		toStop = true;
 
-		// stop registryOrRemoveThreadPool
-		registryOrRemoveThreadPool.shutdownNow();
+		// stop flush (interrupt and wait, write remaining)
+		registryFlushThread.interrupt();
+		try {
+			registryFlushThread.join();
+		} catch (InterruptedException e) {
+			logger.error(e.getMessage(), e);
+		}
 
 		// stop monitir (interrupt and wait)
 		registryMonitorThread.interrupt();
@@ -144,6 +149,80 @@ public class JobRegistryHelper {
 	}
 
 
+	/**
+	 * remove dead address, and write group address only when changed; other admin node evict group cache by registry version
+	 */
+	private void refreshGroupRegistry(){
+		// auto registry group
+		List<XxlJobGroup> groupList = XxlJobAdminConfig.getAdminConfig().getXxlJobGroupDao().findByAddressType(0);
+		if (groupList==null || groupList.isEmpty()) {
+			return;
+		}
+
+		// remove dead address (admin/executor)
+		List<Integer> ids = XxlJobAdminConfig.getAdminConfig().getXxlJobRegistryDao().findDead(RegistryConfig.DEAD_TIMEOUT, new Date());
+		if (ids!=null && ids.size()>0) {
+			XxlJobAdminConfig.getAdminConfig().getXxlJobRegistryDao().removeDead(ids);
+		}
+
+		// online address (admin/executor), sorted and distinct
+		Map<String, TreeSet<String>> appAddressMap = new HashMap<String, TreeSet<String>>();
+		Set<String> onlineAddresses = new HashSet<String>();
+		List<XxlJobRegistry> list = XxlJobAdminConfig.getAdminConfig().getXxlJobRegistryDao().findAll(RegistryConfig.DEAD_TIMEOUT, new Date());
+		if (list != null) {
+			for (XxlJobRegistry item: list) {
+				if (RegistryConfig.RegistType.EXECUTOR.name().equals(item.getRegistryGroup())) {
+					TreeSet<String> registrySet = appAddressMap.get(item.getRegistryKey());
+					if (registrySet == null) {
+						registrySet = new TreeSet<String>();
+						appAddressMap.put(item.getRegistryKey(), registrySet);
+					}
+					registrySet.add(item.getRegistryValue());
+					onlineAddresses.add(item.getRegistryValue());
+				}
+			}
+		}
+
+		// fresh group address, changed only
+		List<Integer> changedGroupIds = new ArrayList<Integer>();
+		for (XxlJobGroup group: groupList) {
+			TreeSet<String> newAddressSet = appAddressMap.get(group.getAppname());
+			if (newAddressSet == null) {
+				newAddressSet = new TreeSet<String>();
+			}
+			TreeSet<String> oldAddressSet = new TreeSet<String>();
+			if (group.getRegistryList() != null) {
+				oldAddressSet.addAll(group.getRegistryList());
+			}
+			if (newAddressSet.equals(oldAddressSet)) {
+				continue;
+			}
+
+			String addressListStr = newAddressSet.isEmpty()?null:String.join(",", newAddressSet);
+			XxlJobAdminConfig.getAdminConfig().getXxlJobGroupDao().updateAddressList(group.getId(), addressListStr, new Date());
+			changedGroupIds.add(group.getId());
+
+			if (logger.isInfoEnabled()) {
+				Set<String> addedSet = new TreeSet<String>(newAddressSet);
+				addedSet.removeAll(oldAddressSet);
+				Set<String> removedSet = new TreeSet<String>(oldAddressSet);
+				removedSet.removeAll(newAddressSet);
+				logger.info(">>>>>>>>>>> xxl-job, job group address changed, appname:{}, added:{}, removed:{}", group.getAppname(), addedSet, removedSet);
+			}
+		}
+		if (changedGroupIds.size() > 0) {
+			JobInfoCacheHelper.getInstance().invalidateJobRegistry(changedGroupIds);
+		}
+
+		// fail running job of dead executor
+		List<Integer> groupIds = new ArrayList<Integer>();
+		for (XxlJobGroup group: groupList) {
+			groupIds.add(group.getId());
+		}
+		JobCompleteHelper.getInstance().failRunningOfDeadExecutor(groupIds, onlineAddresses);
+	}
+
+
 	// ---------------------- helper ----------------------
 
 	public ReturnT<String> registry(RegistryParam registryParam) {
@@ -155,19 +234,33 @@ public class JobRegistryHelper {
 			return new ReturnT<String>(ReturnT.FAIL_CODE, "Illegal Argument.");
 		}
 
-		// async execute
-		registryOrRemoveThreadPool.execute(new Runnable() {
-			@Override
-			public void run() {
-				int ret = XxlJobAdminConfig.getAdminConfig().getXxlJobRegistryDao().registryUpdate(registryParam.getRegistryGroup(), registryParam.getRegistryKey(), registryParam.getRegistryValue(), new Date());
-				if (ret < 1) {
-					XxlJobAdminConfig.getAdminConfig().getXxlJobRegistryDao().registrySave(registryParam.getRegistryGroup(), registryParam.getRegistryKey(), registryParam.getRegistryValue(), new Date());
+		// liveness, by beat inter-arrival
+		if (RegistryConfig.RegistType.EXECUTOR.name().equals(registryParam.getRegistryGroup())) {
+			ExecutorLivenessDetector.getInstance().heartbeat(registryParam.getRegistryValue());
+		}
 
-					// fresh
-					freshGroupRegistryInfo(registryParam);
-				}
-			}
-		});
+		// heartbeat of known address, write behind
+		String entryKey = makeEntryKey(registryParam);
+		long now = System.currentTimeMillis();
+		RegistryEntry entry = new RegistryEntry(registryParam.getRegistryGroup(), registryParam.getRegistryKey(), registryParam.getRegistryValue(), now);
+		RegistryEntry existEntry = registryMap.putIfAbsent(entryKey, entry);
+		if (existEntry != null) {
+			existEntry.lastSeen = now;
+			existEntry.dirty = true;
+			return ReturnT.SUCCESS;
+		}
+
+		// first-seen address, write at once
+		try {
+			saveRegistry(entry.registryGroup, entry.registryKey, entry.registryValue, new Date(now));
+		} catch (Exception e) {
+			registryMap.remove(entryKey, entry);
+			logger.error(">>>>>>>>>>> xxl-job, job registry save error, registryParam:{}", registryParam, e);
+			return new ReturnT<String>(ReturnT.FAIL_CODE, "Registry save fail.");
+		}
+
+		// fresh
+		freshGroupRegistryInfo(registryParam);
 
 		return ReturnT.SUCCESS;
 	}
@@ -181,19 +274,98 @@ public class JobRegistryHelper {
 			return new ReturnT<String>(ReturnT.FAIL_CODE, "Illegal Argument.");
 		}
 
-		// async execute
-		registryOrRemoveThreadPool.execute(new Runnable() {
-			@Override
-			public void run() {
-				int ret = XxlJobAdminConfig.getAdminConfig().getXxlJobRegistryDao().registryDelete(registryParam.getRegistryGroup(), registryParam.getRegistryKey(), registryParam.getRegistryValue());
-				if (ret > 0) {
-					// fresh
-					freshGroupRegistryInfo(registryParam);
+		// removed address, write at once
+		registryMap.remove(makeEntryKey(registryParam));
+		if (RegistryConfig.RegistType.EXECUTOR.name().equals(registryParam.getRegistryGroup())) {
+			ExecutorLivenessDetector.getInstance().remove(registryParam.getRegistryValue());
+		}
+		int ret = XxlJobAdminConfig.getAdminConfig().getXxlJobRegistryDao().registryDelete(registryParam.getRegistryGroup(), registryParam.getRegistryKey(), registryParam.getRegistryValue());
+		if (ret > 0) {
+			// fresh
+			freshGroupRegistryInfo(registryParam);
+		}
+
+		return ReturnT.SUCCESS;
+	}
+
+	private String makeEntryKey(RegistryParam registryParam){
+		return registryParam.getRegistryGroup() + "\t" + registryParam.getRegistryKey() + "\t" + registryParam.getRegistryValue();
+	}
+
+	private void saveRegistry(String registryGroup, String registryKey, String registryValue, Date updateTime){
+		int ret = XxlJobAdminConfig.getAdminConfig().getXxlJobRegistryDao().registryUpdate(registryGroup, registryKey, registryValue, updateTime);
+		if (ret < 1) {
+			XxlJobAdminConfig.getAdminConfig().getXxlJobRegistryDao().registrySave(registryGroup, registryKey, registryValue, updateTime);
+		}
+	}
+
+	/**
+	 * write heartbeat behind, one update each batch (by earliest last-seen of batch, never fresher than real)
+	 */
+	private void flushRegistry(){
+		List<RegistryEntry> dirtyList = new ArrayList<RegistryEntry>();
+		for (RegistryEntry entry: registryMap.values()) {
+			if (entry.dirty) {
+				entry.dirty = false;
+				dirtyList.add(entry);
+			}
+		}
+
+		for (int from = 0; from < dirtyList.size(); from += REGISTRY_FLUSH_BATCH_SIZE) {
+			List<RegistryEntry> batchList = dirtyList.subList(from, Math.min(from + REGISTRY_FLUSH_BATCH_SIZE, dirtyList.size()));
+
+			List<XxlJobRegistry> registryList = new ArrayList<XxlJobRegistry>();
+			long updateTime = Long.MAX_VALUE;
+			for (RegistryEntry entry: batchList) {
+				XxlJobRegistry registry = new XxlJobRegistry();
+				registry.setRegistryGroup(entry.registryGroup);
+				registry.setRegistryKey(entry.registryKey);
+				registry.setRegistryValue(entry.registryValue);
+				registryList.add(registry);
+				updateTime = Math.min(updateTime, entry.lastSeen);
+			}
+
+			try {
+				int ret = XxlJobAdminConfig.getAdminConfig().getXxlJobRegistryDao().registryUpdateBatch(registryList, new Date(updateTime));
+				if (ret < registryList.size()) {
+					// row missing (such as removed by other admin node), write one by one
+					for (RegistryEntry entry: batchList) {
+						saveRegistry(entry.registryGroup, entry.registryKey, entry.registryValue, new Date(entry.lastSeen));
+					}
 				}
+			} catch (Exception e) {
+				// retry next round
+				for (RegistryEntry entry: batchList) {
+					entry.dirty = true;
+				}
+				logger.error(">>>>>>>>>>> xxl-job, job registry flush error, size:{}", batchList.size(), e);
 			}
-		});
+		}
+	}
 
-		return ReturnT.SUCCESS;
+	/**
+	 * confirm overdue executor by registry, beat may move to other admin node
+	 */
+	private void confirmOverdue(){
+		List<String> overdueList = ExecutorLivenessDetector.getInstance().overdueList();
+		for (int from = 0; from < overdueList.size(); from += REGISTRY_FLUSH_BATCH_SIZE) {
+			List<String> batchList = overdueList.subList(from, Math.min(from + REGISTRY_FLUSH_BATCH_SIZE, overdueList.size()));
+
+			// latest beat of address, any app
+			Map<String, Date> updateTimeMap = new HashMap<String, Date>();
+			List<XxlJobRegistry> registryList = XxlJobAdminConfig.getAdminConfig().getXxlJobRegistryDao().findByValues(RegistryConfig.RegistType.EXECUTOR.name(), batchList);
+			if (registryList != null) {
+				for (XxlJobRegistry registry: registryList) {
+					Date updateTime = updateTimeMap.get(registry.getRegistryValue());
+					if (updateTime == null || registry.getUpdateTime().after(updateTime)) {
+						updateTimeMap.put(registry.getRegistryValue(), registry.getUpdateTime());
+					}
+				}
+			}
+			for (String address: batchList) {
+				ExecutorLivenessDetector.getInstance().confirm(address, updateTimeMap.get(address));
+			}
+		}
 	}
 
 	private void freshGroupRegistryInfo(RegistryParam registryParam){
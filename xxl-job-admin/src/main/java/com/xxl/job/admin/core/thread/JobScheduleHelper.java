@@ -5,7 +5,10 @@ import com.xxl.job.admin.core.cron.CronExpression;
 import com.xxl.job.admin.core.model.XxlJobInfo;
 import com.xxl.job.admin.core.scheduler.MisfireStrategyEnum;
 import com.xxl.job.admin.core.scheduler.ScheduleTypeEnum;
+import com.xxl.job.admin.core.scheduler.TimingWheel;
 import com.xxl.job.admin.core.trigger.TriggerTypeEnum;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -13,7 +16,6 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -28,12 +30,18 @@ public class JobScheduleHelper {
     }
 
     public static final long PRE_READ_MS = 5000;    // pre read
+    public static final long RING_TICK_MS = 10;     // time-ring tick
+    public static final int RING_WHEEL_SIZE = 100;  // time-ring wheel size, level-0 cover 1s, overflow wheel cover 100s, 10000s ...
 
     private Thread scheduleThread;
     private Thread ringThread;
     private volatile boolean scheduleThreadToStop = false;
     private volatile boolean ringThreadToStop = false;
-    private volatile static Map<Integer, List<Integer>> ringData = new ConcurrentHashMap<>();
+    private final Timer lockHoldTimer = Timer.builder("xxl.job.schedule.lock.hold")
+            .description("schedule lock hold time, from lock acquired to tx commit")
+            .register(Metrics.globalRegistry);
+
+    private final TimingWheel timingWheel = new TimingWheel(RING_TICK_MS, RING_WHEEL_SIZE, System.currentTimeMillis());
 
     public void start(){
 
@@ -54,14 +62,26 @@ public class JobScheduleHelper {
                 // pre-read count: treadpool-size * trigger-qps (each trigger cost 50ms, qps = 1000/50 = 20)
                 int preReadCount = (XxlJobAdminConfig.getAdminConfig().getTriggerPoolFastMax() + XxlJobAdminConfig.getAdminConfig().getTriggerPoolSlowMax()) * 20;
 
+                // partition mode: each admin only lock and scan its own slots
+                boolean partitionEnabled = XxlJobAdminConfig.getAdminConfig().isSchedulePartitionEnabled();
+                int slotTotal = XxlJobAdminConfig.getAdminConfig().getSchedulePartitionSlots();
+                int batchSize = XxlJobAdminConfig.getAdminConfig().getScheduleBatchSize();
+                if (partitionEnabled) {
+                    initSlotLock(slotTotal);
+                }
+
                 while (!scheduleThreadToStop) {
 
                     // Scan Job
                     long start = System.currentTimeMillis();
 
+                    int[] ownSlots = partitionEnabled?JobClusterHelper.getInstance().getOwnSlots():null;
+                    String lockSql = makeLockSql(ownSlots);
+
                     Connection conn = null;
                     Boolean connAutoCommit = null;
                     PreparedStatement preparedStatement = null;
+                    long lockStart = 0;
 
                     boolean preReadSuc = true;
                     try {
@@ -70,15 +90,27 @@ public class JobScheduleHelper {
                         connAutoCommit = conn.getAutoCommit();
                         conn.setAutoCommit(false);
 
-                        preparedStatement = conn.prepareStatement(  "select * from xxl_job_lock where lock_name = 'schedule_lock' for update" );
-                        preparedStatement.execute();
+                        // no slot owned (lease lost, or not rebalanced yet), skip this period
+                        if (lockSql != null) {
+                            preparedStatement = conn.prepareStatement( lockSql );
+                            preparedStatement.execute();
+                            lockStart = System.currentTimeMillis();
+                        }
 
                         // tx start
 
                         // 1、pre read
                         long nowTime = System.currentTimeMillis();
-                        List<XxlJobInfo> scheduleList = XxlJobAdminConfig.getAdminConfig().getXxlJobInfoDao().scheduleJobQuery(nowTime + PRE_READ_MS, preReadCount);
+                        long cacheEpoch = JobInfoCacheHelper.getInstance().getJobInfoEpoch();
+                        List<XxlJobInfo> scheduleList = (lockSql != null)
+                                ?XxlJobAdminConfig.getAdminConfig().getXxlJobInfoDao().scheduleJobQuery(nowTime + PRE_READ_MS, preReadCount, slotTotal, toSlotList(ownSlots))
+                                :null;
                         if (scheduleList!=null && scheduleList.size()>0) {
+                            // fill job cache, trigger no need load again
+                            for (XxlJobInfo jobInfo: scheduleList) {
+                                JobInfoCacheHelper.getInstance().putJobInfo(jobInfo, cacheEpoch);
+                            }
+
                             // 2、push time-ring
                             for (XxlJobInfo jobInfo: scheduleList) {
 
@@ -110,37 +142,21 @@ public class JobScheduleHelper {
 
                                     // next-trigger-time in 5s, pre-read again
                                     if (jobInfo.getTriggerStatus()==1 && nowTime + PRE_READ_MS > jobInfo.getTriggerNextTime()) {
-
-                                        // 1、make ring second
-                                        int ringSecond = (int)((jobInfo.getTriggerNextTime()/1000)%60);
-
-                                        // 2、push time ring
-                                        pushTimeRing(ringSecond, jobInfo.getId());
-
-                                        // 3、fresh next
-                                        refreshNextValidTime(jobInfo, new Date(jobInfo.getTriggerNextTime()));
-
+                                        pushTimeRingInWindow(jobInfo, nowTime + PRE_READ_MS);
                                     }
 
                                 } else {
                                     // 2.3、trigger-pre-read：time-ring trigger && make next-trigger-time
-
-                                    // 1、make ring second
-                                    int ringSecond = (int)((jobInfo.getTriggerNextTime()/1000)%60);
-
-                                    // 2、push time ring
-                                    pushTimeRing(ringSecond, jobInfo.getId());
-
-                                    // 3、fresh next
-                                    refreshNextValidTime(jobInfo, new Date(jobInfo.getTriggerNextTime()));
+                                    pushTimeRingInWindow(jobInfo, nowTime + PRE_READ_MS);
 
                                 }
 
                             }
 
-                            // 3、update trigger info
-                            for (XxlJobInfo jobInfo: scheduleList) {
-                                XxlJobAdminConfig.getAdminConfig().getXxlJobInfoDao().scheduleUpdate(jobInfo);
+                            // 3、update trigger info (batch, one statement per chunk)
+                            for (int from = 0; from < scheduleList.size(); from += batchSize) {
+                                List<XxlJobInfo> batchList = scheduleList.subList(from, Math.min(from + batchSize, scheduleList.size()));
+                                XxlJobAdminConfig.getAdminConfig().getXxlJobInfoDao().scheduleUpdateBatch(batchList);
                             }
 
                         } else {
@@ -165,6 +181,9 @@ public class JobScheduleHelper {
                                     logger.error(e.getMessage(), e);
                                 }
                             }
+                            if (lockStart > 0) {
+                                lockHoldTimer.record(System.currentTimeMillis() - lockStart, TimeUnit.MILLISECONDS);
+                            }
                             try {
                                 conn.setAutoCommit(connAutoCommit);
                             } catch (SQLException e) {
@@ -224,9 +243,9 @@ public class JobScheduleHelper {
 
                 while (!ringThreadToStop) {
 
-                    // align second
+                    // align tick
                     try {
-                        TimeUnit.MILLISECONDS.sleep(1000 - System.currentTimeMillis() % 1000);
+                        TimeUnit.MILLISECONDS.sleep(RING_TICK_MS - System.currentTimeMillis() % RING_TICK_MS);
                     } catch (InterruptedException e) {
                         if (!ringThreadToStop) {
                             logger.error(e.getMessage(), e);
@@ -234,26 +253,18 @@ public class JobScheduleHelper {
                     }
 
                     try {
-                        // second data
-                        List<Integer> ringItemData = new ArrayList<>();
-                        int nowSecond = Calendar.getInstance().get(Calendar.SECOND);   // 避免处理耗时太长，跨过刻度，向前校验一个刻度；
-                        for (int i = 0; i < 2; i++) {
-                            List<Integer> tmpData = ringData.remove( (nowSecond+60-i)%60 );
-                            if (tmpData != null) {
-                                ringItemData.addAll(tmpData);
-                            }
-                        }
+                        // tick data, advance to now (处理耗时跨过多个刻度时，一次性补齐)
+                        long nowTime = System.currentTimeMillis();
+                        int[] ringItemData = timingWheel.advanceClock(nowTime);
 
                         // ring trigger
-                        logger.debug(">>>>>>>>>>> xxl-job, time-ring beat : " + nowSecond + " = " + Arrays.asList(ringItemData) );
-                        if (ringItemData.size() > 0) {
+                        if (ringItemData.length > 0) {
+                            logger.debug(">>>>>>>>>>> xxl-job, time-ring beat : " + nowTime + " = " + Arrays.toString(ringItemData) );
                             // do trigger
                             for (int jobId: ringItemData) {
                                 // do trigger
                                 JobTriggerPoolHelper.trigger(jobId, TriggerTypeEnum.CRON, -1, null, null, null);
                             }
-                            // clear
-                            ringItemData.clear();
                         }
                     } catch (Exception e) {
                         if (!ringThreadToStop) {
@@ -269,6 +280,84 @@ public class JobScheduleHelper {
         ringThread.start();
     }
 
+    /**
+     * lock sql
+     *
+     * @param ownSlots  null: global "schedule_lock"; not null: own slot locks, empty means nothing to lock
+     * @return
+     */
+    static String makeLockSql(int[] ownSlots){
+        if (ownSlots == null) {
+            return "select * from xxl_job_lock where lock_name = 'schedule_lock' for update";
+        }
+        if (ownSlots.length == 0) {
+            return null;
+        }
+        List<String> lockNameList = new ArrayList<>();
+        for (int slot: ownSlots) {
+            lockNameList.add(makeSlotLockName(slot));
+        }
+        Collections.sort(lockNameList);
+        StringBuilder lockNames = new StringBuilder();
+        for (String lockName: lockNameList) {
+            if (lockNames.length() > 0) {
+                lockNames.append(",");
+            }
+            lockNames.append("'").append(lockName).append("'");
+        }
+        // lock in lock_name order (primary key), avoid dead lock while slots rebalance
+        return "select * from xxl_job_lock where lock_name in (" + lockNames + ") order by lock_name for update";
+    }
+
+    private static String makeSlotLockName(int slot){
+        return "schedule_lock_slot_" + slot;
+    }
+
+    private static List<Integer> toSlotList(int[] ownSlots){
+        if (ownSlots == null) {
+            return null;
+        }
+        List<Integer> slotList = new ArrayList<>();
+        for (int slot: ownSlots) {
+            slotList.add(slot);
+        }
+        return slotList;
+    }
+
+    /**
+     * make sure slot lock row exists
+     */
+    private void initSlotLock(int slotTotal){
+        Connection conn = null;
+        PreparedStatement preparedStatement = null;
+        try {
+            conn = XxlJobAdminConfig.getAdminConfig().getDataSource().getConnection();
+            preparedStatement = conn.prepareStatement("insert ignore into xxl_job_lock ( lock_name ) values ( ? )");
+            for (int slot = 0; slot < slotTotal; slot++) {
+                preparedStatement.setString(1, makeSlotLockName(slot));
+                preparedStatement.addBatch();
+            }
+            preparedStatement.executeBatch();
+        } catch (SQLException e) {
+            logger.error(">>>>>>>>>>> xxl-job, JobScheduleHelper init slot lock error:{}", e);
+        } finally {
+            if (preparedStatement != null) {
+                try {
+                    preparedStatement.close();
+                } catch (SQLException e) {
+                    logger.error(e.getMessage(), e);
+                }
+            }
+            if (conn != null) {
+                try {
+                    conn.close();
+                } catch (SQLException e) {
+                    logger.error(e.getMessage(), e);
+                }
+            }
+        }
+    }
+
     private void refreshNextValidTime(XxlJobInfo jobInfo, Date fromTime) throws Exception {
         Date nextValidTime = generateNextValidTime(jobInfo, fromTime);
         if (nextValidTime != null) {
@@ -283,16 +372,31 @@ public class JobScheduleHelper {
         }
     }
 
-    private void pushTimeRing(int ringSecond, int jobId){
+    /**
+     * push all trigger-time in pre-read window into time ring (job with period < window, push more than once)
+     */
+    private void pushTimeRingInWindow(XxlJobInfo jobInfo, long maxTime) throws Exception {
+        long lastTime;
+        do {
+            lastTime = jobInfo.getTriggerNextTime();
+
+            // 1、push time ring
+            pushTimeRing(jobInfo.getId(), lastTime);
+
+            // 2、fresh next
+            refreshNextValidTime(jobInfo, new Date(lastTime));
+
+        } while (jobInfo.getTriggerStatus()==1 && maxTime > jobInfo.getTriggerNextTime() && jobInfo.getTriggerNextTime() > lastTime);
+    }
+
+    private void pushTimeRing(int jobId, long triggerTime){
         // push async ring
-        List<Integer> ringItemData = ringData.get(ringSecond);
-        if (ringItemData == null) {
-            ringItemData = new ArrayList<Integer>();
-            ringData.put(ringSecond, ringItemData);
+        if (!timingWheel.add(jobId, triggerTime)) {
+            // already due (within current tick), trigger directly
+            JobTriggerPoolHelper.trigger(jobId, TriggerTypeEnum.CRON, -1, null, null, null);
         }
-        ringItemData.add(jobId);
 
-        logger.debug(">>>>>>>>>>> xxl-job, schedule push time-ring : " + ringSecond + " = " + Arrays.asList(ringItemData) );
+        logger.debug(">>>>>>>>>>> xxl-job, schedule push time-ring : " + triggerTime + " = " + jobId );
     }
 
     public void toStop(){
@@ -314,22 +418,14 @@ public class JobScheduleHelper {
             }
         }
 
-        // if has ring data
-        boolean hasRingData = false;
-        if (!ringData.isEmpty()) {
-            for (int second : ringData.keySet()) {
-                List<Integer> tmpData = ringData.get(second);
-                if (tmpData!=null && tmpData.size()>0) {
-                    hasRingData = true;
-                    break;
-                }
-            }
-        }
-        if (hasRingData) {
+        // if has ring data, wait ring data fired (max pre-read window)
+        long ringWaitEnd = System.currentTimeMillis() + PRE_READ_MS + 1000;
+        while (!timingWheel.isEmpty() && System.currentTimeMillis() < ringWaitEnd) {
             try {
-                TimeUnit.SECONDS.sleep(8);
+                TimeUnit.MILLISECONDS.sleep(RING_TICK_MS);
             } catch (InterruptedException e) {
                 logger.error(e.getMessage(), e);
+                break;
             }
         }
 
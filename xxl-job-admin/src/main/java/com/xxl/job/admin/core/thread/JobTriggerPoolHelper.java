@@ -1,13 +1,22 @@
 package com.xxl.job.admin.core.thread;
 
 import com.xxl.job.admin.core.conf.XxlJobAdminConfig;
+import com.xxl.job.admin.core.scheduler.XxlJobScheduler;
 import com.xxl.job.admin.core.trigger.TriggerTypeEnum;
 import com.xxl.job.admin.core.trigger.XxlJobTrigger;
+import com.xxl.job.core.biz.ExecutorBiz;
+import com.xxl.job.core.biz.model.ReturnT;
+import com.xxl.job.core.biz.model.TriggerParam;
+import com.xxl.job.core.util.ThrowableUtil;
+import com.xxl.job.core.util.XxlJobRemotingUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
 
 /**
  * job trigger thread pool helper
@@ -23,6 +32,9 @@ public class JobTriggerPoolHelper {
     // fast/slow thread pool
     private ThreadPoolExecutor fastTriggerPool = null;
     private ThreadPoolExecutor slowTriggerPool = null;
+    // complete pool, for trigger-info save after async remote run; fallback pool when full, see "complete"
+    private ThreadPoolExecutor triggerCompletePool = null;
+    private ThreadPoolExecutor triggerCompleteFallbackPool = null;
 
     public void start(){
         fastTriggerPool = new ThreadPoolExecutor(
@@ -50,6 +62,56 @@ public class JobTriggerPoolHelper {
                         return new Thread(r, "xxl-job, admin JobTriggerPoolHelper-slowTriggerPool-" + r.hashCode());
                     }
                 });
+
+        triggerCompleteFallbackPool = new ThreadPoolExecutor(
+                2,
+                2,
+                60L,
+                TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(20000),
+                new ThreadFactory() {
+                    @Override
+                    public Thread newThread(Runnable r) {
+                        return new Thread(r, "xxl-job, admin JobTriggerPoolHelper-triggerCompleteFallbackPool-" + r.hashCode());
+                    }
+                },
+                new RejectedExecutionHandler() {
+                    @Override
+                    public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
+                        // caught by "complete", not lost
+                        throw new RejectedExecutionException("trigger complete fallback threadpool full");
+                    }
+                });
+
+        triggerCompletePool = new ThreadPoolExecutor(
+                10,
+                100,
+                60L,
+                TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(5000),
+                new ThreadFactory() {
+                    @Override
+                    public Thread newThread(Runnable r) {
+                        return new Thread(r, "xxl-job, admin JobTriggerPoolHelper-triggerCompletePool-" + r.hashCode());
+                    }
+                },
+                new RejectedExecutionHandler() {
+                    @Override
+                    public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
+                        // not run now, caller is io thread of http client (future completed there)
+                        triggerCompleteFallbackPool.execute(r);
+                        logger.warn(">>>>>>>>>>> xxl-job, trigger complete too fast, match threadpool rejected handler(fallback pool).");
+                    }
+                });
+
+        triggerBatchScheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "xxl-job, admin JobTriggerPoolHelper-triggerBatchScheduler");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
     }
 
 
@@ -57,6 +119,9 @@ public class JobTriggerPoolHelper {
         //triggerPool.shutdown();
         fastTriggerPool.shutdownNow();
         slowTriggerPool.shutdownNow();
+        triggerBatchScheduler.shutdown();   // not now, flush batch in window
+        triggerCompletePool.shutdown();     // not now, finish trigger-info save
+        triggerCompleteFallbackPool.shutdown();
         logger.info(">>>>>>>>> xxl-job trigger thread pool shutdown success.");
     }
 
@@ -88,37 +153,211 @@ public class JobTriggerPoolHelper {
             @Override
             public void run() {
 
-                long start = System.currentTimeMillis();
+                final long start = System.currentTimeMillis();
 
+                CompletableFuture<Void> triggerFuture = null;
                 try {
-                    // do trigger
-                    XxlJobTrigger.trigger(jobId, triggerType, failRetryCount, executorShardingParam, executorParam, addressList);
+                    // do trigger (remote run async, not hold this thread)
+                    triggerFuture = XxlJobTrigger.trigger(jobId, triggerType, failRetryCount, executorShardingParam, executorParam, addressList);
                 } catch (Exception e) {
                     logger.error(e.getMessage(), e);
-                } finally {
-
-                    // check timeout-count-map
-                    long minTim_now = System.currentTimeMillis()/60000;
-                    if (minTim != minTim_now) {
-                        minTim = minTim_now;
-                        jobTimeoutCountMap.clear();
-                    }
+                }
 
-                    // incr timeout-count-map
-                    long cost = System.currentTimeMillis()-start;
-                    if (cost > 500) {       // ob-timeout threshold 500ms
-                        AtomicInteger timeoutCount = jobTimeoutCountMap.putIfAbsent(jobId, new AtomicInteger(1));
-                        if (timeoutCount != null) {
-                            timeoutCount.incrementAndGet();
+                // timeout count, when remote run finished
+                if (triggerFuture != null) {
+                    triggerFuture.whenComplete(new BiConsumer<Void, Throwable>() {
+                        @Override
+                        public void accept(Void result, Throwable throwable) {
+                            if (throwable != null) {
+                                logger.error(throwable.getMessage(), throwable);
+                            }
+                            countTimeout(jobId, start);
                         }
+                    });
+                } else {
+                    countTimeout(jobId, start);
+                }
+
+            }
+        });
+    }
+
+    private void countTimeout(int jobId, long start) {
+        // check timeout-count-map
+        long minTim_now = System.currentTimeMillis()/60000;
+        if (minTim != minTim_now) {
+            minTim = minTim_now;
+            jobTimeoutCountMap.clear();
+        }
+
+        // incr timeout-count-map
+        long cost = System.currentTimeMillis()-start;
+        if (cost > 500) {       // ob-timeout threshold 500ms
+            AtomicInteger timeoutCount = jobTimeoutCountMap.putIfAbsent(jobId, new AtomicInteger(1));
+            if (timeoutCount != null) {
+                timeoutCount.incrementAndGet();
+            }
+        }
+    }
+
+
+
+    // ---------------------- trigger batch ----------------------
+
+    public static final int TRIGGER_BATCH_MAX = 200;
+    public static final long BATCH_UNSUPPORTED_EXPIRE = 5 * 60 * 1000;     // "runBatch" not found (NOT_FOUND_CODE), retry batch after expire
+
+    private ScheduledExecutorService triggerBatchScheduler = null;
+    private final ConcurrentMap<String, TriggerBatch> triggerBatchMap = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Long> batchUnsupportedMap = new ConcurrentHashMap<>();
+
+    private static class TriggerBatch {
+        private final String address;
+        private final List<TriggerParam> triggerParamList = new ArrayList<>();
+        private final List<CompletableFuture<ReturnT<String>>> futureList = new ArrayList<>();
+        private boolean closed = false;
+
+        private TriggerBatch(String address) {
+            this.address = address;
+        }
+    }
+
+    /**
+     * run executor, triggers to same address in window are coalesced into one "runBatch" request
+     *
+     * @param triggerParam
+     * @param address
+     * @return future of run result, each trigger has its own result
+     */
+    public CompletableFuture<ReturnT<String>> addRun(TriggerParam triggerParam, String address) {
+        int batchWindow = XxlJobAdminConfig.getAdminConfig().getTriggerBatchWindow();
+        Long unsupportedTime = batchUnsupportedMap.get(address);
+        if (batchWindow <= 0
+                || !XxlJobRemotingUtil.isRemoteFeatureSupported(address, XxlJobRemotingUtil.FEATURE_RUN_BATCH)     // old executor, or no response yet
+                || (unsupportedTime!=null && System.currentTimeMillis() < unsupportedTime + BATCH_UNSUPPORTED_EXPIRE)) {
+            return runSingle(triggerParam, address);
+        }
+
+        CompletableFuture<ReturnT<String>> future = new CompletableFuture<>();
+        while (true) {
+            TriggerBatch batch = triggerBatchMap.get(address);
+            if (batch == null) {
+                triggerBatchMap.putIfAbsent(address, new TriggerBatch(address));
+                continue;
+            }
+
+            boolean flushNow = false;
+            synchronized (batch) {
+                if (batch.closed) {
+                    continue;       // flushing, take a new one
+                }
+                batch.triggerParamList.add(triggerParam);
+                batch.futureList.add(future);
+
+                if (batch.triggerParamList.size() >= TRIGGER_BATCH_MAX) {
+                    flushNow = true;
+                } else if (batch.triggerParamList.size() == 1) {
+                    // first one, flush after window
+                    final TriggerBatch finalBatch = batch;
+                    try {
+                        triggerBatchScheduler.schedule(new Runnable() {
+                            @Override
+                            public void run() {
+                                flushBatch(finalBatch);
+                            }
+                        }, batchWindow, TimeUnit.MILLISECONDS);
+                    } catch (RejectedExecutionException e) {
+                        flushNow = true;    // stopping
                     }
+                }
+            }
+            if (flushNow) {
+                flushBatch(batch);
+            }
+            return future;
+        }
+    }
+
+    private void flushBatch(TriggerBatch batch) {
+        synchronized (batch) {
+            if (batch.closed) {
+                return;
+            }
+            batch.closed = true;
+        }
+        triggerBatchMap.remove(batch.address, batch);
+
+        // single, no need batch
+        if (batch.triggerParamList.size() == 1) {
+            complete(batch.futureList.get(0), runSingle(batch.triggerParamList.get(0), batch.address));
+            return;
+        }
+
+        CompletableFuture<ReturnT<List<ReturnT<String>>>> batchFuture;
+        try {
+            ExecutorBiz executorBiz = XxlJobScheduler.getExecutorBiz(batch.address);
+            batchFuture = executorBiz.runBatchAsync(batch.triggerParamList);
+        } catch (Exception e) {
+            logger.error(">>>>>>>>>>> xxl-job trigger error, please check if the executor[{}] is running.", batch.address, e);
+            batchFuture = CompletableFuture.completedFuture(new ReturnT<List<ReturnT<String>>>(ReturnT.FAIL_CODE, ThrowableUtil.toString(e)));
+        }
 
+        batchFuture.whenComplete(new BiConsumer<ReturnT<List<ReturnT<String>>>, Throwable>() {
+            @Override
+            public void accept(ReturnT<List<ReturnT<String>>> batchResult, Throwable throwable) {
+                if (throwable != null) {
+                    batchResult = new ReturnT<List<ReturnT<String>>>(ReturnT.FAIL_CODE, ThrowableUtil.toString(throwable));
+                }
+
+                // "runBatch" not found, fall back to single run
+                if (batchResult.getCode() == ReturnT.NOT_FOUND_CODE) {
+                    batchUnsupportedMap.put(batch.address, System.currentTimeMillis());
+                    logger.info(">>>>>>>>>>> xxl-job, executor[{}] not support runBatch, fall back to single run.", batch.address);
+                    for (int i = 0; i < batch.triggerParamList.size(); i++) {
+                        complete(batch.futureList.get(i), runSingle(batch.triggerParamList.get(i), batch.address));
+                    }
+                    return;
                 }
 
+                // result of each trigger
+                List<ReturnT<String>> resultList = batchResult.getContent();
+                for (int i = 0; i < batch.futureList.size(); i++) {
+                    ReturnT<String> itemResult;
+                    if (batchResult.getCode() != ReturnT.SUCCESS_CODE) {
+                        itemResult = new ReturnT<String>(batchResult.getCode(), batchResult.getMsg());
+                    } else if (resultList == null || resultList.size() != batch.futureList.size() || resultList.get(i) == null) {
+                        itemResult = new ReturnT<String>(ReturnT.FAIL_CODE, "runBatch result invalid.");
+                    } else {
+                        itemResult = resultList.get(i);
+                    }
+                    batch.futureList.get(i).complete(itemResult);
+                }
             }
         });
     }
 
+    private CompletableFuture<ReturnT<String>> runSingle(TriggerParam triggerParam, String address) {
+        try {
+            ExecutorBiz executorBiz = XxlJobScheduler.getExecutorBiz(address);
+            return executorBiz.runAsync(triggerParam);
+        } catch (Exception e) {
+            logger.error(">>>>>>>>>>> xxl-job trigger error, please check if the executor[{}] is running.", address, e);
+            return CompletableFuture.completedFuture(new ReturnT<String>(ReturnT.FAIL_CODE, ThrowableUtil.toString(e)));
+        }
+    }
+
+    private static void complete(CompletableFuture<ReturnT<String>> future, CompletableFuture<ReturnT<String>> result) {
+        result.whenComplete(new BiConsumer<ReturnT<String>, Throwable>() {
+            @Override
+            public void accept(ReturnT<String> returnT, Throwable throwable) {
+                if (throwable != null) {
+                    future.complete(new ReturnT<String>(ReturnT.FAIL_CODE, ThrowableUtil.toString(throwable)));
+                } else {
+                    future.complete(returnT);
+                }
+            }
+        });
+    }
 
 
     // ---------------------- helper ----------------------
@@ -132,6 +371,28 @@ public class JobTriggerPoolHelper {
         helper.stop();
     }
 
+    /**
+     * complete trigger after async remote run (on io thread of http client mostly), in complete pool;
+     * both pools full or stopped, run by caller: task only add log to JobLogWriteHelper (write-behind), never lost
+     *
+     * @param completeTask
+     */
+    public static void complete(Runnable completeTask) {
+        try {
+            helper.triggerCompletePool.execute(completeTask);
+        } catch (RejectedExecutionException e) {
+            logger.warn(">>>>>>>>>>> xxl-job, trigger complete too fast, complete and fallback threadpool full, complete by caller.");
+            completeTask.run();
+        }
+    }
+
+    /**
+     * run executor, coalesced by address
+     */
+    public static CompletableFuture<ReturnT<String>> run(TriggerParam triggerParam, String address) {
+        return helper.addRun(triggerParam, address);
+    }
+
     /**
      * @param jobId
      * @param triggerType
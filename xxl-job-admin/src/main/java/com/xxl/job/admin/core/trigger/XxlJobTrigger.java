@@ -4,19 +4,36 @@ import com.xxl.job.admin.core.conf.XxlJobAdminConfig;
 import com.xxl.job.admin.core.model.XxlJobGroup;
 import com.xxl.job.admin.core.model.XxlJobInfo;
 import com.xxl.job.admin.core.model.XxlJobLog;
+import com.xxl.job.admin.core.model.XxlJobLogDetail;
+import com.xxl.job.admin.core.route.ExecutorCircuitBreaker;
+import com.xxl.job.admin.core.route.ExecutorLivenessDetector;
 import com.xxl.job.admin.core.route.ExecutorRouteStrategyEnum;
-import com.xxl.job.admin.core.scheduler.XxlJobScheduler;
+import com.xxl.job.admin.core.thread.JobInfoCacheHelper;
+import com.xxl.job.admin.core.thread.JobLogIdHelper;
+import com.xxl.job.admin.core.thread.JobLogReportHelper;
+import com.xxl.job.admin.core.thread.JobLogWriteHelper;
+import com.xxl.job.admin.core.thread.JobTriggerPoolHelper;
 import com.xxl.job.admin.core.util.I18nUtil;
-import com.xxl.job.core.biz.ExecutorBiz;
 import com.xxl.job.core.biz.model.ReturnT;
 import com.xxl.job.core.biz.model.TriggerParam;
 import com.xxl.job.core.enums.ExecutorBlockStrategyEnum;
+import com.xxl.job.core.glue.GlueSourceCache;
+import com.xxl.job.core.glue.GlueTypeEnum;
 import com.xxl.job.core.util.IpUtil;
 import com.xxl.job.core.util.ThrowableUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
 
 /**
  * xxl-job trigger
@@ -25,6 +42,8 @@ import java.util.Date;
 public class XxlJobTrigger {
     private static Logger logger = LoggerFactory.getLogger(XxlJobTrigger.class);
 
+    private static final int REGISTRY_LIST_MSG_MAX = 100;
+
     /**
      * trigger job
      *
@@ -40,25 +59,26 @@ public class XxlJobTrigger {
      * @param addressList
      *          null: use executor addressList
      *          not null: cover
+     * @return  future, complete when remote run finished and log queued to write
      */
-    public static void trigger(int jobId,
+    public static CompletableFuture<Void> trigger(int jobId,
                                TriggerTypeEnum triggerType,
                                int failRetryCount,
                                String executorShardingParam,
                                String executorParam,
                                String addressList) {
 
-        // load data
-        XxlJobInfo jobInfo = XxlJobAdminConfig.getAdminConfig().getXxlJobInfoDao().loadById(jobId);
+        // load data (cache first)
+        XxlJobInfo jobInfo = JobInfoCacheHelper.getInstance().loadJobInfo(jobId);
         if (jobInfo == null) {
             logger.warn(">>>>>>>>>>>> trigger fail, jobId invalid，jobId={}", jobId);
-            return;
+            return CompletableFuture.completedFuture(null);
         }
         if (executorParam != null) {
             jobInfo.setExecutorParam(executorParam);
         }
         int finalFailRetryCount = failRetryCount>=0?failRetryCount:jobInfo.getExecutorFailRetryCount();
-        XxlJobGroup group = XxlJobAdminConfig.getAdminConfig().getXxlJobGroupDao().load(jobInfo.getJobGroup());
+        XxlJobGroup group = JobInfoCacheHelper.getInstance().loadJobGroup(jobInfo.getJobGroup());
 
         // cover addressList
         if (addressList!=null && addressList.trim().length()>0) {
@@ -76,17 +96,23 @@ public class XxlJobTrigger {
                 shardingParam[1] = Integer.valueOf(shardingArr[1]);
             }
         }
-        if (ExecutorRouteStrategyEnum.SHARDING_BROADCAST==ExecutorRouteStrategyEnum.match(jobInfo.getExecutorRouteStrategy(), null)
-                && group.getRegistryList()!=null && !group.getRegistryList().isEmpty()
+        boolean shardingBroadcast = ExecutorRouteStrategyEnum.SHARDING_BROADCAST==ExecutorRouteStrategyEnum.match(jobInfo.getExecutorRouteStrategy(), null);
+        List<String> registryList = shardingBroadcast
+                ?group.getRegistryList()
+                :ExecutorLivenessDetector.getInstance().filter(group.getRegistryList());     // suspected excluded, except broadcast (shard total kept)
+        if (shardingBroadcast
+                && registryList!=null && !registryList.isEmpty()
                 && shardingParam==null) {
-            for (int i = 0; i < group.getRegistryList().size(); i++) {
-                processTrigger(group, jobInfo, finalFailRetryCount, triggerType, i, group.getRegistryList().size());
+            List<CompletableFuture<Void>> futureList = new ArrayList<>();
+            for (int i = 0; i < registryList.size(); i++) {
+                futureList.add(processTrigger(group, registryList, jobInfo, finalFailRetryCount, triggerType, i, registryList.size()));
             }
+            return CompletableFuture.allOf(futureList.toArray(new CompletableFuture[futureList.size()]));
         } else {
             if (shardingParam == null) {
                 shardingParam = new int[]{0, 1};
             }
-            processTrigger(group, jobInfo, finalFailRetryCount, triggerType, shardingParam[0], shardingParam[1]);
+            return processTrigger(group, registryList, jobInfo, finalFailRetryCount, triggerType, shardingParam[0], shardingParam[1]);
         }
 
     }
@@ -101,26 +127,29 @@ public class XxlJobTrigger {
     }
 
     /**
-     * @param group                     job group, registry list may be empty
+     * @param group                     job group
+     * @param registryList              address for route, suspected excluded except broadcast; may be empty
      * @param jobInfo
      * @param finalFailRetryCount
      * @param triggerType
      * @param index                     sharding index
      * @param total                     sharding index
+     * @return  future, remote run is async, step 5/6 run in trigger-complete pool
      */
-    private static void processTrigger(XxlJobGroup group, XxlJobInfo jobInfo, int finalFailRetryCount, TriggerTypeEnum triggerType, int index, int total){
+    private static CompletableFuture<Void> processTrigger(XxlJobGroup group, List<String> registryList, XxlJobInfo jobInfo, int finalFailRetryCount, TriggerTypeEnum triggerType, int index, int total){
 
         // param
         ExecutorBlockStrategyEnum blockStrategy = ExecutorBlockStrategyEnum.match(jobInfo.getExecutorBlockStrategy(), ExecutorBlockStrategyEnum.SERIAL_EXECUTION);  // block strategy
         ExecutorRouteStrategyEnum executorRouteStrategyEnum = ExecutorRouteStrategyEnum.match(jobInfo.getExecutorRouteStrategy(), null);    // route strategy
         String shardingParam = (ExecutorRouteStrategyEnum.SHARDING_BROADCAST==executorRouteStrategyEnum)?String.valueOf(index).concat("/").concat(String.valueOf(total)):null;
 
-        // 1、save log-id
+        // 1、log-id, pre-allocated; log saved once after trigger (see JobLogWriteHelper)
         XxlJobLog jobLog = new XxlJobLog();
+        jobLog.setId(JobLogIdHelper.getInstance().nextId());
         jobLog.setJobGroup(jobInfo.getJobGroup());
         jobLog.setJobId(jobInfo.getId());
         jobLog.setTriggerTime(new Date());
-        XxlJobAdminConfig.getAdminConfig().getXxlJobLogDao().save(jobLog);
+        JobLogReportHelper.getInstance().countTrigger(jobLog.getTriggerTime());
         logger.debug(">>>>>>>>>>> xxl-job trigger start, jobId:{}", jobLog.getId());
 
         // 2、init trigger-param
@@ -135,21 +164,28 @@ public class XxlJobTrigger {
         triggerParam.setGlueType(jobInfo.getGlueType());
         triggerParam.setGlueSource(jobInfo.getGlueSource());
         triggerParam.setGlueUpdatetime(jobInfo.getGlueUpdatetime().getTime());
+        if (XxlJobAdminConfig.getAdminConfig().isGlueHashEnabled()) {
+            triggerParam.setGlueSourceHash(glueSourceHash(jobInfo));    // executor may skip source, see ExecutorBizClient
+        }
         triggerParam.setBroadcastIndex(index);
         triggerParam.setBroadcastTotal(total);
 
         // 3、init address
         String address = null;
         ReturnT<String> routeAddressResult = null;
-        if (group.getRegistryList()!=null && !group.getRegistryList().isEmpty()) {
+        if (registryList!=null && !registryList.isEmpty()) {
             if (ExecutorRouteStrategyEnum.SHARDING_BROADCAST == executorRouteStrategyEnum) {
-                if (index < group.getRegistryList().size()) {
-                    address = group.getRegistryList().get(index);
+                if (index < registryList.size()) {
+                    address = registryList.get(index);
                 } else {
-                    address = group.getRegistryList().get(0);
+                    address = registryList.get(0);
                 }
             } else {
-                routeAddressResult = executorRouteStrategyEnum.getRouter().route(triggerParam, group.getRegistryList());
+                // open breaker skipped, if strategy allow
+                List<String> routeList = executorRouteStrategyEnum.isAllowSkip()
+                        ?ExecutorCircuitBreaker.getInstance().filter(registryList)
+                        :registryList;
+                routeAddressResult = executorRouteStrategyEnum.getRouter().route(triggerParam, routeList);
                 if (routeAddressResult.getCode() == ReturnT.SUCCESS_CODE) {
                     address = routeAddressResult.getContent();
                 }
@@ -158,69 +194,240 @@ public class XxlJobTrigger {
             routeAddressResult = new ReturnT<String>(ReturnT.FAIL_CODE, I18nUtil.getString("jobconf_trigger_address_empty"));
         }
 
-        // 4、trigger remote executor
-        ReturnT<String> triggerResult = null;
+        // 4、trigger remote executor (async, not block trigger pool thread)
+        CompletableFuture<ReturnT<String>> triggerFuture = null;
         if (address != null) {
-            triggerResult = runExecutor(triggerParam, address);
+            triggerFuture = runExecutor(triggerParam, address);
         } else {
-            triggerResult = new ReturnT<String>(ReturnT.FAIL_CODE, null);
+            triggerFuture = CompletableFuture.completedFuture(new ReturnT<String>(ReturnT.FAIL_CODE, null));
         }
 
-        // 5、collection trigger info
-        StringBuffer triggerMsgSb = new StringBuffer();
-        triggerMsgSb.append(I18nUtil.getString("jobconf_trigger_type")).append("：").append(triggerType.getTitle());
-        triggerMsgSb.append("<br>").append(I18nUtil.getString("jobconf_trigger_admin_adress")).append("：").append(IpUtil.getIp());
-        triggerMsgSb.append("<br>").append(I18nUtil.getString("jobconf_trigger_exe_regtype")).append("：")
-                .append( (group.getAddressType() == 0)?I18nUtil.getString("jobgroup_field_addressType_0"):I18nUtil.getString("jobgroup_field_addressType_1") );
-        triggerMsgSb.append("<br>").append(I18nUtil.getString("jobconf_trigger_exe_regaddress")).append("：").append(group.getRegistryList());
-        triggerMsgSb.append("<br>").append(I18nUtil.getString("jobinfo_field_executorRouteStrategy")).append("：").append(executorRouteStrategyEnum.getTitle());
-        if (shardingParam != null) {
-            triggerMsgSb.append("("+shardingParam+")");
-        }
-        triggerMsgSb.append("<br>").append(I18nUtil.getString("jobinfo_field_executorBlockStrategy")).append("：").append(blockStrategy.getTitle());
-        triggerMsgSb.append("<br>").append(I18nUtil.getString("jobinfo_field_timeout")).append("：").append(jobInfo.getExecutorTimeout());
-        triggerMsgSb.append("<br>").append(I18nUtil.getString("jobinfo_field_executorFailRetryCount")).append("：").append(finalFailRetryCount);
+        final String finalAddress = address;
+        final ReturnT<String> finalRouteAddressResult = routeAddressResult;
+        final CompletableFuture<Void> completeFuture = new CompletableFuture<>();
+        triggerFuture.whenComplete(new BiConsumer<ReturnT<String>, Throwable>() {
+            @Override
+            public void accept(final ReturnT<String> triggerResult, final Throwable throwable) {
+                JobTriggerPoolHelper.complete(new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            ReturnT<String> finalTriggerResult = (throwable != null)
+                                    ?new ReturnT<String>(ReturnT.FAIL_CODE, ThrowableUtil.toString(throwable))
+                                    :triggerResult;
+                            completeTrigger(group, jobInfo, finalFailRetryCount, triggerType, jobLog, blockStrategy, executorRouteStrategyEnum,
+                                    shardingParam, finalAddress, finalRouteAddressResult, finalTriggerResult);
+                            completeFuture.complete(null);
+                        } catch (Throwable e) {
+                            completeFuture.completeExceptionally(e);
+                        }
+                    }
+                });
+            }
+        });
+        return completeFuture;
+    }
 
-        triggerMsgSb.append("<br><br><span style=\"color:#00c0ef;\" > >>>>>>>>>>>"+ I18nUtil.getString("jobconf_trigger_run") +"<<<<<<<<<<< </span><br>")
-                .append((routeAddressResult!=null&&routeAddressResult.getMsg()!=null)?routeAddressResult.getMsg()+"<br><br>":"").append(triggerResult.getMsg()!=null?triggerResult.getMsg():"");
+    /**
+     * registry list in log detail, limit size for large executor cluster
+     */
+    private static String registryListMsg(List<String> registryList){
+        if (registryList == null) {
+            return null;
+        }
+        if (registryList.size() > REGISTRY_LIST_MSG_MAX) {
+            return registryList.subList(0, REGISTRY_LIST_MSG_MAX).toString() + "...(" + registryList.size() + ")";
+        }
+        return registryList.toString();
+    }
+
+    private static void completeTrigger(XxlJobGroup group,
+                                        XxlJobInfo jobInfo,
+                                        int finalFailRetryCount,
+                                        TriggerTypeEnum triggerType,
+                                        XxlJobLog jobLog,
+                                        ExecutorBlockStrategyEnum blockStrategy,
+                                        ExecutorRouteStrategyEnum executorRouteStrategyEnum,
+                                        String shardingParam,
+                                        String address,
+                                        ReturnT<String> routeAddressResult,
+                                        ReturnT<String> triggerResult){
 
-        // 6、save log trigger-info
+        // 5、collection trigger info, structured in log row; verbose msg in log detail, rendered on demand (see "renderTriggerMsg")
         jobLog.setExecutorAddress(address);
         jobLog.setExecutorHandler(jobInfo.getExecutorHandler());
         jobLog.setExecutorParam(jobInfo.getExecutorParam());
         jobLog.setExecutorShardingParam(shardingParam);
         jobLog.setExecutorFailRetryCount(finalFailRetryCount);
+        jobLog.setExecutorRouteStrategy(executorRouteStrategyEnum.name());
+        jobLog.setExecutorBlockStrategy(blockStrategy.name());
+        jobLog.setExecutorTimeout(jobInfo.getExecutorTimeout());
+        jobLog.setTriggerType(triggerType.name());
+        jobLog.setTriggerAdmin(IpUtil.getIp());
         //jobLog.setTriggerTime();
         jobLog.setTriggerCode(triggerResult.getCode());
-        jobLog.setTriggerMsg(triggerMsgSb.toString());
-        XxlJobAdminConfig.getAdminConfig().getXxlJobLogDao().updateTriggerInfo(jobLog);
+
+        XxlJobLogDetail jobLogDetail = new XxlJobLogDetail();
+        jobLogDetail.setLogId(jobLog.getId());
+        jobLogDetail.setTriggerTime(jobLog.getTriggerTime());
+        jobLogDetail.setRegistryType(group.getAddressType());
+        jobLogDetail.setRegistryList(registryListMsg(group.getRegistryList()));
+        jobLogDetail.setTriggerMsg(((routeAddressResult!=null&&routeAddressResult.getMsg()!=null)?routeAddressResult.getMsg()+"<br><br>":"")
+                + (triggerResult.getMsg()!=null?triggerResult.getMsg():""));
+
+        // 6、save log, with trigger-info and running (until callback, for lost monitor); write-behind, batched
+        JobLogWriteHelper.getInstance().write(jobLog, jobLogDetail);
+        if (triggerResult.getCode() != ReturnT.SUCCESS_CODE) {
+            JobLogReportHelper.getInstance().countTriggerFail(jobLog.getTriggerTime());
+        }
 
         logger.debug(">>>>>>>>>>> xxl-job trigger end, jobId:{}", jobLog.getId());
     }
 
+    /**
+     * render trigger msg, as html
+     *
+     * @param jobLog
+     * @param jobLogDetail  null if not saved
+     * @return  null if not triggered yet
+     */
+    public static String renderTriggerMsg(XxlJobLog jobLog, XxlJobLogDetail jobLogDetail) {
+        TriggerTypeEnum triggerType = TriggerTypeEnum.match(jobLog.getTriggerType(), null);
+        if (triggerType == null) {
+            return jobLogDetail!=null?jobLogDetail.getTriggerMsg():null;
+        }
+        ExecutorRouteStrategyEnum executorRouteStrategyEnum = ExecutorRouteStrategyEnum.match(jobLog.getExecutorRouteStrategy(), null);
+        ExecutorBlockStrategyEnum blockStrategy = ExecutorBlockStrategyEnum.match(jobLog.getExecutorBlockStrategy(), null);
+
+        StringBuffer triggerMsgSb = new StringBuffer();
+        triggerMsgSb.append(I18nUtil.getString("jobconf_trigger_type")).append("：").append(triggerType.getTitle());
+        triggerMsgSb.append("<br>").append(I18nUtil.getString("jobconf_trigger_admin_adress")).append("：").append(jobLog.getTriggerAdmin());
+        if (jobLogDetail != null) {
+            triggerMsgSb.append("<br>").append(I18nUtil.getString("jobconf_trigger_exe_regtype")).append("：")
+                    .append( (jobLogDetail.getRegistryType() == 0)?I18nUtil.getString("jobgroup_field_addressType_0"):I18nUtil.getString("jobgroup_field_addressType_1") );
+            triggerMsgSb.append("<br>").append(I18nUtil.getString("jobconf_trigger_exe_regaddress")).append("：").append(jobLogDetail.getRegistryList());
+        }
+        triggerMsgSb.append("<br>").append(I18nUtil.getString("jobinfo_field_executorRouteStrategy")).append("：")
+                .append(executorRouteStrategyEnum!=null?executorRouteStrategyEnum.getTitle():jobLog.getExecutorRouteStrategy());
+        if (jobLog.getExecutorShardingParam() != null) {
+            triggerMsgSb.append("("+jobLog.getExecutorShardingParam()+")");
+        }
+        triggerMsgSb.append("<br>").append(I18nUtil.getString("jobinfo_field_executorBlockStrategy")).append("：")
+                .append(blockStrategy!=null?blockStrategy.getTitle():jobLog.getExecutorBlockStrategy());
+        triggerMsgSb.append("<br>").append(I18nUtil.getString("jobinfo_field_timeout")).append("：").append(jobLog.getExecutorTimeout());
+        triggerMsgSb.append("<br>").append(I18nUtil.getString("jobinfo_field_executorFailRetryCount")).append("：").append(jobLog.getExecutorFailRetryCount());
+
+        triggerMsgSb.append("<br><br><span style=\"color:#00c0ef;\" > >>>>>>>>>>>"+ I18nUtil.getString("jobconf_trigger_run") +"<<<<<<<<<<< </span><br>")
+                .append((jobLogDetail!=null&&jobLogDetail.getTriggerMsg()!=null)?jobLogDetail.getTriggerMsg():"");
+        return triggerMsgSb.toString();
+    }
+
+    /**
+     * fill trigger msg (rendered) and handle msg, from log detail; for log detail and alarm only
+     */
+    public static void fillLogMsg(List<XxlJobLog> jobLogList) {
+        if (jobLogList==null || jobLogList.isEmpty()) {
+            return;
+        }
+        List<Long> logIds = new ArrayList<>();
+        for (XxlJobLog jobLog: jobLogList) {
+            logIds.add(jobLog.getId());
+        }
+        Map<Long, XxlJobLogDetail> jobLogDetailMap = new HashMap<>();
+        List<XxlJobLogDetail> jobLogDetailList = XxlJobAdminConfig.getAdminConfig().getXxlJobLogDetailDao().loadByLogIds(logIds);
+        if (jobLogDetailList != null) {
+            for (XxlJobLogDetail jobLogDetail: jobLogDetailList) {
+                jobLogDetailMap.put(jobLogDetail.getLogId(), jobLogDetail);
+            }
+        }
+        for (XxlJobLog jobLog: jobLogList) {
+            XxlJobLogDetail jobLogDetail = jobLogDetailMap.get(jobLog.getId());
+            jobLog.setTriggerMsg(renderTriggerMsg(jobLog, jobLogDetail));
+            jobLog.setHandleMsg(jobLogDetail!=null?jobLogDetail.getHandleMsg():null);
+        }
+    }
+
     /**
      * run executor
      * @param triggerParam
      * @param address
-     * @return
+     * @return future of run result
      */
-    public static ReturnT<String> runExecutor(TriggerParam triggerParam, String address){
-        ReturnT<String> runResult = null;
-        try {
-            ExecutorBiz executorBiz = XxlJobScheduler.getExecutorBiz(address);
-            runResult = executorBiz.run(triggerParam);
-        } catch (Exception e) {
-            logger.error(">>>>>>>>>>> xxl-job trigger error, please check if the executor[{}] is running.", address, e);
-            runResult = new ReturnT<String>(ReturnT.FAIL_CODE, ThrowableUtil.toString(e));
+    public static CompletableFuture<ReturnT<String>> runExecutor(TriggerParam triggerParam, String address){
+        CompletableFuture<ReturnT<String>> runFuture = null;
+
+        // bulkhead and circuit breaker of address, fail fast
+        ReturnT<String> rejectResult = ExecutorCircuitBreaker.getInstance().tryAcquire(address);
+        final boolean acquired = rejectResult == null;
+        if (!acquired) {
+            runFuture = CompletableFuture.completedFuture(rejectResult);
+        } else {
+            try {
+                // coalesce triggers to same address, send as "runBatch"
+                runFuture = JobTriggerPoolHelper.run(triggerParam, address);
+            } catch (Exception e) {
+                logger.error(">>>>>>>>>>> xxl-job trigger error, please check if the executor[{}] is running.", address, e);
+                runFuture = CompletableFuture.completedFuture(new ReturnT<String>(ReturnT.FAIL_CODE, ThrowableUtil.toString(e)));
+            }
         }
 
-        StringBuffer runResultSB = new StringBuffer(I18nUtil.getString("jobconf_trigger_run") + "：");
-        runResultSB.append("<br>address：").append(address);
-        runResultSB.append("<br>code：").append(runResult.getCode());
-        runResultSB.append("<br>msg：").append(runResult.getMsg());
+        return runFuture.handle(new BiFunction<ReturnT<String>, Throwable, ReturnT<String>>() {
+            @Override
+            public ReturnT<String> apply(ReturnT<String> runResult, Throwable throwable) {
+                if (throwable != null) {
+                    runResult = new ReturnT<String>(ReturnT.FAIL_CODE, ThrowableUtil.toString(throwable));
+                }
+                if (acquired) {
+                    ExecutorCircuitBreaker.getInstance().release(address, runResult);
+                    ExecutorLivenessDetector.getInstance().reportRun(address, runResult);
+                }
+
+                StringBuffer runResultSB = new StringBuffer(I18nUtil.getString("jobconf_trigger_run") + "：");
+                runResultSB.append("<br>address：").append(address);
+                runResultSB.append("<br>code：").append(runResult.getCode());
+                runResultSB.append("<br>msg：").append(runResult.getMsg());
 
-        runResult.setMsg(runResultSB.toString());
-        return runResult;
+                runResult.setMsg(runResultSB.toString());
+                return runResult;
+            }
+        });
+    }
+
+
+    // ---------------------- glue source hash ----------------------
+
+    private static final ConcurrentMap<Integer, GlueSourceHash> glueSourceHashMap = new ConcurrentHashMap<>();
+
+    private static class GlueSourceHash {
+        private final long glueUpdatetime;
+        private final int length;
+        private final String hash;
+
+        private GlueSourceHash(long glueUpdatetime, int length, String hash) {
+            this.glueUpdatetime = glueUpdatetime;
+            this.length = length;
+            this.hash = hash;
+        }
+    }
+
+    /**
+     * glue source hash, cached by job and glue version
+     *
+     * @return null if BEAN or no source
+     */
+    private static String glueSourceHash(XxlJobInfo jobInfo) {
+        if (GlueTypeEnum.BEAN == GlueTypeEnum.match(jobInfo.getGlueType()) || jobInfo.getGlueSource() == null) {
+            return null;
+        }
+        long glueUpdatetime = jobInfo.getGlueUpdatetime().getTime();
+        GlueSourceHash glueSourceHash = glueSourceHashMap.get(jobInfo.getId());
+        if (glueSourceHash == null
+                || glueSourceHash.glueUpdatetime != glueUpdatetime
+                || glueSourceHash.length != jobInfo.getGlueSource().length()) {
+            glueSourceHash = new GlueSourceHash(glueUpdatetime, jobInfo.getGlueSource().length(), GlueSourceCache.hash(jobInfo.getGlueSource()));
+            glueSourceHashMap.put(jobInfo.getId(), glueSourceHash);
+        }
+        return glueSourceHash.hash;
     }
 
 }
@@ -0,0 +1,142 @@
+package com.xxl.job.admin.core.util;
+
+/**
+ * duration histogram, log-linear bucket (like HdrHistogram), mergeable by adding bucket count
+ *
+ *      a、bucket：value under 16 exact, then 16 sub-bucket for each power of 2, relative error within 1/16;
+ *      b、value：ms, negative as 0, over MAX_VALUE as MAX_VALUE;
+ *      c、encode：sparse "index:count,index:count", for db column;
+ *
+ * @author xuxueli 2026-10-18
+ */
+public class DurationHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_VALUE_BITS = 40;
+    public static final long MAX_VALUE = (1L << MAX_VALUE_BITS) - 1;
+    private static final int BUCKET_COUNT = SUB_BUCKET_COUNT + (MAX_VALUE_BITS - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+    private long[] counts;
+    private long totalCount;
+
+    public DurationHistogram() {
+        this.counts = new long[BUCKET_COUNT];
+        this.totalCount = 0;
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    /**
+     * record one value
+     */
+    public void record(long value) {
+        counts[bucketIndex(value)]++;
+        totalCount++;
+    }
+
+    /**
+     * add all count of other histogram
+     */
+    public void merge(DurationHistogram other) {
+        if (other == null) {
+            return;
+        }
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] += other.counts[i];
+        }
+        totalCount += other.totalCount;
+    }
+
+    /**
+     * value at percentile, highest value of the bucket
+     *
+     * @param percentile    0-100
+     * @return  0 if empty
+     */
+    public long percentile(double percentile) {
+        if (totalCount == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(Math.min(Math.max(percentile, 0), 100) / 100 * totalCount);
+        rank = Math.max(rank, 1);
+        long count = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            count += counts[i];
+            if (count >= rank) {
+                return bucketHighValue(i);
+            }
+        }
+        return MAX_VALUE;
+    }
+
+    // ---------------------- encode ----------------------
+
+    /**
+     * encode as "index:count,index:count", non-empty bucket only
+     */
+    public String encode() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            if (counts[i] > 0) {
+                if (sb.length() > 0) {
+                    sb.append(",");
+                }
+                sb.append(i).append(":").append(counts[i]);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * decode, invalid item ignored
+     */
+    public static DurationHistogram decode(String data) {
+        DurationHistogram histogram = new DurationHistogram();
+        if (data == null || data.trim().length() == 0) {
+            return histogram;
+        }
+        for (String item: data.split(",")) {
+            int split = item.indexOf(':');
+            if (split < 0) {
+                continue;
+            }
+            try {
+                int index = Integer.parseInt(item.substring(0, split).trim());
+                long count = Long.parseLong(item.substring(split + 1).trim());
+                if (index >= 0 && index < BUCKET_COUNT && count > 0) {
+                    histogram.counts[index] += count;
+                    histogram.totalCount += count;
+                }
+            } catch (NumberFormatException e) {
+                // ignore
+            }
+        }
+        return histogram;
+    }
+
+    // ---------------------- bucket ----------------------
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) Math.max(value, 0);
+        }
+        value = Math.min(value, MAX_VALUE);
+        int highestBit = 63 - Long.numberOfLeadingZeros(value);
+        int shift = highestBit - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >> shift) - SUB_BUCKET_COUNT;
+        return SUB_BUCKET_COUNT + shift * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    static long bucketHighValue(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKET_COUNT) / SUB_BUCKET_COUNT;
+        int subBucket = (index - SUB_BUCKET_COUNT) % SUB_BUCKET_COUNT;
+        return ((long) (SUB_BUCKET_COUNT + subBucket + 1) << shift) - 1;
+    }
+
+}
@@ -0,0 +1,34 @@
+package com.xxl.job.admin.dao;
+
+import com.xxl.job.admin.core.model.XxlJobLog;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * pending fail log to alarm, saved at trigger or handle fail, drained by JobFailMonitorHelper, deleted after alarm sent
+ *
+ * @author xuxueli 2026-10-18
+ */
+@Mapper
+public interface XxlJobAlarmQueueDao {
+
+    /**
+     * save in batch, by log (id, jobId, triggerTime); ignore if exist
+     */
+    public int saveBatch(@Param("logList") List<XxlJobLog> logList);
+
+    /**
+     * not locked, or lock expired (such as leader crash before alarm sent)
+     */
+    public List<Long> findLogIds(@Param("lockExpireTime") Date lockExpireTime,
+                                 @Param("pagesize") int pagesize);
+
+    public int lock(@Param("logIds") List<Long> logIds,
+                    @Param("lockTime") Date lockTime);
+
+    public int delete(@Param("logIds") List<Long> logIds);
+
+}
@@ -0,0 +1,18 @@
+package com.xxl.job.admin.dao;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+/**
+ * cache version, bump when cached data changed, other admin nodes poll it
+ *
+ * @author xuxueli 2026-10-18
+ */
+@Mapper
+public interface XxlJobCacheVersionDao {
+
+    public Long findVersion(@Param("cacheName") String cacheName);
+
+    public int increase(@Param("cacheName") String cacheName);
+
+}
@@ -0,0 +1,28 @@
+package com.xxl.job.admin.dao;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+/**
+ * admin cluster node (heartbeat / lease)
+ *
+ * @author xuxueli 2026-10-18
+ */
+@Mapper
+public interface XxlJobClusterNodeDao {
+
+    public int heartbeatUpdate(@Param("nodeId") String nodeId,
+                               @Param("heartbeatTime") long heartbeatTime);
+
+    public int heartbeatSave(@Param("nodeId") String nodeId,
+                             @Param("heartbeatTime") long heartbeatTime);
+
+    public List<String> findAlive(@Param("minHeartbeatTime") long minHeartbeatTime);
+
+    public int removeDead(@Param("minHeartbeatTime") long minHeartbeatTime);
+
+    public int remove(@Param("nodeId") String nodeId);
+
+}
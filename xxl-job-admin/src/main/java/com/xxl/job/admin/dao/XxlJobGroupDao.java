@@ -4,6 +4,7 @@ import com.xxl.job.admin.core.model.XxlJobGroup;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.util.Date;
 import java.util.List;
 
 /**
@@ -20,6 +21,13 @@ public interface XxlJobGroupDao {
 
     public int update(XxlJobGroup xxlJobGroup);
 
+    /**
+     * address of auto registry group, refreshed by registry monitor
+     */
+    public int updateAddressList(@Param("id") int id,
+                                 @Param("addressList") String addressList,
+                                 @Param("updateTime") Date updateTime);
+
     public int remove(@Param("id") int id);
 
     public XxlJobGroup load(@Param("id") int id);
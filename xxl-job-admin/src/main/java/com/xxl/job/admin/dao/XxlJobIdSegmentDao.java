@@ -0,0 +1,29 @@
+package com.xxl.job.admin.dao;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+/**
+ * id segment, allocate id by segment instead of auto-increment insert
+ *
+ * @author xuxueli 2026-10-18
+ */
+@Mapper
+public interface XxlJobIdSegmentDao {
+
+    /**
+     * init sequence if not exist, and align "max_id" not less than max log id (upgrade from auto-increment)
+     */
+    public int initJobLogSeq(@Param("seqName") String seqName);
+
+    public int alignJobLogSeq(@Param("seqName") String seqName);
+
+    /**
+     * allocate segment, read by "findAllocatedMaxId" in same session (connection)
+     */
+    public int allocate(@Param("seqName") String seqName,
+                        @Param("step") int step);
+
+    public long findAllocatedMaxId();
+
+}
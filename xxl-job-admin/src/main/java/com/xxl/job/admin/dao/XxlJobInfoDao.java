@@ -32,6 +32,8 @@ public interface XxlJobInfoDao {
 	public int save(XxlJobInfo info);
 
 	public XxlJobInfo loadById(@Param("id") int id);
+
+	public List<XxlJobInfo> loadByIds(@Param("ids") List<Integer> ids);
 	
 	public int update(XxlJobInfo xxlJobInfo);
 	
@@ -41,9 +43,24 @@ public interface XxlJobInfoDao {
 
 	public int findAllCount();
 
-	public List<XxlJobInfo> scheduleJobQuery(@Param("maxNextTime") long maxNextTime, @Param("pagesize") int pagesize );
+	/**
+	 * @param slotTotal	total slot count (partition mode)
+	 * @param slotList		null: all jobs; not null: only jobs in these slots, "id % slotTotal"
+	 */
+	public List<XxlJobInfo> scheduleJobQuery(@Param("maxNextTime") long maxNextTime,
+											 @Param("pagesize") int pagesize,
+											 @Param("slotTotal") int slotTotal,
+											 @Param("slotList") List<Integer> slotList);
 
 	public int scheduleUpdate(XxlJobInfo xxlJobInfo);
 
+	/**
+	 * batch update trigger info, one statement for the whole list
+	 *
+	 * @param list
+	 * @return
+	 */
+	public int scheduleUpdateBatch(@Param("list") List<XxlJobInfo> list);
+
 
 }
@@ -33,11 +33,25 @@ public interface XxlJobLogDao {
 	
 	public XxlJobLog load(@Param("id") long id);
 
+	/**
+	 * load by ids, "triggerTimeFrom/To" is optional, as partition-friendly predicate
+	 */
+	public List<XxlJobLog> loadByIds(@Param("ids") List<Long> ids,
+									 @Param("triggerTimeFrom") Date triggerTimeFrom,
+									 @Param("triggerTimeTo") Date triggerTimeTo);
+
 	public long save(XxlJobLog xxlJobLog);
 
+	/**
+	 * save in batch, with pre-allocated id and trigger info (see "JobLogIdHelper")
+	 */
+	public int saveBatch(@Param("logList") List<XxlJobLog> logList);
+
 	public int updateTriggerInfo(XxlJobLog xxlJobLog);
 
 	public int updateHandleInfo(XxlJobLog xxlJobLog);
+
+	public int updateHandleInfoIfUnhandled(XxlJobLog xxlJobLog);
 	
 	public int delete(@Param("jobId") int jobId);
 
@@ -51,12 +65,37 @@ public interface XxlJobLogDao {
 									  @Param("pagesize") int pagesize);
 	public int clearLog(@Param("logIds") List<Long> logIds);
 
-	public List<Long> findFailJobLogIds(@Param("pagesize") int pagesize);
+	/**
+	 * max id of log to archive, "trigger_time < archiveBefore"
+	 */
+	public Long findArchiveMaxId(@Param("archiveBefore") Date archiveBefore);
+
+	/**
+	 * finished log to archive (success, or fail and alarm done), order by id
+	 */
+	public List<XxlJobLog> findArchiveLogs(@Param("lastId") long lastId,
+										   @Param("maxId") long maxId,
+										   @Param("archiveBefore") Date archiveBefore,
+										   @Param("pagesize") int pagesize);
 
-	public int updateAlarmStatus(@Param("logId") long logId,
+	/**
+	 * range partition of "xxl_job_log", order by position; empty if not partitioned
+	 *
+	 * @return  item of "partitionName", "partitionDescription" (TO_DAYS value, or "MAXVALUE")
+	 */
+	public List<Map<String, Object>> findPartitions();
+
+	/**
+	 * add partition, split from max partition (VALUES LESS THAN MAXVALUE) if exists
+	 */
+	public int addPartition(@Param("maxPartitionName") String maxPartitionName,
+							@Param("partitionName") String partitionName,
+							@Param("lessThanDays") long lessThanDays);
+
+	public int dropPartition(@Param("partitionName") String partitionName);
+
+	public int updateAlarmStatus(@Param("logIds") List<Long> logIds,
 								 @Param("oldAlarmStatus") int oldAlarmStatus,
 								 @Param("newAlarmStatus") int newAlarmStatus);
 
-	public List<Long> findLostJobIds(@Param("losedTime") Date losedTime);
-
 }
@@ -0,0 +1,48 @@
+package com.xxl.job.admin.dao;
+
+import com.xxl.job.admin.core.model.XxlJobLogDetail;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * job log detail, verbose trigger/handle msg out of "xxl_job_log" row
+ *
+ * @author xuxueli 2026-10-18
+ */
+@Mapper
+public interface XxlJobLogDetailDao {
+
+    public XxlJobLogDetail load(@Param("logId") long logId);
+
+    public List<XxlJobLogDetail> loadByLogIds(@Param("logIds") List<Long> logIds);
+
+    /**
+     * save trigger info in batch, keep handle msg if callback first
+     */
+    public int saveTriggerInfo(@Param("detailList") List<XxlJobLogDetail> detailList);
+
+    public int appendTriggerMsg(@Param("logId") long logId,
+                                @Param("triggerMsg") String triggerMsg);
+
+    /**
+     * save handle msg in batch, keep trigger info
+     */
+    public int saveHandleMsg(@Param("detailList") List<XxlJobLogDetail> detailList);
+
+    public int clearLog(@Param("logIds") List<Long> logIds);
+
+    /**
+     * detail of job log, before job log deleted
+     */
+    public int deleteByJobId(@Param("jobId") int jobId);
+
+    /**
+     * clear by trigger time, also detail of log deleted by partition drop or job delete
+     */
+    public int clearBefore(@Param("clearBeforeTime") Date clearBeforeTime,
+                           @Param("pagesize") int pagesize);
+
+}
@@ -18,6 +18,14 @@ public interface XxlJobLogReportDao {
 
 	public int update(XxlJobLogReport xxlJobLogReport);
 
+	/**
+	 * save, or increase count by delta if trigger-day exists
+	 */
+	public int saveOrIncrease(@Param("triggerDay") Date triggerDay,
+							  @Param("runningCount") int runningCount,
+							  @Param("sucCount") int sucCount,
+							  @Param("failCount") int failCount);
+
 	public List<XxlJobLogReport> queryLogReport(@Param("triggerDayFrom") Date triggerDayFrom,
 												@Param("triggerDayTo") Date triggerDayTo);
 
@@ -0,0 +1,35 @@
+package com.xxl.job.admin.dao;
+
+import com.xxl.job.admin.core.model.XxlJobLogReportHour;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * per-job hourly rollup of job log
+ *
+ * @author xuxueli 2026-10-18
+ */
+@Mapper
+public interface XxlJobLogReportHourDao {
+
+    public XxlJobLogReportHour load(@Param("jobId") int jobId,
+                                    @Param("triggerHour") Date triggerHour);
+
+    public int save(XxlJobLogReportHour xxlJobLogReportHour);
+
+    /**
+     * update if version not changed, version increase
+     */
+    public int updateByVersion(XxlJobLogReportHour xxlJobLogReportHour);
+
+    public List<XxlJobLogReportHour> queryByJob(@Param("jobId") int jobId,
+                                                @Param("triggerHourFrom") Date triggerHourFrom,
+                                                @Param("triggerHourTo") Date triggerHourTo);
+
+    public int clearBefore(@Param("triggerHour") Date triggerHour,
+                           @Param("pagesize") int pagesize);
+
+}
@@ -21,11 +21,31 @@ public interface XxlJobRegistryDao {
     public List<XxlJobRegistry> findAll(@Param("timeout") int timeout,
                                         @Param("nowTime") Date nowTime);
 
+    /**
+     * online address of one app, distinct and sorted, by index "i_g_k_v"
+     */
+    public List<String> findAddressByKey(@Param("registryGroup") String registryGroup,
+                                         @Param("registryKey") String registryKey,
+                                         @Param("timeout") int timeout,
+                                         @Param("nowTime") Date nowTime);
+
+    /**
+     * latest beat of address, written by any admin node
+     */
+    public List<XxlJobRegistry> findByValues(@Param("registryGroup") String registryGroup,
+                                             @Param("registryValues") List<String> registryValues);
+
     public int registryUpdate(@Param("registryGroup") String registryGroup,
                               @Param("registryKey") String registryKey,
                               @Param("registryValue") String registryValue,
                               @Param("updateTime") Date updateTime);
 
+    /**
+     * heartbeat in batch, by (group, key, value) row constructor
+     */
+    public int registryUpdateBatch(@Param("registryList") List<XxlJobRegistry> registryList,
+                                   @Param("updateTime") Date updateTime);
+
     public int registrySave(@Param("registryGroup") String registryGroup,
                             @Param("registryKey") String registryKey,
                             @Param("registryValue") String registryValue,
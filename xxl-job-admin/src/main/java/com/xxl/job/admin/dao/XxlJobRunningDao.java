@@ -0,0 +1,36 @@
+package com.xxl.job.admin.dao;
+
+import com.xxl.job.admin.core.model.XxlJobLog;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * in-flight job run, saved at trigger success and deleted at callback
+ *
+ * @author xuxueli 2026-10-18
+ */
+@Mapper
+public interface XxlJobRunningDao {
+
+    /**
+     * save in batch, by log (id, jobGroup, jobId, executorAddress, triggerTime)
+     */
+    public int saveBatch(@Param("logList") List<XxlJobLog> logList);
+
+    public int deleteByLogIds(@Param("logIds") List<Long> logIds);
+
+    public List<String> findExecutorAddress(@Param("jobGroups") List<Integer> jobGroups);
+
+    public List<Long> findLogIdsByExecutorAddress(@Param("jobGroups") List<Integer> jobGroups,
+                                                  @Param("executorAddressList") List<String> executorAddressList,
+                                                  @Param("pagesize") int pagesize);
+
+    public List<Long> findLostLogIds(@Param("losedTime") Date losedTime,
+                                     @Param("pagesize") int pagesize);
+
+    public int deleteFinished();
+
+}
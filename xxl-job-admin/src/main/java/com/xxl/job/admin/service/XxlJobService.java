@@ -83,4 +83,14 @@ public interface XxlJobService {
 	 */
 	public ReturnT<Map<String,Object>> chartInfo(Date startDate, Date endDate);
 
+	/**
+	 * job chart info, per-hour count and duration percentile of one job
+	 *
+	 * @param jobId
+	 * @param startDate
+	 * @param endDate
+	 * @return
+	 */
+	public ReturnT<Map<String,Object>> jobChartInfo(int jobId, Date startDate, Date endDate);
+
 }
@@ -4,10 +4,13 @@ import com.xxl.job.admin.core.cron.CronExpression;
 import com.xxl.job.admin.core.model.XxlJobGroup;
 import com.xxl.job.admin.core.model.XxlJobInfo;
 import com.xxl.job.admin.core.model.XxlJobLogReport;
+import com.xxl.job.admin.core.model.XxlJobLogReportHour;
 import com.xxl.job.admin.core.route.ExecutorRouteStrategyEnum;
 import com.xxl.job.admin.core.scheduler.MisfireStrategyEnum;
 import com.xxl.job.admin.core.scheduler.ScheduleTypeEnum;
+import com.xxl.job.admin.core.thread.JobInfoCacheHelper;
 import com.xxl.job.admin.core.thread.JobScheduleHelper;
+import com.xxl.job.admin.core.util.DurationHistogram;
 import com.xxl.job.admin.core.util.I18nUtil;
 import com.xxl.job.admin.dao.*;
 import com.xxl.job.admin.service.XxlJobService;
@@ -38,9 +41,13 @@ public class XxlJobServiceImpl implements XxlJobService {
 	@Resource
 	public XxlJobLogDao xxlJobLogDao;
 	@Resource
+	private XxlJobLogDetailDao xxlJobLogDetailDao;
+	@Resource
 	private XxlJobLogGlueDao xxlJobLogGlueDao;
 	@Resource
 	private XxlJobLogReportDao xxlJobLogReportDao;
+	@Resource
+	private XxlJobLogReportHourDao xxlJobLogReportHourDao;
 	
 	@Override
 	public Map<String, Object> pageList(int start, int length, int jobGroup, int triggerStatus, String jobDesc, String executorHandler, String author) {
@@ -282,6 +289,7 @@ public class XxlJobServiceImpl implements XxlJobService {
 
 		exists_jobInfo.setUpdateTime(new Date());
         xxlJobInfoDao.update(exists_jobInfo);
+		JobInfoCacheHelper.getInstance().invalidateJobInfo(exists_jobInfo.getId());
 
 
 		return ReturnT.SUCCESS;
@@ -295,6 +303,8 @@ public class XxlJobServiceImpl implements XxlJobService {
 		}
 
 		xxlJobInfoDao.delete(id);
+		JobInfoCacheHelper.getInstance().invalidateJobInfo(id);
+		xxlJobLogDetailDao.deleteByJobId(id);		// detail first, by log of job
 		xxlJobLogDao.delete(id);
 		xxlJobLogGlueDao.deleteByJobId(id);
 		return ReturnT.SUCCESS;
@@ -329,6 +339,7 @@ public class XxlJobServiceImpl implements XxlJobService {
 
 		xxlJobInfo.setUpdateTime(new Date());
 		xxlJobInfoDao.update(xxlJobInfo);
+		JobInfoCacheHelper.getInstance().invalidateJobInfo(id);
 		return ReturnT.SUCCESS;
 	}
 
@@ -342,6 +353,7 @@ public class XxlJobServiceImpl implements XxlJobService {
 
 		xxlJobInfo.setUpdateTime(new Date());
 		xxlJobInfoDao.update(xxlJobInfo);
+		JobInfoCacheHelper.getInstance().invalidateJobInfo(id);
 		return ReturnT.SUCCESS;
 	}
 
@@ -431,4 +443,51 @@ public class XxlJobServiceImpl implements XxlJobService {
 		return new ReturnT<Map<String, Object>>(result);
 	}
 
+	@Override
+	public ReturnT<Map<String, Object>> jobChartInfo(int jobId, Date startDate, Date endDate) {
+
+		// process
+		List<String> triggerHourList = new ArrayList<String>();
+		List<Integer> triggerHourCountSucList = new ArrayList<Integer>();
+		List<Integer> triggerHourCountFailList = new ArrayList<Integer>();
+		List<Long> durationP50List = new ArrayList<Long>();
+		List<Long> durationP95List = new ArrayList<Long>();
+		List<Long> durationP99List = new ArrayList<Long>();
+		int triggerCountSucTotal = 0;
+		int triggerCountFailTotal = 0;
+		DurationHistogram durationHistogramTotal = new DurationHistogram();
+
+		List<XxlJobLogReportHour> reportHourList = xxlJobLogReportHourDao.queryByJob(jobId, startDate, endDate);
+		if (reportHourList!=null && reportHourList.size()>0) {
+			for (XxlJobLogReportHour item: reportHourList) {
+				triggerHourList.add(DateUtil.format(item.getTriggerHour(), "yyyy-MM-dd HH:00"));
+				triggerHourCountSucList.add(item.getSucCount());
+				triggerHourCountFailList.add(item.getFailCount());
+				durationP50List.add(item.getDurationP50());
+				durationP95List.add(item.getDurationP95());
+				durationP99List.add(item.getDurationP99());
+
+				triggerCountSucTotal += item.getSucCount();
+				triggerCountFailTotal += item.getFailCount();
+				durationHistogramTotal.merge(DurationHistogram.decode(item.getDurationHistogram()));
+			}
+		}
+
+		Map<String, Object> result = new HashMap<String, Object>();
+		result.put("triggerHourList", triggerHourList);
+		result.put("triggerHourCountSucList", triggerHourCountSucList);
+		result.put("triggerHourCountFailList", triggerHourCountFailList);
+		result.put("durationP50List", durationP50List);
+		result.put("durationP95List", durationP95List);
+		result.put("durationP99List", durationP99List);
+
+		result.put("triggerCountSucTotal", triggerCountSucTotal);
+		result.put("triggerCountFailTotal", triggerCountFailTotal);
+		result.put("durationP50Total", durationHistogramTotal.percentile(50));
+		result.put("durationP95Total", durationHistogramTotal.percentile(95));
+		result.put("durationP99Total", durationHistogramTotal.percentile(99));
+
+		return new ReturnT<Map<String, Object>>(result);
+	}
+
 }
@@ -9,16 +9,20 @@ $(function() {
 
     // pull log
     var fromLineNum = 1;    // [from, to], start as 1
+    var fromOffset = 0;     // byte offset, read next from "toOffset"; not support by old version executor
     var pullFailCount = 0;
+    var logStopped = false;
     function pullLog() {
         // pullFailCount, max=20
         if (pullFailCount++ > 20) {
             logRunStop('<span style="color: red;">'+ I18n.joblog_rolling_log_failoften +'</span>');
-            return;
+            return false;
         }
 
         // load
-        console.log("pullLog, fromLineNum:" + fromLineNum);
+        console.log("pullLog, fromLineNum:" + fromLineNum + ", fromOffset:" + fromOffset);
+
+        var hasMore = false;
 
         $.ajax({
             type : 'POST',
@@ -28,7 +32,8 @@ $(function() {
                 "executorAddress":executorAddress,
                 "triggerTime":triggerTime,
                 "logId":logId,
-                "fromLineNum":fromLineNum
+                "fromLineNum":fromLineNum,
+                "fromOffset":fromOffset
             },
             dataType : "json",
             success : function(data){
@@ -42,7 +47,8 @@ $(function() {
                         console.log('pullLog fromLineNum not match');
                         return;
                     }
-                    if (fromLineNum > data.content.toLineNum ) {
+                    var readByOffset = data.content.toOffset > 0;
+                    if (readByOffset ? data.content.toOffset <= fromOffset : fromLineNum > data.content.toLineNum ) {
                         console.log('pullLog already line-end');
 
                         // valid end
@@ -56,8 +62,12 @@ $(function() {
 
                     // append content
                     fromLineNum = data.content.toLineNum + 1;
+                    if (readByOffset) {
+                        fromOffset = data.content.toOffset;
+                    }
                     $('#logConsole').append(data.content.logContent);
                     pullFailCount = 0;
+                    hasMore = readByOffset;     // limited by max bytes, pull again
 
                     // scroll to bottom
                     scrollTo(0, document.body.scrollHeight);        // $('#logConsolePre').scrollTop( document.body.scrollHeight + 300 );
@@ -67,10 +77,20 @@ $(function() {
                 }
             }
         });
+        return hasMore;
+    }
+
+    // pull all page, max 100 page each round
+    function pullLogAll() {
+        for (var i = 0; i < 100; i++) {
+            if (!pullLog() || logStopped) {
+                return;
+            }
+        }
     }
 
     // pull first page
-    pullLog();
+    pullLogAll();
 
     // handler already callback, end
     if (handleCode > 0) {
@@ -80,9 +100,13 @@ $(function() {
 
     // round until end
     var logRun = setInterval(function () {
-        pullLog()
+        pullLogAll()
     }, 3000);
     function logRunStop(content){
+        if (logStopped) {
+            return;
+        }
+        logStopped = true;
         $('#logConsoleRunning').hide();
         logRun = window.clearInterval(logRun);
         $('#logConsole').append(content);
@@ -138,7 +138,8 @@ $(function() {
 						"data": 'triggerMsg',
                         "width":'10%',
 						"render": function ( data, type, row ) {
-							return data?'<a class="logTips" href="javascript:;" >'+ I18n.system_show +'<span style="display:none;">'+ data +'</span></a>':I18n.system_empty;
+							// msg not in list, load on demand
+							return row.triggerCode != 0?'<a class="logMsg" href="javascript:;" _id="'+ row.id +'" _type="triggerMsg" >'+ I18n.system_show +'</a>':I18n.system_empty;
 						}
 					},
 	                { 
@@ -169,7 +170,7 @@ $(function() {
 	                	"data": 'handleMsg',
                         "width":'10%',
 	                	"render": function ( data, type, row ) {
-	                		return data?'<a class="logTips" href="javascript:;" >'+ I18n.system_show +'<span style="display:none;">'+ data +'</span></a>':I18n.system_empty;
+	                		return row.handleCode != 0?'<a class="logMsg" href="javascript:;" _id="'+ row.id +'" _type="handleMsg" >'+ I18n.system_show +'</a>':I18n.system_empty;
 	                	}
 	                },
 	                {
@@ -249,6 +250,25 @@ $(function() {
 		ComAlertTec.show(msg);
 	});
 	
+	// logMsg alert, load on demand
+	$('#joblog_list').on('click', '.logMsg', function(){
+		var _id = $(this).attr('_id');
+		var _type = $(this).attr('_type');
+		$.ajax({
+			type : 'POST',
+			url : base_url + '/joblog/logDetailMsg',
+			data : {"id":_id},
+			dataType : "json",
+			success : function(data){
+				if (data.code == 200) {
+					ComAlertTec.show(data.content[_type] || I18n.system_empty);
+				} else {
+					layer.msg( data.msg || I18n.system_api_error );
+				}
+			}
+		});
+	});
+	
 	// search Btn
 	$('#searchBtn').on('click', function(){
 		logTable.fnDraw();
@@ -0,0 +1,84 @@
+package com.xxl.job.admin.core.archive;
+
+import com.xxl.job.admin.core.model.XxlJobLog;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class JobLogSegmentTest {
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    public void shouldReadWrittenSegment() throws Exception {
+        //given
+        long baseTime = 1790000000000L;
+        List<XxlJobLog> logList = new ArrayList<>();
+        for (int i = 1; i <= 600; i++) {
+            XxlJobLog log = new XxlJobLog();
+            log.setId(i);
+            log.setJobGroup(1);
+            log.setJobId(i % 3 + 1);
+            log.setExecutorAddress("http://127.0.0.1:9999/");
+            log.setExecutorHandler("demoJobHandler");
+            log.setExecutorParam(i % 2 == 0 ? null : "param-" + i);
+            log.setTriggerTime(new Date(baseTime + i * 1000L));
+            log.setTriggerCode(200);
+            log.setTriggerMsg("trigger-" + i);
+            log.setHandleTime(new Date(baseTime + i * 1000L + 500));
+            log.setHandleCode(200);
+            log.setHandleMsg("handle-" + i);
+            logList.add(log);
+        }
+        File segFile = new File(tempDir, "1.seg");
+        File idxFile = new File(tempDir, "1.idx");
+
+        //when
+        JobLogSegment.write(segFile, idxFile, logList);
+        JobLogSegment.SegmentIndex segmentIndex = JobLogSegment.readIndex(idxFile);
+
+        //then
+        assertTrue(segmentIndex.matchId(1) && segmentIndex.matchId(600));
+        assertFalse(segmentIndex.matchId(601));
+
+        int rowCount = 0;
+        for (JobLogSegment.BlockIndex blockIndex: segmentIndex.getBlockList()) {
+            List<XxlJobLog> blockLogList = JobLogSegment.readMeta(segFile, blockIndex);
+            Map<Integer, XxlJobLog> rowMap = new HashMap<>();
+            for (int i = 0; i < blockLogList.size(); i++) {
+                XxlJobLog log = blockLogList.get(i);
+                assertTrue(blockIndex.matchJob(log.getJobId()));
+                assertTrue(blockIndex.matchId(log.getId()));
+                assertTrue(blockIndex.matchRange(log.getId(), log.getId()));
+                assertNull(log.getHandleMsg());
+                rowMap.put(i, log);
+            }
+            JobLogSegment.readMsg(segFile, blockIndex, rowMap);
+
+            for (XxlJobLog log: blockLogList) {
+                XxlJobLog origin = logList.get((int) log.getId() - 1);
+                assertEquals(origin.getJobId(), log.getJobId());
+                assertEquals(origin.getExecutorParam(), log.getExecutorParam());
+                assertEquals(origin.getTriggerTime(), log.getTriggerTime());
+                assertEquals(origin.getHandleTime(), log.getHandleTime());
+                assertEquals(origin.getTriggerMsg(), log.getTriggerMsg());
+                assertEquals(origin.getHandleMsg(), log.getHandleMsg());
+            }
+            rowCount += blockLogList.size();
+        }
+        assertEquals(600, rowCount);
+    }
+
+}
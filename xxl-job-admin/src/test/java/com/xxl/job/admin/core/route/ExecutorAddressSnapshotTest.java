@@ -0,0 +1,69 @@
+package com.xxl.job.admin.core.route;
+
+import com.xxl.job.admin.core.model.XxlJobGroup;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ExecutorAddressSnapshotTest {
+
+    @Test
+    public void shouldParseOnceAndInternAddress() {
+        //given
+        String addressList = "http://127.0.0.1:9999/,http://127.0.0.1:9998/";
+
+        //when
+        List<String> snapshot1 = ExecutorAddressSnapshot.of(addressList);
+        List<String> snapshot2 = ExecutorAddressSnapshot.of("http://127.0.0.1:9999/");
+
+        //then
+        assertEquals(Arrays.asList("http://127.0.0.1:9999/", "http://127.0.0.1:9998/"), snapshot1);
+        assertSame(snapshot1.get(0), snapshot2.get(0));
+        assertEquals("[http://127.0.0.1:9999/]", snapshot2.toString());
+    }
+
+    @Test
+    public void shouldKeepSnapshotOnGroup() {
+        //given
+        XxlJobGroup group = new XxlJobGroup();
+        group.setId(1);
+        group.setAddressList("http://127.0.0.1:9999/,http://127.0.0.1:9998/");
+
+        //when
+        XxlJobGroup copy = new XxlJobGroup();
+        copy.setAddressList(group.getAddressList(), group.getRegistryList());
+        XxlJobGroup manual = new XxlJobGroup();
+        manual.setId(1);
+        manual.setAddressList("http://127.0.0.1:9997/");
+
+        //then, copy shares snapshot, manual address not affect group of same id
+        assertSame(group.getRegistryList(), group.getRegistryList());
+        assertSame(group.getRegistryList(), copy.getRegistryList());
+        assertEquals(Arrays.asList("http://127.0.0.1:9997/"), manual.getRegistryList());
+        assertEquals(Arrays.asList("http://127.0.0.1:9999/", "http://127.0.0.1:9998/"), group.getRegistryList());
+    }
+
+    @Test
+    public void shouldBeImmutable() {
+        //given
+        final List<String> snapshot = ExecutorAddressSnapshot.of("a, ,b");
+
+        //then
+        assertEquals(Arrays.asList("a", "b"), snapshot);
+        assertThrows(UnsupportedOperationException.class, new Executable() {
+            @Override
+            public void execute() {
+                snapshot.add("c");
+            }
+        });
+        assertNull(ExecutorAddressSnapshot.of(" "));
+    }
+
+}
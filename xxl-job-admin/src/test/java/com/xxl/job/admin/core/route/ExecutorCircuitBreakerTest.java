@@ -0,0 +1,101 @@
+package com.xxl.job.admin.core.route;
+
+import com.xxl.job.core.biz.model.ReturnT;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class ExecutorCircuitBreakerTest {
+
+    private static final ReturnT<String> REMOTING_ERROR = new ReturnT<String>(ReturnT.FAIL_CODE, "xxl-job remoting error(Read timed out, 3s), for url : x");
+
+    @Test
+    public void shouldLimitInFlight() {
+        //given
+        ExecutorCircuitBreaker breaker = new ExecutorCircuitBreaker();
+        long now = 1790000000000L;
+
+        //when
+        ReturnT<String> result1 = breaker.tryAcquire("a", 2, 5, now);
+        ReturnT<String> result2 = breaker.tryAcquire("a", 2, 5, now);
+        ReturnT<String> result3 = breaker.tryAcquire("a", 2, 5, now);
+        breaker.release("a", ReturnT.SUCCESS, 5, now);
+        ReturnT<String> result4 = breaker.tryAcquire("a", 2, 5, now);
+
+        //then
+        assertNull(result1);
+        assertNull(result2);
+        assertNotNull(result3);
+        assertNull(result4);
+    }
+
+    @Test
+    public void shouldOpenOnConsecutiveFailuresAndProbeAfterOpenTime() {
+        //given
+        ExecutorCircuitBreaker breaker = new ExecutorCircuitBreaker();
+        long now = 1790000000000L;
+        for (int i = 0; i < 3; i++) {
+            assertNull(breaker.tryAcquire("a", 0, 3, now));
+            breaker.release("a", REMOTING_ERROR, 3, now);
+        }
+        List<String> registryList = Arrays.asList("a", "b");
+
+        //then, open
+        assertNotNull(breaker.tryAcquire("a", 0, 3, now + 1000));
+        assertEquals(Arrays.asList("b"), breaker.filter(registryList, 3, now + 1000));
+
+        //then, half-open, one probe
+        long probeTime = now + ExecutorCircuitBreaker.OPEN_TIME;
+        assertEquals(registryList, breaker.filter(registryList, 3, probeTime));
+        assertNull(breaker.tryAcquire("a", 0, 3, probeTime));
+        assertNotNull(breaker.tryAcquire("a", 0, 3, probeTime));
+
+        //when, probe success
+        breaker.release("a", ReturnT.SUCCESS, 3, probeTime);
+
+        //then, closed
+        assertNull(breaker.tryAcquire("a", 0, 3, probeTime));
+    }
+
+    @Test
+    public void shouldKeepAllWhenAllOpen() {
+        //given
+        ExecutorCircuitBreaker breaker = new ExecutorCircuitBreaker();
+        long now = 1790000000000L;
+        List<String> registryList = Arrays.asList("a", "b");
+
+        //when
+        for (String address: registryList) {
+            assertNull(breaker.tryAcquire(address, 0, 1, now));
+            breaker.release(address, REMOTING_ERROR, 1, now);
+        }
+
+        //then
+        assertEquals(registryList, breaker.filter(registryList, 1, now));
+    }
+
+    @Test
+    public void shouldNotOpenWhenDisabled() {
+        //given
+        ExecutorCircuitBreaker breaker = new ExecutorCircuitBreaker();
+        long now = 1790000000000L;
+        List<String> registryList = Arrays.asList("a", "b");
+
+        //when
+        assertNull(breaker.tryAcquire("a", 0, 0, now));
+        breaker.release("a", REMOTING_ERROR, 0, now);
+
+        //then
+        assertNull(breaker.tryAcquire("a", 0, 0, now + 1000));
+        assertEquals(registryList, breaker.filter(registryList, 0, now + 1000));
+        assertEquals(registryList, breaker.filter(registryList, 5, now + 1000));
+        assertEquals("CLOSED", breaker.stateList(Arrays.asList("a")).get(0).get("state"));
+        assertEquals(1L, breaker.stateList(Arrays.asList("a")).get(0).get("failCount"));
+    }
+
+}
@@ -0,0 +1,113 @@
+package com.xxl.job.admin.core.route;
+
+import com.xxl.job.core.biz.model.ReturnT;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ExecutorLivenessDetectorTest {
+
+    @Test
+    public void shouldSuspectAfterMissedBeats() {
+        //given
+        ExecutorLivenessDetector detector = new ExecutorLivenessDetector();
+        String address = "http://127.0.0.1:9999/";
+        long now = 1790000000000L;
+        for (int i = 0; i < 10; i++) {
+            detector.heartbeat(address, now);
+            now += 30 * 1000;
+        }
+        long lastBeat = now - 30 * 1000;
+
+        //then
+        assertFalse(detector.isSuspected(address, lastBeat + 35 * 1000));
+        assertTrue(detector.overdueList(lastBeat + 35 * 1000).isEmpty());
+        assertFalse(detector.isSuspected(address, lastBeat + 60 * 1000));     // not confirmed yet
+
+        //when
+        detector.confirm(address, new Date(lastBeat), lastBeat + 60 * 1000);
+
+        //then
+        assertTrue(detector.isSuspected(address, lastBeat + 60 * 1000));
+        assertFalse(detector.isSuspected("http://127.0.0.1:9998/", lastBeat + 60 * 1000));
+    }
+
+    @Test
+    public void shouldNotSuspectWhenBeatsMoved() {
+        //given
+        ExecutorLivenessDetector detector = new ExecutorLivenessDetector();
+        String address = "http://127.0.0.1:9999/";
+        long now = 1790000000000L;
+        for (int i = 0; i < 10; i++) {
+            detector.heartbeat(address, now);
+            now += 30 * 1000;
+        }
+        long lastBeat = now - 30 * 1000;
+
+        //when, beat received by other admin node since
+        assertEquals(Arrays.asList(address), detector.overdueList(lastBeat + 60 * 1000));
+        detector.confirm(address, new Date(lastBeat + 30 * 1000), lastBeat + 60 * 1000);
+
+        //then
+        assertFalse(detector.isSuspected(address, lastBeat + 60 * 1000));
+        assertFalse(detector.isSuspected(address, lastBeat + 80 * 1000));
+        assertTrue(detector.overdueList(lastBeat + 80 * 1000).isEmpty());
+        assertEquals(Arrays.asList("a", address), detector.filter(Arrays.asList("a", address)));
+
+        //when, beat back
+        detector.heartbeat(address, lastBeat + 90 * 1000);
+
+        //then
+        assertFalse(detector.isSuspected(address, lastBeat + 100 * 1000));
+    }
+
+    @Test
+    public void shouldSuspectOnRemotingError() {
+        //given
+        ExecutorLivenessDetector detector = new ExecutorLivenessDetector();
+        String address = "http://127.0.0.1:9999/";
+        long now = 1790000000000L;
+
+        //when
+        detector.reportRun(address, new ReturnT<String>(ReturnT.FAIL_CODE, "xxl-job remoting error(Connection refused), for url : " + address), now);
+
+        //then
+        assertTrue(detector.isSuspected(address, now + 1000));
+        assertFalse(detector.isSuspected(address, now + 31 * 1000));
+
+        //when
+        detector.reportRun(address, new ReturnT<String>(ReturnT.FAIL_CODE, "xxl-job remoting error(Connection refused), for url : " + address), now);
+        detector.reportRun(address, new ReturnT<String>(ReturnT.FAIL_CODE, "job handler not found."), now);
+
+        //then
+        assertFalse(detector.isSuspected(address, now + 1000));
+    }
+
+    @Test
+    public void shouldKeepAllWhenAllSuspected() {
+        //given
+        ExecutorLivenessDetector detector = new ExecutorLivenessDetector();
+        List<String> registryList = Arrays.asList("a", "b", "c");
+        ReturnT<String> remotingError = new ReturnT<String>(ReturnT.FAIL_CODE, "xxl-job remoting error(connection closed), for url : x");
+
+        //when
+        detector.reportRun("b", remotingError);
+
+        //then
+        assertEquals(Arrays.asList("a", "c"), detector.filter(registryList));
+
+        //when
+        detector.reportRun("a", remotingError);
+        detector.reportRun("c", remotingError);
+
+        //then
+        assertEquals(registryList, detector.filter(registryList));
+    }
+
+}
@@ -0,0 +1,99 @@
+package com.xxl.job.admin.core.scheduler;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TimingWheelTest {
+
+    private static final long START = 1_000_000L;
+
+    @Test
+    public void shouldFireAtMillisecondTick() {
+        //given
+        TimingWheel timingWheel = new TimingWheel(10, 100, START);
+        timingWheel.add(1, START + 250);
+        timingWheel.add(2, START + 255);
+        timingWheel.add(3, START + 730);
+
+        //when
+        int[] before = timingWheel.advanceClock(START + 249);
+        int[] first = timingWheel.advanceClock(START + 250);
+        int[] second = timingWheel.advanceClock(START + 740);
+
+        //then
+        assertEquals(0, before.length);
+        assertArrayEquals(new int[]{1, 2}, sorted(first));
+        assertArrayEquals(new int[]{3}, second);
+        assertTrue(timingWheel.isEmpty());
+    }
+
+    @Test
+    public void shouldRejectDueJob() {
+        //given
+        TimingWheel timingWheel = new TimingWheel(10, 100, START);
+
+        //when
+        boolean pastRet = timingWheel.add(1, START - 1000);
+        boolean currentTickRet = timingWheel.add(2, START + 5);
+
+        //then
+        assertFalse(pastRet);
+        assertFalse(currentTickRet);
+        assertEquals(0, timingWheel.size());
+    }
+
+    @Test
+    public void shouldCascadeFromOverflowWheel() {
+        //given: level-0 cover 1s, job 3 / 4 stored in overflow wheels
+        TimingWheel timingWheel = new TimingWheel(10, 100, START);
+        timingWheel.add(1, START + 500);
+        timingWheel.add(2, START + 7_000);
+        timingWheel.add(3, START + 150_000);
+        timingWheel.add(4, START + 150_020);
+        assertEquals(4, timingWheel.size());
+
+        //when && then: step tick by tick like ring thread
+        long[] fireTime = new long[5];
+        for (long now = START; now <= START + 151_000; now += 10) {
+            for (int jobId : timingWheel.advanceClock(now)) {
+                fireTime[jobId] = now;
+            }
+        }
+        assertEquals(START + 500, fireTime[1]);
+        assertEquals(START + 7_000, fireTime[2]);
+        assertEquals(START + 150_000, fireTime[3]);
+        assertEquals(START + 150_020, fireTime[4]);
+        assertTrue(timingWheel.isEmpty());
+    }
+
+    @Test
+    public void shouldCatchUpWhenAdvanceLate() {
+        //given
+        TimingWheel timingWheel = new TimingWheel(10, 100, START);
+        for (int i = 1; i <= 1000; i++) {
+            timingWheel.add(i, START + 1000 + i);
+        }
+
+        //when: ring thread stalled 3s
+        int[] fired = timingWheel.advanceClock(START + 4000);
+
+        //then
+        assertEquals(1000, fired.length);
+        assertTrue(timingWheel.isEmpty());
+        assertTrue(timingWheel.add(1, START + 4010));
+        assertArrayEquals(new int[]{1}, timingWheel.advanceClock(START + 4010));
+    }
+
+    private static int[] sorted(int[] data) {
+        int[] copy = Arrays.copyOf(data, data.length);
+        Arrays.sort(copy);
+        return copy;
+    }
+
+}
@@ -0,0 +1,120 @@
+package com.xxl.job.admin.core.thread;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author xuxueli 2026-10-18
+ */
+public class JobClusterHelperTest {
+
+    private static final int SLOT_TOTAL = 16;
+
+    @Test
+    public void shouldOwnAllSlotsWhenSingleNode() {
+        //given
+        List<String> nodeList = Collections.singletonList("node-a");
+
+        //when
+        int[] slots = JobClusterHelper.assignSlots(nodeList, "node-a", SLOT_TOTAL);
+
+        //then
+        assertEquals(SLOT_TOTAL, slots.length);
+        for (int i = 0; i < SLOT_TOTAL; i++) {
+            assertEquals(i, slots[i]);
+        }
+    }
+
+    @Test
+    public void shouldGiveUpAllSlotsWhenLeaseLost() {
+        //given, node not in alive list
+        List<String> nodeList = Arrays.asList("node-a", "node-b");
+
+        //when
+        int[] slots = JobClusterHelper.assignSlots(nodeList, "node-c", SLOT_TOTAL);
+        int[] emptySlots = JobClusterHelper.assignSlots(Collections.<String>emptyList(), "node-a", SLOT_TOTAL);
+
+        //then
+        assertEquals(0, slots.length);
+        assertEquals(0, emptySlots.length);
+    }
+
+    @Test
+    public void shouldOwnEachSlotByExactlyOneNode() {
+        for (int nodeCount = 1; nodeCount <= SLOT_TOTAL + 2; nodeCount++) {
+            //given
+            List<String> nodeList = new ArrayList<>();
+            for (int i = 0; i < nodeCount; i++) {
+                nodeList.add("node-" + i);
+            }
+
+            //when
+            int[] owner = assignAll(nodeList);
+
+            //then
+            for (int slot = 0; slot < SLOT_TOTAL; slot++) {
+                assertTrue(owner[slot] >= 0, "nodeCount:" + nodeCount + ", slot:" + slot);
+            }
+        }
+    }
+
+    @Test
+    public void shouldRebalanceWhenNodeJoinAndLeave() {
+        //given
+        List<String> before = Arrays.asList("node-a", "node-b");
+        List<String> joined = Arrays.asList("node-a", "node-b", "node-c");
+
+        //when, node-c join
+        int[] ownerBefore = assignAll(before);
+        int[] ownerJoined = assignAll(joined);
+        int[] slotsC = JobClusterHelper.assignSlots(joined, "node-c", SLOT_TOTAL);
+
+        //then
+        assertEquals(SLOT_TOTAL / 2, JobClusterHelper.assignSlots(before, "node-a", SLOT_TOTAL).length);
+        assertEquals(0, JobClusterHelper.assignSlots(before, "node-c", SLOT_TOTAL).length);
+        assertTrue(slotsC.length > 0);
+        for (int slot: slotsC) {
+            assertEquals(2, ownerJoined[slot]);
+        }
+
+        //when, node-b leave
+        List<String> left = Arrays.asList("node-a", "node-c");
+        int[] ownerLeft = assignAll(left);
+
+        //then, slots of node-b taken over, node-b own nothing
+        assertEquals(0, JobClusterHelper.assignSlots(left, "node-b", SLOT_TOTAL).length);
+        for (int slot = 0; slot < SLOT_TOTAL; slot++) {
+            if (ownerBefore[slot] == 1) {
+                assertTrue(ownerLeft[slot] >= 0);
+            }
+        }
+        assertEquals(SLOT_TOTAL, JobClusterHelper.assignSlots(left, "node-a", SLOT_TOTAL).length
+                + JobClusterHelper.assignSlots(left, "node-c", SLOT_TOTAL).length);
+    }
+
+
+    // ---------------------- tool ----------------------
+
+    /**
+     * owner node index of each slot, fail if one slot owned by more than one node
+     */
+    private static int[] assignAll(List<String> nodeList) {
+        int[] owner = new int[SLOT_TOTAL];
+        Arrays.fill(owner, -1);
+        for (int nodeIndex = 0; nodeIndex < nodeList.size(); nodeIndex++) {
+            for (int slot: JobClusterHelper.assignSlots(nodeList, nodeList.get(nodeIndex), SLOT_TOTAL)) {
+                assertTrue(slot >= 0 && slot < SLOT_TOTAL, "slot:" + slot);
+                assertEquals(-1, owner[slot], "slot owned twice:" + slot);
+                owner[slot] = nodeIndex;
+            }
+        }
+        return owner;
+    }
+
+}
@@ -0,0 +1,120 @@
+package com.xxl.job.admin.core.thread;
+
+import com.xxl.job.admin.core.conf.XxlJobAdminConfig;
+import com.xxl.job.admin.core.model.XxlJobLog;
+import com.xxl.job.admin.core.model.XxlJobLogDetail;
+import com.xxl.job.admin.dao.XxlJobAlarmQueueDao;
+import com.xxl.job.admin.dao.XxlJobLogDao;
+import com.xxl.job.admin.dao.XxlJobLogDetailDao;
+import com.xxl.job.admin.dao.XxlJobRunningDao;
+import com.xxl.job.core.biz.model.ReturnT;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+
+public class JobLogWriteHelperTest {
+
+    private static final long BAD_LOG_ID = 2;
+
+    private final List<Long> savedLogIds = new ArrayList<>();
+    private final List<Long> savedDetailLogIds = new ArrayList<>();
+    private volatile boolean badRowFail = true;
+
+    @BeforeEach
+    public void setUp() {
+        XxlJobLogDao xxlJobLogDao = Mockito.mock(XxlJobLogDao.class);
+        Mockito.when(xxlJobLogDao.saveBatch(anyList())).thenAnswer(new Answer<Integer>() {
+            @Override
+            public Integer answer(InvocationOnMock invocation) {
+                List<XxlJobLog> logList = invocation.getArgument(0);
+                for (XxlJobLog log: logList) {
+                    if (log.getId() == BAD_LOG_ID && badRowFail) {
+                        throw new RuntimeException("Data truncation: Data too long for column");
+                    }
+                }
+                for (XxlJobLog log: logList) {
+                    savedLogIds.add(log.getId());
+                }
+                return logList.size();
+            }
+        });
+        XxlJobLogDetailDao xxlJobLogDetailDao = Mockito.mock(XxlJobLogDetailDao.class);
+        Mockito.when(xxlJobLogDetailDao.saveTriggerInfo(anyList())).thenAnswer(new Answer<Integer>() {
+            @Override
+            public Integer answer(InvocationOnMock invocation) {
+                List<XxlJobLogDetail> detailList = invocation.getArgument(0);
+                for (XxlJobLogDetail detail: detailList) {
+                    savedDetailLogIds.add(detail.getLogId());
+                }
+                return detailList.size();
+            }
+        });
+
+        XxlJobAdminConfig adminConfig = new XxlJobAdminConfig();
+        ReflectionTestUtils.setField(adminConfig, "xxlJobLogDao", xxlJobLogDao);
+        ReflectionTestUtils.setField(adminConfig, "xxlJobLogDetailDao", xxlJobLogDetailDao);
+        ReflectionTestUtils.setField(adminConfig, "xxlJobRunningDao", Mockito.mock(XxlJobRunningDao.class));
+        ReflectionTestUtils.setField(adminConfig, "xxlJobAlarmQueueDao", Mockito.mock(XxlJobAlarmQueueDao.class));
+        ReflectionTestUtils.setField(XxlJobAdminConfig.class, "adminConfig", adminConfig);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ReflectionTestUtils.setField(XxlJobAdminConfig.class, "adminConfig", null);
+    }
+
+    @Test
+    public void shouldWriteGoodRowsAndRetryBadRow() {
+        //given
+        JobLogWriteHelper helper = new JobLogWriteHelper();
+        List<JobLogWriteHelper.LogWrite> batchList = Arrays.asList(makeLogWrite(1), makeLogWrite(BAD_LOG_ID), makeLogWrite(3));
+
+        //when
+        helper.writeBatch(batchList);
+
+        //then
+        assertEquals(Arrays.asList(1L, 3L), savedLogIds);
+        assertEquals(Arrays.asList(1L, 3L), savedDetailLogIds);
+
+        //when, still fail
+        helper.retryFailed(true);
+
+        //then
+        assertEquals(Arrays.asList(1L, 3L), savedLogIds);
+
+        //when, fixed
+        badRowFail = false;
+        helper.retryFailed(true);
+        helper.retryFailed(true);
+
+        //then, written once
+        assertEquals(Arrays.asList(1L, 3L, BAD_LOG_ID), savedLogIds);
+        assertEquals(Arrays.asList(1L, 3L, BAD_LOG_ID), savedDetailLogIds);
+    }
+
+    private JobLogWriteHelper.LogWrite makeLogWrite(long logId) {
+        XxlJobLog jobLog = new XxlJobLog();
+        jobLog.setId(logId);
+        jobLog.setJobId(1);
+        jobLog.setTriggerTime(new Date());
+        jobLog.setTriggerCode(ReturnT.SUCCESS_CODE);
+
+        XxlJobLogDetail jobLogDetail = new XxlJobLogDetail();
+        jobLogDetail.setLogId(logId);
+        jobLogDetail.setTriggerTime(jobLog.getTriggerTime());
+        return new JobLogWriteHelper.LogWrite(jobLog, jobLogDetail);
+    }
+
+}
@@ -0,0 +1,75 @@
+package com.xxl.job.admin.core.thread;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author xuxueli 2026-10-18
+ */
+public class JobScheduleHelperTest {
+
+    @Test
+    public void shouldLockGlobalWhenPartitionDisabled() {
+        //when
+        String lockSql = JobScheduleHelper.makeLockSql(null);
+
+        //then
+        assertEquals("select * from xxl_job_lock where lock_name = 'schedule_lock' for update", lockSql);
+    }
+
+    @Test
+    public void shouldLockNothingWhenNoSlot() {
+        //when
+        String lockSql = JobScheduleHelper.makeLockSql(new int[0]);
+
+        //then
+        assertNull(lockSql);
+    }
+
+    @Test
+    public void shouldLockSlotsOrderByName() {
+        //given, not in name order
+        int[] ownSlots = new int[]{10, 2, 1, 31, 3};
+
+        //when
+        String lockSql = JobScheduleHelper.makeLockSql(ownSlots);
+
+        //then
+        assertTrue(lockSql.endsWith(" order by lock_name for update"), lockSql);
+        List<String> lockNames = parseLockNames(lockSql);
+        assertEquals(Arrays.asList(
+                "schedule_lock_slot_1",
+                "schedule_lock_slot_10",
+                "schedule_lock_slot_2",
+                "schedule_lock_slot_3",
+                "schedule_lock_slot_31"), lockNames);
+    }
+
+    @Test
+    public void shouldMakeSameSqlForSameSlots() {
+        //when
+        String lockSql1 = JobScheduleHelper.makeLockSql(new int[]{0, 5, 11});
+        String lockSql2 = JobScheduleHelper.makeLockSql(new int[]{11, 0, 5});
+
+        //then
+        assertEquals(lockSql1, lockSql2);
+    }
+
+
+    // ---------------------- tool ----------------------
+
+    private static List<String> parseLockNames(String lockSql) {
+        String inList = lockSql.substring(lockSql.indexOf("in (") + 4, lockSql.indexOf(")"));
+        List<String> lockNames = new ArrayList<>();
+        for (String item: inList.split(",")) {
+            lockNames.add(item.trim().replace("'", ""));
+        }
+        return lockNames;
+    }
+
+}
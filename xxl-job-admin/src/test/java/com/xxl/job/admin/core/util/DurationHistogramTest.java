@@ -0,0 +1,67 @@
+package com.xxl.job.admin.core.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DurationHistogramTest {
+
+    @Test
+    public void shouldKeepRelativeErrorWithinBucket() {
+        //given
+        long[] values = new long[]{0, 1, 15, 16, 17, 100, 1000, 12345, 3600_000L, DurationHistogram.MAX_VALUE};
+
+        for (long value: values) {
+            //when
+            long highValue = DurationHistogram.bucketHighValue(DurationHistogram.bucketIndex(value));
+
+            //then
+            assertTrue(highValue >= value);
+            assertTrue(highValue - value <= value / 16, "value:" + value + ", highValue:" + highValue);
+        }
+    }
+
+    @Test
+    public void shouldComputePercentile() {
+        //given
+        DurationHistogram histogram = new DurationHistogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i * 10);
+        }
+
+        //when
+        long p50 = histogram.percentile(50);
+        long p99 = histogram.percentile(99);
+
+        //then
+        assertEquals(100, histogram.getTotalCount());
+        assertTrue(p50 >= 500 && p50 <= 500 * 17 / 16);
+        assertTrue(p99 >= 990 && p99 <= 990 * 17 / 16);
+        assertEquals(0, new DurationHistogram().percentile(99));
+    }
+
+    @Test
+    public void shouldMergeEncodedHistogram() {
+        //given
+        DurationHistogram first = new DurationHistogram();
+        DurationHistogram second = new DurationHistogram();
+        for (int i = 0; i < 90; i++) {
+            first.record(20);
+        }
+        for (int i = 0; i < 10; i++) {
+            second.record(5000);
+        }
+
+        //when
+        DurationHistogram merged = DurationHistogram.decode(first.encode());
+        merged.merge(DurationHistogram.decode(second.encode()));
+
+        //then
+        assertEquals(100, merged.getTotalCount());
+        assertEquals(first.percentile(50), merged.percentile(50));
+        assertEquals(second.percentile(99), merged.percentile(99));
+        assertEquals(0, DurationHistogram.decode("x:1,-1:2").getTotalCount());
+    }
+
+}
@@ -0,0 +1,47 @@
+package com.xxl.job.admin.dao;
+
+import com.xxl.job.admin.core.model.XxlJobLog;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.annotation.Resource;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class XxlJobAlarmQueueDaoTest {
+
+    @Resource
+    private XxlJobAlarmQueueDao xxlJobAlarmQueueDao;
+
+    @Test
+    public void test(){
+        long logId = Long.MAX_VALUE - 1;
+
+        XxlJobLog log = new XxlJobLog();
+        log.setId(logId);
+        log.setJobId(1);
+        log.setTriggerTime(new Date());
+
+        // trigger fail and handle fail, queued once
+        xxlJobAlarmQueueDao.saveBatch(Arrays.asList(log));
+        xxlJobAlarmQueueDao.saveBatch(Arrays.asList(log));
+
+        List<Long> logIds = xxlJobAlarmQueueDao.findLogIds(new Date(), Integer.MAX_VALUE);
+        assertTrue(logIds.contains(logId));
+
+        // locked, found again only after lock expired
+        xxlJobAlarmQueueDao.lock(Arrays.asList(logId), new Date());
+        assertFalse(xxlJobAlarmQueueDao.findLogIds(new Date(System.currentTimeMillis() - 60 * 1000), Integer.MAX_VALUE).contains(logId));
+        assertTrue(xxlJobAlarmQueueDao.findLogIds(new Date(System.currentTimeMillis() + 60 * 1000), Integer.MAX_VALUE).contains(logId));
+
+        int ret = xxlJobAlarmQueueDao.delete(Arrays.asList(logId));
+        assertEquals(1, ret);
+    }
+
+}
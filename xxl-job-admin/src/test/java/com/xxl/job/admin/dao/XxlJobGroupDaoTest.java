@@ -28,6 +28,7 @@ public class XxlJobGroupDaoTest {
         group.setUpdateTime(new Date());
 
         int ret = xxlJobGroupDao.save(group);
+        int ret4 = xxlJobGroupDao.updateAddressList(group.getId(), "setAddressList1", new Date());
 
         XxlJobGroup group2 = xxlJobGroupDao.load(group.getId());
         group2.setAppname("setAppName2");
@@ -4,7 +4,10 @@ import com.xxl.job.admin.core.model.XxlJobLog;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
 import javax.annotation.Resource;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 
@@ -28,7 +31,8 @@ public class XxlJobLogDaoTest {
 
         log.setTriggerTime(new Date());
         log.setTriggerCode(1);
-        log.setTriggerMsg("1");
+        log.setTriggerType("MANUAL");
+        log.setExecutorRouteStrategy("FIRST");
         log.setExecutorAddress("1");
         log.setExecutorHandler("1");
         log.setExecutorParam("1");
@@ -38,9 +42,13 @@ public class XxlJobLogDaoTest {
 
         log.setHandleTime(new Date());
         log.setHandleCode(2);
-        log.setHandleMsg("2");
+        ret1 = xxlJobLogDao.updateHandleInfoIfUnhandled(log);
+        assertEquals(1, ret1);
+        ret1 = xxlJobLogDao.updateHandleInfoIfUnhandled(log);
+        assertEquals(0, ret1);      // limit only once
         ret1 = xxlJobLogDao.updateHandleInfo(log);
         dto = xxlJobLogDao.load(log.getId());
+        List<XxlJobLog> dtoList = xxlJobLogDao.loadByIds(Arrays.asList(log.getId()), null, null);
 
 
         List<Long> ret4 = xxlJobLogDao.findClearLogIds(1, 1, new Date(), 100, 100);
@@ -0,0 +1,46 @@
+package com.xxl.job.admin.dao;
+
+import com.xxl.job.admin.core.model.XxlJobLogDetail;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.annotation.Resource;
+import java.util.Arrays;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class XxlJobLogDetailDaoTest {
+
+    @Resource
+    private XxlJobLogDetailDao xxlJobLogDetailDao;
+
+    @Test
+    public void test(){
+        long logId = Long.MAX_VALUE - 1;
+
+        // handle msg first, as callback before trigger info saved
+        XxlJobLogDetail detail = new XxlJobLogDetail();
+        detail.setLogId(logId);
+        detail.setTriggerTime(new Date());
+        detail.setHandleMsg("handle");
+        xxlJobLogDetailDao.saveHandleMsg(Arrays.asList(detail));
+
+        detail.setRegistryType(0);
+        detail.setRegistryList("[127.0.0.1:9999]");
+        detail.setTriggerMsg("trigger");
+        xxlJobLogDetailDao.saveTriggerInfo(Arrays.asList(detail));
+        xxlJobLogDetailDao.appendTriggerMsg(logId, "-retry");
+
+        XxlJobLogDetail dto = xxlJobLogDetailDao.load(logId);
+        assertEquals("trigger-retry", dto.getTriggerMsg());
+        assertEquals("handle", dto.getHandleMsg());
+
+        int ret = xxlJobLogDetailDao.clearLog(Arrays.asList(logId));
+        assertEquals(1, ret);
+
+        int ret2 = xxlJobLogDetailDao.deleteByJobId(Integer.MAX_VALUE);
+    }
+
+}
@@ -22,7 +22,15 @@ public class XxlJobRegistryDaoTest {
             ret = xxlJobRegistryDao.registrySave("g1", "k1", "v1", new Date());
         }
 
+        XxlJobRegistry registry = new XxlJobRegistry();
+        registry.setRegistryGroup("g1");
+        registry.setRegistryKey("k1");
+        registry.setRegistryValue("v1");
+        int ret3 = xxlJobRegistryDao.registryUpdateBatch(Arrays.asList(registry), new Date());
+
         List<XxlJobRegistry> list = xxlJobRegistryDao.findAll(1, new Date());
+        List<String> addressList = xxlJobRegistryDao.findAddressByKey("g1", "k1", 1, new Date());
+        List<XxlJobRegistry> list2 = xxlJobRegistryDao.findByValues("g1", Arrays.asList("v1"));
 
         int ret2 = xxlJobRegistryDao.removeDead(Arrays.asList(1));
     }
@@ -1,6 +1,11 @@
 package com.xxl.job.core.biz;
 
 import com.xxl.job.core.biz.model.*;
+import com.xxl.job.core.util.ThrowableUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Created by xuxueli on 17/3/1.
@@ -28,6 +33,47 @@ public interface ExecutorBiz {
      */
     public ReturnT<String> run(TriggerParam triggerParam);
 
+    /**
+     * run, async
+     * @param triggerParam
+     * @return
+     */
+    default CompletableFuture<ReturnT<String>> runAsync(TriggerParam triggerParam) {
+        return CompletableFuture.completedFuture(run(triggerParam));
+    }
+
+    /**
+     * run batch, each trigger param has its own result (same order); default run each, one fail not affect others
+     * @param triggerParamList
+     * @return
+     */
+    default ReturnT<List<ReturnT<String>>> runBatch(List<TriggerParam> triggerParamList) {
+        if (triggerParamList == null) {
+            return new ReturnT<List<ReturnT<String>>>(ReturnT.FAIL_CODE, "triggerParamList is null.");
+        }
+
+        List<ReturnT<String>> resultList = new ArrayList<>(triggerParamList.size());
+        for (TriggerParam triggerParam: triggerParamList) {
+            ReturnT<String> result;
+            try {
+                result = run(triggerParam);
+            } catch (Exception e) {
+                result = new ReturnT<String>(ReturnT.FAIL_CODE, "request error:" + ThrowableUtil.toString(e));
+            }
+            resultList.add(result);
+        }
+        return new ReturnT<List<ReturnT<String>>>(resultList);
+    }
+
+    /**
+     * run batch, async
+     * @param triggerParamList
+     * @return
+     */
+    default CompletableFuture<ReturnT<List<ReturnT<String>>>> runBatchAsync(List<TriggerParam> triggerParamList) {
+        return CompletableFuture.completedFuture(runBatch(triggerParamList));
+    }
+
     /**
      * kill
      * @param killParam
@@ -4,8 +4,11 @@ import com.xxl.job.core.biz.AdminBiz;
 import com.xxl.job.core.biz.model.HandleCallbackParam;
 import com.xxl.job.core.biz.model.RegistryParam;
 import com.xxl.job.core.biz.model.ReturnT;
+import com.xxl.job.core.serializer.SerializerEnum;
+import com.xxl.job.core.util.GsonTool;
 import com.xxl.job.core.util.XxlJobRemotingUtil;
 
+import java.lang.reflect.Type;
 import java.util.List;
 
 /**
@@ -18,8 +21,12 @@ public class AdminBizClient implements AdminBiz {
     public AdminBizClient() {
     }
     public AdminBizClient(String addressUrl, String accessToken) {
+        this(addressUrl, accessToken, SerializerEnum.JSON);
+    }
+    public AdminBizClient(String addressUrl, String accessToken, SerializerEnum serializer) {
         this.addressUrl = addressUrl;
         this.accessToken = accessToken;
+        this.serializer = serializer!=null?serializer:SerializerEnum.JSON;
 
         // valid
         if (!this.addressUrl.endsWith("/")) {
@@ -30,21 +37,24 @@ public class AdminBizClient implements AdminBiz {
     private String addressUrl ;
     private String accessToken;
     private int timeout = 3;
+    private SerializerEnum serializer = SerializerEnum.JSON;       // prefer serializer, json if admin not support
+
+    private static final Type STRING_RETURN_TYPE = new GsonTool.ParameterizedType4ReturnT(ReturnT.class, new Type[]{String.class});
 
 
     @Override
     public ReturnT<String> callback(List<HandleCallbackParam> callbackParamList) {
-        return XxlJobRemotingUtil.postBody(addressUrl+"api/callback", accessToken, timeout, callbackParamList, String.class);
+        return XxlJobRemotingUtil.postBody(addressUrl+"api/callback", accessToken, timeout, callbackParamList, STRING_RETURN_TYPE, serializer);
     }
 
     @Override
     public ReturnT<String> registry(RegistryParam registryParam) {
-        return XxlJobRemotingUtil.postBody(addressUrl + "api/registry", accessToken, timeout, registryParam, String.class);
+        return XxlJobRemotingUtil.postBody(addressUrl + "api/registry", accessToken, timeout, registryParam, STRING_RETURN_TYPE, serializer);
     }
 
     @Override
     public ReturnT<String> registryRemove(RegistryParam registryParam) {
-        return XxlJobRemotingUtil.postBody(addressUrl + "api/registryRemove", accessToken, timeout, registryParam, String.class);
+        return XxlJobRemotingUtil.postBody(addressUrl + "api/registryRemove", accessToken, timeout, registryParam, STRING_RETURN_TYPE, serializer);
     }
 
 }
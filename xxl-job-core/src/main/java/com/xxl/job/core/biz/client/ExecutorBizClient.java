@@ -1,9 +1,20 @@
 package com.xxl.job.core.biz.client;
 
+import com.google.gson.reflect.TypeToken;
 import com.xxl.job.core.biz.ExecutorBiz;
 import com.xxl.job.core.biz.model.*;
+import com.xxl.job.core.remoting.XxlJobHttpClient;
+import com.xxl.job.core.serializer.SerializerEnum;
+import com.xxl.job.core.util.GsonTool;
 import com.xxl.job.core.util.XxlJobRemotingUtil;
 
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+
 /**
  * admin api test
  *
@@ -14,8 +25,12 @@ public class ExecutorBizClient implements ExecutorBiz {
     public ExecutorBizClient() {
     }
     public ExecutorBizClient(String addressUrl, String accessToken) {
+        this(addressUrl, accessToken, SerializerEnum.JSON);
+    }
+    public ExecutorBizClient(String addressUrl, String accessToken, SerializerEnum serializer) {
         this.addressUrl = addressUrl;
         this.accessToken = accessToken;
+        this.serializer = serializer!=null?serializer:SerializerEnum.JSON;
 
         // valid
         if (!this.addressUrl.endsWith("/")) {
@@ -26,31 +41,148 @@ public class ExecutorBizClient implements ExecutorBiz {
     private String addressUrl ;
     private String accessToken;
     private int timeout = 3;
+    private SerializerEnum serializer = SerializerEnum.JSON;       // prefer serializer, json if executor not support
+
+    private static final Type STRING_RETURN_TYPE = new GsonTool.ParameterizedType4ReturnT(ReturnT.class, new Type[]{String.class});
+    private static final Type LOG_RETURN_TYPE = new GsonTool.ParameterizedType4ReturnT(ReturnT.class, new Type[]{LogResult.class});
+    private static final Type RUN_BATCH_RETURN_TYPE = new TypeToken<ReturnT<List<ReturnT<String>>>>(){}.getType();
 
 
     @Override
     public ReturnT<String> beat() {
-        return XxlJobRemotingUtil.postBody(addressUrl+"beat", accessToken, timeout, "", String.class);
+        return XxlJobHttpClient.getInstance().<String>postAsync(addressUrl+"beat", accessToken, timeout, "", STRING_RETURN_TYPE, serializer).join();
     }
 
     @Override
     public ReturnT<String> idleBeat(IdleBeatParam idleBeatParam){
-        return XxlJobRemotingUtil.postBody(addressUrl+"idleBeat", accessToken, timeout, idleBeatParam, String.class);
+        return XxlJobHttpClient.getInstance().<String>postAsync(addressUrl+"idleBeat", accessToken, timeout, idleBeatParam, STRING_RETURN_TYPE, serializer).join();
     }
 
     @Override
     public ReturnT<String> run(TriggerParam triggerParam) {
-        return XxlJobRemotingUtil.postBody(addressUrl + "run", accessToken, timeout, triggerParam, String.class);
+        return runAsync(triggerParam).join();
+    }
+
+    @Override
+    public CompletableFuture<ReturnT<String>> runAsync(final TriggerParam triggerParam) {
+        if (!isGlueSourceOmittable(triggerParam) || !isGlueSourceHashSupported()) {
+            return postRun(triggerParam);
+        }
+
+        // only glue hash, resend with source if executor cache miss
+        return postRun(withoutGlueSource(triggerParam)).thenCompose(new Function<ReturnT<String>, CompletionStage<ReturnT<String>>>() {
+            @Override
+            public CompletionStage<ReturnT<String>> apply(ReturnT<String> result) {
+                if (result != null && result.getCode() == ReturnT.GLUE_SOURCE_MISS_CODE) {
+                    return postRun(triggerParam);
+                }
+                return CompletableFuture.completedFuture(result);
+            }
+        });
+    }
+    private CompletableFuture<ReturnT<String>> postRun(TriggerParam triggerParam) {
+        return XxlJobHttpClient.getInstance().postAsync(addressUrl + "run", accessToken, timeout, triggerParam, STRING_RETURN_TYPE, serializer);
+    }
+
+    @Override
+    public ReturnT<List<ReturnT<String>>> runBatch(List<TriggerParam> triggerParamList) {
+        return runBatchAsync(triggerParamList).join();
+    }
+
+    @Override
+    public CompletableFuture<ReturnT<List<ReturnT<String>>>> runBatchAsync(final List<TriggerParam> triggerParamList) {
+        if (!XxlJobRemotingUtil.isRemoteFeatureSupported(addressUrl, XxlJobRemotingUtil.FEATURE_RUN_BATCH)) {
+            // old executor or unknown yet, not send
+            return CompletableFuture.completedFuture(new ReturnT<List<ReturnT<String>>>(ReturnT.NOT_FOUND_CODE, "runBatch not supported by executor, for url : " + addressUrl));
+        }
+        boolean omitGlueSource = false;
+        List<TriggerParam> requestList = triggerParamList;
+        if (isGlueSourceHashSupported()) {
+            requestList = new ArrayList<>(triggerParamList.size());
+            for (TriggerParam item: triggerParamList) {
+                if (isGlueSourceOmittable(item)) {
+                    omitGlueSource = true;
+                    requestList.add(withoutGlueSource(item));
+                } else {
+                    requestList.add(item);
+                }
+            }
+        }
+        CompletableFuture<ReturnT<List<ReturnT<String>>>> batchFuture = XxlJobHttpClient.getInstance()
+                .postAsync(addressUrl + "runBatch", accessToken, timeout, requestList, RUN_BATCH_RETURN_TYPE, serializer);
+        if (!omitGlueSource) {
+            return batchFuture;
+        }
+
+        // resend with source, for item executor cache miss
+        return batchFuture.thenCompose(new Function<ReturnT<List<ReturnT<String>>>, CompletionStage<ReturnT<List<ReturnT<String>>>>>() {
+            @Override
+            public CompletionStage<ReturnT<List<ReturnT<String>>>> apply(final ReturnT<List<ReturnT<String>>> batchResult) {
+                if (batchResult == null
+                        || batchResult.getCode() != ReturnT.SUCCESS_CODE
+                        || batchResult.getContent() == null
+                        || batchResult.getContent().size() != triggerParamList.size()) {
+                    return CompletableFuture.completedFuture(batchResult);
+                }
+
+                final List<CompletableFuture<ReturnT<String>>> itemFutures = new ArrayList<>();
+                for (int i = 0; i < triggerParamList.size(); i++) {
+                    ReturnT<String> itemResult = batchResult.getContent().get(i);
+                    if (itemResult != null && itemResult.getCode() == ReturnT.GLUE_SOURCE_MISS_CODE) {
+                        itemFutures.add(postRun(triggerParamList.get(i)));
+                    } else {
+                        itemFutures.add(CompletableFuture.completedFuture(itemResult));
+                    }
+                }
+                return CompletableFuture.allOf(itemFutures.toArray(new CompletableFuture[0])).thenApply(new Function<Void, ReturnT<List<ReturnT<String>>>>() {
+                    @Override
+                    public ReturnT<List<ReturnT<String>>> apply(Void v) {
+                        List<ReturnT<String>> resultList = new ArrayList<>();
+                        for (CompletableFuture<ReturnT<String>> itemFuture: itemFutures) {
+                            resultList.add(itemFuture.join());
+                        }
+                        return new ReturnT<List<ReturnT<String>>>(resultList);
+                    }
+                });
+            }
+        });
+    }
+
+    // ---------------------- glue source hash ----------------------
+
+    private boolean isGlueSourceHashSupported() {
+        return XxlJobRemotingUtil.isRemoteFeatureSupported(addressUrl, XxlJobRemotingUtil.FEATURE_GLUE_SOURCE_HASH);
+    }
+
+    private static boolean isGlueSourceOmittable(TriggerParam triggerParam) {
+        return triggerParam.getGlueSourceHash() != null && triggerParam.getGlueSource() != null;
+    }
+
+    private static TriggerParam withoutGlueSource(TriggerParam triggerParam) {
+        TriggerParam copy = new TriggerParam();
+        copy.setJobId(triggerParam.getJobId());
+        copy.setExecutorHandler(triggerParam.getExecutorHandler());
+        copy.setExecutorParams(triggerParam.getExecutorParams());
+        copy.setExecutorBlockStrategy(triggerParam.getExecutorBlockStrategy());
+        copy.setExecutorTimeout(triggerParam.getExecutorTimeout());
+        copy.setLogId(triggerParam.getLogId());
+        copy.setLogDateTime(triggerParam.getLogDateTime());
+        copy.setGlueType(triggerParam.getGlueType());
+        copy.setGlueUpdatetime(triggerParam.getGlueUpdatetime());
+        copy.setGlueSourceHash(triggerParam.getGlueSourceHash());
+        copy.setBroadcastIndex(triggerParam.getBroadcastIndex());
+        copy.setBroadcastTotal(triggerParam.getBroadcastTotal());
+        return copy;
     }
 
     @Override
     public ReturnT<String> kill(KillParam killParam) {
-        return XxlJobRemotingUtil.postBody(addressUrl + "kill", accessToken, timeout, killParam, String.class);
+        return XxlJobHttpClient.getInstance().<String>postAsync(addressUrl + "kill", accessToken, timeout, killParam, STRING_RETURN_TYPE, serializer).join();
     }
 
     @Override
     public ReturnT<LogResult> log(LogParam logParam) {
-        return XxlJobRemotingUtil.postBody(addressUrl + "log", accessToken, timeout, logParam, LogResult.class);
+        return XxlJobHttpClient.getInstance().<LogResult>postAsync(addressUrl + "log", accessToken, timeout, logParam, LOG_RETURN_TYPE, serializer).join();
     }
 
 }
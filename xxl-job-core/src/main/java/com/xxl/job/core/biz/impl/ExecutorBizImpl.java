@@ -5,6 +5,7 @@ import com.xxl.job.core.biz.model.*;
 import com.xxl.job.core.enums.ExecutorBlockStrategyEnum;
 import com.xxl.job.core.executor.XxlJobExecutor;
 import com.xxl.job.core.glue.GlueFactory;
+import com.xxl.job.core.glue.GlueSourceCache;
 import com.xxl.job.core.glue.GlueTypeEnum;
 import com.xxl.job.core.handler.IJobHandler;
 import com.xxl.job.core.handler.impl.GlueJobHandler;
@@ -89,8 +90,12 @@ public class ExecutorBizImpl implements ExecutorBiz {
 
             // valid handler
             if (jobHandler == null) {
+                String glueSource = loadGlueSource(triggerParam);
+                if (glueSource == null && triggerParam.getGlueSourceHash() != null) {
+                    return new ReturnT<String>(ReturnT.GLUE_SOURCE_MISS_CODE, "glue source miss, hash: " + triggerParam.getGlueSourceHash());
+                }
                 try {
-                    IJobHandler originJobHandler = GlueFactory.getInstance().loadNewInstance(triggerParam.getGlueSource());
+                    IJobHandler originJobHandler = GlueFactory.getInstance().loadNewInstance(glueSource);
                     jobHandler = new GlueJobHandler(originJobHandler, triggerParam.getGlueUpdatetime());
                 } catch (Exception e) {
                     logger.error(e.getMessage(), e);
@@ -112,7 +117,11 @@ public class ExecutorBizImpl implements ExecutorBiz {
 
             // valid handler
             if (jobHandler == null) {
-                jobHandler = new ScriptJobHandler(triggerParam.getJobId(), triggerParam.getGlueUpdatetime(), triggerParam.getGlueSource(), GlueTypeEnum.match(triggerParam.getGlueType()));
+                String glueSource = loadGlueSource(triggerParam);
+                if (glueSource == null && triggerParam.getGlueSourceHash() != null) {
+                    return new ReturnT<String>(ReturnT.GLUE_SOURCE_MISS_CODE, "glue source miss, hash: " + triggerParam.getGlueSourceHash());
+                }
+                jobHandler = new ScriptJobHandler(triggerParam.getJobId(), triggerParam.getGlueUpdatetime(), glueSource, GlueTypeEnum.match(triggerParam.getGlueType()));
             }
         } else {
             return new ReturnT<String>(ReturnT.FAIL_CODE, "glueType[" + triggerParam.getGlueType() + "] is not valid.");
@@ -148,6 +157,22 @@ public class ExecutorBizImpl implements ExecutorBiz {
         return pushResult;
     }
 
+    /**
+     * glue source of trigger, load from cache if admin only send hash
+     *
+     * @return null if cache miss (hash without source)
+     */
+    private String loadGlueSource(TriggerParam triggerParam) {
+        if (triggerParam.getGlueSourceHash() == null) {
+            return triggerParam.getGlueSource();       // old admin, no hash
+        }
+        if (triggerParam.getGlueSource() != null) {
+            GlueSourceCache.save(triggerParam.getGlueSourceHash(), triggerParam.getGlueSource());
+            return triggerParam.getGlueSource();
+        }
+        return GlueSourceCache.load(triggerParam.getGlueSourceHash());
+    }
+
     @Override
     public ReturnT<String> kill(KillParam killParam) {
         // kill handlerThread, and create new one
@@ -165,7 +190,14 @@ public class ExecutorBizImpl implements ExecutorBiz {
         // log filename: logPath/yyyy-MM-dd/9999.log
         String logFileName = XxlJobFileAppender.makeLogFileName(new Date(logParam.getLogDateTim()), logParam.getLogId());
 
-        LogResult logResult = XxlJobFileAppender.readLog(logFileName, logParam.getFromLineNum());
+        LogResult logResult = null;
+        if (logParam.getMaxBytes() > 0) {
+            // read by offset, O(new bytes)
+            logResult = XxlJobFileAppender.readLog(logFileName, logParam.getFromLineNum(), logParam.getFromOffset(), logParam.getMaxBytes());
+        } else {
+            // read by line, for old version admin
+            logResult = XxlJobFileAppender.readLog(logFileName, logParam.getFromLineNum());
+        }
         return new ReturnT<LogResult>(logResult);
     }
 
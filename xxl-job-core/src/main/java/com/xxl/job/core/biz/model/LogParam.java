@@ -15,11 +15,24 @@ public class LogParam implements Serializable {
         this.logId = logId;
         this.fromLineNum = fromLineNum;
     }
+    public LogParam(long logDateTim, long logId, int fromLineNum, long fromOffset, int maxBytes) {
+        this.logDateTim = logDateTim;
+        this.logId = logId;
+        this.fromLineNum = fromLineNum;
+        this.fromOffset = fromOffset;
+        this.maxBytes = maxBytes;
+    }
 
     private long logDateTim;
     private long logId;
     private int fromLineNum;
 
+    /**
+     * read by byte offset, if maxBytes > 0; "fromLineNum" should be the line number at "fromOffset"
+     */
+    private long fromOffset;
+    private int maxBytes;
+
     public long getLogDateTim() {
         return logDateTim;
     }
@@ -44,4 +57,20 @@ public class LogParam implements Serializable {
         this.fromLineNum = fromLineNum;
     }
 
+    public long getFromOffset() {
+        return fromOffset;
+    }
+
+    public void setFromOffset(long fromOffset) {
+        this.fromOffset = fromOffset;
+    }
+
+    public int getMaxBytes() {
+        return maxBytes;
+    }
+
+    public void setMaxBytes(int maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
 }
\ No newline at end of file
@@ -22,6 +22,12 @@ public class LogResult implements Serializable {
     private String logContent;
     private boolean isEnd;
 
+    /**
+     * byte offset [from, to), read next from "toOffset"; 0 if executor not support offset read
+     */
+    private long fromOffset;
+    private long toOffset;
+
     public int getFromLineNum() {
         return fromLineNum;
     }
@@ -53,4 +59,20 @@ public class LogResult implements Serializable {
     public void setEnd(boolean end) {
         isEnd = end;
     }
+
+    public long getFromOffset() {
+        return fromOffset;
+    }
+
+    public void setFromOffset(long fromOffset) {
+        this.fromOffset = fromOffset;
+    }
+
+    public long getToOffset() {
+        return toOffset;
+    }
+
+    public void setToOffset(long toOffset) {
+        this.toOffset = toOffset;
+    }
 }
@@ -12,6 +12,9 @@ public class ReturnT<T> implements Serializable {
 
 	public static final int SUCCESS_CODE = 200;
 	public static final int FAIL_CODE = 500;
+	public static final int GLUE_SOURCE_MISS_CODE = 412;	// executor glue source cache miss, resend with source
+	public static final int RETRY_AFTER_CODE = 429;			// server busy, retry after "content" ms
+	public static final int NOT_FOUND_CODE = 404;			// uri-mapping not found, api not supported by server
 
 	public static final ReturnT<String> SUCCESS = new ReturnT<String>(null);
 	public static final ReturnT<String> FAIL = new ReturnT<String>(FAIL_CODE, null);
@@ -21,6 +21,7 @@ public class TriggerParam implements Serializable{
     private String glueType;
     private String glueSource;
     private long glueUpdatetime;
+    private String glueSourceHash;      // sha-256 of glue source, source may be absent if executor cached it
 
     private int broadcastIndex;
     private int broadcastTotal;
@@ -106,6 +107,14 @@ public class TriggerParam implements Serializable{
         this.glueUpdatetime = glueUpdatetime;
     }
 
+    public String getGlueSourceHash() {
+        return glueSourceHash;
+    }
+
+    public void setGlueSourceHash(String glueSourceHash) {
+        this.glueSourceHash = glueSourceHash;
+    }
+
     public int getBroadcastIndex() {
         return broadcastIndex;
     }
@@ -136,6 +145,7 @@ public class TriggerParam implements Serializable{
                 ", glueType='" + glueType + '\'' +
                 ", glueSource='" + glueSource + '\'' +
                 ", glueUpdatetime=" + glueUpdatetime +
+                ", glueSourceHash='" + glueSourceHash + '\'' +
                 ", broadcastIndex=" + broadcastIndex +
                 ", broadcastTotal=" + broadcastTotal +
                 '}';
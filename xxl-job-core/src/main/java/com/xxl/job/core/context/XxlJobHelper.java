@@ -98,6 +98,14 @@ public class XxlJobHelper {
 
     private static Logger logger = LoggerFactory.getLogger("xxl-job logger");
 
+    /**
+     * capture caller location (class, method, line) of log, by stack trace; disable it for chatty job
+     */
+    private static volatile boolean logCaller = true;
+    public static void setLogCaller(boolean logCaller) {
+        XxlJobHelper.logCaller = logCaller;
+    }
+
     /**
      * append log with pattern
      *
@@ -114,7 +122,7 @@ public class XxlJobHelper {
             appendLog = MessageFormat.format(appendLogPattern, appendLogArguments);
         }*/
 
-        StackTraceElement callInfo = new Throwable().getStackTrace()[1];
+        StackTraceElement callInfo = logCaller?new Throwable().getStackTrace()[1]:null;
         return logDetail(callInfo, appendLog);
     }
 
@@ -129,14 +137,14 @@ public class XxlJobHelper {
         e.printStackTrace(new PrintWriter(stringWriter));
         String appendLog = stringWriter.toString();
 
-        StackTraceElement callInfo = new Throwable().getStackTrace()[1];
+        StackTraceElement callInfo = logCaller?new Throwable().getStackTrace()[1]:null;
         return logDetail(callInfo, appendLog);
     }
 
     /**
      * append log
      *
-     * @param callInfo
+     * @param callInfo    null if caller location disabled
      * @param appendLog
      */
     private static boolean logDetail(StackTraceElement callInfo, String appendLog) {
@@ -150,10 +158,12 @@ public class XxlJobHelper {
         StackTraceElement callInfo = stackTraceElements[1];*/
 
         StringBuffer stringBuffer = new StringBuffer();
-        stringBuffer.append(DateUtil.formatDateTime(new Date())).append(" ")
-                .append("["+ callInfo.getClassName() + "#" + callInfo.getMethodName() +"]").append("-")
-                .append("["+ callInfo.getLineNumber() +"]").append("-")
-                .append("["+ Thread.currentThread().getName() +"]").append(" ")
+        stringBuffer.append(DateUtil.formatDateTime(new Date())).append(" ");
+        if (callInfo != null) {
+            stringBuffer.append("["+ callInfo.getClassName() + "#" + callInfo.getMethodName() +"]").append("-")
+                    .append("["+ callInfo.getLineNumber() +"]").append("-");
+        }
+        stringBuffer.append("["+ Thread.currentThread().getName() +"]").append(" ")
                 .append(appendLog!=null?appendLog:"");
         String formatAppendLog = stringBuffer.toString();
 
@@ -2,11 +2,14 @@ package com.xxl.job.core.executor;
 
 import com.xxl.job.core.biz.AdminBiz;
 import com.xxl.job.core.biz.client.AdminBizClient;
+import com.xxl.job.core.context.XxlJobHelper;
 import com.xxl.job.core.handler.IJobHandler;
 import com.xxl.job.core.handler.annotation.XxlJob;
 import com.xxl.job.core.handler.impl.MethodJobHandler;
 import com.xxl.job.core.log.XxlJobFileAppender;
+import com.xxl.job.core.serializer.SerializerEnum;
 import com.xxl.job.core.server.EmbedServer;
+import com.xxl.job.core.thread.JobLogAppendThread;
 import com.xxl.job.core.thread.JobLogFileCleanThread;
 import com.xxl.job.core.thread.JobThread;
 import com.xxl.job.core.thread.TriggerCallbackThread;
@@ -37,6 +40,8 @@ public class XxlJobExecutor  {
     private int port;
     private String logPath;
     private int logRetentionDays;
+    private String serializer;
+    private boolean logCaller = true;
 
     public void setAdminAddresses(String adminAddresses) {
         this.adminAddresses = adminAddresses;
@@ -62,6 +67,12 @@ public class XxlJobExecutor  {
     public void setLogRetentionDays(int logRetentionDays) {
         this.logRetentionDays = logRetentionDays;
     }
+    public void setSerializer(String serializer) {
+        this.serializer = serializer;
+    }
+    public void setLogCaller(boolean logCaller) {
+        this.logCaller = logCaller;
+    }
 
 
     // ---------------------- start + stop ----------------------
@@ -70,8 +81,12 @@ public class XxlJobExecutor  {
         // init logpath
         XxlJobFileAppender.initLogPath(logPath);
 
+        // init JobLogAppendThread
+        XxlJobHelper.setLogCaller(logCaller);
+        JobLogAppendThread.getInstance().start();
+
         // init invoker, admin-client
-        initAdminBizList(adminAddresses, accessToken);
+        initAdminBizList(adminAddresses, accessToken, serializer);
 
 
         // init JobLogFileCleanThread
@@ -112,17 +127,21 @@ public class XxlJobExecutor  {
         // destroy TriggerCallbackThread
         TriggerCallbackThread.getInstance().toStop();
 
+        // destroy JobLogAppendThread, flush remaining log
+        JobLogAppendThread.getInstance().toStop();
+
     }
 
 
     // ---------------------- admin-client (rpc invoker) ----------------------
     private static List<AdminBiz> adminBizList;
-    private void initAdminBizList(String adminAddresses, String accessToken) throws Exception {
+    private void initAdminBizList(String adminAddresses, String accessToken, String serializer) throws Exception {
+        SerializerEnum serializerEnum = SerializerEnum.match(serializer, SerializerEnum.JSON);
         if (adminAddresses!=null && adminAddresses.trim().length()>0) {
             for (String address: adminAddresses.trim().split(",")) {
                 if (address!=null && address.trim().length()>0) {
 
-                    AdminBiz adminBiz = new AdminBizClient(address.trim(), accessToken);
+                    AdminBiz adminBiz = new AdminBizClient(address.trim(), accessToken, serializerEnum);
 
                     if (adminBizList == null) {
                         adminBizList = new ArrayList<AdminBiz>();
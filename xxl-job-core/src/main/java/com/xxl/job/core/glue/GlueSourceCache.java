@@ -0,0 +1,135 @@
+package com.xxl.job.core.glue;
+
+import com.xxl.job.core.log.XxlJobFileAppender;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+
+/**
+ * glue source cache, on disk, keyed by content hash
+ *
+ *      a、admin send "glueSourceHash" without source, if executor support it (header "XXL-JOB-FEATURES");
+ *      b、executor load source from cache when new glue handler, answer "GLUE_SOURCE_MISS_CODE" if miss, then admin resend with source;
+ *      c、file "{glueSrcPath}/cache/{hash}", write by temp-file + rename, expired by last access time;
+ *
+ * @author xuxueli 2026-10-18
+ */
+public class GlueSourceCache {
+    private static Logger logger = LoggerFactory.getLogger(GlueSourceCache.class);
+
+    private static final char[] HEX_CHARS = "0123456789abcdef".toCharArray();
+
+    /**
+     * content hash of glue source, sha-256 hex
+     */
+    public static String hash(String glueSource) {
+        if (glueSource == null) {
+            return null;
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(glueSource.getBytes(StandardCharsets.UTF_8));
+            char[] hex = new char[digest.length * 2];
+            for (int i = 0; i < digest.length; i++) {
+                hex[i * 2] = HEX_CHARS[(digest[i] >> 4) & 0x0F];
+                hex[i * 2 + 1] = HEX_CHARS[digest[i] & 0x0F];
+            }
+            return new String(hex);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * load glue source
+     *
+     * @param hash
+     * @return null if miss
+     */
+    public static String load(String hash) {
+        File cacheFile = cacheFile(hash);
+        if (cacheFile == null || !cacheFile.exists()) {
+            return null;
+        }
+        try {
+            String glueSource = new String(Files.readAllBytes(cacheFile.toPath()), StandardCharsets.UTF_8);
+            if (!hash.equals(hash(glueSource))) {
+                // broken file
+                cacheFile.delete();
+                return null;
+            }
+            cacheFile.setLastModified(System.currentTimeMillis());     // last access, for expire
+            return glueSource;
+        } catch (IOException e) {
+            logger.error(e.getMessage(), e);
+            return null;
+        }
+    }
+
+    /**
+     * save glue source, skip if exists or hash not match
+     */
+    public static void save(String hash, String glueSource) {
+        File cacheFile = cacheFile(hash);
+        if (cacheFile == null || cacheFile.exists() || glueSource == null) {
+            return;
+        }
+        if (!hash.equals(hash(glueSource))) {
+            logger.warn(">>>>>>>>>>> xxl-job, glue source hash not match, skip cache, hash:{}", hash);
+            return;
+        }
+
+        File cacheDir = cacheFile.getParentFile();
+        if (!cacheDir.exists()) {
+            cacheDir.mkdirs();
+        }
+        File tempFile = new File(cacheDir, hash + "." + Thread.currentThread().getId() + ".tmp");
+        try {
+            try (FileOutputStream out = new FileOutputStream(tempFile)) {
+                out.write(glueSource.getBytes(StandardCharsets.UTF_8));
+            }
+            if (!tempFile.renameTo(cacheFile)) {
+                tempFile.delete();      // saved by other thread
+            }
+        } catch (IOException e) {
+            tempFile.delete();
+            logger.error(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * clean cache, not accessed over retention days
+     */
+    public static void cleanExpired(long retentionDays) {
+        File[] cacheFiles = new File(XxlJobFileAppender.getGlueSrcPath(), "cache").listFiles();
+        if (cacheFiles == null) {
+            return;
+        }
+        long expireTime = System.currentTimeMillis() - retentionDays * (24 * 60 * 60 * 1000);
+        for (File cacheFile: cacheFiles) {
+            if (cacheFile.isFile() && cacheFile.lastModified() < expireTime) {
+                cacheFile.delete();
+            }
+        }
+    }
+
+    private static File cacheFile(String hash) {
+        // valid, hex only
+        if (hash == null || hash.length() != 64) {
+            return null;
+        }
+        for (int i = 0; i < hash.length(); i++) {
+            char c = hash.charAt(i);
+            if (!((c >= '0' && c <= '9') || (c >= 'a' && c <= 'f'))) {
+                return null;
+            }
+        }
+        return new File(new File(XxlJobFileAppender.getGlueSrcPath(), "cache"), hash);
+    }
+
+}
@@ -1,6 +1,7 @@
 package com.xxl.job.core.log;
 
 import com.xxl.job.core.biz.model.LogResult;
+import com.xxl.job.core.thread.JobLogAppendThread;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -92,6 +93,19 @@ public class XxlJobFileAppender {
 		if (logFileName==null || logFileName.trim().length()==0) {
 			return;
 		}
+
+		// log
+		if (appendLog == null) {
+			appendLog = "";
+		}
+		appendLog += "\r\n";
+
+		// async append, if writer started
+		if (JobLogAppendThread.getInstance().isRunning()) {
+			JobLogAppendThread.getInstance().append(logFileName, appendLog);
+			return;
+		}
+
 		File logFile = new File(logFileName);
 
 		if (!logFile.exists()) {
@@ -103,12 +117,6 @@ public class XxlJobFileAppender {
 			}
 		}
 
-		// log
-		if (appendLog == null) {
-			appendLog = "";
-		}
-		appendLog += "\r\n";
-		
 		// append file content
 		FileOutputStream fos = null;
 		try {
@@ -130,7 +138,22 @@ public class XxlJobFileAppender {
 	}
 
 	/**
-	 * support read log-file
+	 * force flush async appended log, before read log-file or job callback
+	 *
+	 * @param logFileName
+	 * @param close		close file handle, if log-file will not be appended again (such as job finished)
+	 */
+	public static void flushLog(String logFileName, boolean close) {
+		if (logFileName==null || logFileName.trim().length()==0) {
+			return;
+		}
+		if (JobLogAppendThread.getInstance().isRunning()) {
+			JobLogAppendThread.getInstance().flush(logFileName, close);
+		}
+	}
+
+	/**
+	 * support read log-file, from line
 	 *
 	 * @param logFileName
 	 * @return log content
@@ -141,49 +164,107 @@ public class XxlJobFileAppender {
 		if (logFileName==null || logFileName.trim().length()==0) {
             return new LogResult(fromLineNum, 0, "readLog fail, logFile not found", true);
 		}
+
+		// flush async appended log
+		flushLog(logFileName, false);
+
 		File logFile = new File(logFileName);
 
 		if (!logFile.exists()) {
             return new LogResult(fromLineNum, 0, "readLog fail, logFile not exists", true);
 		}
 
-		// read file
-		StringBuffer logContentBuffer = new StringBuffer();
-		int toLineNum = 0;
-		LineNumberReader reader = null;
+		// line to offset, by sparse index; then read all
 		try {
-			//reader = new LineNumberReader(new FileReader(logFile));
-			reader = new LineNumberReader(new InputStreamReader(new FileInputStream(logFile), "utf-8"));
-			String line = null;
-
-			while ((line = reader.readLine())!=null) {
-				toLineNum = reader.getLineNumber();		// [from, to], start as 1
-				if (toLineNum >= fromLineNum) {
-					logContentBuffer.append(line).append("\n");
-				}
-			}
+			long fromOffset = XxlJobLogIndex.lineOffset(logFile, fromLineNum);
+			return readLog(logFile, fromLineNum, fromOffset, 0);
 		} catch (IOException e) {
 			logger.error(e.getMessage(), e);
-		} finally {
-			if (reader != null) {
-				try {
-					reader.close();
-				} catch (IOException e) {
-					logger.error(e.getMessage(), e);
+			return new LogResult(fromLineNum, 0, "readLog fail, " + e.getMessage(), false);
+		}
+	}
+
+	/**
+	 * support read log-file, from byte offset, with max bytes; end at line break, read next from "toOffset"
+	 *
+	 * @param logFileName
+	 * @param fromLineNum	line number at "fromOffset", start as 1
+	 * @param fromOffset
+	 * @param maxBytes		max bytes of log content, unlimited if less than 1
+	 * @return log content
+	 */
+	public static LogResult readLog(String logFileName, int fromLineNum, long fromOffset, int maxBytes){
+
+		// valid log file
+		if (logFileName==null || logFileName.trim().length()==0) {
+			return new LogResult(fromLineNum, 0, "readLog fail, logFile not found", true);
+		}
+
+		// flush async appended log
+		flushLog(logFileName, false);
+
+		File logFile = new File(logFileName);
+
+		if (!logFile.exists()) {
+			return new LogResult(fromLineNum, 0, "readLog fail, logFile not exists", true);
+		}
+
+		try {
+			return readLog(logFile, fromLineNum, fromOffset, maxBytes);
+		} catch (IOException e) {
+			logger.error(e.getMessage(), e);
+			return new LogResult(fromLineNum, 0, "readLog fail, " + e.getMessage(), false);
+		}
+	}
+
+	private static LogResult readLog(File logFile, int fromLineNum, long fromOffset, int maxBytes) throws IOException {
+		RandomAccessFile raf = new RandomAccessFile(logFile, "r");
+		try {
+			long fileLength = raf.length();
+			fromOffset = Math.max(0, Math.min(fromOffset, fileLength));
+
+			// read bytes
+			long readLimit = maxBytes>0?maxBytes:(Integer.MAX_VALUE - 8);
+			int readLen = (int) Math.min(readLimit, fileLength - fromOffset);
+			byte[] data = new byte[readLen];
+			raf.seek(fromOffset);
+			raf.readFully(data);
+
+			// end at line break; or utf-8 char boundary, if one line over max bytes
+			int contentLen = readLen;
+			while (contentLen > 0 && data[contentLen-1] != '\n') {
+				contentLen--;
+			}
+			if (contentLen == 0 && readLen > 0 && readLen == readLimit) {
+				int charStart = readLen - 1;
+				while (charStart > 0 && (data[charStart] & 0xC0) == 0x80) {
+					charStart--;		// skip continuation byte
+				}
+				int lead = data[charStart] & 0xFF;
+				int charLen = lead<0x80?1:(lead>=0xF0?4:(lead>=0xE0?3:2));
+				contentLen = (charStart + charLen <= readLen)?readLen:charStart;
+				if (contentLen > 1 && data[contentLen-1] == '\r') {
+					contentLen--;		// keep "\r\n" together
 				}
 			}
-		}
 
-		// result
-		LogResult logResult = new LogResult(fromLineNum, toLineNum, logContentBuffer.toString(), false);
-		return logResult;
+			// line count
+			int lineCount = 0;
+			for (int i = 0; i < contentLen; i++) {
+				if (data[i] == '\n') {
+					lineCount++;
+				}
+			}
+			String logContent = new String(data, 0, contentLen, "utf-8").replace("\r\n", "\n");
 
-		/*
-        // it will return the number of characters actually skipped
-        reader.skip(Long.MAX_VALUE);
-        int maxLineNum = reader.getLineNumber();
-        maxLineNum++;	// 最大行号
-        */
+			// result
+			LogResult logResult = new LogResult(fromLineNum, fromLineNum - 1 + lineCount, logContent, false);
+			logResult.setFromOffset(fromOffset);
+			logResult.setToOffset(fromOffset + contentLen);
+			return logResult;
+		} finally {
+			raf.close();
+		}
 	}
 
 	/**
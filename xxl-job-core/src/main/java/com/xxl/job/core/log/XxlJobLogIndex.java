@@ -0,0 +1,139 @@
+package com.xxl.job.core.log;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * sparse line index of log-file, sidecar file "logPath/yyyy-MM-dd/9999.idx"
+ *
+ *      a、entry k (start as 1): byte offset of line "k * INDEX_INTERVAL + 1", 8 byte long, at position "(k-1) * 8";
+ *      b、build by reader, when scan over new line; write entry at fixed position, idempotent for concurrent reader;
+ *      c、log-file is append only, so entry never change; invalid index (offset not at line start) will be rebuilt;
+ *
+ * @author xuxueli 2026-10-18
+ */
+public class XxlJobLogIndex {
+    private static Logger logger = LoggerFactory.getLogger(XxlJobLogIndex.class);
+
+    private static final int INDEX_INTERVAL = 1000;
+    private static final int SCAN_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * index filename, like "logPath/yyyy-MM-dd/9999.idx"
+     */
+    public static File indexFile(File logFile) {
+        String name = logFile.getName();
+        int dot = name.lastIndexOf('.');
+        return new File(logFile.getParentFile(), (dot>0?name.substring(0, dot):name).concat(".idx"));
+    }
+
+    /**
+     * byte offset of line start
+     *
+     * @param logFile
+     * @param lineNum   start as 1
+     * @return  file length, if line not exists
+     */
+    public static long lineOffset(File logFile, int lineNum) throws IOException {
+        if (lineNum <= 1) {
+            return 0;
+        }
+
+        try (RandomAccessFile raf = new RandomAccessFile(logFile, "r")) {
+            long fileLength = raf.length();
+
+            // nearest entry
+            File indexFile = indexFile(logFile);
+            int entryCount = (int) (indexFile.length() / 8);
+            int entry = Math.min((lineNum - 1) / INDEX_INTERVAL, entryCount);
+            long offset = 0;
+            if (entry > 0) {
+                offset = readEntry(indexFile, entry);
+                if (!isLineStart(raf, offset, fileLength)) {
+                    logger.warn(">>>>>>>>>>> xxl-job, log index invalid, rebuild it, logFile:{}", logFile.getPath());
+                    indexFile.delete();
+                    entryCount = 0;
+                    entry = 0;
+                    offset = 0;
+                }
+            }
+            int line = entry * INDEX_INTERVAL + 1;
+            if (line == lineNum) {
+                return offset;
+            }
+
+            // scan forward, collect new entry
+            List<Long> newEntries = new ArrayList<Long>();
+            byte[] buffer = new byte[SCAN_BUFFER_SIZE];
+            long result = fileLength;
+            raf.seek(offset);
+            long position = offset;
+            int readLen;
+            scan:
+            while ((readLen = raf.read(buffer)) > 0) {
+                for (int i = 0; i < readLen; i++) {
+                    if (buffer[i] != '\n') {
+                        continue;
+                    }
+                    line++;
+                    long lineStart = position + i + 1;
+                    if ((line - 1) % INDEX_INTERVAL == 0 && (line - 1) / INDEX_INTERVAL == entryCount + newEntries.size() + 1) {
+                        newEntries.add(lineStart);
+                    }
+                    if (line == lineNum) {
+                        result = lineStart;
+                        break scan;
+                    }
+                }
+                position += readLen;
+            }
+
+            // append entry
+            if (newEntries.size() > 0) {
+                writeEntries(indexFile, entryCount + 1, newEntries);
+            }
+            return result;
+        }
+    }
+
+    private static long readEntry(File indexFile, int entry) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(indexFile, "r")) {
+            raf.seek((long) (entry - 1) * 8);
+            return raf.readLong();
+        }
+    }
+
+    private static boolean isLineStart(RandomAccessFile raf, long offset, long fileLength) throws IOException {
+        if (offset <= 0 || offset > fileLength) {
+            return false;
+        }
+        raf.seek(offset - 1);
+        return raf.read() == '\n';
+    }
+
+    private static void writeEntries(File indexFile, int fromEntry, List<Long> entries) {
+        ByteBuffer buffer = ByteBuffer.allocate(entries.size() * 8);
+        for (Long entry: entries) {
+            buffer.putLong(entry);
+        }
+        buffer.flip();
+        try (FileChannel channel = FileChannel.open(indexFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            long position = (long) (fromEntry - 1) * 8;
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+        } catch (IOException e) {
+            logger.error(e.getMessage(), e);
+        }
+    }
+
+}
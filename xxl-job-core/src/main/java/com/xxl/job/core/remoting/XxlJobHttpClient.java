@@ -0,0 +1,669 @@
+package com.xxl.job.core.remoting;
+
+import com.xxl.job.core.biz.model.ReturnT;
+import com.xxl.job.core.serializer.SerializerEnum;
+import com.xxl.job.core.util.GsonTool;
+import com.xxl.job.core.util.XxlJobRemotingUtil;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.*;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.handler.codec.http.*;
+import io.netty.handler.ssl.SslContext;
+import io.netty.handler.ssl.SslContextBuilder;
+import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
+import io.netty.handler.timeout.IdleStateEvent;
+import io.netty.handler.timeout.IdleStateHandler;
+import io.netty.util.CharsetUtil;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+import io.netty.util.TimerTask;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Type;
+import java.net.URI;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * async http client, netty
+ *
+ *      a、pool：keep-alive connection pool per address (scheme + host + port), max "MAX_CONNECTIONS"; pool without connection and unused for "POOL_IDLE_TIMEOUT" evicted (address gone away);
+ *      b、pipelining：request carry "XXL-JOB-REQUEST-ID", server echo it; connection allow "MAX_PIPELINE" in-flight request after server echo proved, else one;
+ *      c、async：result is CompletableFuture, always complete normally (error as FAIL ReturnT), completed on io/timer thread, use async stage for block work;
+ *      d、serializer：prefer serializer used only after server advertise it by "XXL-JOB-FEATURES", else json;
+ *
+ * @author xuxueli 2026-10-18
+ */
+public class XxlJobHttpClient {
+    private static final Logger logger = LoggerFactory.getLogger(XxlJobHttpClient.class);
+
+    private static volatile XxlJobHttpClient instance;
+    public static XxlJobHttpClient getInstance() {
+        if (instance == null) {
+            synchronized (XxlJobHttpClient.class) {
+                if (instance == null) {
+                    instance = new XxlJobHttpClient();
+                }
+            }
+        }
+        return instance;
+    }
+    public static void destroy() {
+        synchronized (XxlJobHttpClient.class) {
+            if (instance != null) {
+                instance.stop();
+                instance = null;
+            }
+        }
+    }
+
+    public static final int MAX_CONNECTIONS = 8;        // connection per address
+    public static final int MAX_PIPELINE = 32;          // in-flight request per connection
+    public static final int MAX_PENDING = 10000;        // request wait for connection, per address
+    public static final int CONNECT_TIMEOUT = 3;        // second
+    public static final int IDLE_TIMEOUT = 60;          // second, close idle connection before server does (EmbedServer, 90s)
+    public static final int MAX_CONTENT_LENGTH = 5 * 1024 * 1024;
+    public static final int POOL_IDLE_TIMEOUT = IDLE_TIMEOUT * 2;   // second, evict pool unused, after its connection closed by idle
+    public static final int POOL_EVICT_INTERVAL = 60;               // second
+
+    private final EventLoopGroup workerGroup;
+    private final HashedWheelTimer timer;
+    private final SslContext sslContext;
+    private final ConcurrentMap<String, ConnectionPool> poolMap = new ConcurrentHashMap<>();
+    private final AtomicLong requestIdGen = new AtomicLong();
+    private volatile boolean stopped = false;
+
+    private XxlJobHttpClient() {
+        workerGroup = new NioEventLoopGroup(0, new DefaultThreadFactory("xxl-job, XxlJobHttpClient-worker", true));
+        timer = new HashedWheelTimer(new DefaultThreadFactory("xxl-job, XxlJobHttpClient-timer", true), 10, TimeUnit.MILLISECONDS);
+
+        // trust-https, same as XxlJobRemotingUtil
+        SslContext sslContext = null;
+        try {
+            sslContext = SslContextBuilder.forClient().trustManager(InsecureTrustManagerFactory.INSTANCE).build();
+        } catch (Exception e) {
+            logger.error(e.getMessage(), e);
+        }
+        this.sslContext = sslContext;
+
+        // evict idle pool
+        timer.newTimeout(new TimerTask() {
+            @Override
+            public void run(Timeout t) throws Exception {
+                if (stopped) {
+                    return;
+                }
+                try {
+                    evictIdlePool(System.currentTimeMillis());
+                } catch (Exception e) {
+                    logger.error(">>>>>>>>>>> xxl-job, XxlJobHttpClient evict idle pool error", e);
+                }
+                if (!stopped) {
+                    timer.newTimeout(this, POOL_EVICT_INTERVAL, TimeUnit.SECONDS);
+                }
+            }
+        }, POOL_EVICT_INTERVAL, TimeUnit.SECONDS);
+    }
+
+    private void stop() {
+        stopped = true;
+        for (ConnectionPool pool: poolMap.values()) {
+            pool.close();
+        }
+        poolMap.clear();
+        timer.stop();
+        workerGroup.shutdownGracefully();
+        logger.info(">>>>>>>>>>> xxl-job, XxlJobHttpClient stop");
+    }
+
+    private void evictIdlePool(long now) {
+        for (Map.Entry<String, ConnectionPool> entry: poolMap.entrySet()) {
+            ConnectionPool pool = entry.getValue();
+            if (pool.evictIfIdle(now) && poolMap.remove(entry.getKey(), pool)) {
+                XxlJobRemotingUtil.removeRemoteFeatures(pool.url);
+                logger.debug(">>>>>>>>>>> xxl-job, XxlJobHttpClient evict idle pool, address:{}", entry.getKey());
+            }
+        }
+    }
+
+
+    // ---------------------- post ----------------------
+
+    /**
+     * post, sync
+     *
+     * @see #postAsync(String, String, int, Object, Class)
+     */
+    public <T> ReturnT<T> post(String url, String accessToken, int timeout, Object requestObj, Class<T> returnTargClassOfT) {
+        return postAsync(url, accessToken, timeout, requestObj, returnTargClassOfT).join();
+    }
+
+    /**
+     * post, async
+     *
+     * @param url
+     * @param accessToken
+     * @param timeout               second, from request submit to response
+     * @param requestObj
+     * @param returnTargClassOfT
+     * @return  future, always complete normally, error as FAIL ReturnT
+     */
+    public <T> CompletableFuture<ReturnT<T>> postAsync(String url, String accessToken, int timeout, Object requestObj, Class<T> returnTargClassOfT) {
+        return postAsync(url, accessToken, timeout, requestObj, new GsonTool.ParameterizedType4ReturnT(ReturnT.class, new Type[]{returnTargClassOfT}));
+    }
+
+    /**
+     * post, async
+     *
+     * @param url
+     * @param accessToken
+     * @param timeout               second, from request submit to response
+     * @param requestObj
+     * @param returnType            full type of response, such as "ReturnT<List<ReturnT<String>>>"
+     * @return  future, always complete normally, error as FAIL ReturnT
+     */
+    public <T> CompletableFuture<ReturnT<T>> postAsync(String url, String accessToken, int timeout, Object requestObj, Type returnType) {
+        return postAsync(url, accessToken, timeout, requestObj, returnType, SerializerEnum.JSON);
+    }
+
+    /**
+     * post, async
+     *
+     * @param url
+     * @param accessToken
+     * @param timeout               second, from request submit to response
+     * @param requestObj
+     * @param returnType            full type of response, such as "ReturnT<List<ReturnT<String>>>"
+     * @param serializer            prefer serializer, used if server support, else json
+     * @return  future, always complete normally, error as FAIL ReturnT
+     */
+    public <T> CompletableFuture<ReturnT<T>> postAsync(String url, String accessToken, int timeout, Object requestObj, Type returnType, SerializerEnum serializer) {
+        CompletableFuture<ReturnT<T>> future = new CompletableFuture<>();
+        try {
+            if (stopped) {
+                future.complete(new ReturnT<T>(ReturnT.FAIL_CODE, "xxl-job remoting error(client stopped), for url : " + url));
+                return future;
+            }
+
+            // address
+            URI uri = new URI(url);
+            boolean useHttps = "https".equalsIgnoreCase(uri.getScheme());
+            String host = uri.getHost();
+            if (host == null) {
+                future.complete(new ReturnT<T>(ReturnT.FAIL_CODE, "xxl-job remoting error(url invalid), for url : " + url));
+                return future;
+            }
+            int port = uri.getPort()!=-1?uri.getPort():(useHttps?443:80);
+            String path = (uri.getRawPath()!=null && uri.getRawPath().length()>0)?uri.getRawPath():"/";
+            if (uri.getRawQuery() != null) {
+                path = path + "?" + uri.getRawQuery();
+            }
+
+            // request
+            SerializerEnum requestSerializer = XxlJobRemotingUtil.selectSerializer(url, serializer);
+            byte[] requestBody = requestSerializer.getSerializer().serialize(requestObj);
+            String requestId = String.valueOf(requestIdGen.incrementAndGet());
+
+            FullHttpRequest request = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, path, Unpooled.wrappedBuffer(requestBody));
+            request.headers().set(HttpHeaderNames.HOST, host + ":" + port);
+            request.headers().set(HttpHeaderNames.CONNECTION, HttpHeaderValues.KEEP_ALIVE);
+            request.headers().set(HttpHeaderNames.CONTENT_TYPE, requestSerializer.getContentType());
+            request.headers().set(HttpHeaderNames.ACCEPT_CHARSET, "application/json;charset=UTF-8");
+            request.headers().set(HttpHeaderNames.CONTENT_LENGTH, requestBody.length);
+            request.headers().set(XxlJobRemotingUtil.XXL_JOB_REQUEST_ID, requestId);
+            if (requestSerializer != SerializerEnum.JSON) {
+                request.headers().set(XxlJobRemotingUtil.XXL_JOB_SERIALIZER, requestSerializer.name());
+            }
+            if (accessToken!=null && accessToken.trim().length()>0) {
+                request.headers().set(XxlJobRemotingUtil.XXL_JOB_ACCESS_TOKEN, accessToken);
+            }
+
+            // send
+            String poolKey = (useHttps?"https://":"http://") + host + ":" + port;
+            ConnectionPool pool;
+            while (true) {
+                pool = poolMap.get(poolKey);
+                if (pool == null) {
+                    poolMap.putIfAbsent(poolKey, new ConnectionPool(url, host, port, useHttps));
+                    pool = poolMap.get(poolKey);
+                }
+                if (pool != null && pool.touch()) {
+                    break;
+                }
+                // evicted, removed from map later, lookup again
+                if (pool != null) {
+                    poolMap.remove(poolKey, pool);
+                }
+            }
+
+            final PendingRequest<T> pending = new PendingRequest<T>(requestId, request, url, returnType, future);
+            final ConnectionPool finalPool = pool;
+            pending.timeout = timer.newTimeout(new TimerTask() {
+                @Override
+                public void run(Timeout t) throws Exception {
+                    finalPool.onTimeout(pending, timeout);
+                }
+            }, timeout, TimeUnit.SECONDS);
+            pool.send(pending);
+
+        } catch (Exception e) {
+            logger.error(e.getMessage(), e);
+            future.complete(new ReturnT<T>(ReturnT.FAIL_CODE, "xxl-job remoting error("+ e.getMessage() +"), for url : " + url));
+        }
+        return future;
+    }
+
+
+    // ---------------------- pending request ----------------------
+
+    private static class PendingRequest<T> {
+        private final String requestId;
+        private final FullHttpRequest request;
+        private final String url;
+        private final Type returnType;
+        private final CompletableFuture<ReturnT<T>> future;
+        private volatile Timeout timeout;
+        private PooledChannel channel;
+
+        private PendingRequest(String requestId, FullHttpRequest request, String url, Type returnType, CompletableFuture<ReturnT<T>> future) {
+            this.requestId = requestId;
+            this.request = request;
+            this.url = url;
+            this.returnType = returnType;
+            this.future = future;
+        }
+
+        private void complete(FullHttpResponse response) {
+            // valid StatusCode
+            int statusCode = response.status().code();
+            if (statusCode != 200) {
+                fail("xxl-job remoting fail, StatusCode("+ statusCode +") invalid. for url : " + url);
+                return;
+            }
+
+            // features and serializer of response
+            XxlJobRemotingUtil.refreshRemoteFeatures(url, response.headers().get(XxlJobRemotingUtil.XXL_JOB_FEATURES));
+            SerializerEnum responseSerializer = SerializerEnum.match(response.headers().get(XxlJobRemotingUtil.XXL_JOB_SERIALIZER), SerializerEnum.JSON);
+
+            // parse returnT
+            try {
+                ReturnT<T> returnT = responseSerializer.getSerializer().deserialize(ByteBufUtil.getBytes(response.content()), returnType);
+                complete(returnT);
+            } catch (Exception e) {
+                String resultText = response.content().toString(CharsetUtil.UTF_8);
+                logger.error("xxl-job remoting (url="+url+") response content invalid("+ resultText +").", e);
+                fail("xxl-job remoting (url="+url+") response content invalid("+ resultText +").");
+            }
+        }
+
+        private void fail(String msg) {
+            complete(new ReturnT<T>(ReturnT.FAIL_CODE, msg));
+        }
+
+        private void complete(ReturnT<T> returnT) {
+            Timeout timeout = this.timeout;
+            if (timeout != null) {
+                timeout.cancel();
+            }
+            future.complete(returnT);
+        }
+    }
+
+
+    // ---------------------- connection pool ----------------------
+
+    private static class PooledChannel {
+        private volatile Channel channel;
+        private final LinkedHashMap<String, PendingRequest<?>> inflight = new LinkedHashMap<>();
+        private boolean pipelining = false;     // server echo request id, allow pipelining
+        private boolean closed = false;
+
+        private boolean available() {
+            return !closed && channel != null && inflight.size() < (pipelining?MAX_PIPELINE:1);
+        }
+    }
+
+    private class ConnectionPool {
+        private final String url;
+        private final String host;
+        private final int port;
+        private final boolean useHttps;
+
+        private final List<PooledChannel> channels = new ArrayList<>();
+        private final ArrayDeque<PendingRequest<?>> waiters = new ArrayDeque<>();
+        private int connecting = 0;
+        private long lastUseTime = System.currentTimeMillis();
+        private boolean evicted = false;
+
+        private ConnectionPool(String url, String host, int port, boolean useHttps) {
+            this.url = url;
+            this.host = host;
+            this.port = port;
+            this.useHttps = useHttps;
+        }
+
+        /**
+         * mark used before send, false if evicted
+         */
+        private synchronized boolean touch() {
+            if (evicted) {
+                return false;
+            }
+            lastUseTime = System.currentTimeMillis();
+            return true;
+        }
+
+        /**
+         * evict if no connection, no request and unused for "POOL_IDLE_TIMEOUT"; not used any more once evicted
+         */
+        private synchronized boolean evictIfIdle(long now) {
+            if (!evicted
+                    && channels.isEmpty() && waiters.isEmpty() && connecting == 0
+                    && now - lastUseTime > POOL_IDLE_TIMEOUT * 1000L) {
+                evicted = true;
+            }
+            return evicted;
+        }
+
+        private void send(PendingRequest<?> pending) {
+            boolean connect = false;
+            boolean full = false;
+            synchronized (this) {
+                PooledChannel target = select();
+                if (target != null) {
+                    assign(target, pending);
+                } else if (waiters.size() >= MAX_PENDING) {
+                    full = true;
+                } else {
+                    waiters.add(pending);
+                    connect = needConnect();
+                }
+            }
+
+            if (full) {
+                pending.fail("xxl-job remoting error(too many pending request), for url : " + pending.url);
+            } else if (pending.channel != null) {
+                write(pending);
+            }
+            if (connect) {
+                connect();
+            }
+        }
+
+        /**
+         * least in-flight available channel, under lock
+         */
+        private PooledChannel select() {
+            PooledChannel target = null;
+            for (PooledChannel item: channels) {
+                if (item.available() && (target == null || item.inflight.size() < target.inflight.size())) {
+                    target = item;
+                }
+            }
+            return target;
+        }
+
+        private void assign(PooledChannel target, PendingRequest<?> pending) {
+            target.inflight.put(pending.requestId, pending);
+            pending.channel = target;
+        }
+
+        /**
+         * new connection if waiters more than connecting can serve, under lock
+         */
+        private boolean needConnect() {
+            if (stopped || channels.size() + connecting >= MAX_CONNECTIONS) {
+                return false;
+            }
+            if (waiters.size() > connecting * MAX_PIPELINE) {
+                connecting++;
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * assign waiters to available channel, under lock
+         */
+        private List<PendingRequest<?>> drainWaiters() {
+            List<PendingRequest<?>> drained = null;
+            while (!waiters.isEmpty()) {
+                PooledChannel target = select();
+                if (target == null) {
+                    break;
+                }
+                PendingRequest<?> pending = waiters.poll();
+                assign(target, pending);
+                if (drained == null) {
+                    drained = new ArrayList<>();
+                }
+                drained.add(pending);
+            }
+            return drained;
+        }
+
+        private void writeAll(List<PendingRequest<?>> drained) {
+            if (drained != null) {
+                for (PendingRequest<?> pending: drained) {
+                    write(pending);
+                }
+            }
+        }
+
+        private void write(PendingRequest<?> pending) {
+            final Channel channel = pending.channel.channel;
+            channel.writeAndFlush(pending.request).addListener(new ChannelFutureListener() {
+                @Override
+                public void operationComplete(ChannelFuture future) throws Exception {
+                    if (!future.isSuccess()) {
+                        // broken connection, in-flight request fail on channelInactive
+                        logger.debug(">>>>>>>>>>> xxl-job, XxlJobHttpClient write fail, host:{}, port:{}", host, port, future.cause());
+                        channel.close();
+                    }
+                }
+            });
+        }
+
+        private void connect() {
+            final PooledChannel pooledChannel = new PooledChannel();
+            Bootstrap bootstrap = new Bootstrap();
+            bootstrap.group(workerGroup)
+                    .channel(NioSocketChannel.class)
+                    .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, CONNECT_TIMEOUT * 1000)
+                    .option(ChannelOption.SO_KEEPALIVE, true)
+                    .option(ChannelOption.TCP_NODELAY, true)
+                    .handler(new ChannelInitializer<SocketChannel>() {
+                        @Override
+                        public void initChannel(SocketChannel channel) throws Exception {
+                            if (useHttps && sslContext != null) {
+                                channel.pipeline().addLast(sslContext.newHandler(channel.alloc(), host, port));
+                            }
+                            channel.pipeline()
+                                    .addLast(new IdleStateHandler(0, 0, IDLE_TIMEOUT, TimeUnit.SECONDS))
+                                    .addLast(new HttpClientCodec())
+                                    .addLast(new HttpObjectAggregator(MAX_CONTENT_LENGTH))
+                                    .addLast(new ResponseHandler(ConnectionPool.this, pooledChannel));
+                        }
+                    });
+
+            try {
+                bootstrap.connect(host, port).addListener(new ChannelFutureListener() {
+                    @Override
+                    public void operationComplete(ChannelFuture future) throws Exception {
+                        if (future.isSuccess()) {
+                            onConnected(pooledChannel, future.channel());
+                        } else {
+                            onConnectFail(future.cause());
+                        }
+                    }
+                });
+            } catch (Exception e) {
+                onConnectFail(e);
+            }
+        }
+
+        private void onConnected(PooledChannel pooledChannel, Channel channel) {
+            List<PendingRequest<?>> drained = null;
+            boolean closed;
+            synchronized (this) {
+                pooledChannel.channel = channel;
+                closed = pooledChannel.closed;
+                if (!closed) {
+                    connecting--;
+                    channels.add(pooledChannel);
+                    drained = drainWaiters();
+                }
+            }
+            if (closed) {
+                // closed before connect listener called
+                onConnectFail(null);
+                return;
+            }
+            writeAll(drained);
+        }
+
+        private void onConnectFail(Throwable cause) {
+            List<PendingRequest<?>> failed = null;
+            synchronized (this) {
+                connecting--;
+                if (channels.isEmpty() && connecting == 0) {
+                    failed = new ArrayList<PendingRequest<?>>(waiters);
+                    waiters.clear();
+                }
+            }
+            if (failed != null) {
+                String errorMsg = (cause!=null)?cause.getMessage():"connection closed";
+                for (PendingRequest<?> pending: failed) {
+                    pending.fail("xxl-job remoting error("+ errorMsg +"), for url : " + pending.url);
+                }
+            }
+        }
+
+        private void onResponse(PooledChannel pooledChannel, FullHttpResponse response) {
+            String requestId = response.headers().get(XxlJobRemotingUtil.XXL_JOB_REQUEST_ID);
+            PendingRequest<?> pending = null;
+            List<PendingRequest<?>> drained;
+            synchronized (this) {
+                if (requestId != null) {
+                    pooledChannel.pipelining = true;
+                    pending = pooledChannel.inflight.remove(requestId);
+                } else {
+                    // server not echo request id (old version), only one in-flight request
+                    Iterator<PendingRequest<?>> iterator = pooledChannel.inflight.values().iterator();
+                    if (iterator.hasNext()) {
+                        pending = iterator.next();
+                        iterator.remove();
+                    }
+                }
+                drained = drainWaiters();
+            }
+            if (pending != null) {
+                pending.complete(response);
+            }
+            writeAll(drained);
+        }
+
+        private void onClosed(PooledChannel pooledChannel) {
+            List<PendingRequest<?>> failed;
+            boolean connect;
+            synchronized (this) {
+                pooledChannel.closed = true;
+                channels.remove(pooledChannel);
+                failed = new ArrayList<PendingRequest<?>>(pooledChannel.inflight.values());
+                pooledChannel.inflight.clear();
+                connect = !waiters.isEmpty() && needConnect();
+            }
+            for (PendingRequest<?> pending: failed) {
+                pending.fail("xxl-job remoting error(connection closed), for url : " + pending.url);
+            }
+            if (connect) {
+                connect();
+            }
+        }
+
+        private void onTimeout(PendingRequest<?> pending, int timeout) {
+            Channel closeChannel = null;
+            synchronized (this) {
+                if (!waiters.remove(pending) && pending.channel != null) {
+                    if (pending.channel.inflight.remove(pending.requestId) != null && !pending.channel.pipelining) {
+                        // response can not be matched without request id
+                        closeChannel = pending.channel.channel;
+                    }
+                }
+            }
+            pending.fail("xxl-job remoting error(Read timed out, "+ timeout +"s), for url : " + pending.url);
+            if (closeChannel != null) {
+                closeChannel.close();
+            }
+        }
+
+        private void close() {
+            List<PooledChannel> closeChannels;
+            List<PendingRequest<?>> failed;
+            synchronized (this) {
+                closeChannels = new ArrayList<>(channels);
+                failed = new ArrayList<PendingRequest<?>>(waiters);
+                waiters.clear();
+            }
+            for (PendingRequest<?> pending: failed) {
+                pending.fail("xxl-job remoting error(client stopped), for url : " + pending.url);
+            }
+            for (PooledChannel item: closeChannels) {
+                if (item.channel != null) {
+                    item.channel.close();
+                }
+            }
+        }
+    }
+
+
+    // ---------------------- handler ----------------------
+
+    private static class ResponseHandler extends SimpleChannelInboundHandler<FullHttpResponse> {
+        private final ConnectionPool pool;
+        private final PooledChannel pooledChannel;
+
+        private ResponseHandler(ConnectionPool pool, PooledChannel pooledChannel) {
+            this.pool = pool;
+            this.pooledChannel = pooledChannel;
+        }
+
+        @Override
+        protected void channelRead0(ChannelHandlerContext ctx, FullHttpResponse msg) throws Exception {
+            pool.onResponse(pooledChannel, msg);
+        }
+
+        @Override
+        public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+            pool.onClosed(pooledChannel);
+            super.channelInactive(ctx);
+        }
+
+        @Override
+        public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+            logger.error(">>>>>>>>>>> xxl-job, XxlJobHttpClient caught exception", cause);
+            ctx.close();
+        }
+
+        @Override
+        public void userEventTriggered(ChannelHandlerContext ctx, Object evt) throws Exception {
+            if (evt instanceof IdleStateEvent) {
+                ctx.channel().close();      // idle, close before server does
+                logger.debug(">>>>>>>>>>> xxl-job, XxlJobHttpClient close an idle channel.");
+            } else {
+                super.userEventTriggered(ctx, evt);
+            }
+        }
+    }
+
+}
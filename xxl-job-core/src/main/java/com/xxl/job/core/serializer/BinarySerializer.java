@@ -0,0 +1,564 @@
+package com.xxl.job.core.serializer;
+
+import com.xxl.job.core.biz.model.*;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * binary serializer, compact tag-length-value codec
+ *
+ *      a、field：key (varint, "tag << 3 | wire type") + value; wire type 0 = varint (zigzag), 2 = length-prefixed (string / message);
+ *      b、schema-stable：each field has a fixed tag, absent field take default value, unknown tag is skipped; new field must use new tag, never reuse;
+ *      c、message：model registered in "CODEC_MAP"; List as repeated field 1 (null item not support); ReturnT content decoded by generic argument;
+ *      d、empty：empty list and all-default model encoded as empty bytes, decoded as empty message (empty list, default model), same as null for scalar;
+ *
+ * @author xuxueli 2026-10-18
+ */
+public class BinarySerializer implements Serializer {
+
+    private static final int WIRE_VARINT = 0;
+    private static final int WIRE_LENGTH = 2;
+
+    @Override
+    public byte[] serialize(Object obj) {
+        if (obj == null) {
+            return new byte[0];
+        }
+        BinaryWriter writer = new BinaryWriter(256);
+        writeMessage(writer, obj);
+        return writer.toByteArray();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T deserialize(byte[] data, Type type) {
+        if (data == null) {
+            return null;
+        }
+        // empty as empty message, not null
+        return (T) readMessage(new BinaryReader(data, 0, data.length), type);
+    }
+
+
+    // ---------------------- message ----------------------
+
+    @SuppressWarnings("unchecked")
+    private static void writeMessage(BinaryWriter writer, Object obj) {
+        if (obj instanceof List) {
+            for (Object item: (List<?>) obj) {
+                if (item == null) {
+                    throw new IllegalArgumentException("xxl-job binary serializer, null item in list not support.");
+                }
+                writeValue(writer, 1, item);
+            }
+        } else if (obj instanceof ReturnT) {
+            ReturnT<?> returnT = (ReturnT<?>) obj;
+            writer.writeInt(1, returnT.getCode());
+            writer.writeString(2, returnT.getMsg());
+            writeValue(writer, 3, returnT.getContent());
+        } else {
+            MessageCodec<Object> codec = (MessageCodec<Object>) CODEC_MAP.get(obj.getClass());
+            if (codec != null) {
+                codec.write(writer, obj);
+            } else {
+                // scalar, as field 1
+                writeValue(writer, 1, obj);
+            }
+        }
+    }
+
+    private static Object readMessage(BinaryReader reader, Type type) {
+        Class<?> rawClass = rawClass(type);
+        if (List.class.isAssignableFrom(rawClass)) {
+            Type itemType = typeArgument(type);
+            List<Object> list = new ArrayList<>();
+            while (reader.hasRemaining()) {
+                int key = reader.readKey();
+                if ((key >>> 3) == 1) {
+                    list.add(readValue(reader, key, itemType));
+                } else {
+                    reader.skip(key);
+                }
+            }
+            return list;
+        } else if (rawClass == ReturnT.class) {
+            Type contentType = typeArgument(type);
+            ReturnT<Object> returnT = new ReturnT<Object>();
+            while (reader.hasRemaining()) {
+                int key = reader.readKey();
+                switch (key >>> 3) {
+                    case 1: returnT.setCode(reader.readInt(key)); break;
+                    case 2: returnT.setMsg(reader.readString(key)); break;
+                    case 3: returnT.setContent(readValue(reader, key, contentType)); break;
+                    default: reader.skip(key);
+                }
+            }
+            return returnT;
+        } else {
+            MessageCodec<?> codec = CODEC_MAP.get(rawClass);
+            if (codec != null) {
+                return codec.read(reader);
+            }
+
+            // scalar, as field 1
+            Object value = null;
+            while (reader.hasRemaining()) {
+                int key = reader.readKey();
+                if ((key >>> 3) == 1) {
+                    value = readValue(reader, key, type);
+                } else {
+                    reader.skip(key);
+                }
+            }
+            return value;
+        }
+    }
+
+    private static void writeValue(BinaryWriter writer, int tag, Object value) {
+        if (value == null) {
+            return;
+        }
+        if (value instanceof String) {
+            writer.writeKey(tag, WIRE_LENGTH);
+            writer.writeBytes(((String) value).getBytes(StandardCharsets.UTF_8));
+        } else if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            writer.writeKey(tag, WIRE_VARINT);
+            writer.writeVarint(zigzag(((Number) value).longValue()));
+        } else if (value instanceof Boolean) {
+            writer.writeKey(tag, WIRE_VARINT);
+            writer.writeVarint((Boolean) value ? 1 : 0);
+        } else if (value instanceof List || value instanceof ReturnT || CODEC_MAP.containsKey(value.getClass())) {
+            writer.writeKey(tag, WIRE_LENGTH);
+            int start = writer.position();
+            writeMessage(writer, value);
+            writer.prefixLength(start);
+        } else {
+            throw new IllegalArgumentException("xxl-job binary serializer, type not support: " + value.getClass().getName());
+        }
+    }
+
+    private static Object readValue(BinaryReader reader, int key, Type type) {
+        Class<?> rawClass = rawClass(type);
+        if (rawClass == String.class) {
+            return reader.readString(key);
+        } else if (rawClass == Integer.class || rawClass == int.class) {
+            return reader.readInt(key);
+        } else if (rawClass == Long.class || rawClass == long.class) {
+            return reader.readLong(key);
+        } else if (rawClass == Boolean.class || rawClass == boolean.class) {
+            return reader.readBoolean(key);
+        } else if (rawClass == Object.class) {
+            // type unknown, raw generic
+            return (key & 7) == WIRE_VARINT ? (Object) reader.readLong(key) : reader.readString(key);
+        } else {
+            return readMessage(reader.readMessage(key), type);
+        }
+    }
+
+    private static Class<?> rawClass(Type type) {
+        if (type instanceof Class) {
+            return (Class<?>) type;
+        } else if (type instanceof ParameterizedType) {
+            return rawClass(((ParameterizedType) type).getRawType());
+        }
+        return Object.class;
+    }
+
+    private static Type typeArgument(Type type) {
+        if (type instanceof ParameterizedType) {
+            Type[] args = ((ParameterizedType) type).getActualTypeArguments();
+            if (args.length > 0) {
+                return args[0];
+            }
+        }
+        return Object.class;
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+
+    // ---------------------- model codec ----------------------
+
+    private interface MessageCodec<T> {
+        void write(BinaryWriter writer, T obj);
+        T read(BinaryReader reader);
+    }
+
+    private static final Map<Class<?>, MessageCodec<?>> CODEC_MAP = new HashMap<>();
+    static {
+        CODEC_MAP.put(TriggerParam.class, new MessageCodec<TriggerParam>() {
+            @Override
+            public void write(BinaryWriter writer, TriggerParam obj) {
+                writer.writeInt(1, obj.getJobId());
+                writer.writeString(2, obj.getExecutorHandler());
+                writer.writeString(3, obj.getExecutorParams());
+                writer.writeString(4, obj.getExecutorBlockStrategy());
+                writer.writeInt(5, obj.getExecutorTimeout());
+                writer.writeLong(6, obj.getLogId());
+                writer.writeLong(7, obj.getLogDateTime());
+                writer.writeString(8, obj.getGlueType());
+                writer.writeString(9, obj.getGlueSource());
+                writer.writeLong(10, obj.getGlueUpdatetime());
+                writer.writeInt(11, obj.getBroadcastIndex());
+                writer.writeInt(12, obj.getBroadcastTotal());
+                writer.writeString(13, obj.getGlueSourceHash());
+            }
+            @Override
+            public TriggerParam read(BinaryReader reader) {
+                TriggerParam obj = new TriggerParam();
+                while (reader.hasRemaining()) {
+                    int key = reader.readKey();
+                    switch (key >>> 3) {
+                        case 1: obj.setJobId(reader.readInt(key)); break;
+                        case 2: obj.setExecutorHandler(reader.readString(key)); break;
+                        case 3: obj.setExecutorParams(reader.readString(key)); break;
+                        case 4: obj.setExecutorBlockStrategy(reader.readString(key)); break;
+                        case 5: obj.setExecutorTimeout(reader.readInt(key)); break;
+                        case 6: obj.setLogId(reader.readLong(key)); break;
+                        case 7: obj.setLogDateTime(reader.readLong(key)); break;
+                        case 8: obj.setGlueType(reader.readString(key)); break;
+                        case 9: obj.setGlueSource(reader.readString(key)); break;
+                        case 10: obj.setGlueUpdatetime(reader.readLong(key)); break;
+                        case 11: obj.setBroadcastIndex(reader.readInt(key)); break;
+                        case 12: obj.setBroadcastTotal(reader.readInt(key)); break;
+                        case 13: obj.setGlueSourceHash(reader.readString(key)); break;
+                        default: reader.skip(key);
+                    }
+                }
+                return obj;
+            }
+        });
+        CODEC_MAP.put(HandleCallbackParam.class, new MessageCodec<HandleCallbackParam>() {
+            @Override
+            public void write(BinaryWriter writer, HandleCallbackParam obj) {
+                writer.writeLong(1, obj.getLogId());
+                writer.writeLong(2, obj.getLogDateTim());
+                writer.writeInt(3, obj.getHandleCode());
+                writer.writeString(4, obj.getHandleMsg());
+            }
+            @Override
+            public HandleCallbackParam read(BinaryReader reader) {
+                HandleCallbackParam obj = new HandleCallbackParam();
+                while (reader.hasRemaining()) {
+                    int key = reader.readKey();
+                    switch (key >>> 3) {
+                        case 1: obj.setLogId(reader.readLong(key)); break;
+                        case 2: obj.setLogDateTim(reader.readLong(key)); break;
+                        case 3: obj.setHandleCode(reader.readInt(key)); break;
+                        case 4: obj.setHandleMsg(reader.readString(key)); break;
+                        default: reader.skip(key);
+                    }
+                }
+                return obj;
+            }
+        });
+        CODEC_MAP.put(IdleBeatParam.class, new MessageCodec<IdleBeatParam>() {
+            @Override
+            public void write(BinaryWriter writer, IdleBeatParam obj) {
+                writer.writeInt(1, obj.getJobId());
+            }
+            @Override
+            public IdleBeatParam read(BinaryReader reader) {
+                IdleBeatParam obj = new IdleBeatParam();
+                while (reader.hasRemaining()) {
+                    int key = reader.readKey();
+                    switch (key >>> 3) {
+                        case 1: obj.setJobId(reader.readInt(key)); break;
+                        default: reader.skip(key);
+                    }
+                }
+                return obj;
+            }
+        });
+        CODEC_MAP.put(KillParam.class, new MessageCodec<KillParam>() {
+            @Override
+            public void write(BinaryWriter writer, KillParam obj) {
+                writer.writeInt(1, obj.getJobId());
+            }
+            @Override
+            public KillParam read(BinaryReader reader) {
+                KillParam obj = new KillParam();
+                while (reader.hasRemaining()) {
+                    int key = reader.readKey();
+                    switch (key >>> 3) {
+                        case 1: obj.setJobId(reader.readInt(key)); break;
+                        default: reader.skip(key);
+                    }
+                }
+                return obj;
+            }
+        });
+        CODEC_MAP.put(LogParam.class, new MessageCodec<LogParam>() {
+            @Override
+            public void write(BinaryWriter writer, LogParam obj) {
+                writer.writeLong(1, obj.getLogDateTim());
+                writer.writeLong(2, obj.getLogId());
+                writer.writeInt(3, obj.getFromLineNum());
+                writer.writeLong(4, obj.getFromOffset());
+                writer.writeInt(5, obj.getMaxBytes());
+            }
+            @Override
+            public LogParam read(BinaryReader reader) {
+                LogParam obj = new LogParam();
+                while (reader.hasRemaining()) {
+                    int key = reader.readKey();
+                    switch (key >>> 3) {
+                        case 1: obj.setLogDateTim(reader.readLong(key)); break;
+                        case 2: obj.setLogId(reader.readLong(key)); break;
+                        case 3: obj.setFromLineNum(reader.readInt(key)); break;
+                        case 4: obj.setFromOffset(reader.readLong(key)); break;
+                        case 5: obj.setMaxBytes(reader.readInt(key)); break;
+                        default: reader.skip(key);
+                    }
+                }
+                return obj;
+            }
+        });
+        CODEC_MAP.put(LogResult.class, new MessageCodec<LogResult>() {
+            @Override
+            public void write(BinaryWriter writer, LogResult obj) {
+                writer.writeInt(1, obj.getFromLineNum());
+                writer.writeInt(2, obj.getToLineNum());
+                writer.writeString(3, obj.getLogContent());
+                writer.writeBoolean(4, obj.isEnd());
+                writer.writeLong(5, obj.getFromOffset());
+                writer.writeLong(6, obj.getToOffset());
+            }
+            @Override
+            public LogResult read(BinaryReader reader) {
+                LogResult obj = new LogResult();
+                while (reader.hasRemaining()) {
+                    int key = reader.readKey();
+                    switch (key >>> 3) {
+                        case 1: obj.setFromLineNum(reader.readInt(key)); break;
+                        case 2: obj.setToLineNum(reader.readInt(key)); break;
+                        case 3: obj.setLogContent(reader.readString(key)); break;
+                        case 4: obj.setEnd(reader.readBoolean(key)); break;
+                        case 5: obj.setFromOffset(reader.readLong(key)); break;
+                        case 6: obj.setToOffset(reader.readLong(key)); break;
+                        default: reader.skip(key);
+                    }
+                }
+                return obj;
+            }
+        });
+        CODEC_MAP.put(RegistryParam.class, new MessageCodec<RegistryParam>() {
+            @Override
+            public void write(BinaryWriter writer, RegistryParam obj) {
+                writer.writeString(1, obj.getRegistryGroup());
+                writer.writeString(2, obj.getRegistryKey());
+                writer.writeString(3, obj.getRegistryValue());
+            }
+            @Override
+            public RegistryParam read(BinaryReader reader) {
+                RegistryParam obj = new RegistryParam();
+                while (reader.hasRemaining()) {
+                    int key = reader.readKey();
+                    switch (key >>> 3) {
+                        case 1: obj.setRegistryGroup(reader.readString(key)); break;
+                        case 2: obj.setRegistryKey(reader.readString(key)); break;
+                        case 3: obj.setRegistryValue(reader.readString(key)); break;
+                        default: reader.skip(key);
+                    }
+                }
+                return obj;
+            }
+        });
+    }
+
+
+    // ---------------------- writer / reader ----------------------
+
+    private static class BinaryWriter {
+        private byte[] buffer;
+        private int position = 0;
+
+        private BinaryWriter(int capacity) {
+            this.buffer = new byte[capacity];
+        }
+
+        private int position() {
+            return position;
+        }
+
+        private void ensureCapacity(int more) {
+            if (position + more > buffer.length) {
+                byte[] newBuffer = new byte[Math.max(buffer.length << 1, position + more)];
+                System.arraycopy(buffer, 0, newBuffer, 0, position);
+                buffer = newBuffer;
+            }
+        }
+
+        private void writeVarint(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        private void writeKey(int tag, int wireType) {
+            writeVarint((tag << 3) | wireType);
+        }
+
+        private void writeBytes(byte[] bytes) {
+            writeVarint(bytes.length);
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+
+        /**
+         * insert length before data written from "start", shift data by size of length varint
+         */
+        private void prefixLength(int start) {
+            int length = position - start;
+            int size = 1;
+            for (long value = length; (value & ~0x7FL) != 0; value >>>= 7) {
+                size++;
+            }
+            ensureCapacity(size);
+            System.arraycopy(buffer, start, buffer, start + size, length);
+            position = start;
+            writeVarint(length);
+            position = start + size + length;
+        }
+
+        // field, default value (0 / false / null) is absent
+
+        private void writeInt(int tag, int value) {
+            if (value != 0) {
+                writeKey(tag, WIRE_VARINT);
+                writeVarint(zigzag(value));
+            }
+        }
+
+        private void writeLong(int tag, long value) {
+            if (value != 0) {
+                writeKey(tag, WIRE_VARINT);
+                writeVarint(zigzag(value));
+            }
+        }
+
+        private void writeBoolean(int tag, boolean value) {
+            if (value) {
+                writeKey(tag, WIRE_VARINT);
+                writeVarint(1);
+            }
+        }
+
+        private void writeString(int tag, String value) {
+            if (value != null) {
+                writeKey(tag, WIRE_LENGTH);
+                writeBytes(value.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+
+        private byte[] toByteArray() {
+            byte[] data = new byte[position];
+            System.arraycopy(buffer, 0, data, 0, position);
+            return data;
+        }
+    }
+
+    private static class BinaryReader {
+        private final byte[] buffer;
+        private int position;
+        private final int limit;
+
+        private BinaryReader(byte[] buffer, int offset, int limit) {
+            this.buffer = buffer;
+            this.position = offset;
+            this.limit = limit;
+        }
+
+        private boolean hasRemaining() {
+            return position < limit;
+        }
+
+        private long readVarint() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                if (position >= limit) {
+                    throw new IllegalStateException("xxl-job binary serializer, data truncated.");
+                }
+                byte b = buffer[position++];
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalStateException("xxl-job binary serializer, varint invalid.");
+        }
+
+        private int readKey() {
+            return (int) readVarint();
+        }
+
+        private int readLength() {
+            long length = readVarint();
+            if (length < 0 || length > limit - position) {
+                throw new IllegalStateException("xxl-job binary serializer, data truncated.");
+            }
+            return (int) length;
+        }
+
+        private void checkWireType(int key, int wireType) {
+            if ((key & 7) != wireType) {
+                throw new IllegalStateException("xxl-job binary serializer, wire type invalid, tag:" + (key >>> 3));
+            }
+        }
+
+        private void skip(int key) {
+            switch (key & 7) {
+                case WIRE_VARINT: readVarint(); break;
+                case WIRE_LENGTH: position += readLength(); break;
+                default: throw new IllegalStateException("xxl-job binary serializer, wire type invalid, tag:" + (key >>> 3));
+            }
+        }
+
+        private int readInt(int key) {
+            return (int) readLong(key);
+        }
+
+        private long readLong(int key) {
+            checkWireType(key, WIRE_VARINT);
+            return unzigzag(readVarint());
+        }
+
+        private boolean readBoolean(int key) {
+            checkWireType(key, WIRE_VARINT);
+            return readVarint() != 0;
+        }
+
+        private String readString(int key) {
+            checkWireType(key, WIRE_LENGTH);
+            int length = readLength();
+            String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        private BinaryReader readMessage(int key) {
+            checkWireType(key, WIRE_LENGTH);
+            int length = readLength();
+            BinaryReader message = new BinaryReader(buffer, position, position + length);
+            position += length;
+            return message;
+        }
+    }
+
+}
@@ -0,0 +1,31 @@
+package com.xxl.job.core.serializer;
+
+import com.xxl.job.core.util.GsonTool;
+
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * json serializer, gson
+ *
+ * @author xuxueli 2026-10-18
+ */
+public class JsonSerializer implements Serializer {
+
+    @Override
+    public byte[] serialize(Object obj) {
+        if (obj == null) {
+            return new byte[0];
+        }
+        return GsonTool.toJson(obj).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public <T> T deserialize(byte[] data, Type type) {
+        if (data == null || data.length == 0) {
+            return null;
+        }
+        return GsonTool.fromJson(new String(data, StandardCharsets.UTF_8), type);
+    }
+
+}
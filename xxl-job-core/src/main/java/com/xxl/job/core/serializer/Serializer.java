@@ -0,0 +1,29 @@
+package com.xxl.job.core.serializer;
+
+import java.lang.reflect.Type;
+
+/**
+ * serializer of rpc body
+ *
+ * @author xuxueli 2026-10-18
+ */
+public interface Serializer {
+
+    /**
+     * serialize
+     *
+     * @param obj
+     * @return  empty if obj is null
+     */
+    byte[] serialize(Object obj);
+
+    /**
+     * deserialize
+     *
+     * @param data
+     * @param type      full type, such as "ReturnT<List<ReturnT<String>>>"
+     * @return  null if data is empty (binary: empty message, see BinarySerializer)
+     */
+    <T> T deserialize(byte[] data, Type type);
+
+}
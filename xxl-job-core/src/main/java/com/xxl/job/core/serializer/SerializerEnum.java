@@ -0,0 +1,52 @@
+package com.xxl.job.core.serializer;
+
+/**
+ * rpc serializer, negotiated by header "XXL-JOB-SERIALIZER"
+ *
+ *      a、JSON：default, supported by all version;
+ *      b、BINARY：compact tag-length-value codec, used only if server advertise its feature by header "XXL-JOB-FEATURES";
+ *
+ * @author xuxueli 2026-10-18
+ */
+public enum SerializerEnum {
+
+    JSON("application/json;charset=UTF-8", null, new JsonSerializer()),
+    BINARY("application/x-xxl-job-binary", "serializer-binary", new BinarySerializer());
+
+    private final String contentType;
+    private final String feature;
+    private final Serializer serializer;
+
+    private SerializerEnum(String contentType, String feature, Serializer serializer) {
+        this.contentType = contentType;
+        this.feature = feature;
+        this.serializer = serializer;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * feature name advertised by server, null if supported by all version
+     */
+    public String getFeature() {
+        return feature;
+    }
+
+    public Serializer getSerializer() {
+        return serializer;
+    }
+
+    public static SerializerEnum match(String name, SerializerEnum defaultItem) {
+        if (name != null) {
+            for (SerializerEnum item: SerializerEnum.values()) {
+                if (item.name().equalsIgnoreCase(name.trim())) {
+                    return item;
+                }
+            }
+        }
+        return defaultItem;
+    }
+
+}
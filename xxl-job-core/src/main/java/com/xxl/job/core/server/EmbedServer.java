@@ -3,11 +3,14 @@ package com.xxl.job.core.server;
 import com.xxl.job.core.biz.ExecutorBiz;
 import com.xxl.job.core.biz.impl.ExecutorBizImpl;
 import com.xxl.job.core.biz.model.*;
+import com.xxl.job.core.serializer.Serializer;
+import com.xxl.job.core.serializer.SerializerEnum;
 import com.xxl.job.core.thread.ExecutorRegistryThread;
 import com.xxl.job.core.util.GsonTool;
 import com.xxl.job.core.util.ThrowableUtil;
 import com.xxl.job.core.util.XxlJobRemotingUtil;
 import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBufUtil;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.*;
 import io.netty.channel.nio.NioEventLoopGroup;
@@ -16,10 +19,11 @@ import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.netty.handler.codec.http.*;
 import io.netty.handler.timeout.IdleStateEvent;
 import io.netty.handler.timeout.IdleStateHandler;
-import io.netty.util.CharsetUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.lang.reflect.Type;
+import java.util.List;
 import java.util.concurrent.*;
 
 /**
@@ -130,6 +134,9 @@ public class EmbedServer {
     public static class EmbedHttpServerHandler extends SimpleChannelInboundHandler<FullHttpRequest> {
         private static final Logger logger = LoggerFactory.getLogger(EmbedHttpServerHandler.class);
 
+        private static final String FEATURES = XxlJobRemotingUtil.getFeatures() + "," + XxlJobRemotingUtil.FEATURE_GLUE_SOURCE_HASH + "," + XxlJobRemotingUtil.FEATURE_RUN_BATCH;
+        private static final Type TRIGGER_PARAM_LIST_TYPE = new GsonTool.ParameterizedType4ReturnT(List.class, new Type[]{TriggerParam.class});
+
         private ExecutorBiz executorBiz;
         private String accessToken;
         private ThreadPoolExecutor bizThreadPool;
@@ -143,30 +150,39 @@ public class EmbedServer {
         @Override
         protected void channelRead0(final ChannelHandlerContext ctx, FullHttpRequest msg) throws Exception {
             // request parse
-            //final byte[] requestBytes = ByteBufUtil.getBytes(msg.content());    // byteBuf.toString(io.netty.util.CharsetUtil.UTF_8);
-            String requestData = msg.content().toString(CharsetUtil.UTF_8);
+            final byte[] requestBytes = ByteBufUtil.getBytes(msg.content());
             String uri = msg.uri();
             HttpMethod httpMethod = msg.method();
             boolean keepAlive = HttpUtil.isKeepAlive(msg);
             String accessTokenReq = msg.headers().get(XxlJobRemotingUtil.XXL_JOB_ACCESS_TOKEN);
+            String requestId = msg.headers().get(XxlJobRemotingUtil.XXL_JOB_REQUEST_ID);
+            String serializerReq = msg.headers().get(XxlJobRemotingUtil.XXL_JOB_SERIALIZER);
 
             // invoke
             bizThreadPool.execute(new Runnable() {
                 @Override
                 public void run() {
+                    // serializer, json default (header absent, old version); response use the same one
+                    SerializerEnum serializer = SerializerEnum.match(serializerReq, SerializerEnum.JSON);
+
                     // do invoke
-                    Object responseObj = process(httpMethod, uri, requestData, accessTokenReq);
+                    Object responseObj;
+                    if (serializerReq != null && SerializerEnum.match(serializerReq, null) == null) {
+                        responseObj = new ReturnT<String>(ReturnT.FAIL_CODE, "invalid request, serializer("+ serializerReq +") not support.");
+                    } else {
+                        responseObj = process(httpMethod, uri, requestBytes, serializer.getSerializer(), accessTokenReq);
+                    }
 
-                    // to json
-                    String responseJson = GsonTool.toJson(responseObj);
+                    // serialize
+                    byte[] responseBytes = serializer.getSerializer().serialize(responseObj);
 
                     // write response
-                    writeResponse(ctx, keepAlive, responseJson);
+                    writeResponse(ctx, keepAlive, requestId, serializer, responseBytes);
                 }
             });
         }
 
-        private Object process(HttpMethod httpMethod, String uri, String requestData, String accessTokenReq) {
+        private Object process(HttpMethod httpMethod, String uri, byte[] requestData, Serializer serializer, String accessTokenReq) {
             // valid
             if (HttpMethod.POST != httpMethod) {
                 return new ReturnT<String>(ReturnT.FAIL_CODE, "invalid request, HttpMethod not support.");
@@ -186,19 +202,22 @@ public class EmbedServer {
                     case "/beat":
                         return executorBiz.beat();
                     case "/idleBeat":
-                        IdleBeatParam idleBeatParam = GsonTool.fromJson(requestData, IdleBeatParam.class);
+                        IdleBeatParam idleBeatParam = serializer.deserialize(requestData, IdleBeatParam.class);
                         return executorBiz.idleBeat(idleBeatParam);
                     case "/run":
-                        TriggerParam triggerParam = GsonTool.fromJson(requestData, TriggerParam.class);
+                        TriggerParam triggerParam = serializer.deserialize(requestData, TriggerParam.class);
                         return executorBiz.run(triggerParam);
+                    case "/runBatch":
+                        List<TriggerParam> triggerParamList = serializer.deserialize(requestData, TRIGGER_PARAM_LIST_TYPE);
+                        return executorBiz.runBatch(triggerParamList);
                     case "/kill":
-                        KillParam killParam = GsonTool.fromJson(requestData, KillParam.class);
+                        KillParam killParam = serializer.deserialize(requestData, KillParam.class);
                         return executorBiz.kill(killParam);
                     case "/log":
-                        LogParam logParam = GsonTool.fromJson(requestData, LogParam.class);
+                        LogParam logParam = serializer.deserialize(requestData, LogParam.class);
                         return executorBiz.log(logParam);
                     default:
-                        return new ReturnT<String>(ReturnT.FAIL_CODE, "invalid request, uri-mapping(" + uri + ") not found.");
+                        return new ReturnT<String>(ReturnT.NOT_FOUND_CODE, "invalid request, uri-mapping(" + uri + ") not found.");
                 }
             } catch (Exception e) {
                 logger.error(e.getMessage(), e);
@@ -209,14 +228,20 @@ public class EmbedServer {
         /**
          * write response
          */
-        private void writeResponse(ChannelHandlerContext ctx, boolean keepAlive, String responseJson) {
+        private void writeResponse(ChannelHandlerContext ctx, boolean keepAlive, String requestId, SerializerEnum serializer, byte[] responseBytes) {
             // write response
-            FullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK, Unpooled.copiedBuffer(responseJson, CharsetUtil.UTF_8));   //  Unpooled.wrappedBuffer(responseJson)
-            response.headers().set(HttpHeaderNames.CONTENT_TYPE, "text/html;charset=UTF-8");       // HttpHeaderValues.TEXT_PLAIN.toString()
+            FullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK, Unpooled.wrappedBuffer(responseBytes));
+            response.headers().set(HttpHeaderNames.CONTENT_TYPE, serializer==SerializerEnum.JSON?"text/html;charset=UTF-8":serializer.getContentType());
             response.headers().set(HttpHeaderNames.CONTENT_LENGTH, response.content().readableBytes());
+            response.headers().set(XxlJobRemotingUtil.XXL_JOB_SERIALIZER, serializer.name());
+            response.headers().set(XxlJobRemotingUtil.XXL_JOB_FEATURES, FEATURES);
             if (keepAlive) {
                 response.headers().set(HttpHeaderNames.CONNECTION, HttpHeaderValues.KEEP_ALIVE);
             }
+            if (requestId != null) {
+                // echo request id, response may be out of order (biz thread pool), client match by it
+                response.headers().set(XxlJobRemotingUtil.XXL_JOB_REQUEST_ID, requestId);
+            }
             ctx.writeAndFlush(response);
         }
 
@@ -0,0 +1,326 @@
+package com.xxl.job.core.thread;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * async job log appender
+ *
+ *      a、append：job thread only copy log line into buffer of its log-file, without file io;
+ *      b、write：writer thread flush buffer when over size (FLUSH_SIZE) or time (FLUSH_INTERVAL), by file channel;
+ *      c、handle：open file channel hold in LRU, closed when evicted (MAX_OPEN_FILES) or idle (IDLE_TIMEOUT);
+ *      d、flush：force flush before read log or job callback, caller flush by itself when total buffer is full (MAX_PENDING_BYTES);
+ *
+ * @author xuxueli 2026-10-18
+ */
+public class JobLogAppendThread {
+    private static Logger logger = LoggerFactory.getLogger(JobLogAppendThread.class);
+
+    private static JobLogAppendThread instance = new JobLogAppendThread();
+    public static JobLogAppendThread getInstance(){
+        return instance;
+    }
+
+    private static final int FLUSH_SIZE = 8 * 1024;
+    private static final long FLUSH_INTERVAL = 200;
+    private static final int MAX_OPEN_FILES = 64;
+    private static final long IDLE_TIMEOUT = 30 * 1000;
+    private static final long MAX_PENDING_BYTES = 32 * 1024 * 1024;
+
+    /**
+     * log buffer, for each log-file
+     */
+    private static class LogBuffer {
+        private final String logFileName;
+        private byte[] data = new byte[256];
+        private int size = 0;
+        private volatile long lastAppendTime = System.currentTimeMillis();
+        private boolean closed = false;         // removed from bufferMap, guard by "this"
+
+        private LogBuffer(String logFileName) {
+            this.logFileName = logFileName;
+        }
+
+        private void append(byte[] line) {
+            if (size + line.length > data.length) {
+                data = Arrays.copyOf(data, Math.max(data.length * 2, size + line.length));
+            }
+            System.arraycopy(line, 0, data, size, line.length);
+            size += line.length;
+            lastAppendTime = System.currentTimeMillis();
+        }
+
+        private byte[] take() {
+            if (size == 0) {
+                return null;
+            }
+            byte[] ret = Arrays.copyOf(data, size);
+            size = 0;
+            if (data.length > FLUSH_SIZE * 4) {
+                data = new byte[256];           // shrink after burst
+            }
+            return ret;
+        }
+    }
+
+    private final ConcurrentHashMap<String, LogBuffer> bufferMap = new ConcurrentHashMap<String, LogBuffer>();
+    private final AtomicLong pendingBytes = new AtomicLong(0);
+
+    /**
+     * open file channel, LRU, guard by "writeLock"; all file io run in "writeLock", keep line order of each log-file
+     */
+    private final Object writeLock = new Object();
+    private final Map<String, FileChannel> channelMap = new LinkedHashMap<String, FileChannel>(16, 0.75f, true){
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, FileChannel> eldest) {
+            if (size() > MAX_OPEN_FILES) {
+                closeChannel(eldest.getValue());
+                channelLastWriteMap.remove(eldest.getKey());
+                return true;
+            }
+            return false;
+        }
+    };
+    private final Map<String, Long> channelLastWriteMap = new HashMap<String, Long>();
+
+    private final ReentrantLock signalLock = new ReentrantLock();
+    private final Condition signalCondition = signalLock.newCondition();
+
+    private Thread writerThread;
+    private volatile boolean running = false;
+    private volatile boolean toStop = false;
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public void start(){
+
+        writerThread = new Thread(new Runnable() {
+
+            @Override
+            public void run() {
+                while (!toStop) {
+                    try {
+                        // wait, until timeout or signal
+                        signalLock.lock();
+                        try {
+                            if (!toStop) {
+                                signalCondition.await(FLUSH_INTERVAL, TimeUnit.MILLISECONDS);
+                            }
+                        } finally {
+                            signalLock.unlock();
+                        }
+
+                        // flush all
+                        flushAll(false);
+                    } catch (Throwable e) {
+                        if (!toStop) {
+                            logger.error(">>>>>>>>>>> xxl-job, JobLogAppendThread error:", e);
+                        }
+                    }
+                }
+
+                // flush and close, last time
+                try {
+                    flushAll(true);
+                } catch (Throwable e) {
+                    logger.error(">>>>>>>>>>> xxl-job, JobLogAppendThread error:", e);
+                }
+                logger.info(">>>>>>>>>>> xxl-job, JobLogAppendThread stop");
+            }
+        });
+        writerThread.setDaemon(true);
+        writerThread.setName("xxl-job, executor JobLogAppendThread");
+        toStop = false;
+        running = true;
+        writerThread.start();
+    }
+
+    public void toStop(){
+        running = false;        // new log append sync, by XxlJobFileAppender
+        toStop = true;
+
+        if (writerThread == null) {
+            return;
+        }
+
+        // interrupt and wait
+        signal();
+        try {
+            writerThread.join();
+        } catch (InterruptedException e) {
+            logger.error(e.getMessage(), e);
+        }
+    }
+
+
+    // ---------------------- append + flush ----------------------
+
+    /**
+     * append log line, async
+     *
+     * @param logFileName
+     * @param appendLog     line, with line break
+     */
+    public void append(String logFileName, String appendLog) {
+        byte[] line = appendLog.getBytes(StandardCharsets.UTF_8);
+
+        LogBuffer buffer;
+        int bufferSize;
+        while (true) {
+            buffer = bufferMap.get(logFileName);
+            if (buffer == null) {
+                LogBuffer newBuffer = new LogBuffer(logFileName);
+                buffer = bufferMap.putIfAbsent(logFileName, newBuffer);
+                if (buffer == null) {
+                    buffer = newBuffer;
+                }
+            }
+            synchronized (buffer) {
+                if (!buffer.closed) {
+                    buffer.append(line);
+                    bufferSize = buffer.size;
+                    break;
+                }
+            }
+            // removed by writer thread, retry with new buffer
+        }
+        long totalSize = pendingBytes.addAndGet(line.length);
+
+        if (totalSize > MAX_PENDING_BYTES) {
+            // writer too slow, flush by caller
+            flushBuffer(buffer, false);
+        } else if (bufferSize >= FLUSH_SIZE) {
+            signal();
+        }
+    }
+
+    /**
+     * force flush log-file, and close its file channel if "close" is true (such as job finished)
+     *
+     * @param logFileName
+     * @param close
+     */
+    public void flush(String logFileName, boolean close) {
+        LogBuffer buffer = bufferMap.get(logFileName);
+        if (buffer != null) {
+            flushBuffer(buffer, close);
+        } else if (close) {
+            synchronized (writeLock) {
+                closeChannel(channelMap.remove(logFileName));
+                channelLastWriteMap.remove(logFileName);
+            }
+        }
+    }
+
+    private void signal() {
+        signalLock.lock();
+        try {
+            signalCondition.signal();
+        } finally {
+            signalLock.unlock();
+        }
+    }
+
+    private void flushAll(boolean close) {
+        long nowTime = System.currentTimeMillis();
+
+        // flush buffer, remove idle buffer
+        for (LogBuffer buffer: bufferMap.values()) {
+            flushBuffer(buffer, close);
+
+            if (close || nowTime - buffer.lastAppendTime > IDLE_TIMEOUT) {
+                synchronized (buffer) {
+                    if (buffer.size == 0 && (close || nowTime - buffer.lastAppendTime > IDLE_TIMEOUT)) {
+                        buffer.closed = true;
+                        bufferMap.remove(buffer.logFileName, buffer);
+                    }
+                }
+            }
+        }
+
+        // close idle channel
+        synchronized (writeLock) {
+            Iterator<Map.Entry<String, FileChannel>> it = channelMap.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<String, FileChannel> item = it.next();
+                Long lastWriteTime = channelLastWriteMap.get(item.getKey());
+                if (close || lastWriteTime == null || nowTime - lastWriteTime > IDLE_TIMEOUT) {
+                    closeChannel(item.getValue());
+                    channelLastWriteMap.remove(item.getKey());
+                    it.remove();
+                }
+            }
+        }
+    }
+
+    private void flushBuffer(LogBuffer buffer, boolean close) {
+        synchronized (writeLock) {
+            byte[] data;
+            synchronized (buffer) {
+                data = buffer.take();
+            }
+
+            if (data != null) {
+                pendingBytes.addAndGet(-data.length);
+                try {
+                    FileChannel channel = openChannel(buffer.logFileName);
+                    ByteBuffer byteBuffer = ByteBuffer.wrap(data);
+                    while (byteBuffer.hasRemaining()) {
+                        channel.write(byteBuffer);
+                    }
+                    channelLastWriteMap.put(buffer.logFileName, System.currentTimeMillis());
+                } catch (IOException e) {
+                    logger.error(e.getMessage(), e);
+                    closeChannel(channelMap.remove(buffer.logFileName));
+                    channelLastWriteMap.remove(buffer.logFileName);
+                }
+            }
+
+            if (close) {
+                closeChannel(channelMap.remove(buffer.logFileName));
+                channelLastWriteMap.remove(buffer.logFileName);
+            }
+        }
+    }
+
+    private FileChannel openChannel(String logFileName) throws IOException {
+        FileChannel channel = channelMap.get(logFileName);
+        if (channel == null || !channel.isOpen()) {
+            channel = FileChannel.open(new File(logFileName).toPath(),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            channelMap.put(logFileName, channel);
+        }
+        return channel;
+    }
+
+    private static void closeChannel(FileChannel channel) {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            logger.error(e.getMessage(), e);
+        }
+    }
+
+}
@@ -1,5 +1,6 @@
 package com.xxl.job.core.thread;
 
+import com.xxl.job.core.glue.GlueSourceCache;
 import com.xxl.job.core.log.XxlJobFileAppender;
 import com.xxl.job.core.util.FileUtil;
 import org.slf4j.Logger;
@@ -81,6 +82,9 @@ public class JobLogFileCleanThread {
                             }
                         }
 
+                        // clean glue source cache, not accessed over logRetentionDays
+                        GlueSourceCache.cleanExpired(logRetentionDays);
+
                     } catch (Exception e) {
                         if (!toStop) {
                             logger.error(e.getMessage(), e);
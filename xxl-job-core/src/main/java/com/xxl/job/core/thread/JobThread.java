@@ -204,6 +204,9 @@ public class JobThread extends Thread{
 				XxlJobHelper.log("<br>----------- JobThread Exception:" + errorMsg + "<br>----------- xxl-job job execute end(error) -----------");
 			} finally {
                 if(triggerParam != null) {
+                    // flush job log, before callback
+                    XxlJobFileAppender.flushLog(XxlJobContext.getXxlJobContext().getJobLogFileName(), true);
+
                     // callback handler info
                     if (!toStop) {
                         // commonm
@@ -162,26 +162,55 @@ public class TriggerCallbackThread {
      */
     private void doCallback(List<HandleCallbackParam> callbackParamList){
         boolean callbackRet = false;
-        // callback, will retry if error
-        for (AdminBiz adminBiz: XxlJobExecutor.getAdminBizList()) {
-            try {
-                ReturnT<String> callbackResult = adminBiz.callback(callbackParamList);
-                if (callbackResult!=null && ReturnT.SUCCESS_CODE == callbackResult.getCode()) {
-                    callbackLog(callbackParamList, "<br>----------- xxl-job job callback finish.");
-                    callbackRet = true;
-                    break;
-                } else {
-                    callbackLog(callbackParamList, "<br>----------- xxl-job job callback fail, callbackResult:" + callbackResult);
+        while (true) {
+            long retryAfter = 0;
+            // callback, will retry if error
+            for (AdminBiz adminBiz: XxlJobExecutor.getAdminBizList()) {
+                try {
+                    ReturnT<String> callbackResult = adminBiz.callback(callbackParamList);
+                    if (callbackResult!=null && ReturnT.SUCCESS_CODE == callbackResult.getCode()) {
+                        callbackLog(callbackParamList, "<br>----------- xxl-job job callback finish.");
+                        callbackRet = true;
+                        break;
+                    } else if (callbackResult!=null && ReturnT.RETRY_AFTER_CODE == callbackResult.getCode()) {
+                        // admin busy, try next admin
+                        retryAfter = Math.max(retryAfter, parseRetryAfter(callbackResult.getContent()));
+                    } else {
+                        callbackLog(callbackParamList, "<br>----------- xxl-job job callback fail, callbackResult:" + callbackResult);
+                    }
+                } catch (Exception e) {
+                    callbackLog(callbackParamList, "<br>----------- xxl-job job callback error, errorMsg:" + e.getMessage());
                 }
-            } catch (Exception e) {
-                callbackLog(callbackParamList, "<br>----------- xxl-job job callback error, errorMsg:" + e.getMessage());
             }
+
+            // all admin busy, wait and retry
+            if (!callbackRet && retryAfter > 0 && !toStop) {
+                logger.warn(">>>>>>>>>>> xxl-job, callback push back by admin, retry after {}ms, callback size:{}", retryAfter, callbackParamList.size());
+                try {
+                    TimeUnit.MILLISECONDS.sleep(retryAfter);
+                    continue;
+                } catch (InterruptedException e) {
+                    if (!toStop) {
+                        logger.error(e.getMessage(), e);
+                    }
+                }
+            }
+            break;
         }
         if (!callbackRet) {
             appendFailCallbackFile(callbackParamList);
         }
     }
 
+    private long parseRetryAfter(String retryAfter) {
+        try {
+            long retryAfterMs = Long.parseLong(retryAfter);
+            return Math.min(Math.max(retryAfterMs, 100), 30 * 1000);
+        } catch (Exception e) {
+            return 1000;
+        }
+    }
+
     /**
      * callback log
      */
@@ -2,7 +2,6 @@ package com.xxl.job.core.util;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
-import com.google.gson.reflect.TypeToken;
 
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
@@ -51,6 +50,18 @@ public class GsonTool {
         Type type = new ParameterizedType4ReturnT(classOfT, new Class[]{argClassOfT});
         return gson.fromJson(json, type);
     }
+
+    /**
+     * json 转成 特定的 type 的Object, such as nested generic type
+     *
+     * @param json
+     * @param type
+     * @return
+     */
+    public static <T> T fromJson(String json, Type type) {
+        return gson.fromJson(json, type);
+    }
+
     public static class ParameterizedType4ReturnT implements ParameterizedType {
         private final Class raw;
         private final Type[] args;
@@ -78,11 +89,8 @@ public class GsonTool {
      * @return
      */
     public static <T> List<T> fromJsonList(String json, Class<T> classOfT) {
-        return gson.fromJson(
-                json,
-                new TypeToken<List<T>>() {
-                }.getType()
-        );
+        Type type = new ParameterizedType4ReturnT(List.class, new Type[]{classOfT});     // "TypeToken<List<T>>" lose T after erasure
+        return gson.fromJson(json, type);
     }
 
 }
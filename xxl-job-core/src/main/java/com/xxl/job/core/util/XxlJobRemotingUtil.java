@@ -1,18 +1,24 @@
 package com.xxl.job.core.util;
 
 import com.xxl.job.core.biz.model.ReturnT;
+import com.xxl.job.core.serializer.SerializerEnum;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.net.ssl.*;
-import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
 import java.io.DataOutputStream;
-import java.io.InputStreamReader;
+import java.io.InputStream;
+import java.lang.reflect.Type;
 import java.net.HttpURLConnection;
+import java.net.URI;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.security.cert.CertificateException;
 import java.security.cert.X509Certificate;
-import java.util.Map;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * @author xuxueli 2018-11-25 00:55:31
@@ -20,6 +26,104 @@ import java.util.Map;
 public class XxlJobRemotingUtil {
     private static Logger logger = LoggerFactory.getLogger(XxlJobRemotingUtil.class);
     public static final String XXL_JOB_ACCESS_TOKEN = "XXL-JOB-ACCESS-TOKEN";
+    public static final String XXL_JOB_REQUEST_ID = "XXL-JOB-REQUEST-ID";      // echo by server, for pipelining
+    public static final String XXL_JOB_SERIALIZER = "XXL-JOB-SERIALIZER";      // serializer of body, request and response
+    public static final String XXL_JOB_FEATURES = "XXL-JOB-FEATURES";          // features supported by server, response header, split by ","
+    public static final String FEATURE_GLUE_SOURCE_HASH = "glue-source-hash";  // executor, glue source cached by hash, see GlueSourceCache
+    public static final String FEATURE_RUN_BATCH = "run-batch";                // executor, api "runBatch" supported
+
+
+    // ---------------------- features ----------------------
+
+    private static final String FEATURES = buildFeatures();
+    private static final ConcurrentMap<String, RemoteFeatures> remoteFeaturesMap = new ConcurrentHashMap<>();
+
+    private static class RemoteFeatures {
+        private final String features;
+        private final Set<String> featureSet = new HashSet<>();
+
+        private RemoteFeatures(String features) {
+            this.features = features;
+            if (features != null) {
+                for (String item: features.split(",")) {
+                    if (item.trim().length() > 0) {
+                        featureSet.add(item.trim());
+                    }
+                }
+            }
+        }
+    }
+
+    private static String buildFeatures() {
+        StringBuilder features = new StringBuilder();
+        for (SerializerEnum item: SerializerEnum.values()) {
+            if (item.getFeature() != null) {
+                features.append(features.length()>0?",":"").append(item.getFeature());
+            }
+        }
+        return features.toString();
+    }
+
+    /**
+     * features supported by this side, value of header "XXL-JOB-FEATURES"
+     */
+    public static String getFeatures() {
+        return FEATURES;
+    }
+
+    /**
+     * refresh features of remote server, by each response (server may be upgraded or rollback)
+     *
+     * @param url
+     * @param features  header "XXL-JOB-FEATURES" of response, null for old version
+     */
+    public static void refreshRemoteFeatures(String url, String features) {
+        String key = remoteKey(url);
+        RemoteFeatures remoteFeatures = remoteFeaturesMap.get(key);
+        if (remoteFeatures == null || !Objects.equals(remoteFeatures.features, features)) {
+            remoteFeaturesMap.put(key, new RemoteFeatures(features));
+        }
+    }
+
+    /**
+     * remove features of remote server, such as address gone away
+     */
+    public static void removeRemoteFeatures(String url) {
+        remoteFeaturesMap.remove(remoteKey(url));
+    }
+
+    /**
+     * check if remote server support feature, false if unknown (no response yet)
+     */
+    public static boolean isRemoteFeatureSupported(String url, String feature) {
+        RemoteFeatures remoteFeatures = remoteFeaturesMap.get(remoteKey(url));
+        return remoteFeatures != null && remoteFeatures.featureSet.contains(feature);
+    }
+
+    /**
+     * serializer for request, prefer one if remote server support, else json
+     */
+    public static SerializerEnum selectSerializer(String url, SerializerEnum prefer) {
+        if (prefer == null) {
+            return SerializerEnum.JSON;
+        }
+        if (prefer.getFeature() != null && !isRemoteFeatureSupported(url, prefer.getFeature())) {
+            return SerializerEnum.JSON;
+        }
+        return prefer;
+    }
+
+    private static String remoteKey(String url) {
+        try {
+            URI uri = new URI(url);
+            if (uri.getHost() != null) {
+                return uri.getScheme() + "://" + uri.getHost() + ":" + uri.getPort();
+            }
+        } catch (Exception e) {
+            // invalid url, use itself
+        }
+        return url;
+    }
 
 
     // trust-https start
@@ -66,9 +170,26 @@ public class XxlJobRemotingUtil {
      * @return
      */
     public static ReturnT postBody(String url, String accessToken, int timeout, Object requestObj, Class returnTargClassOfT) {
+        return postBody(url, accessToken, timeout, requestObj, new GsonTool.ParameterizedType4ReturnT(ReturnT.class, new Type[]{returnTargClassOfT}), SerializerEnum.JSON);
+    }
+
+    /**
+     * post
+     *
+     * @param url
+     * @param accessToken
+     * @param timeout
+     * @param requestObj
+     * @param returnType        full type of response, such as "ReturnT<String>"
+     * @param serializer        prefer serializer, used if remote server support, else json
+     * @return
+     */
+    public static ReturnT postBody(String url, String accessToken, int timeout, Object requestObj, Type returnType, SerializerEnum serializer) {
         HttpURLConnection connection = null;
-        BufferedReader bufferedReader = null;
         try {
+            // serializer
+            SerializerEnum requestSerializer = selectSerializer(url, serializer);
+
             // connection
             URL realUrl = new URL(url);
             connection = (HttpURLConnection) realUrl.openConnection();
@@ -88,8 +209,11 @@ public class XxlJobRemotingUtil {
             connection.setReadTimeout(timeout * 1000);
             connection.setConnectTimeout(3 * 1000);
             connection.setRequestProperty("connection", "Keep-Alive");
-            connection.setRequestProperty("Content-Type", "application/json;charset=UTF-8");
+            connection.setRequestProperty("Content-Type", requestSerializer.getContentType());
             connection.setRequestProperty("Accept-Charset", "application/json;charset=UTF-8");
+            if (requestSerializer != SerializerEnum.JSON) {
+                connection.setRequestProperty(XXL_JOB_SERIALIZER, requestSerializer.name());
+            }
 
             if(accessToken!=null && accessToken.trim().length()>0){
                 connection.setRequestProperty(XXL_JOB_ACCESS_TOKEN, accessToken);
@@ -100,43 +224,35 @@ public class XxlJobRemotingUtil {
 
             // write requestBody
             if (requestObj != null) {
-                String requestBody = GsonTool.toJson(requestObj);
+                byte[] requestBody = requestSerializer.getSerializer().serialize(requestObj);
 
                 DataOutputStream dataOutputStream = new DataOutputStream(connection.getOutputStream());
-                dataOutputStream.write(requestBody.getBytes("UTF-8"));
+                dataOutputStream.write(requestBody);
                 dataOutputStream.flush();
                 dataOutputStream.close();
             }
 
-            /*byte[] requestBodyBytes = requestBody.getBytes("UTF-8");
-            connection.setRequestProperty("Content-Length", String.valueOf(requestBodyBytes.length));
-            OutputStream outwritestream = connection.getOutputStream();
-            outwritestream.write(requestBodyBytes);
-            outwritestream.flush();
-            outwritestream.close();*/
-
             // valid StatusCode
             int statusCode = connection.getResponseCode();
             if (statusCode != 200) {
                 return new ReturnT<String>(ReturnT.FAIL_CODE, "xxl-job remoting fail, StatusCode("+ statusCode +") invalid. for url : " + url);
             }
 
+            // features and serializer of response
+            refreshRemoteFeatures(url, connection.getHeaderField(XXL_JOB_FEATURES));
+            SerializerEnum responseSerializer = SerializerEnum.match(connection.getHeaderField(XXL_JOB_SERIALIZER), SerializerEnum.JSON);
+
             // result
-            bufferedReader = new BufferedReader(new InputStreamReader(connection.getInputStream(), "UTF-8"));
-            StringBuilder result = new StringBuilder();
-            String line;
-            while ((line = bufferedReader.readLine()) != null) {
-                result.append(line);
-            }
-            String resultJson = result.toString();
+            byte[] result = readAll(connection.getInputStream());
 
             // parse returnT
             try {
-                ReturnT returnT = GsonTool.fromJson(resultJson, ReturnT.class, returnTargClassOfT);
+                ReturnT returnT = responseSerializer.getSerializer().deserialize(result, returnType);
                 return returnT;
             } catch (Exception e) {
-                logger.error("xxl-job remoting (url="+url+") response content invalid("+ resultJson +").", e);
-                return new ReturnT<String>(ReturnT.FAIL_CODE, "xxl-job remoting (url="+url+") response content invalid("+ resultJson +").");
+                String resultText = new String(result, StandardCharsets.UTF_8);
+                logger.error("xxl-job remoting (url="+url+") response content invalid("+ resultText +").", e);
+                return new ReturnT<String>(ReturnT.FAIL_CODE, "xxl-job remoting (url="+url+") response content invalid("+ resultText +").");
             }
 
         } catch (Exception e) {
@@ -144,9 +260,6 @@ public class XxlJobRemotingUtil {
             return new ReturnT<String>(ReturnT.FAIL_CODE, "xxl-job remoting error("+ e.getMessage() +"), for url : " + url);
         } finally {
             try {
-                if (bufferedReader != null) {
-                    bufferedReader.close();
-                }
                 if (connection != null) {
                     connection.disconnect();
                 }
@@ -156,4 +269,18 @@ public class XxlJobRemotingUtil {
         }
     }
 
+    private static byte[] readAll(InputStream inputStream) throws Exception {
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int len;
+            while ((len = inputStream.read(buffer)) != -1) {
+                out.write(buffer, 0, len);
+            }
+            return out.toByteArray();
+        } finally {
+            inputStream.close();
+        }
+    }
+
 }
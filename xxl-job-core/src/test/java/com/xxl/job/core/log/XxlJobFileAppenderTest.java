@@ -0,0 +1,207 @@
+package com.xxl.job.core.log;
+
+import com.xxl.job.core.biz.model.LogResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author xuxueli 2026-10-18
+ */
+public class XxlJobFileAppenderTest {
+
+    private static final int LINE_COUNT = 2500;
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    public void shouldReadLineSameAsBefore() throws Exception {
+        //given
+        File logFile = writeLogFile();
+
+        for (int fromLineNum: new int[]{1, 2, 1000, 1001, 1002, 2001, LINE_COUNT, LINE_COUNT + 1}) {
+            //when
+            LogResult logResult = XxlJobFileAppender.readLog(logFile.getPath(), fromLineNum);
+            LogResult expected = readLogByLine(logFile, fromLineNum);
+
+            //then
+            assertEquals(expected.getLogContent(), logResult.getLogContent(), "fromLineNum:" + fromLineNum);
+            assertEquals(fromLineNum, logResult.getFromLineNum());
+            if (fromLineNum <= LINE_COUNT) {
+                assertEquals(expected.getToLineNum(), logResult.getToLineNum(), "fromLineNum:" + fromLineNum);
+            }
+        }
+    }
+
+    @Test
+    public void shouldReadOffsetSameAsLine() throws Exception {
+        //given
+        File logFile = writeLogFile();
+        String expected = readLogByLine(logFile, 1).getLogContent();
+
+        //when, page by max bytes, next from "toOffset"
+        StringBuilder content = new StringBuilder();
+        int fromLineNum = 1;
+        long fromOffset = 0;
+        while (true) {
+            LogResult logResult = XxlJobFileAppender.readLog(logFile.getPath(), fromLineNum, fromOffset, 4000);
+            if (logResult.getToOffset() == fromOffset) {
+                break;
+            }
+            content.append(logResult.getLogContent());
+
+            //then, offset and line consistent
+            assertEquals(fromOffset, logResult.getFromOffset());
+            assertEquals(logResult.getToOffset(), XxlJobLogIndex.lineOffset(logFile, logResult.getToLineNum() + 1));
+            fromLineNum = logResult.getToLineNum() + 1;
+            fromOffset = logResult.getToOffset();
+        }
+
+        //then
+        assertEquals(expected, content.toString());
+        assertEquals(LINE_COUNT, fromLineNum - 1);
+        assertEquals(logFile.length(), fromOffset);
+    }
+
+    @Test
+    public void shouldCutLongLineAtCharBoundary() throws Exception {
+        //given, one line over max bytes, cut in middle of 3 byte char
+        StringBuilder longLine = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            longLine.append("中");
+        }
+        File logFile = new File(tempDir, "long.log");
+        XxlJobFileAppender.appendLog(logFile.getPath(), longLine.toString());
+        XxlJobFileAppender.appendLog(logFile.getPath(), "next");
+        int maxBytes = 1000;     // 333 char + 1 byte
+
+        //when
+        StringBuilder content = new StringBuilder();
+        int fromLineNum = 1;
+        long fromOffset = 0;
+        int toLineNum = 0;
+        while (fromOffset < logFile.length()) {
+            LogResult logResult = XxlJobFileAppender.readLog(logFile.getPath(), fromLineNum, fromOffset, maxBytes);
+            assertTrue(logResult.getToOffset() > fromOffset);
+            assertFalse(logResult.getLogContent().contains("\uFFFD"));
+            assertFalse(logResult.getLogContent().contains("\r"));
+            content.append(logResult.getLogContent());
+            toLineNum = logResult.getToLineNum();
+            fromLineNum = toLineNum + 1;
+            fromOffset = logResult.getToOffset();
+        }
+
+        //then
+        assertEquals(longLine + "\nnext\n", content.toString());
+        assertEquals(2, toLineNum);
+    }
+
+    @Test
+    public void shouldKeepCrLfTogether() throws Exception {
+        //given, cut position between "\r" and "\n"
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < 99; i++) {
+            line.append("a");
+        }
+        File logFile = new File(tempDir, "crlf.log");
+        XxlJobFileAppender.appendLog(logFile.getPath(), line.toString());
+
+        //when
+        LogResult logResult1 = XxlJobFileAppender.readLog(logFile.getPath(), 1, 0, 100);
+        LogResult logResult2 = XxlJobFileAppender.readLog(logFile.getPath(), logResult1.getToLineNum() + 1, logResult1.getToOffset(), 100);
+
+        //then
+        assertEquals(line.toString(), logResult1.getLogContent());
+        assertEquals(99, logResult1.getToOffset());
+        assertEquals(0, logResult1.getToLineNum());
+        assertEquals("\n", logResult2.getLogContent());
+        assertEquals(1, logResult2.getToLineNum());
+        assertEquals(101, logResult2.getToOffset());
+    }
+
+    @Test
+    public void shouldRebuildInvalidIndex() throws Exception {
+        //given
+        File logFile = writeLogFile();
+        long expected = XxlJobLogIndex.lineOffset(logFile, LINE_COUNT);
+        File indexFile = XxlJobLogIndex.indexFile(logFile);
+        assertEquals(2 * 8, indexFile.length());
+        long entry1 = readEntry(indexFile, 1);
+
+        // corrupt, not at line start
+        try (RandomAccessFile raf = new RandomAccessFile(indexFile, "rw")) {
+            raf.seek(0);
+            raf.writeLong(entry1 + 1);
+            raf.seek(8);
+            raf.writeLong(entry1 + 1);
+        }
+
+        //when
+        long offset = XxlJobLogIndex.lineOffset(logFile, LINE_COUNT);
+
+        //then
+        assertEquals(expected, offset);
+        assertEquals(entry1, readEntry(indexFile, 1));
+        assertEquals(lineOffsetByScan(logFile, 2001), readEntry(indexFile, 2));
+        assertEquals(lineOffsetByScan(logFile, 1001), entry1);
+        assertEquals(lineOffsetByScan(logFile, LINE_COUNT), expected);
+    }
+
+
+    // ---------------------- tool ----------------------
+
+    private File writeLogFile() {
+        File logFile = new File(tempDir, "9999.log");
+        for (int i = 1; i <= LINE_COUNT; i++) {
+            // multi-byte char, different length
+            XxlJobFileAppender.appendLog(logFile.getPath(), "line-" + i + (i%3==0?" 调度日志":"") + (i%7==0?" 😀":""));
+        }
+        return logFile;
+    }
+
+    /**
+     * line based read, same as before offset read
+     */
+    private static LogResult readLogByLine(File logFile, int fromLineNum) throws IOException {
+        StringBuilder content = new StringBuilder();
+        int toLineNum = 0;
+        try (LineNumberReader reader = new LineNumberReader(new InputStreamReader(new FileInputStream(logFile), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                toLineNum = reader.getLineNumber();
+                if (toLineNum >= fromLineNum) {
+                    content.append(line).append("\n");
+                }
+            }
+        }
+        return new LogResult(fromLineNum, toLineNum, content.toString(), false);
+    }
+
+    private static long lineOffsetByScan(File logFile, int lineNum) throws IOException {
+        byte[] data = Files.readAllBytes(logFile.toPath());
+        int line = 1;
+        for (int i = 0; i < data.length && line < lineNum; i++) {
+            if (data[i] == '\n') {
+                line++;
+                if (line == lineNum) {
+                    return i + 1;
+                }
+            }
+        }
+        return lineNum <= 1 ? 0 : data.length;
+    }
+
+    private static long readEntry(File indexFile, int entry) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(indexFile, "r")) {
+            raf.seek((long) (entry - 1) * 8);
+            return raf.readLong();
+        }
+    }
+
+}
@@ -0,0 +1,183 @@
+package com.xxl.job.core.remoting;
+
+import com.xxl.job.core.biz.ExecutorBiz;
+import com.xxl.job.core.biz.model.*;
+import com.xxl.job.core.serializer.SerializerEnum;
+import com.xxl.job.core.server.EmbedServer;
+import com.xxl.job.core.util.GsonTool;
+import com.xxl.job.core.util.XxlJobRemotingUtil;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.handler.codec.http.HttpObjectAggregator;
+import io.netty.handler.codec.http.HttpServerCodec;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.reflect.Type;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * executor rpc benchmark：XxlJobRemotingUtil (HttpURLConnection per call) vs XxlJobHttpClient (netty, pooled, async), json vs binary serializer
+ *
+ * run: main method, or "java -cp ... org.openjdk.jmh.Main XxlJobHttpClientBenchmark"
+ *
+ * @author xuxueli 2026-10-18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+@Threads(8)
+public class XxlJobHttpClientBenchmark {
+
+    private static final int ASYNC_BATCH = 100;
+    private static final Type RETURN_TYPE = new GsonTool.ParameterizedType4ReturnT(ReturnT.class, new Type[]{String.class});
+
+    private EventLoopGroup bossGroup;
+    private EventLoopGroup workerGroup;
+    private ThreadPoolExecutor bizThreadPool;
+    private Channel serverChannel;
+
+    private String runUrl;
+    private TriggerParam triggerParam;
+
+    @Setup
+    public void setup() throws Exception {
+        // mock executor, EmbedServer handler
+        ExecutorBiz executorBiz = new ExecutorBiz() {
+            @Override
+            public ReturnT<String> beat() {
+                return ReturnT.SUCCESS;
+            }
+            @Override
+            public ReturnT<String> idleBeat(IdleBeatParam idleBeatParam) {
+                return ReturnT.SUCCESS;
+            }
+            @Override
+            public ReturnT<String> run(TriggerParam triggerParam) {
+                return ReturnT.SUCCESS;
+            }
+            @Override
+            public ReturnT<List<ReturnT<String>>> runBatch(List<TriggerParam> triggerParamList) {
+                List<ReturnT<String>> resultList = new ArrayList<>();
+                for (TriggerParam item: triggerParamList) {
+                    resultList.add(run(item));
+                }
+                return new ReturnT<List<ReturnT<String>>>(resultList);
+            }
+            @Override
+            public ReturnT<String> kill(KillParam killParam) {
+                return ReturnT.SUCCESS;
+            }
+            @Override
+            public ReturnT<LogResult> log(LogParam logParam) {
+                return new ReturnT<LogResult>(null);
+            }
+        };
+        bossGroup = new NioEventLoopGroup(1);
+        workerGroup = new NioEventLoopGroup();
+        bizThreadPool = new ThreadPoolExecutor(16, 200, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(10000));
+
+        serverChannel = new ServerBootstrap()
+                .group(bossGroup, workerGroup)
+                .channel(NioServerSocketChannel.class)
+                .childHandler(new ChannelInitializer<SocketChannel>() {
+                    @Override
+                    public void initChannel(SocketChannel channel) throws Exception {
+                        channel.pipeline()
+                                .addLast(new HttpServerCodec())
+                                .addLast(new HttpObjectAggregator(5 * 1024 * 1024))
+                                .addLast(new EmbedServer.EmbedHttpServerHandler(executorBiz, null, bizThreadPool));
+                    }
+                })
+                .bind(0).sync().channel();
+        int port = ((InetSocketAddress) serverChannel.localAddress()).getPort();
+        runUrl = "http://127.0.0.1:" + port + "/run";
+
+        triggerParam = new TriggerParam();
+        triggerParam.setJobId(1);
+        triggerParam.setExecutorHandler("demoJobHandler");
+        triggerParam.setExecutorParams("benchmark");
+        triggerParam.setExecutorBlockStrategy("SERIAL_EXECUTION");
+        triggerParam.setLogId(1);
+        triggerParam.setLogDateTime(System.currentTimeMillis());
+        triggerParam.setGlueType("BEAN");
+
+        // first call, learn server features
+        XxlJobHttpClient.getInstance().post(runUrl, null, 3, triggerParam, String.class);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        XxlJobHttpClient.destroy();
+        serverChannel.close().sync();
+        bizThreadPool.shutdownNow();
+        workerGroup.shutdownGracefully();
+        bossGroup.shutdownGracefully();
+    }
+
+    @Benchmark
+    public ReturnT remotingUtil() {
+        return XxlJobRemotingUtil.postBody(runUrl, null, 3, triggerParam, String.class);
+    }
+
+    @Benchmark
+    public ReturnT httpClientSync() {
+        return XxlJobHttpClient.getInstance().post(runUrl, null, 3, triggerParam, String.class);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ASYNC_BATCH)
+    public Object httpClientAsync() {
+        CompletableFuture[] futures = new CompletableFuture[ASYNC_BATCH];
+        for (int i = 0; i < ASYNC_BATCH; i++) {
+            futures[i] = XxlJobHttpClient.getInstance().postAsync(runUrl, null, 3, triggerParam, String.class);
+        }
+        return CompletableFuture.allOf(futures).join();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ASYNC_BATCH)
+    public Object httpClientAsyncBinary() {
+        CompletableFuture[] futures = new CompletableFuture[ASYNC_BATCH];
+        for (int i = 0; i < ASYNC_BATCH; i++) {
+            futures[i] = XxlJobHttpClient.getInstance().postAsync(runUrl, null, 3, triggerParam, RETURN_TYPE, SerializerEnum.BINARY);
+        }
+        return CompletableFuture.allOf(futures).join();
+    }
+
+    @Benchmark
+    public Object serializeJson() {
+        byte[] data = SerializerEnum.JSON.getSerializer().serialize(triggerParam);
+        return SerializerEnum.JSON.getSerializer().deserialize(data, TriggerParam.class);
+    }
+
+    @Benchmark
+    public Object serializeBinary() {
+        byte[] data = SerializerEnum.BINARY.getSerializer().serialize(triggerParam);
+        return SerializerEnum.BINARY.getSerializer().deserialize(data, TriggerParam.class);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .include(XxlJobHttpClientBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+
+}
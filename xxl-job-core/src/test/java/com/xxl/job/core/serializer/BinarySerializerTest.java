@@ -0,0 +1,128 @@
+package com.xxl.job.core.serializer;
+
+import com.xxl.job.core.biz.model.*;
+import com.xxl.job.core.util.GsonTool;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author xuxueli 2026-10-18
+ */
+public class BinarySerializerTest {
+
+    private final Serializer serializer = SerializerEnum.BINARY.getSerializer();
+
+    @Test
+    public void shouldRoundTripTriggerParam() {
+        //given
+        TriggerParam triggerParam = new TriggerParam();
+        triggerParam.setJobId(-1);
+        triggerParam.setExecutorHandler("demoJobHandler");
+        triggerParam.setExecutorParams("参数,中文");
+        triggerParam.setExecutorTimeout(10);
+        triggerParam.setLogId(Long.MAX_VALUE);
+        triggerParam.setLogDateTime(System.currentTimeMillis());
+        triggerParam.setGlueSource("");
+        triggerParam.setBroadcastTotal(3);
+
+        //when
+        TriggerParam result = serializer.deserialize(serializer.serialize(triggerParam), TriggerParam.class);
+
+        //then
+        assertEquals(triggerParam.getJobId(), result.getJobId());
+        assertEquals(triggerParam.getExecutorHandler(), result.getExecutorHandler());
+        assertEquals(triggerParam.getExecutorParams(), result.getExecutorParams());
+        assertEquals(triggerParam.getExecutorTimeout(), result.getExecutorTimeout());
+        assertEquals(triggerParam.getLogId(), result.getLogId());
+        assertEquals(triggerParam.getLogDateTime(), result.getLogDateTime());
+        assertEquals("", result.getGlueSource());
+        assertNull(result.getGlueType());
+        assertEquals(0, result.getBroadcastIndex());
+        assertEquals(3, result.getBroadcastTotal());
+    }
+
+    @Test
+    public void shouldRoundTripReturnTList() {
+        //given
+        Type type = new GsonTool.ParameterizedType4ReturnT(ReturnT.class, new Type[]{
+                new GsonTool.ParameterizedType4ReturnT(List.class, new Type[]{
+                        new GsonTool.ParameterizedType4ReturnT(ReturnT.class, new Type[]{String.class})})});
+        List<ReturnT<String>> resultList = Arrays.asList(ReturnT.SUCCESS, new ReturnT<String>(ReturnT.FAIL_CODE, "fail"));
+        ReturnT<List<ReturnT<String>>> returnT = new ReturnT<List<ReturnT<String>>>(resultList);
+
+        //when
+        ReturnT<List<ReturnT<String>>> result = serializer.deserialize(serializer.serialize(returnT), type);
+
+        //then
+        assertEquals(ReturnT.SUCCESS_CODE, result.getCode());
+        assertEquals(2, result.getContent().size());
+        assertEquals(ReturnT.SUCCESS_CODE, result.getContent().get(0).getCode());
+        assertEquals(ReturnT.FAIL_CODE, result.getContent().get(1).getCode());
+        assertEquals("fail", result.getContent().get(1).getMsg());
+    }
+
+    @Test
+    public void shouldDecodeEmptyAsEmptyMessage() {
+        //given
+        Type listType = new GsonTool.ParameterizedType4ReturnT(List.class, new Type[]{HandleCallbackParam.class});
+
+        //when
+        byte[] emptyListBytes = serializer.serialize(new ArrayList<HandleCallbackParam>());
+        byte[] defaultModelBytes = serializer.serialize(new KillParam());
+        List<HandleCallbackParam> emptyList = serializer.deserialize(emptyListBytes, listType);
+        KillParam defaultModel = serializer.deserialize(defaultModelBytes, KillParam.class);
+
+        //then
+        assertEquals(0, emptyListBytes.length);
+        assertEquals(0, defaultModelBytes.length);
+        assertNotNull(emptyList);
+        assertTrue(emptyList.isEmpty());
+        assertNotNull(defaultModel);
+        assertEquals(0, defaultModel.getJobId());
+    }
+
+    @Test
+    public void shouldRoundTripListWithDefaultItem() {
+        //given
+        Type listType = new GsonTool.ParameterizedType4ReturnT(List.class, new Type[]{HandleCallbackParam.class});
+        List<HandleCallbackParam> paramList = Arrays.asList(new HandleCallbackParam(), new HandleCallbackParam(1, 2, 500, "失败"));
+
+        //when
+        List<HandleCallbackParam> result = serializer.deserialize(serializer.serialize(paramList), listType);
+
+        //then
+        assertEquals(2, result.size());
+        assertEquals(0, result.get(0).getLogId());
+        assertNull(result.get(0).getHandleMsg());
+        assertEquals(1, result.get(1).getLogId());
+        assertEquals(2, result.get(1).getLogDateTim());
+        assertEquals(500, result.get(1).getHandleCode());
+        assertEquals("失败", result.get(1).getHandleMsg());
+    }
+
+    @Test
+    public void shouldRoundTripLogResult() {
+        //given
+        LogResult logResult = new LogResult(1, 3, "line1\nline2\n", true);
+        logResult.setFromOffset(0);
+        logResult.setToOffset(12);
+
+        //when
+        LogResult result = serializer.deserialize(serializer.serialize(logResult), LogResult.class);
+
+        //then
+        assertEquals(1, result.getFromLineNum());
+        assertEquals(3, result.getToLineNum());
+        assertEquals("line1\nline2\n", result.getLogContent());
+        assertTrue(result.isEnd());
+        assertEquals(0, result.getFromOffset());
+        assertEquals(12, result.getToOffset());
+    }
+
+}
@@ -0,0 +1,123 @@
+package com.xxl.job.core.server;
+
+import com.xxl.job.core.biz.ExecutorBiz;
+import com.xxl.job.core.biz.model.*;
+import com.xxl.job.core.serializer.SerializerEnum;
+import com.xxl.job.core.util.GsonTool;
+import com.xxl.job.core.util.XxlJobRemotingUtil;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.*;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Type;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @author xuxueli 2026-10-18
+ */
+public class EmbedServerTest {
+
+    private static final Type STRING_RETURN_TYPE = new GsonTool.ParameterizedType4ReturnT(ReturnT.class, new Type[]{String.class});
+
+    @Test
+    public void shouldUseJsonWhenSerializerHeaderAbsent() {
+        //given
+        EmbeddedChannel channel = newChannel();
+        FullHttpRequest request = newRequest("/beat", null, new byte[0]);
+
+        //when
+        channel.writeInbound(request);
+        FullHttpResponse response = channel.readOutbound();
+
+        //then
+        assertEquals(SerializerEnum.JSON.name(), response.headers().get(XxlJobRemotingUtil.XXL_JOB_SERIALIZER));
+        ReturnT<String> result = SerializerEnum.JSON.getSerializer().deserialize(ByteBufUtil.getBytes(response.content()), STRING_RETURN_TYPE);
+        assertEquals(ReturnT.SUCCESS_CODE, result.getCode());
+        response.release();
+    }
+
+    @Test
+    public void shouldUseBinaryWhenSerializerHeaderBinary() {
+        //given
+        EmbeddedChannel channel = newChannel();
+        IdleBeatParam idleBeatParam = new IdleBeatParam(1);
+        FullHttpRequest request = newRequest("/idleBeat", SerializerEnum.BINARY.name(), SerializerEnum.BINARY.getSerializer().serialize(idleBeatParam));
+
+        //when
+        channel.writeInbound(request);
+        FullHttpResponse response = channel.readOutbound();
+
+        //then
+        assertEquals(SerializerEnum.BINARY.name(), response.headers().get(XxlJobRemotingUtil.XXL_JOB_SERIALIZER));
+        ReturnT<String> result = SerializerEnum.BINARY.getSerializer().deserialize(ByteBufUtil.getBytes(response.content()), STRING_RETURN_TYPE);
+        assertEquals(ReturnT.SUCCESS_CODE, result.getCode());
+        assertEquals("idle:1", result.getMsg());
+        response.release();
+    }
+
+    @Test
+    public void shouldRejectUnknownSerializer() {
+        //given
+        EmbeddedChannel channel = newChannel();
+        FullHttpRequest request = newRequest("/beat", "unknown", new byte[0]);
+
+        //when
+        channel.writeInbound(request);
+        FullHttpResponse response = channel.readOutbound();
+
+        //then
+        assertEquals(SerializerEnum.JSON.name(), response.headers().get(XxlJobRemotingUtil.XXL_JOB_SERIALIZER));
+        ReturnT<String> result = SerializerEnum.JSON.getSerializer().deserialize(ByteBufUtil.getBytes(response.content()), STRING_RETURN_TYPE);
+        assertEquals(ReturnT.FAIL_CODE, result.getCode());
+        response.release();
+    }
+
+    private EmbeddedChannel newChannel() {
+        ExecutorBiz executorBiz = new ExecutorBiz() {
+            @Override
+            public ReturnT<String> beat() {
+                return ReturnT.SUCCESS;
+            }
+            @Override
+            public ReturnT<String> idleBeat(IdleBeatParam idleBeatParam) {
+                return new ReturnT<String>(ReturnT.SUCCESS_CODE, "idle:" + idleBeatParam.getJobId());
+            }
+            @Override
+            public ReturnT<String> run(TriggerParam triggerParam) {
+                return ReturnT.SUCCESS;
+            }
+            @Override
+            public ReturnT<String> kill(KillParam killParam) {
+                return ReturnT.SUCCESS;
+            }
+            @Override
+            public ReturnT<LogResult> log(LogParam logParam) {
+                return new ReturnT<LogResult>(new LogResult());
+            }
+        };
+
+        // run biz in caller thread, response written before "writeInbound" returned
+        ThreadPoolExecutor bizThreadPool = new ThreadPoolExecutor(1, 1, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>()) {
+            @Override
+            public void execute(Runnable command) {
+                command.run();
+            }
+        };
+        return new EmbeddedChannel(new EmbedServer.EmbedHttpServerHandler(executorBiz, null, bizThreadPool));
+    }
+
+    private FullHttpRequest newRequest(String uri, String serializer, byte[] body) {
+        FullHttpRequest request = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, uri, Unpooled.wrappedBuffer(body));
+        if (serializer != null) {
+            request.headers().set(XxlJobRemotingUtil.XXL_JOB_SERIALIZER, serializer);
+        }
+        return request;
+    }
+
+}
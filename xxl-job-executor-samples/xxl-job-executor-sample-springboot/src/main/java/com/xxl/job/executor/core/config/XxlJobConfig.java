@@ -40,6 +40,12 @@ public class XxlJobConfig {
     @Value("${xxl.job.executor.logretentiondays}")
     private int logRetentionDays;
 
+    @Value("${xxl.job.executor.logcaller:true}")
+    private boolean logCaller;
+
+    @Value("${xxl.job.serializer:JSON}")
+    private String serializer;
+
 
     @Bean
     public XxlJobSpringExecutor xxlJobExecutor() {
@@ -53,6 +59,8 @@ public class XxlJobConfig {
         xxlJobSpringExecutor.setAccessToken(accessToken);
         xxlJobSpringExecutor.setLogPath(logPath);
         xxlJobSpringExecutor.setLogRetentionDays(logRetentionDays);
+        xxlJobSpringExecutor.setLogCaller(logCaller);
+        xxlJobSpringExecutor.setSerializer(serializer);
 
         return xxlJobSpringExecutor;
     }